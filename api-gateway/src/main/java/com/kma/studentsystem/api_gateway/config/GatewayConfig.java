@@ -18,6 +18,12 @@ public class GatewayConfig {
                         .and().method(HttpMethod.GET)
                         .uri("lb://student-service"))
                 
+                // Bulk lookup is a read sent as POST; its own route keeps it apart from writes in route metrics
+                .route("student-service-lookup", r -> r
+                        .path("/api/students/lookup")
+                        .and().method(HttpMethod.POST)
+                        .uri("lb://student-service"))
+                
                 .route("student-service-post", r -> r
                         .path("/api/students/**")
                         .and().method(HttpMethod.POST)
@@ -28,6 +34,11 @@ public class GatewayConfig {
                         .and().method(HttpMethod.PUT)
                         .uri("lb://student-service"))
                 
+                .route("student-service-patch", r -> r
+                        .path("/api/students/**")
+                        .and().method(HttpMethod.PATCH)
+                        .uri("lb://student-service"))
+                
                 .route("student-service-delete", r -> r
                         .path("/api/students/**")
                         .and().method(HttpMethod.DELETE)
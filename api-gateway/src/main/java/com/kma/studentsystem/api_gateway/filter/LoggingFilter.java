@@ -17,14 +17,26 @@ import java.time.format.DateTimeFormatter;
 @Slf4j
 public class LoggingFilter implements GlobalFilter, Ordered {
 
+    private static final String REQUEST_ID_HEADER = "X-Request-ID";
+    private static final String REQUEST_START_HEADER = "X-Request-Start";
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
-        String requestId = java.util.UUID.randomUUID().toString();
         
-        // Add request ID to headers
+        // Reuse the caller's request ID so one id follows the request through HTTP and Kafka hops
+        String incomingRequestId = request.getHeaders().getFirst(REQUEST_ID_HEADER);
+        String requestId = incomingRequestId != null && !incomingRequestId.isBlank()
+                ? incomingRequestId
+                : java.util.UUID.randomUUID().toString();
+        String requestStart = String.valueOf(System.currentTimeMillis());
+        
+        // Add request ID and start time to headers
         ServerHttpRequest modifiedRequest = request.mutate()
-                .header("X-Request-ID", requestId)
+                .headers(headers -> {
+                    headers.set(REQUEST_ID_HEADER, requestId);
+                    headers.set(REQUEST_START_HEADER, requestStart);
+                })
                 .build();
         
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
@@ -1,8 +1,19 @@
 package com.kma.studentsystem.course_service.config;
 
 import com.kma.studentsystem.course_service.event.CourseEvent;
+import com.kma.studentsystem.course_service.event.CourseState;
+import com.kma.studentsystem.course_service.event.PrerequisiteClosure;
+import com.kma.studentsystem.course_service.service.CourseStatePublisher;
+import com.kma.studentsystem.course_service.service.PrerequisiteIndexService;
+import com.kma.studentsystem.course_service.tracing.CorrelationProducerInterceptor;
+import com.kma.studentsystem.course_service.tracing.EventLatencyTracker;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,23 +21,39 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Configuration
 @EnableKafka
+@RequiredArgsConstructor
 public class KafkaConfig {
 
+    private final EventLatencyTracker eventLatencyTracker;
+    private final KafkaListenerMetrics kafkaListenerMetrics;
+    private final KafkaProducerMetrics kafkaProducerMetrics;
+
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    @Value("${kafka.producer.profile:low-latency}")
+    private String producerProfile;
+
     @Value("${spring.kafka.consumer.group-id:course-service-group}")
     private String groupId;
 
+    @Value("${state.topic.partitions:3}")
+    private int stateTopicPartitions;
+
+    @Value("${state.topic.replicas:1}")
+    private int stateTopicReplicas;
+
     @Value("${spring.kafka.security.enabled:false}")
     private boolean securityEnabled;
 
@@ -50,22 +77,83 @@ public class KafkaConfig {
 
     @Bean
     public ProducerFactory<String, CourseEvent> producerFactory() {
+        return new DefaultKafkaProducerFactory<>(producerConfigs());
+    }
+
+    @Bean
+    public KafkaTemplate<String, CourseEvent> kafkaTemplate() {
+        KafkaTemplate<String, CourseEvent> template = new KafkaTemplate<>(producerFactory());
+        kafkaProducerMetrics.instrument(template);
+        return template;
+    }
+
+    @Bean
+    public NewTopic courseStateTopic() {
+        return TopicBuilder.name(CourseStatePublisher.COURSE_STATE_TOPIC)
+                .partitions(stateTopicPartitions)
+                .replicas(stateTopicReplicas)
+                .compact()
+                .build();
+    }
+
+    @Bean
+    public ProducerFactory<String, CourseState> courseStateProducerFactory() {
+        return new DefaultKafkaProducerFactory<>(producerConfigs());
+    }
+
+    @Bean
+    public KafkaTemplate<String, CourseState> courseStateKafkaTemplate() {
+        KafkaTemplate<String, CourseState> template = new KafkaTemplate<>(courseStateProducerFactory());
+        kafkaProducerMetrics.instrument(template);
+        return template;
+    }
+
+    // Reads state topic keys on startup, assigned to partitions directly and never committing offsets
+    @Bean
+    public ConsumerFactory<String, byte[]> stateKeyConsumerFactory() {
         Map<String, Object> configProps = new HashMap<>();
-        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
-        configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
-        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
         if (securityEnabled) {
             configureSecurityProperties(configProps);
         }
-        return new DefaultKafkaProducerFactory<>(configProps);
+        return new DefaultKafkaConsumerFactory<>(configProps);
     }
 
     @Bean
-    public KafkaTemplate<String, CourseEvent> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+    public NewTopic coursePrerequisiteTopic() {
+        return TopicBuilder.name(PrerequisiteIndexService.COURSE_PREREQUISITE_TOPIC)
+                .partitions(stateTopicPartitions)
+                .replicas(stateTopicReplicas)
+                .compact()
+                .build();
+    }
+
+    @Bean
+    public ProducerFactory<String, PrerequisiteClosure> prerequisiteProducerFactory() {
+        return new DefaultKafkaProducerFactory<>(producerConfigs());
+    }
+
+    @Bean
+    public KafkaTemplate<String, PrerequisiteClosure> prerequisiteKafkaTemplate() {
+        KafkaTemplate<String, PrerequisiteClosure> template = new KafkaTemplate<>(prerequisiteProducerFactory());
+        kafkaProducerMetrics.instrument(template);
+        return template;
+    }
+
+    private Map<String, Object> producerConfigs() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        configProps.put(ProducerConfig.INTERCEPTOR_CLASSES_CONFIG, CorrelationProducerInterceptor.class.getName());
+        KafkaProducerProfile.fromName(producerProfile).apply(configProps);
+        if (securityEnabled) {
+            configureSecurityProperties(configProps);
+        }
+        return configProps;
     }
 
     @Bean
@@ -88,10 +176,23 @@ public class KafkaConfig {
     public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        factory.setRecordInterceptor(eventLatencyTracker.recordInterceptor());
+        kafkaListenerMetrics.instrument(factory);
         factory.setConcurrency(3);
         return factory;
     }
 
+    // Partition numbers of a topic, for listeners that assign themselves every partition instead of joining a group
+    public String[] partitionsOf(String topic) {
+        try (Consumer<String, Object> consumer = consumerFactory().createConsumer()) {
+            List<PartitionInfo> partitions = consumer.partitionsFor(topic);
+            if (partitions == null || partitions.isEmpty()) {
+                throw new RuntimeException("Topic " + topic + " has no partitions");
+            }
+            return partitions.stream().map(partition -> String.valueOf(partition.partition())).toArray(String[]::new);
+        }
+    }
+
     private void configureSecurityProperties(Map<String, Object> props) {
         props.put("security.protocol", "SASL_SSL");
         if (!keystoreLocation.isEmpty()) {
@@ -1,6 +1,7 @@
 package com.kma.studentsystem.course_service.controller;
 
 import com.kma.studentsystem.course_service.dto.CourseDTO;
+import com.kma.studentsystem.course_service.event.PrerequisiteClosure;
 import com.kma.studentsystem.course_service.model.Course;
 import com.kma.studentsystem.course_service.service.CourseService;
 import jakarta.validation.Valid;
@@ -9,6 +10,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -35,28 +37,45 @@ public class CourseController {
     }
     
     @GetMapping
-    public ResponseEntity<List<CourseDTO>> getAllCourses() {
+    public ResponseEntity<List<CourseDTO>> getAllCourses(WebRequest request) {
         log.info("GET /api/courses - Retrieving all courses");
+        if (courseService.getCoursesVersion().notModified(request)) {
+            return null;
+        }
         List<CourseDTO> courses = courseService.getAllCourses();
         return ResponseEntity.ok(courses);
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<CourseDTO> getCourseById(@PathVariable Long id) {
+    public ResponseEntity<CourseDTO> getCourseById(@PathVariable Long id, WebRequest request) {
         log.info("GET /api/courses/{} - Retrieving course by ID", id);
+        if (courseService.getCourseVersion(id).filter(version -> version.notModified(request)).isPresent()) {
+            return null;
+        }
         Optional<CourseDTO> course = courseService.getCourseById(id);
         return course.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping("/code/{courseCode}")
-    public ResponseEntity<CourseDTO> getCourseByCode(@PathVariable String courseCode) {
+    public ResponseEntity<CourseDTO> getCourseByCode(@PathVariable String courseCode, WebRequest request) {
         log.info("GET /api/courses/code/{} - Retrieving course by code", courseCode);
+        if (courseService.getCourseVersionByCode(courseCode).filter(version -> version.notModified(request)).isPresent()) {
+            return null;
+        }
         Optional<CourseDTO> course = courseService.getCourseByCode(courseCode);
         return course.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    @GetMapping("/code/{courseCode}/prerequisites")
+    public ResponseEntity<PrerequisiteClosure> getPrerequisites(@PathVariable String courseCode) {
+        log.info("GET /api/courses/code/{}/prerequisites - Retrieving prerequisite closure", courseCode);
+        Optional<PrerequisiteClosure> closure = courseService.getPrerequisites(courseCode);
+        return closure.map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
     @PutMapping("/{id}")
     public ResponseEntity<CourseDTO> updateCourse(@PathVariable Long id, 
                                                 @Valid @RequestBody CourseDTO courseDTO) {
@@ -83,29 +102,43 @@ public class CourseController {
     }
     
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<CourseDTO>> getCoursesByStatus(@PathVariable Course.CourseStatus status) {
+    public ResponseEntity<List<CourseDTO>> getCoursesByStatus(@PathVariable Course.CourseStatus status,
+                                                             WebRequest request) {
         log.info("GET /api/courses/status/{} - Retrieving courses by status", status);
+        if (courseService.getCoursesVersionByStatus(status).notModified(request)) {
+            return null;
+        }
         List<CourseDTO> courses = courseService.getCoursesByStatus(status);
         return ResponseEntity.ok(courses);
     }
     
     @GetMapping("/department/{department}")
-    public ResponseEntity<List<CourseDTO>> getCoursesByDepartment(@PathVariable String department) {
+    public ResponseEntity<List<CourseDTO>> getCoursesByDepartment(@PathVariable String department,
+                                                                 WebRequest request) {
         log.info("GET /api/courses/department/{} - Retrieving courses by department", department);
+        if (courseService.getCoursesVersionByDepartment(department).notModified(request)) {
+            return null;
+        }
         List<CourseDTO> courses = courseService.getCoursesByDepartment(department);
         return ResponseEntity.ok(courses);
     }
     
     @GetMapping("/available")
-    public ResponseEntity<List<CourseDTO>> getAvailableCourses() {
+    public ResponseEntity<List<CourseDTO>> getAvailableCourses(WebRequest request) {
         log.info("GET /api/courses/available - Retrieving available courses");
+        if (courseService.getAvailableCoursesVersion().notModified(request)) {
+            return null;
+        }
         List<CourseDTO> courses = courseService.getAvailableCourses();
         return ResponseEntity.ok(courses);
     }
     
     @GetMapping("/search")
-    public ResponseEntity<List<CourseDTO>> searchCourses(@RequestParam String q) {
+    public ResponseEntity<List<CourseDTO>> searchCourses(@RequestParam String q, WebRequest request) {
         log.info("GET /api/courses/search?q={} - Searching courses", q);
+        if (courseService.getSearchCoursesVersion(q).notModified(request)) {
+            return null;
+        }
         List<CourseDTO> courses = courseService.searchCourses(q);
         return ResponseEntity.ok(courses);
     }
@@ -0,0 +1,66 @@
+package com.kma.studentsystem.course_service.controller;
+
+import com.kma.studentsystem.course_service.dto.SeatReservationDTO;
+import com.kma.studentsystem.course_service.service.SeatReservationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/courses")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = "*")
+public class SeatReservationController {
+    
+    private final SeatReservationService seatReservationService;
+    
+    @PostMapping("/{courseCode}/reservations")
+    public ResponseEntity<SeatReservationDTO> reserveSeat(@PathVariable String courseCode,
+                                                          @Valid @RequestBody SeatReservationDTO request) {
+        log.info("POST /api/courses/{}/reservations - Reserving seat for student: {}", courseCode, request.getStudentId());
+        try {
+            SeatReservationDTO reservation = seatReservationService.reserve(courseCode, request.getStudentId());
+            return ResponseEntity.status(HttpStatus.CREATED).body(reservation);
+        } catch (Exception e) {
+            log.error("Error reserving seat: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    @GetMapping("/reservations/{reservationId}")
+    public ResponseEntity<SeatReservationDTO> getReservation(@PathVariable String reservationId) {
+        log.info("GET /api/courses/reservations/{} - Retrieving seat reservation", reservationId);
+        try {
+            return ResponseEntity.ok(seatReservationService.getReservation(reservationId));
+        } catch (Exception e) {
+            log.error("Error retrieving seat reservation: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @PostMapping("/reservations/{reservationId}/confirm")
+    public ResponseEntity<SeatReservationDTO> confirmReservation(@PathVariable String reservationId) {
+        log.info("POST /api/courses/reservations/{}/confirm - Confirming seat reservation", reservationId);
+        try {
+            return ResponseEntity.ok(seatReservationService.confirm(reservationId));
+        } catch (Exception e) {
+            log.error("Error confirming seat reservation: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+    
+    @PostMapping("/reservations/{reservationId}/release")
+    public ResponseEntity<SeatReservationDTO> releaseReservation(@PathVariable String reservationId) {
+        log.info("POST /api/courses/reservations/{}/release - Releasing seat reservation", reservationId);
+        try {
+            return ResponseEntity.ok(seatReservationService.release(reservationId));
+        } catch (Exception e) {
+            log.error("Error releasing seat reservation: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+}
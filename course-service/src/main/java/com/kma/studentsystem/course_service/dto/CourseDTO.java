@@ -1,12 +1,16 @@
 package com.kma.studentsystem.course_service.dto;
 
 import com.kma.studentsystem.course_service.model.Course;
+import com.kma.studentsystem.course_service.model.ScheduleSlot;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -66,6 +70,9 @@ public class CourseDTO {
     @Size(max = 100, message = "Location must not exceed 100 characters")
     private String location;
     
+    @Valid
+    private List<ScheduleSlot> scheduleSlots = new ArrayList<>();
+    
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
@@ -0,0 +1,30 @@
+package com.kma.studentsystem.course_service.dto;
+
+import com.kma.studentsystem.course_service.model.SeatReservation;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatReservationDTO {
+    
+    private String reservationId;
+    
+    private String courseCode;
+    
+    @NotBlank(message = "Student ID is required")
+    private String studentId;
+    
+    private SeatReservation.ReservationStatus status;
+    
+    private LocalDateTime expiresAt;
+    
+    private LocalDateTime confirmedAt;
+    
+    private LocalDateTime createdAt;
+}
@@ -1,6 +1,7 @@
 package com.kma.studentsystem.course_service.event;
 
 import com.kma.studentsystem.course_service.model.Course;
+import com.kma.studentsystem.course_service.tracing.CorrelationContext;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,6 +16,8 @@ public class CourseEvent {
     private String eventId;
     private String eventType;
     private String courseCode;
+    // Database id of the course, for events that do not carry the course itself
+    private Long entityId;
     private Course course;
     private LocalDateTime timestamp;
     private String source;
@@ -28,7 +31,7 @@ public class CourseEvent {
         event.setCourse(course);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("course-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         return event;
     }
     
@@ -40,19 +43,20 @@ public class CourseEvent {
         event.setCourse(course);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("course-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         return event;
     }
     
-    public static CourseEvent createCourseDeletedEvent(String courseCode) {
+    public static CourseEvent createCourseDeletedEvent(Long id, String courseCode) {
         CourseEvent event = new CourseEvent();
         event.setEventId(java.util.UUID.randomUUID().toString());
         event.setEventType("CourseDeleted");
         event.setCourseCode(courseCode);
+        event.setEntityId(id);
         event.setCourse(null);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("course-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         return event;
     }
     
@@ -64,7 +68,7 @@ public class CourseEvent {
         event.setCourse(course);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("course-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         return event;
     }
 }
@@ -0,0 +1,59 @@
+package com.kma.studentsystem.course_service.event;
+
+import com.kma.studentsystem.course_service.model.Course;
+import com.kma.studentsystem.course_service.model.ScheduleSlot;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Latest state of a course, published to the compacted course-state topic keyed by courseCode.
+ * A null value (tombstone) means the course was deleted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseState {
+    
+    private String courseCode;
+    private String courseName;
+    private Integer credits;
+    private String department;
+    private String status;
+    private Integer capacity;
+    private Integer enrolledCount;
+    private Integer academicYear;
+    private String semester;
+    private String prerequisites;
+    private String instructorName;
+    private String instructorEmail;
+    private String schedule;
+    private String location;
+    private List<ScheduleSlot> scheduleSlots;
+    private LocalDateTime updatedAt;
+    
+    public static CourseState fromCourse(Course course) {
+        CourseState state = new CourseState();
+        state.setCourseCode(course.getCourseCode());
+        state.setCourseName(course.getCourseName());
+        state.setCredits(course.getCredits());
+        state.setDepartment(course.getDepartment());
+        state.setStatus(course.getStatus() != null ? course.getStatus().name() : null);
+        state.setCapacity(course.getCapacity());
+        state.setEnrolledCount(course.getEnrolledCount());
+        state.setAcademicYear(course.getAcademicYear());
+        state.setSemester(course.getSemester());
+        state.setPrerequisites(course.getPrerequisites());
+        state.setInstructorName(course.getInstructorName());
+        state.setInstructorEmail(course.getInstructorEmail());
+        state.setSchedule(course.getSchedule());
+        state.setLocation(course.getLocation());
+        state.setScheduleSlots(new ArrayList<>(course.getScheduleSlots()));
+        state.setUpdatedAt(course.getUpdatedAt());
+        return state;
+    }
+}
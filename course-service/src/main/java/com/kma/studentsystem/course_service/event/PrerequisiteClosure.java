@@ -0,0 +1,23 @@
+package com.kma.studentsystem.course_service.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Prerequisites of a course, published to the compacted course-prerequisite-index topic keyed by courseCode.
+ * requiredCourses is the transitive closure in topological order; a tombstone means the course is gone.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrerequisiteClosure {
+    
+    private String courseCode;
+    private List<String> prerequisites;
+    private List<String> requiredCourses;
+    private LocalDateTime updatedAt;
+}
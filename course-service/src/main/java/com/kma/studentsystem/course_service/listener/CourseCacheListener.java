@@ -0,0 +1,67 @@
+package com.kma.studentsystem.course_service.listener;
+
+import com.kma.studentsystem.course_service.event.CourseEvent;
+import com.kma.studentsystem.course_service.model.Course;
+import com.kma.studentsystem.course_service.repository.CourseRepository;
+import com.kma.studentsystem.course_service.service.PrerequisiteIndexService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Every instance keeps its own second-level cache and prerequisite graph, so each one reads all of course-events.
+ * The partitions are assigned directly rather than through a consumer group, so restarts leave no groups behind,
+ * and reading starts at the head because only changes made from now on matter.
+ */
+@Component
+public class CourseCacheListener implements ConsumerSeekAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseCacheListener.class);
+    private static final String SCHEDULE_SLOTS_ROLE = Course.class.getName() + ".scheduleSlots";
+    private final PrerequisiteIndexService prerequisiteIndexService;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CourseCacheListener(PrerequisiteIndexService prerequisiteIndexService, EntityManagerFactory entityManagerFactory) {
+        this.prerequisiteIndexService = prerequisiteIndexService;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<org.apache.kafka.common.TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        callback.seekToEnd(assignments.keySet());
+    }
+
+    // The group id only names where offsets are committed; the seek above ignores them
+    @KafkaListener(groupId = "course-service-l2", topicPartitions = @TopicPartition(topic = "course-events",
+                   partitions = "#{@kafkaConfig.partitionsOf('course-events')}"))
+    public void evictCachedCourse(CourseEvent event) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        Long id = event.getCourse() != null ? event.getCourse().getId() : event.getEntityId();
+        if (id != null) {
+            cache.evictEntityData(Course.class, id);
+            cache.evictCollectionData(SCHEDULE_SLOTS_ROLE, id);
+        } else {
+            // Deletes published before they carried the id
+            cache.evictEntityData(Course.class);
+            cache.evictCollectionData(SCHEDULE_SLOTS_ROLE);
+        }
+        // Seat changes keep the code-to-id mapping the query cache holds
+        if (!"CourseCapacityUpdated".equals(event.getEventType())) {
+            cache.evictQueryRegion(CourseRepository.QUERY_CACHE_REGION);
+        }
+        logger.debug("Evicted cached course {} after {}", event.getCourseCode(), event.getEventType());
+
+        // Seat changes leave prerequisites alone; the partition owner publishes, see CourseEventListener
+        if (!"CourseCapacityUpdated".equals(event.getEventType())) {
+            prerequisiteIndexService.reload();
+        }
+    }
+}
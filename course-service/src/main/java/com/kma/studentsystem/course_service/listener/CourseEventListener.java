@@ -2,6 +2,7 @@ package com.kma.studentsystem.course_service.listener;
 
 import com.kma.studentsystem.course_service.event.CourseEvent;
 import com.kma.studentsystem.course_service.service.CourseService;
+import com.kma.studentsystem.course_service.service.PrerequisiteIndexService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -12,9 +13,11 @@ public class CourseEventListener {
 
     private static final Logger logger = LoggerFactory.getLogger(CourseEventListener.class);
     private final CourseService courseService;
+    private final PrerequisiteIndexService prerequisiteIndexService;
 
-    public CourseEventListener(CourseService courseService) {
+    public CourseEventListener(CourseService courseService, PrerequisiteIndexService prerequisiteIndexService) {
         this.courseService = courseService;
+        this.prerequisiteIndexService = prerequisiteIndexService;
     }
 
     @KafkaListener(topics = "course-events", groupId = "course-service-group")
@@ -25,12 +28,15 @@ public class CourseEventListener {
             switch (event.getEventType()) {
                 case "CourseCreated":
                     logger.info("Course created: {}", event.getCourseCode());
+                    prerequisiteIndexService.refresh(event.getCourseCode());
                     break;
                 case "CourseUpdated":
                     logger.info("Course updated: {}", event.getCourseCode());
+                    prerequisiteIndexService.refresh(event.getCourseCode());
                     break;
                 case "CourseDeleted":
                     logger.info("Course deleted: {}", event.getCourseCode());
+                    prerequisiteIndexService.refresh(event.getCourseCode());
                     break;
                 case "CourseCapacityUpdated":
                     logger.info("Course capacity changed: {}", event.getCourseCode());
@@ -1,24 +1,36 @@
 package com.kma.studentsystem.course_service.model;
 
 import jakarta.persistence.*;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "courses")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Course.CACHE_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Course {
     
+    // Second-level cache regions, sized in application.conf
+    public static final String CACHE_REGION = "courses";
+    public static final String SCHEDULE_SLOTS_CACHE_REGION = "course-schedule-slots";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -91,6 +103,19 @@ public class Course {
     @Size(max = 100, message = "Location must not exceed 100 characters")
     private String location;
     
+    // Structured timetable; schedule/location above remain as free-text display values
+    @Valid
+    @ElementCollection(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SCHEDULE_SLOTS_CACHE_REGION)
+    @CollectionTable(name = "course_schedule_slots", joinColumns = @JoinColumn(name = "course_id"),
+            indexes = @Index(name = "idx_schedule_slot_room", columnList = "room, day_of_week"))
+    private List<ScheduleSlot> scheduleSlots = new ArrayList<>();
+    
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+    
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
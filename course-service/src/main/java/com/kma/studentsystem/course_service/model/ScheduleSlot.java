@@ -0,0 +1,52 @@
+package com.kma.studentsystem.course_service.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * One weekly meeting of a course: day, time range [startTime, endTime) and room.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleSlot {
+    
+    @NotNull(message = "Day of week is required")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_of_week", nullable = false)
+    private DayOfWeek dayOfWeek;
+    
+    @NotNull(message = "Start time is required")
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+    
+    @NotNull(message = "End time is required")
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+    
+    @Size(max = 100, message = "Room must not exceed 100 characters")
+    @Column(name = "room")
+    private String room;
+    
+    // Helper methods
+    public boolean overlaps(ScheduleSlot other) {
+        return dayOfWeek == other.dayOfWeek
+                && startTime.isBefore(other.endTime)
+                && other.startTime.isBefore(endTime);
+    }
+    
+    public String describe() {
+        return dayOfWeek + " " + startTime + "-" + endTime + (room != null ? " in " + room : "");
+    }
+}
@@ -0,0 +1,56 @@
+package com.kma.studentsystem.course_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "seat_reservations", indexes = {
+        @Index(name = "idx_seat_reservations_course_student", columnList = "course_code, student_id"),
+        @Index(name = "idx_seat_reservations_status_expires", columnList = "status, expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatReservation {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "reservation_id", unique = true, nullable = false, length = 36)
+    private String reservationId;
+    
+    @Column(name = "course_code", nullable = false)
+    private String courseCode;
+    
+    @Column(name = "student_id", nullable = false)
+    private String studentId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private ReservationStatus status = ReservationStatus.HELD;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    @Column(name = "confirmed_at")
+    private LocalDateTime confirmedAt;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    public enum ReservationStatus {
+        HELD, CONFIRMED, RELEASED, EXPIRED
+    }
+}
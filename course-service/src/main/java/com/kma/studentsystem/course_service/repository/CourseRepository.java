@@ -1,17 +1,33 @@
 package com.kma.studentsystem.course_service.repository;
 
 import com.kma.studentsystem.course_service.model.Course;
+import com.kma.studentsystem.course_service.web.CollectionVersion;
+import com.kma.studentsystem.course_service.web.EntityVersion;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
     
+    String QUERY_CACHE_REGION = "course-queries";
+    
+    // The query cache keeps only the id; the row comes from the courses region
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
     Optional<Course> findByCourseCode(String courseCode);
     
     List<Course> findByStatus(Course.CourseStatus status);
@@ -60,4 +76,83 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     
     @Query("SELECT c FROM Course c WHERE c.courseCode IN :courseCodes")
     List<Course> findByCourseCodeIn(@Param("courseCodes") List<String> courseCodes);
+    
+    // Share lock held for the caller's transaction: updates to these rows wait until it ends
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT c FROM Course c WHERE c.courseCode IN :courseCodes")
+    List<Course> findByCourseCodeInForShare(@Param("courseCodes") List<String> courseCodes);
+    
+    @Query("SELECT c.courseCode, c.prerequisites FROM Course c")
+    List<Object[]> findAllPrerequisites();
+    
+    // Active courses in the same term already holding the room at an overlapping time
+    @Query("SELECT DISTINCT c.courseCode FROM Course c JOIN c.scheduleSlots s WHERE c.academicYear = :academicYear " +
+           "AND c.semester = :semester AND c.status = 'ACTIVE' AND c.id <> :courseId AND s.room = :room " +
+           "AND s.dayOfWeek = :dayOfWeek AND s.startTime < :endTime AND s.endTime > :startTime")
+    List<String> findRoomConflicts(@Param("academicYear") Integer academicYear, @Param("semester") String semester,
+                                   @Param("courseId") Long courseId, @Param("room") String room,
+                                   @Param("dayOfWeek") DayOfWeek dayOfWeek, @Param("startTime") LocalTime startTime,
+                                   @Param("endTime") LocalTime endTime);
+    
+    // Transaction-scoped advisory lock so two courses cannot claim the same room concurrently
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(hashtext(:roomKey))) AS room_lock", nativeQuery = true)
+    Integer lockRoom(@Param("roomKey") String roomKey);
+    
+    // Transaction-scoped advisory lock serialising prerequisite writes, so cycle checks see each other's edges
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(hashtext('course-prerequisites'))) AS prerequisite_lock", nativeQuery = true)
+    Integer lockPrerequisites();
+    
+    // Transaction-scoped advisory lock; false when another transaction holds it
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext(:lockKey))", nativeQuery = true)
+    boolean tryAdvisoryLock(@Param("lockKey") String lockKey);
+    
+    @Query("SELECT c.courseCode FROM Course c")
+    List<String> findAllCourseCodes();
+    
+    // Capacity check and increment in one statement, so concurrent registrations cannot over-book.
+    // Native so Hibernate does not treat it as a bulk update and drop the whole courses region; the
+    // caller evicts just this course by the returned id. Empty when the seats were not reserved
+    @Query(value = "UPDATE courses SET enrolled_count = enrolled_count + :seats, version = version + 1, updated_at = :now " +
+                   "WHERE course_code = :courseCode AND status = 'ACTIVE' AND enrolled_count + :seats <= capacity " +
+                   "RETURNING id", nativeQuery = true)
+    Optional<Long> tryReserveSeats(@Param("courseCode") String courseCode, @Param("seats") int seats, @Param("now") LocalDateTime now);
+    
+    @Query(value = "UPDATE courses SET enrolled_count = enrolled_count - :seats, version = version + 1, updated_at = :now " +
+                   "WHERE course_code = :courseCode AND enrolled_count >= :seats " +
+                   "RETURNING id", nativeQuery = true)
+    Optional<Long> releaseSeats(@Param("courseCode") String courseCode, @Param("seats") int seats, @Param("now") LocalDateTime now);
+    
+    // Version columns only, for conditional GETs; the seat updates above bump version and updatedAt too
+    @Query("SELECT c.id AS id, c.version AS version, COALESCE(c.updatedAt, c.createdAt) AS lastModified " +
+           "FROM Course c WHERE c.id = :id")
+    Optional<EntityVersion> findVersionById(@Param("id") Long id);
+    
+    @Query("SELECT c.id AS id, c.version AS version, COALESCE(c.updatedAt, c.createdAt) AS lastModified " +
+           "FROM Course c WHERE c.courseCode = :courseCode")
+    Optional<EntityVersion> findVersionByCourseCode(@Param("courseCode") String courseCode);
+    
+    @Query("SELECT COUNT(c) AS rowCount, MAX(COALESCE(c.updatedAt, c.createdAt)) AS lastModified FROM Course c")
+    CollectionVersion findCollectionVersion();
+    
+    @Query("SELECT COUNT(c) AS rowCount, MAX(COALESCE(c.updatedAt, c.createdAt)) AS lastModified FROM Course c " +
+           "WHERE c.status = :status")
+    CollectionVersion findCollectionVersionByStatus(@Param("status") Course.CourseStatus status);
+    
+    @Query("SELECT COUNT(c) AS rowCount, MAX(COALESCE(c.updatedAt, c.createdAt)) AS lastModified FROM Course c " +
+           "WHERE c.department = :department")
+    CollectionVersion findCollectionVersionByDepartment(@Param("department") String department);
+    
+    @Query("SELECT COUNT(c) AS rowCount, MAX(COALESCE(c.updatedAt, c.createdAt)) AS lastModified FROM Course c " +
+           "WHERE c.status = 'ACTIVE' AND c.enrolledCount < c.capacity")
+    CollectionVersion findAvailableCollectionVersion();
+    
+    @Query("SELECT COUNT(c) AS rowCount, MAX(COALESCE(c.updatedAt, c.createdAt)) AS lastModified FROM Course c " +
+           "WHERE c.courseName LIKE %:name% OR c.courseCode LIKE %:name%")
+    CollectionVersion findCollectionVersionByNameOrCodeContaining(@Param("name") String name);
+    
+    // Latest insert, update or delete anywhere in courses, for a list's Last-Modified: deleted rows and rows
+    // that left the list no longer count towards its max(updatedAt). Deletes are stamped by a trigger
+    @Query(value = "SELECT GREATEST((SELECT MAX(COALESCE(updated_at, created_at)) FROM courses), " +
+                   "(SELECT deleted_at FROM deletion_watermarks WHERE table_name = 'courses'))", nativeQuery = true)
+    LocalDateTime findLastChange();
 }
@@ -0,0 +1,42 @@
+package com.kma.studentsystem.course_service.repository;
+
+import com.kma.studentsystem.course_service.model.SeatReservation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SeatReservationRepository extends JpaRepository<SeatReservation, Long> {
+    
+    Optional<SeatReservation> findByReservationId(String reservationId);
+    
+    boolean existsByCourseCodeAndStudentIdAndStatusIn(String courseCode, String studentId,
+                                                      Collection<SeatReservation.ReservationStatus> statuses);
+    
+    List<SeatReservation> findByCourseCodeAndStatus(String courseCode, SeatReservation.ReservationStatus status);
+    
+    @Query("SELECT r.reservationId FROM SeatReservation r WHERE r.status = 'HELD' AND r.expiresAt < :now ORDER BY r.expiresAt")
+    List<String> findExpiredHoldIds(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    // Status transitions are compare-and-set on the current status, so confirm, release and expiry cannot both win
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SeatReservation r SET r.status = com.kma.studentsystem.course_service.model.SeatReservation.ReservationStatus.CONFIRMED, r.confirmedAt = :now, r.updatedAt = :now " +
+           "WHERE r.reservationId = :reservationId AND r.status = 'HELD' AND r.expiresAt >= :now")
+    int confirmHeld(@Param("reservationId") String reservationId, @Param("now") LocalDateTime now);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SeatReservation r SET r.status = :target, r.updatedAt = :now " +
+           "WHERE r.reservationId = :reservationId AND r.status IN :fromStatuses")
+    int transition(@Param("reservationId") String reservationId,
+                   @Param("fromStatuses") Collection<SeatReservation.ReservationStatus> fromStatuses,
+                   @Param("target") SeatReservation.ReservationStatus target,
+                   @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,127 @@
+package com.kma.studentsystem.course_service.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory admission front for seat reservations.
+ *
+ * Keeps an estimate of the remaining seats per course, refreshed from the database after every
+ * seat change. Requests take a permit from the estimate before the conditional UPDATE runs, so
+ * once a course is sold out further attempts are rejected without touching the database and
+ * a burst on a popular course sends at most "remaining seats" updates to the row at a time.
+ *
+ * The estimate is split across stripes so concurrent requests for one course decrement
+ * different counters; a request starts on a random stripe and moves on when it is empty. A
+ * permit taken inside a transaction that rolls back is handed back, or the estimate is dropped
+ * if it was refreshed in the meantime. The database stays authoritative: an estimate older than
+ * the refresh TTL is ignored and the request falls through to the conditional update.
+ */
+@Component
+public class CourseSeatGate {
+
+    private final ConcurrentHashMap<String, SeatCounter> counters = new ConcurrentHashMap<>();
+
+    @Value("${seat-reservation.gate.ttl-ms:5000}")
+    private long ttlMillis;
+
+    @Value("${seat-reservation.gate.stripes:8}")
+    private int stripes;
+
+    /**
+     * @return false if the course is known to be sold out, true if the caller may try the database
+     */
+    public boolean tryAcquire(String courseCode, int seats) {
+        SeatCounter counter = counters.get(courseCode);
+        if (counter == null || counter.isStale(ttlMillis)) {
+            return true;
+        }
+        int stripe = counter.acquire(seats);
+        if (stripe < 0) {
+            // Enough seats spread over several stripes is left to the database to decide
+            return counter.total() >= seats;
+        }
+        releaseOnRollback(courseCode, counter, stripe, seats);
+        return true;
+    }
+
+    public void refresh(String courseCode, int remainingSeats) {
+        counters.put(courseCode, new SeatCounter(Math.max(0, remainingSeats), Math.max(1, stripes)));
+    }
+
+    public void markSoldOut(String courseCode) {
+        refresh(courseCode, 0);
+    }
+
+    public void evict(String courseCode) {
+        counters.remove(courseCode);
+    }
+
+    // Helper methods
+    private void releaseOnRollback(String courseCode, SeatCounter counter, int stripe, int seats) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                if (counters.get(courseCode) == counter) {
+                    counter.stripes[stripe].addAndGet(seats);
+                } else {
+                    // Refreshed since the permit was taken, possibly with a count this rollback undid
+                    evict(courseCode);
+                }
+            }
+        });
+    }
+
+    private static final class SeatCounter {
+        private final AtomicInteger[] stripes;
+        private final long refreshedAt = System.currentTimeMillis();
+
+        private SeatCounter(int remainingSeats, int stripeCount) {
+            stripes = new AtomicInteger[stripeCount];
+            for (int i = 0; i < stripeCount; i++) {
+                stripes[i] = new AtomicInteger(remainingSeats / stripeCount + (i < remainingSeats % stripeCount ? 1 : 0));
+            }
+        }
+
+        /**
+         * @return the stripe the seats were taken from, or -1 if no stripe has enough left
+         */
+        private int acquire(int seats) {
+            int start = ThreadLocalRandom.current().nextInt(stripes.length);
+            for (int i = 0; i < stripes.length; i++) {
+                int stripe = (start + i) % stripes.length;
+                AtomicInteger remaining = stripes[stripe];
+                for (int current = remaining.get(); current >= seats; current = remaining.get()) {
+                    if (remaining.compareAndSet(current, current - seats)) {
+                        return stripe;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        private int total() {
+            int total = 0;
+            for (AtomicInteger remaining : stripes) {
+                total += remaining.get();
+            }
+            return total;
+        }
+
+        private boolean isStale(long ttlMillis) {
+            return System.currentTimeMillis() - refreshedAt > ttlMillis;
+        }
+    }
+}
@@ -2,15 +2,28 @@ package com.kma.studentsystem.course_service.service;
 
 import com.kma.studentsystem.course_service.dto.CourseDTO;
 import com.kma.studentsystem.course_service.event.CourseEvent;
+import com.kma.studentsystem.course_service.event.PrerequisiteClosure;
 import com.kma.studentsystem.course_service.model.Course;
+import com.kma.studentsystem.course_service.model.ScheduleSlot;
 import com.kma.studentsystem.course_service.repository.CourseRepository;
+import com.kma.studentsystem.course_service.web.CollectionVersion;
+import com.kma.studentsystem.course_service.web.ResourceVersion;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -22,6 +35,10 @@ public class CourseService {
     
     private final CourseRepository courseRepository;
     private final KafkaTemplate<String, CourseEvent> kafkaTemplate;
+    private final CourseStatePublisher courseStatePublisher;
+    private final CourseSeatGate courseSeatGate;
+    private final PrerequisiteIndexService prerequisiteIndexService;
+    private final EntityManager entityManager;
     
     private static final String COURSE_EVENTS_TOPIC = "course-events";
     
@@ -37,6 +54,8 @@ public class CourseService {
         Course course = convertToEntity(courseDTO);
         course.setStatus(Course.CourseStatus.ACTIVE);
         course.setEnrolledCount(0);
+        validateSchedule(course);
+        prerequisiteIndexService.validate(course, null);
         
         // Save course
         Course savedCourse = courseRepository.save(course);
@@ -44,7 +63,8 @@ public class CourseService {
         
         // Publish event
         CourseEvent event = CourseEvent.createCourseCreatedEvent(savedCourse);
-        kafkaTemplate.send(COURSE_EVENTS_TOPIC, savedCourse.getCourseCode(), event);
+        publishAfterCommit(savedCourse.getCourseCode(), event);
+        courseStatePublisher.publish(savedCourse);
         log.info("Published CourseCreated event for course: {}", savedCourse.getCourseCode());
         
         return convertToDTO(savedCourse);
@@ -55,6 +75,7 @@ public class CourseService {
         
         Course existingCourse = courseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Course not found with ID: " + id));
+        String previousCourseCode = existingCourse.getCourseCode();
         
         // Check if course code is being changed and if new code already exists
         if (!existingCourse.getCourseCode().equals(courseDTO.getCourseCode()) && 
@@ -78,13 +99,25 @@ public class CourseService {
         existingCourse.setInstructorEmail(courseDTO.getInstructorEmail());
         existingCourse.setSchedule(courseDTO.getSchedule());
         existingCourse.setLocation(courseDTO.getLocation());
+        existingCourse.getScheduleSlots().clear();
+        if (courseDTO.getScheduleSlots() != null) {
+            existingCourse.getScheduleSlots().addAll(courseDTO.getScheduleSlots());
+        }
+        validateSchedule(existingCourse);
+        prerequisiteIndexService.validate(existingCourse, previousCourseCode);
         
         Course updatedCourse = courseRepository.save(existingCourse);
         log.info("Course updated successfully: {}", updatedCourse.getCourseCode());
         
         // Publish event
         CourseEvent event = CourseEvent.createCourseUpdatedEvent(updatedCourse);
-        kafkaTemplate.send(COURSE_EVENTS_TOPIC, updatedCourse.getCourseCode(), event);
+        publishAfterCommit(updatedCourse.getCourseCode(), event);
+        if (!previousCourseCode.equals(updatedCourse.getCourseCode())) {
+            courseStatePublisher.publishDeleted(previousCourseCode);
+        }
+        courseStatePublisher.publish(updatedCourse);
+        courseSeatGate.evict(previousCourseCode);
+        courseSeatGate.evict(updatedCourse.getCourseCode());
         log.info("Published CourseUpdated event for course: {}", updatedCourse.getCourseCode());
         
         return convertToDTO(updatedCourse);
@@ -101,32 +134,23 @@ public class CourseService {
         log.info("Course deleted successfully: {}", courseCode);
         
         // Publish event
-        CourseEvent event = CourseEvent.createCourseDeletedEvent(courseCode);
-        kafkaTemplate.send(COURSE_EVENTS_TOPIC, courseCode, event);
+        CourseEvent event = CourseEvent.createCourseDeletedEvent(id, courseCode);
+        publishAfterCommit(courseCode, event);
+        courseStatePublisher.publishDeleted(courseCode);
+        courseSeatGate.evict(courseCode);
         log.info("Published CourseDeleted event for course: {}", courseCode);
     }
     
     public CourseDTO updateEnrollmentCount(String courseCode, int delta) {
         log.info("Updating enrollment count for course: {} by {}", courseCode, delta);
         
-        Course course = courseRepository.findByCourseCode(courseCode)
-                .orElseThrow(() -> new RuntimeException("Course not found with code: " + courseCode));
-        
-        int newEnrolledCount = course.getEnrolledCount() + delta;
-        if (newEnrolledCount < 0) {
-            throw new RuntimeException("Enrollment count cannot be negative");
-        }
-        if (newEnrolledCount > course.getCapacity()) {
-            throw new RuntimeException("Enrollment count cannot exceed capacity");
-        }
-        
-        course.setEnrolledCount(newEnrolledCount);
-        Course updatedCourse = courseRepository.save(course);
-        log.info("Enrollment count updated for course: {} to {}", courseCode, newEnrolledCount);
+        Course updatedCourse = applySeatDelta(courseCode, delta);
+        log.info("Enrollment count updated for course: {} to {}", courseCode, updatedCourse.getEnrolledCount());
         
         // Publish event
         CourseEvent event = CourseEvent.createCourseCapacityUpdatedEvent(updatedCourse);
-        kafkaTemplate.send(COURSE_EVENTS_TOPIC, courseCode, event);
+        publishAfterCommit(courseCode, event);
+        courseStatePublisher.publish(updatedCourse);
         log.info("Published CourseCapacityUpdated event for course: {}", courseCode);
         
         return convertToDTO(updatedCourse);
@@ -154,6 +178,12 @@ public class CourseService {
                 .map(this::convertToDTO);
     }
     
+    @Transactional(readOnly = true)
+    public Optional<PrerequisiteClosure> getPrerequisites(String courseCode) {
+        log.info("Retrieving prerequisites of course: {}", courseCode);
+        return prerequisiteIndexService.getClosure(courseCode);
+    }
+    
     @Transactional(readOnly = true)
     public List<CourseDTO> getCoursesByStatus(Course.CourseStatus status) {
         log.info("Retrieving courses with status: {}", status);
@@ -186,6 +216,46 @@ public class CourseService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getCourseVersion(Long id) {
+        return courseRepository.findVersionById(id)
+                .map(version -> ResourceVersion.ofEntity("course", version));
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getCourseVersionByCode(String courseCode) {
+        return courseRepository.findVersionByCourseCode(courseCode)
+                .map(version -> ResourceVersion.ofEntity("course", version));
+    }
+    
+    @Transactional(readOnly = true)
+    public ResourceVersion getCoursesVersion() {
+        return collectionVersion("courses", courseRepository.findCollectionVersion());
+    }
+    
+    @Transactional(readOnly = true)
+    public ResourceVersion getCoursesVersionByStatus(Course.CourseStatus status) {
+        return collectionVersion("courses:status:" + status,
+                courseRepository.findCollectionVersionByStatus(status));
+    }
+    
+    @Transactional(readOnly = true)
+    public ResourceVersion getCoursesVersionByDepartment(String department) {
+        return collectionVersion("courses:department:" + department,
+                courseRepository.findCollectionVersionByDepartment(department));
+    }
+    
+    @Transactional(readOnly = true)
+    public ResourceVersion getAvailableCoursesVersion() {
+        return collectionVersion("courses:available", courseRepository.findAvailableCollectionVersion());
+    }
+    
+    @Transactional(readOnly = true)
+    public ResourceVersion getSearchCoursesVersion(String searchTerm) {
+        return collectionVersion("courses:search:" + searchTerm,
+                courseRepository.findCollectionVersionByNameOrCodeContaining(searchTerm));
+    }
+    
     @Transactional(readOnly = true)
     public Long getActiveCourseCount() {
         log.info("Getting active course count");
@@ -198,6 +268,112 @@ public class CourseService {
         return courseRepository.getTotalEnrolledStudents();
     }
     
+    private ResourceVersion collectionVersion(String scope, CollectionVersion version) {
+        return ResourceVersion.ofCollection(scope, version, courseRepository.findLastChange());
+    }
+    
+    // Sent once the transaction commits, so consumers never act on a change that rolled back or read
+    // the course before the change is visible
+    private void publishAfterCommit(String courseCode, CourseEvent event) {
+        afterCommit(() -> kafkaTemplate.send(COURSE_EVENTS_TOPIC, courseCode, event).whenComplete((result, error) -> {
+            if (error != null) {
+                log.error("Could not publish {} event {} for course {}", event.getEventType(), event.getEventId(), courseCode, error);
+            }
+        }));
+    }
+    
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    private void validateSchedule(Course course) {
+        List<ScheduleSlot> slots = course.getScheduleSlots();
+        for (int i = 0; i < slots.size(); i++) {
+            ScheduleSlot slot = slots.get(i);
+            if (!slot.getStartTime().isBefore(slot.getEndTime())) {
+                throw new RuntimeException("Schedule slot must end after it starts: " + slot.describe());
+            }
+            for (int j = 0; j < i; j++) {
+                if (slot.overlaps(slots.get(j))) {
+                    throw new RuntimeException("Schedule slots overlap: " + slots.get(j).describe() + " and " + slot.describe());
+                }
+            }
+        }
+        if (course.getStatus() != Course.CourseStatus.ACTIVE) {
+            return;
+        }
+        
+        // Rooms are locked in a fixed order so concurrent saves cannot deadlock
+        slots.stream().map(ScheduleSlot::getRoom).filter(Objects::nonNull).distinct().sorted()
+                .forEach(room -> courseRepository.lockRoom("room|" + course.getAcademicYear() + "|" + course.getSemester() + "|" + room));
+        Long courseId = course.getId() != null ? course.getId() : -1L;
+        for (ScheduleSlot slot : slots) {
+            if (slot.getRoom() == null) {
+                continue;
+            }
+            List<String> conflicts = courseRepository.findRoomConflicts(course.getAcademicYear(), course.getSemester(),
+                    courseId, slot.getRoom(), slot.getDayOfWeek(), slot.getStartTime(), slot.getEndTime());
+            if (!conflicts.isEmpty()) {
+                throw new RuntimeException("Room " + slot.getRoom() + " is already booked " + slot.describe()
+                        + " by " + String.join(", ", conflicts));
+            }
+        }
+    }
+    
+    private Course applySeatDelta(String courseCode, int delta) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<Long> updatedId = Optional.empty();
+        if (delta > 0) {
+            // Sold-out courses are rejected by the in-memory gate without a database round trip
+            if (!courseSeatGate.tryAcquire(courseCode, delta)) {
+                throw new RuntimeException("Enrollment count cannot exceed capacity");
+            }
+            updatedId = courseRepository.tryReserveSeats(courseCode, delta, now);
+            if (updatedId.isEmpty()) {
+                Course course = findCourseByCode(courseCode);
+                courseSeatGate.refresh(courseCode, course.isAvailable() ? course.getAvailableSlots() : 0);
+                throw new RuntimeException(course.getStatus() != Course.CourseStatus.ACTIVE
+                        ? "Course " + courseCode + " is not open for enrollment"
+                        : "Enrollment count cannot exceed capacity");
+            }
+        } else if (delta < 0) {
+            updatedId = courseRepository.releaseSeats(courseCode, -delta, now);
+            if (updatedId.isEmpty()) {
+                findCourseByCode(courseCode);
+                throw new RuntimeException("Enrollment count cannot be negative");
+            }
+        }
+        
+        Course course = updatedId.isPresent() ? reloadAfterSeatUpdate(updatedId.get()) : findCourseByCode(courseCode);
+        courseSeatGate.refresh(courseCode, course.isAvailable() ? course.getAvailableSlots() : 0);
+        return course;
+    }
+    
+    // The seat update bypassed Hibernate, so this course is re-read from the database and its cached row dropped
+    // once the new count is committed
+    private Course reloadAfterSeatUpdate(Long id) {
+        Map<String, Object> bypassCache = Map.of("jakarta.persistence.cache.retrieveMode", CacheRetrieveMode.BYPASS,
+                "jakarta.persistence.cache.storeMode", CacheStoreMode.BYPASS);
+        Course course = entityManager.find(Course.class, id, bypassCache);
+        entityManager.refresh(course, bypassCache);
+        afterCommit(() -> entityManager.getEntityManagerFactory().getCache().evict(Course.class, id));
+        return course;
+    }
+    
+    private Course findCourseByCode(String courseCode) {
+        return courseRepository.findByCourseCode(courseCode)
+                .orElseThrow(() -> new RuntimeException("Course not found with code: " + courseCode));
+    }
+    
     private Course convertToEntity(CourseDTO dto) {
         Course course = new Course();
         course.setId(dto.getId());
@@ -217,6 +393,7 @@ public class CourseService {
         course.setInstructorEmail(dto.getInstructorEmail());
         course.setSchedule(dto.getSchedule());
         course.setLocation(dto.getLocation());
+        course.setScheduleSlots(dto.getScheduleSlots() != null ? new ArrayList<>(dto.getScheduleSlots()) : new ArrayList<>());
         return course;
     }
     
@@ -239,6 +416,7 @@ public class CourseService {
         dto.setInstructorEmail(course.getInstructorEmail());
         dto.setSchedule(course.getSchedule());
         dto.setLocation(course.getLocation());
+        dto.setScheduleSlots(new ArrayList<>(course.getScheduleSlots()));
         dto.setCreatedAt(course.getCreatedAt());
         dto.setUpdatedAt(course.getUpdatedAt());
         return dto;
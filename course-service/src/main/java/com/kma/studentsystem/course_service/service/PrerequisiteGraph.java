@@ -0,0 +1,186 @@
+package com.kma.studentsystem.course_service.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.BiConsumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable prerequisite DAG over course codes with its transitive closure.
+ *
+ * Courses are numbered in topological order (prerequisites first) and each course's closure is
+ * a BitSet over those numbers, computed in a single pass: closure(c) = union of {p} and
+ * closure(p) over the direct prerequisites p of c. Building fails on a cycle, which is what write
+ * validation wants; rebuilding from stored rows can skip the offending edges instead.
+ */
+public final class PrerequisiteGraph {
+
+    private static final Pattern SEPARATOR = Pattern.compile("[,;\\s]+");
+
+    private final List<String> order;
+    private final Map<String, Integer> positions;
+    private final Map<String, List<String>> prerequisites;
+    private final BitSet[] closures;
+
+    private PrerequisiteGraph(List<String> order, Map<String, List<String>> prerequisites) {
+        this.order = order;
+        this.prerequisites = prerequisites;
+        this.positions = new HashMap<>();
+        for (int i = 0; i < order.size(); i++) {
+            positions.put(order.get(i), i);
+        }
+        this.closures = new BitSet[order.size()];
+        for (int i = 0; i < order.size(); i++) {
+            BitSet closure = new BitSet(i);
+            for (String prerequisite : prerequisitesOf(order.get(i))) {
+                int position = positions.get(prerequisite);
+                closure.set(position);
+                closure.or(closures[position]);
+            }
+            closures[i] = closure;
+        }
+    }
+
+    /**
+     * Parses the free-text prerequisites column: course codes separated by commas, semicolons or spaces.
+     */
+    public static List<String> parse(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(SEPARATOR.split(text.trim()))
+                .filter(code -> !code.isEmpty())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    public static PrerequisiteGraph build(Map<String, List<String>> prerequisites) {
+        // Every referenced code is a node, even if no course row exists for it (yet)
+        Set<String> nodes = new TreeSet<>(prerequisites.keySet());
+        prerequisites.values().forEach(nodes::addAll);
+
+        Map<String, Integer> inDegree = new HashMap<>();
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (String node : nodes) {
+            List<String> direct = prerequisites.getOrDefault(node, List.of());
+            inDegree.put(node, direct.size());
+            direct.forEach(prerequisite -> dependents.computeIfAbsent(prerequisite, key -> new ArrayList<>()).add(node));
+        }
+
+        // Kahn's algorithm; nodes left with a positive in-degree sit on or behind a cycle
+        Deque<String> ready = nodes.stream().filter(node -> inDegree.get(node) == 0)
+                .collect(Collectors.toCollection(ArrayDeque::new));
+        List<String> order = new ArrayList<>(nodes.size());
+        while (!ready.isEmpty()) {
+            String node = ready.poll();
+            order.add(node);
+            for (String dependent : dependents.getOrDefault(node, List.of())) {
+                if (inDegree.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (order.size() < nodes.size()) {
+            Set<String> blocked = new LinkedHashSet<>(nodes);
+            blocked.removeAll(order);
+            throw new RuntimeException("Prerequisite cycle involving: " + String.join(", ", blocked));
+        }
+        return new PrerequisiteGraph(order, prerequisites);
+    }
+
+    /**
+     * Like {@link #build}, but breaks cycles instead of failing: a depth-first search over the
+     * prerequisite edges drops every edge leading back to a course still on its path and reports
+     * it as (course, prerequisite). Acyclic input is built unchanged.
+     */
+    public static PrerequisiteGraph buildSkippingCycles(Map<String, List<String>> prerequisites,
+                                                        BiConsumer<String, String> skippedEdge) {
+        Map<String, List<String>> acyclic = new HashMap<>();
+        prerequisites.forEach((course, direct) -> acyclic.put(course, new ArrayList<>(direct)));
+
+        Set<String> nodes = new TreeSet<>(acyclic.keySet());
+        acyclic.values().forEach(nodes::addAll);
+        Set<String> onPath = new HashSet<>();
+        Set<String> finished = new HashSet<>();
+        for (String root : nodes) {
+            if (finished.contains(root)) {
+                continue;
+            }
+            // Iterative DFS: each frame is a course and the index of the next prerequisite to follow
+            Deque<Map.Entry<String, int[]>> path = new ArrayDeque<>();
+            path.push(Map.entry(root, new int[1]));
+            onPath.add(root);
+            while (!path.isEmpty()) {
+                String course = path.peek().getKey();
+                int[] next = path.peek().getValue();
+                List<String> direct = acyclic.getOrDefault(course, List.of());
+                if (next[0] == direct.size()) {
+                    path.pop();
+                    onPath.remove(course);
+                    finished.add(course);
+                    continue;
+                }
+                String prerequisite = direct.get(next[0]);
+                if (onPath.contains(prerequisite)) {
+                    direct.remove(next[0]);
+                    skippedEdge.accept(course, prerequisite);
+                    continue;
+                }
+                next[0]++;
+                if (!finished.contains(prerequisite)) {
+                    path.push(Map.entry(prerequisite, new int[1]));
+                    onPath.add(prerequisite);
+                }
+            }
+        }
+        return build(acyclic);
+    }
+
+    public List<String> prerequisitesOf(String courseCode) {
+        return prerequisites.getOrDefault(courseCode, List.of());
+    }
+
+    /**
+     * @return every course required directly or indirectly, prerequisites first
+     */
+    public List<String> closureOf(String courseCode) {
+        Integer position = positions.get(courseCode);
+        if (position == null) {
+            return List.of();
+        }
+        return closures[position].stream().mapToObj(order::get).collect(Collectors.toList());
+    }
+
+    /**
+     * @return every course that requires the given course directly or indirectly
+     */
+    public List<String> dependentsOf(String courseCode) {
+        Integer position = positions.get(courseCode);
+        if (position == null) {
+            return List.of();
+        }
+        List<String> dependents = new ArrayList<>();
+        // Dependents always come later in topological order
+        for (int i = position + 1; i < closures.length; i++) {
+            if (closures[i].get(position)) {
+                dependents.add(order.get(i));
+            }
+        }
+        return dependents;
+    }
+
+    public Set<String> courseCodes() {
+        return prerequisites.keySet();
+    }
+}
@@ -0,0 +1,173 @@
+package com.kma.studentsystem.course_service.service;
+
+import com.kma.studentsystem.course_service.event.PrerequisiteClosure;
+import com.kma.studentsystem.course_service.model.Course;
+import com.kma.studentsystem.course_service.repository.CourseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the prerequisite DAG of the catalog and publishes each course's transitive closure.
+ *
+ * Writes are validated against the graph under a database lock so a cycle can never be stored;
+ * rebuilds skip the edges of any cycle already in the table instead of failing. After a course is
+ * created, updated or deleted, the closures of that course and of everything depending on it
+ * are republished; enrollment-service turns them into bitsets for its registration checks.
+ *
+ * Both run off course-events, which CourseService sends after commit, and read the primary so the
+ * change that triggered them is visible. refresh runs once per event, on the instance owning the
+ * partition, and publishes; reload runs on every instance so each one's getClosure is current.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PrerequisiteIndexService {
+    
+    public static final String COURSE_PREREQUISITE_TOPIC = "course-prerequisite-index";
+    
+    private final KafkaTemplate<String, PrerequisiteClosure> prerequisiteKafkaTemplate;
+    private final CourseRepository courseRepository;
+    
+    private volatile PrerequisiteGraph graph;
+    
+    // Not a monitor: refreshes query the database and send to Kafka, which would pin a virtual thread
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    
+    @Value("${state.topic.republish-on-startup:true}")
+    private boolean republishOnStartup;
+    
+    /**
+     * Rejects the course if saving its prerequisites would create a cycle.
+     * Takes the prerequisite lock, which is held until the surrounding transaction ends.
+     */
+    @Transactional
+    public void validate(Course course, String previousCourseCode) {
+        List<String> direct = PrerequisiteGraph.parse(course.getPrerequisites());
+        if (direct.contains(course.getCourseCode())) {
+            throw new RuntimeException("Course " + course.getCourseCode() + " cannot be its own prerequisite");
+        }
+        // A course without prerequisites cannot close a cycle; the others are checked one writer at a time
+        if (direct.isEmpty()) {
+            return;
+        }
+        courseRepository.lockPrerequisites();
+        Map<String, List<String>> prerequisites = loadPrerequisites();
+        if (previousCourseCode != null) {
+            prerequisites.remove(previousCourseCode);
+        }
+        prerequisites.put(course.getCourseCode(), direct);
+        PrerequisiteGraph.build(prerequisites);
+    }
+    
+    /**
+     * Rebuilds the graph from the database and republishes the course and all of its dependents.
+     */
+    @Transactional
+    public void refresh(String courseCode) {
+        refreshLock.lock();
+        try {
+            PrerequisiteGraph rebuilt = rebuild();
+            graph = rebuilt;
+            
+            Set<String> affected = new LinkedHashSet<>();
+            affected.add(courseCode);
+            affected.addAll(rebuilt.dependentsOf(courseCode));
+            LocalDateTime now = LocalDateTime.now();
+            for (String code : affected) {
+                if (rebuilt.courseCodes().contains(code)) {
+                    send(code, toClosure(rebuilt, code, now));
+                } else {
+                    // Tombstone: compaction drops the key once consumers have seen the delete
+                    send(code, null);
+                }
+            }
+            log.info("Prerequisite index refreshed for {} ({} courses republished)", courseCode, affected.size());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+    
+    /**
+     * Rebuilds this instance's graph from the database without publishing anything.
+     */
+    @Transactional
+    public void reload() {
+        refreshLock.lock();
+        try {
+            graph = rebuild();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void republishAll() {
+        refreshLock.lock();
+        try {
+            PrerequisiteGraph rebuilt = rebuild();
+            graph = rebuilt;
+            if (!republishOnStartup) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            rebuilt.courseCodes().forEach(code ->
+                    send(code, toClosure(rebuilt, code, now)));
+            prerequisiteKafkaTemplate.flush();
+            log.info("Republished prerequisites of {} courses to {}", rebuilt.courseCodes().size(), COURSE_PREREQUISITE_TOPIC);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+    
+    public Optional<PrerequisiteClosure> getClosure(String courseCode) {
+        PrerequisiteGraph current = graph;
+        if (current == null || !current.courseCodes().contains(courseCode)) {
+            return Optional.empty();
+        }
+        return Optional.of(toClosure(current, courseCode, LocalDateTime.now()));
+    }
+    
+    // Helper methods
+    // Rows written before writes were serialised may hold a cycle; the index skips it rather than going stale
+    private PrerequisiteGraph rebuild() {
+        return PrerequisiteGraph.buildSkippingCycles(loadPrerequisites(), (courseCode, prerequisite) ->
+                log.warn("Ignoring prerequisite {} of course {}: it closes a prerequisite cycle", prerequisite, courseCode));
+    }
+    
+    private Map<String, List<String>> loadPrerequisites() {
+        Map<String, List<String>> prerequisites = new HashMap<>();
+        for (Object[] row : courseRepository.findAllPrerequisites()) {
+            prerequisites.put((String) row[0], PrerequisiteGraph.parse((String) row[1]));
+        }
+        return prerequisites;
+    }
+    
+    // A null closure is a tombstone. A lost send leaves the key stale until the next refresh touching it or a restart
+    private void send(String courseCode, PrerequisiteClosure closure) {
+        prerequisiteKafkaTemplate.send(COURSE_PREREQUISITE_TOPIC, courseCode, closure).whenComplete((result, error) -> {
+            if (error != null) {
+                log.error("Could not publish the prerequisites of course {}", courseCode, error);
+            }
+        });
+    }
+    
+    private PrerequisiteClosure toClosure(PrerequisiteGraph graph, String courseCode, LocalDateTime now) {
+        return new PrerequisiteClosure(courseCode, graph.prerequisitesOf(courseCode), graph.closureOf(courseCode), now);
+    }
+}
@@ -0,0 +1,39 @@
+package com.kma.studentsystem.course_service.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SeatReservationExpiryJob {
+    
+    private final SeatReservationService seatReservationService;
+    
+    @Value("${seat-reservation.expiry-batch-size:500}")
+    private int batchSize;
+    
+    @Scheduled(fixedDelayString = "${seat-reservation.expiry-sweep-ms:30000}")
+    public void expireStaleHolds() {
+        List<String> expiredIds = seatReservationService.findExpiredHoldIds(batchSize);
+        int expired = 0;
+        // One transaction per reservation so a single failure does not hold back the rest
+        for (String reservationId : expiredIds) {
+            try {
+                if (seatReservationService.expire(reservationId)) {
+                    expired++;
+                }
+            } catch (Exception e) {
+                log.error("Error expiring seat reservation {}: {}", reservationId, e.getMessage());
+            }
+        }
+        if (expired > 0) {
+            log.info("Expired {} seat reservations", expired);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.kma.studentsystem.course_service.service;
+
+import com.kma.studentsystem.course_service.dto.SeatReservationDTO;
+import com.kma.studentsystem.course_service.model.SeatReservation;
+import com.kma.studentsystem.course_service.repository.SeatReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class SeatReservationService {
+    
+    private static final List<SeatReservation.ReservationStatus> ACTIVE_STATUSES =
+            List.of(SeatReservation.ReservationStatus.HELD, SeatReservation.ReservationStatus.CONFIRMED);
+    
+    private static final String ACTIVE_RESERVATION_CONSTRAINT = "uk_seat_reservations_active";
+    
+    private final SeatReservationRepository seatReservationRepository;
+    private final CourseService courseService;
+    
+    @Value("${seat-reservation.hold-ttl-seconds:600}")
+    private long holdTtlSeconds;
+    
+    public SeatReservationDTO reserve(String courseCode, String studentId) {
+        log.info("Reserving seat in course: {} for student: {}", courseCode, studentId);
+        
+        if (seatReservationRepository.existsByCourseCodeAndStudentIdAndStatusIn(courseCode, studentId, ACTIVE_STATUSES)) {
+            throw alreadyReserved(courseCode, studentId);
+        }
+        
+        // Takes the seat atomically; throws if the course is full or closed
+        courseService.updateEnrollmentCount(courseCode, 1);
+        
+        SeatReservation reservation = new SeatReservation();
+        reservation.setReservationId(UUID.randomUUID().toString());
+        reservation.setCourseCode(courseCode);
+        reservation.setStudentId(studentId);
+        reservation.setStatus(SeatReservation.ReservationStatus.HELD);
+        reservation.setExpiresAt(LocalDateTime.now().plusSeconds(holdTtlSeconds));
+        
+        SeatReservation savedReservation;
+        try {
+            savedReservation = seatReservationRepository.saveAndFlush(reservation);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent reserve() for the same student passed the check first; the seat taken above rolls back
+            if (isActiveReservationConflict(e)) {
+                throw alreadyReserved(courseCode, studentId);
+            }
+            throw e;
+        }
+        log.info("Seat reservation {} held until {}", savedReservation.getReservationId(), savedReservation.getExpiresAt());
+        
+        return convertToDTO(savedReservation);
+    }
+    
+    public SeatReservationDTO confirm(String reservationId) {
+        log.info("Confirming seat reservation: {}", reservationId);
+        
+        if (seatReservationRepository.confirmHeld(reservationId, LocalDateTime.now()) == 0) {
+            SeatReservation reservation = findReservation(reservationId);
+            if (reservation.getStatus() == SeatReservation.ReservationStatus.CONFIRMED) {
+                return convertToDTO(reservation);
+            }
+            if (reservation.getStatus() == SeatReservation.ReservationStatus.HELD) {
+                throw new RuntimeException("Seat reservation " + reservationId + " has expired");
+            }
+            throw new RuntimeException("Seat reservation " + reservationId + " is " + reservation.getStatus());
+        }
+        
+        return convertToDTO(findReservation(reservationId));
+    }
+    
+    public SeatReservationDTO release(String reservationId) {
+        log.info("Releasing seat reservation: {}", reservationId);
+        
+        String courseCode = findReservation(reservationId).getCourseCode();
+        if (seatReservationRepository.transition(reservationId, ACTIVE_STATUSES,
+                SeatReservation.ReservationStatus.RELEASED, LocalDateTime.now()) == 1) {
+            courseService.updateEnrollmentCount(courseCode, -1);
+        }
+        
+        return convertToDTO(findReservation(reservationId));
+    }
+    
+    public boolean expire(String reservationId) {
+        String courseCode = findReservation(reservationId).getCourseCode();
+        if (seatReservationRepository.transition(reservationId, List.of(SeatReservation.ReservationStatus.HELD),
+                SeatReservation.ReservationStatus.EXPIRED, LocalDateTime.now()) == 0) {
+            return false;
+        }
+        courseService.updateEnrollmentCount(courseCode, -1);
+        log.info("Seat reservation {} expired, seat returned to course {}", reservationId, courseCode);
+        return true;
+    }
+    
+    @Transactional(readOnly = true)
+    public List<String> findExpiredHoldIds(int limit) {
+        return seatReservationRepository.findExpiredHoldIds(LocalDateTime.now(), PageRequest.of(0, limit));
+    }
+    
+    @Transactional(readOnly = true)
+    public SeatReservationDTO getReservation(String reservationId) {
+        log.info("Retrieving seat reservation: {}", reservationId);
+        return convertToDTO(findReservation(reservationId));
+    }
+    
+    private RuntimeException alreadyReserved(String courseCode, String studentId) {
+        return new RuntimeException("Student " + studentId + " already holds a seat in course " + courseCode);
+    }
+    
+    private boolean isActiveReservationConflict(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && ACTIVE_RESERVATION_CONSTRAINT.equals(violation.getConstraintName());
+    }
+    
+    private SeatReservation findReservation(String reservationId) {
+        return seatReservationRepository.findByReservationId(reservationId)
+                .orElseThrow(() -> new RuntimeException("Seat reservation not found: " + reservationId));
+    }
+    
+    private SeatReservationDTO convertToDTO(SeatReservation reservation) {
+        SeatReservationDTO dto = new SeatReservationDTO();
+        dto.setReservationId(reservation.getReservationId());
+        dto.setCourseCode(reservation.getCourseCode());
+        dto.setStudentId(reservation.getStudentId());
+        dto.setStatus(reservation.getStatus());
+        dto.setExpiresAt(reservation.getExpiresAt());
+        dto.setConfirmedAt(reservation.getConfirmedAt());
+        dto.setCreatedAt(reservation.getCreatedAt());
+        return dto;
+    }
+}
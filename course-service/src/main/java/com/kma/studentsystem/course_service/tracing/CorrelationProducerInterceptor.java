@@ -0,0 +1,47 @@
+package com.kma.studentsystem.course_service.tracing;
+
+import org.apache.kafka.clients.producer.ProducerInterceptor;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Copies the current request id and request start time onto every outgoing record.
+ * Registered on the producer factories through interceptor.classes.
+ */
+public class CorrelationProducerInterceptor implements ProducerInterceptor<Object, Object> {
+    
+    @Override
+    public ProducerRecord<Object, Object> onSend(ProducerRecord<Object, Object> record) {
+        String correlationId = CorrelationContext.getCorrelationId();
+        if (correlationId == null) {
+            return record;
+        }
+        
+        Headers headers = record.headers();
+        if (headers.lastHeader(CorrelationContext.REQUEST_ID_HEADER) == null) {
+            headers.add(CorrelationContext.REQUEST_ID_HEADER, correlationId.getBytes(StandardCharsets.UTF_8));
+        }
+        Long originTimestamp = CorrelationContext.getOriginTimestamp();
+        if (originTimestamp != null && headers.lastHeader(CorrelationContext.REQUEST_START_HEADER) == null) {
+            headers.add(CorrelationContext.REQUEST_START_HEADER,
+                    originTimestamp.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return record;
+    }
+    
+    @Override
+    public void onAcknowledgement(RecordMetadata metadata, Exception exception) {
+    }
+    
+    @Override
+    public void close() {
+    }
+    
+    @Override
+    public void configure(Map<String, ?> configs) {
+    }
+}
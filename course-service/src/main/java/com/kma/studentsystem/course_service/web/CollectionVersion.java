@@ -0,0 +1,13 @@
+package com.kma.studentsystem.course_service.web;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection for the count and max(updatedAt) fingerprint behind a collection's ETag.
+ */
+public interface CollectionVersion {
+
+    Long getRowCount();
+
+    LocalDateTime getLastModified();
+}
@@ -0,0 +1,25 @@
+-- Baseline: the schema Hibernate generated for the entities before migrations were introduced.
+-- Existing databases are baselined at this version, so later tables and columns live in V2 onwards.
+
+CREATE TABLE courses (
+    id               bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    course_code      varchar(255) NOT NULL,
+    course_name      varchar(255) NOT NULL,
+    description      text,
+    credits          integer      NOT NULL,
+    department       varchar(255) NOT NULL,
+    level            varchar(255) NOT NULL,
+    status           varchar(255) NOT NULL,
+    capacity         integer      NOT NULL,
+    enrolled_count   integer,
+    academic_year    integer      NOT NULL,
+    semester         varchar(255) NOT NULL,
+    prerequisites    text,
+    instructor_name  varchar(255),
+    instructor_email varchar(255),
+    schedule         varchar(255),
+    location         varchar(255),
+    created_at       timestamp(6) NOT NULL,
+    updated_at       timestamp(6),
+    CONSTRAINT uk_courses_course_code UNIQUE (course_code)
+);
@@ -0,0 +1,24 @@
+-- Seat reservations with TTL holds; courses get an optimistic-lock version for seat updates.
+-- IF NOT EXISTS: databases baselined at V1 may already have these from ddl-auto.
+
+ALTER TABLE courses ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+
+CREATE TABLE IF NOT EXISTS seat_reservations (
+    id             bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    reservation_id varchar(36)  NOT NULL,
+    course_code    varchar(255) NOT NULL,
+    student_id     varchar(255) NOT NULL,
+    status         varchar(255) NOT NULL,
+    expires_at     timestamp(6) NOT NULL,
+    confirmed_at   timestamp(6),
+    created_at     timestamp(6) NOT NULL,
+    updated_at     timestamp(6),
+    CONSTRAINT uk_seat_reservations_reservation_id UNIQUE (reservation_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_seat_reservations_course_student ON seat_reservations (course_code, student_id);
+CREATE INDEX IF NOT EXISTS idx_seat_reservations_status_expires ON seat_reservations (status, expires_at);
+
+-- One live reservation per student and course; concurrent reserve() calls cannot both insert
+CREATE UNIQUE INDEX IF NOT EXISTS uk_seat_reservations_active ON seat_reservations (course_code, student_id)
+    WHERE status IN ('HELD', 'CONFIRMED');
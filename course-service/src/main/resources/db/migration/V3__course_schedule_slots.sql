@@ -0,0 +1,12 @@
+-- Structured weekly meetings per course, used for room and timetable clash checks.
+-- IF NOT EXISTS: databases baselined at V1 may already have the table from ddl-auto.
+
+CREATE TABLE IF NOT EXISTS course_schedule_slots (
+    course_id   bigint       NOT NULL REFERENCES courses (id),
+    day_of_week varchar(255) NOT NULL,
+    start_time  time(6)      NOT NULL,
+    end_time    time(6)      NOT NULL,
+    room        varchar(255)
+);
+
+CREATE INDEX IF NOT EXISTS idx_schedule_slot_room ON course_schedule_slots (room, day_of_week);
@@ -0,0 +1,13 @@
+-- Indexes for CourseRepository predicates; course_code lookups use the unique constraint
+
+-- Loading a course's scheduleSlots collection; without it every course fetch scans all slots
+CREATE INDEX IF NOT EXISTS idx_course_schedule_slots_course ON course_schedule_slots (course_id);
+
+-- findByAcademicYearAndSemester, findByAcademicYear, findRoomConflicts
+CREATE INDEX IF NOT EXISTS idx_courses_term_status ON courses (academic_year, semester, status);
+
+-- findByDepartment, findAvailableCoursesByDepartment, countActiveCoursesByDepartment
+CREATE INDEX IF NOT EXISTS idx_courses_department_status ON courses (department, status);
+
+-- findByStatus, findAvailableCourses, countActiveCourses and the other ACTIVE aggregates
+CREATE INDEX IF NOT EXISTS idx_courses_status_level ON courses (status, level);
@@ -0,0 +1,178 @@
+package com.kma.studentsystem.course_service.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the Flyway migrations against a real PostgreSQL, both on an empty database and on one
+ * baselined at V1 the way spring.flyway.baseline-on-migrate does it, and checks that the
+ * repository predicates are planned on the indexes the migrations create.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SchemaMigrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @BeforeEach
+    void resetSchema() throws SQLException {
+        execute("DROP SCHEMA public CASCADE; CREATE SCHEMA public");
+    }
+
+    @Test
+    void migratesAnEmptyDatabase() throws SQLException {
+        MigrateResult result = flyway().migrate();
+
+        assertThat(result.success).isTrue();
+        assertThat(tables()).contains("courses", "course_schedule_slots", "seat_reservations");
+    }
+
+    @Test
+    void upgradesADatabaseCreatedBeforeMigrations() throws Exception {
+        // The pre-migration schema ddl-auto left behind: no Flyway history, only the V1 tables
+        execute(script("V1__baseline.sql"));
+
+        MigrateResult result = flyway().migrate();
+
+        assertThat(result.success).isTrue();
+        assertThat(result.migrationsExecuted).isEqualTo(3);
+        assertThat(tables()).contains("course_schedule_slots", "seat_reservations");
+        assertThat(columns("courses")).contains("version");
+    }
+
+    @Test
+    void upgradesADatabaseWhereDdlAutoAlreadyCreatedTheNewTables() throws Exception {
+        execute(script("V1__baseline.sql"));
+        execute(script("V2__seat_reservations.sql"));
+        execute(script("V3__course_schedule_slots.sql"));
+
+        assertThat(flyway().migrate().success).isTrue();
+    }
+
+    @Test
+    void allowsOneLiveReservationPerStudentAndCourse() throws SQLException {
+        flyway().migrate();
+        execute(reservation("r1", "HELD"));
+        execute(reservation("r2", "RELEASED"));
+
+        assertThatThrownBy(() -> execute(reservation("r3", "CONFIRMED")))
+                .isInstanceOf(SQLException.class)
+                .hasMessageContaining("uk_seat_reservations_active");
+    }
+
+    @Test
+    void repositoryPredicatesUseTheirIndexes() throws SQLException {
+        flyway().migrate();
+        execute("""
+                INSERT INTO courses (course_code, course_name, credits, department, level, status, capacity, enrolled_count,
+                                     academic_year, semester, created_at)
+                SELECT 'C' || i, 'Course ' || i, 3, 'D' || (i % 50), 'UNDERGRADUATE',
+                       CASE WHEN i % 10 = 0 THEN 'INACTIVE' ELSE 'ACTIVE' END, 30, 0,
+                       2020 + i % 6, CASE WHEN i % 2 = 0 THEN 'FALL' ELSE 'SPRING' END, now()
+                FROM generate_series(1, 5000) AS i;
+                INSERT INTO course_schedule_slots (course_id, day_of_week, start_time, end_time, room)
+                SELECT id, 'MONDAY', '09:00', '10:30', 'R' || (id % 200) FROM courses;
+                INSERT INTO seat_reservations (reservation_id, course_code, student_id, status, expires_at, created_at)
+                SELECT 'r' || i, 'C' || (i % 5000), 'S' || i, CASE WHEN i % 4 = 0 THEN 'HELD' ELSE 'CONFIRMED' END,
+                       now() + i * interval '1 second', now()
+                FROM generate_series(1, 5000) AS i;
+                ANALYZE
+                """);
+
+        assertThat(plan("SELECT * FROM courses WHERE department = 'D7' AND status = 'ACTIVE'"))
+                .contains("idx_courses_department_status");
+        assertThat(plan("SELECT * FROM courses WHERE academic_year = 2024 AND semester = 'FALL' AND status = 'ACTIVE'"))
+                .contains("idx_courses_term_status");
+        assertThat(plan("SELECT * FROM course_schedule_slots WHERE course_id = 42"))
+                .contains("idx_course_schedule_slots_course");
+        assertThat(plan("SELECT * FROM course_schedule_slots WHERE room = 'R7' AND day_of_week = 'MONDAY'"))
+                .contains("idx_schedule_slot_room");
+        assertThat(plan("SELECT reservation_id FROM seat_reservations WHERE status = 'HELD' AND expires_at < now() ORDER BY expires_at LIMIT 500"))
+                .contains("idx_seat_reservations_status_expires");
+        assertThat(plan("SELECT 1 FROM seat_reservations WHERE course_code = 'C7' AND student_id = 'S7' AND status IN ('HELD', 'CONFIRMED')"))
+                .containsAnyOf("uk_seat_reservations_active", "idx_seat_reservations_course_student");
+    }
+
+    // Helper methods
+    private Flyway flyway() {
+        return Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private String plan(String query) throws SQLException {
+        List<String> lines = new ArrayList<>();
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            // Small tables are cheaper to scan; only whether an index can serve the predicate matters here
+            statement.execute("SET enable_seqscan = off");
+            try (ResultSet rows = statement.executeQuery("EXPLAIN " + query)) {
+                while (rows.next()) {
+                    lines.add(rows.getString(1));
+                }
+            }
+        }
+        return String.join("\n", lines);
+    }
+
+    private List<String> tables() throws SQLException {
+        return names("SELECT table_name FROM information_schema.tables WHERE table_schema = 'public'");
+    }
+
+    private List<String> columns(String table) throws SQLException {
+        return names("SELECT column_name FROM information_schema.columns WHERE table_schema = 'public' AND table_name = '" + table + "'");
+    }
+
+    private List<String> names(String query) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (Connection connection = connect(); Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(query)) {
+            while (rows.next()) {
+                names.add(rows.getString(1));
+            }
+        }
+        return names;
+    }
+
+    private String script(String name) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/db/migration/" + name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private String reservation(String reservationId, String status) {
+        return "INSERT INTO seat_reservations (reservation_id, course_code, student_id, status, expires_at, created_at) "
+                + "VALUES ('" + reservationId + "', 'CS101', 'S1', '" + status + "', now(), now())";
+    }
+}
@@ -0,0 +1,142 @@
+package com.kma.studentsystem.course_service.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CourseSeatGateTest {
+
+    private static final String COURSE = "CS101";
+
+    private CourseSeatGate gate;
+
+    @BeforeEach
+    void setUp() {
+        gate = new CourseSeatGate();
+        ReflectionTestUtils.setField(gate, "ttlMillis", 60_000L);
+        ReflectionTestUtils.setField(gate, "stripes", 4);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void unknownOrStaleCoursesFallThroughToTheDatabase() {
+        assertThat(gate.tryAcquire(COURSE, 1)).isTrue();
+
+        ReflectionTestUtils.setField(gate, "ttlMillis", -1L);
+        gate.markSoldOut(COURSE);
+        assertThat(gate.tryAcquire(COURSE, 1)).isTrue();
+    }
+
+    @Test
+    void rejectsOnceTheRemainingSeatsAreTaken() {
+        gate.refresh(COURSE, 3);
+
+        assertThat(gate.tryAcquire(COURSE, 1)).isTrue();
+        assertThat(gate.tryAcquire(COURSE, 1)).isTrue();
+        assertThat(gate.tryAcquire(COURSE, 1)).isTrue();
+        assertThat(gate.tryAcquire(COURSE, 1)).isFalse();
+    }
+
+    @Test
+    void multiSeatRequestsSpreadOverStripesAreLeftToTheDatabase() {
+        // Four stripes of one seat each: no single stripe holds two, but the course does
+        gate.refresh(COURSE, 4);
+        assertThat(gate.tryAcquire(COURSE, 2)).isTrue();
+
+        gate.refresh(COURSE, 1);
+        assertThat(gate.tryAcquire(COURSE, 2)).isFalse();
+    }
+
+    @Test
+    void concurrentRequestsNeverTakeMoreThanTheRemainingSeats() throws Exception {
+        gate.refresh(COURSE, 100);
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int attempt = 0; attempt < 50; attempt++) {
+                        if (gate.tryAcquire(COURSE, 1)) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(admitted.get()).isEqualTo(100);
+    }
+
+    @Test
+    void rolledBackPermitIsHandedBack() {
+        gate.refresh(COURSE, 1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(gate.tryAcquire(COURSE, 1)).isTrue();
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(gate.tryAcquire(COURSE, 1)).isTrue();
+        assertThat(gate.tryAcquire(COURSE, 1)).isFalse();
+    }
+
+    @Test
+    void committedPermitStaysTaken() {
+        gate.refresh(COURSE, 1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(gate.tryAcquire(COURSE, 1)).isTrue();
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(gate.tryAcquire(COURSE, 1)).isFalse();
+    }
+
+    @Test
+    void rollbackAfterARefreshDropsTheEstimate() {
+        gate.refresh(COURSE, 1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(gate.tryAcquire(COURSE, 1)).isTrue();
+        // Refreshed inside the transaction from a count the rollback undoes
+        gate.refresh(COURSE, 0);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(gate.tryAcquire(COURSE, 1)).isTrue();
+    }
+
+    // Helper methods
+    private void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
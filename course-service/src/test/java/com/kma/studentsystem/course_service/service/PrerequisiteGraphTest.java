@@ -0,0 +1,104 @@
+package com.kma.studentsystem.course_service.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PrerequisiteGraphTest {
+
+    @Test
+    void parsesCodesSeparatedByCommasSemicolonsOrSpaces() {
+        assertThat(PrerequisiteGraph.parse(" CS101, CS102;CS103  CS101 ")).containsExactly("CS101", "CS102", "CS103");
+        assertThat(PrerequisiteGraph.parse(null)).isEmpty();
+        assertThat(PrerequisiteGraph.parse("   ")).isEmpty();
+    }
+
+    @Test
+    void closureContainsIndirectPrerequisitesInTopologicalOrder() {
+        PrerequisiteGraph graph = PrerequisiteGraph.build(Map.of(
+                "CS101", List.of(),
+                "CS201", List.of("CS101"),
+                "CS301", List.of("CS201", "MATH101")));
+
+        assertThat(graph.prerequisitesOf("CS301")).containsExactly("CS201", "MATH101");
+        assertThat(graph.closureOf("CS301")).containsExactlyInAnyOrder("CS101", "CS201", "MATH101");
+        assertThat(graph.closureOf("CS301").indexOf("CS101")).isLessThan(graph.closureOf("CS301").indexOf("CS201"));
+        assertThat(graph.dependentsOf("CS101")).containsExactlyInAnyOrder("CS201", "CS301");
+        assertThat(graph.closureOf("UNKNOWN")).isEmpty();
+    }
+
+    @Test
+    void referencedCodesWithoutARowAreNodesButNotCourses() {
+        PrerequisiteGraph graph = PrerequisiteGraph.build(Map.of("CS201", List.of("CS101")));
+
+        assertThat(graph.courseCodes()).containsExactly("CS201");
+        assertThat(graph.dependentsOf("CS101")).containsExactly("CS201");
+    }
+
+    @Test
+    void buildRejectsCycles() {
+        assertThatThrownBy(() -> PrerequisiteGraph.build(Map.of(
+                "A", List.of("C"),
+                "B", List.of("A"),
+                "C", List.of("B"),
+                "D", List.of())))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("cycle")
+                .hasMessageContaining("A, B, C")
+                .hasMessageNotContaining("D");
+    }
+
+    @Test
+    void buildRejectsSelfReferences() {
+        assertThatThrownBy(() -> PrerequisiteGraph.build(Map.of("A", List.of("A"))))
+                .hasMessageContaining("cycle");
+    }
+
+    @Test
+    void buildSkippingCyclesDropsOneEdgePerCycleAndReportsIt() {
+        List<String> skipped = new ArrayList<>();
+        PrerequisiteGraph graph = PrerequisiteGraph.buildSkippingCycles(Map.of(
+                        "A", List.of("B"),
+                        "B", List.of("C"),
+                        "C", List.of("A"),
+                        "D", List.of("A")),
+                (course, prerequisite) -> skipped.add(course + "->" + prerequisite));
+
+        // DFS from A follows A -> B -> C and finds C -> A leading back onto the path
+        assertThat(skipped).containsExactly("C->A");
+        assertThat(graph.closureOf("A")).containsExactlyInAnyOrder("B", "C");
+        assertThat(graph.closureOf("D")).containsExactlyInAnyOrder("A", "B", "C");
+        assertThat(graph.prerequisitesOf("C")).isEmpty();
+    }
+
+    @Test
+    void buildSkippingCyclesLeavesAcyclicGraphsAlone() {
+        List<String> skipped = new ArrayList<>();
+        Map<String, List<String>> prerequisites = Map.of(
+                "CS201", List.of("CS101"),
+                "CS301", List.of("CS101", "CS201"));
+
+        PrerequisiteGraph graph = PrerequisiteGraph.buildSkippingCycles(prerequisites,
+                (course, prerequisite) -> skipped.add(course + "->" + prerequisite));
+
+        assertThat(skipped).isEmpty();
+        assertThat(graph.prerequisitesOf("CS301")).containsExactly("CS101", "CS201");
+        assertThat(prerequisites.get("CS301")).containsExactly("CS101", "CS201");
+    }
+
+    @Test
+    void buildSkippingCyclesDropsSelfReferences() {
+        List<String> skipped = new ArrayList<>();
+
+        PrerequisiteGraph graph = PrerequisiteGraph.buildSkippingCycles(Map.of("A", List.of("A", "B")),
+                (course, prerequisite) -> skipped.add(course + "->" + prerequisite));
+
+        assertThat(skipped).containsExactly("A->A");
+        assertThat(graph.closureOf("A")).containsExactly("B");
+    }
+}
@@ -0,0 +1,75 @@
+package com.kma.studentsystem.course_service.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResourceVersionTest {
+
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2026, 3, 1, 9, 0);
+    private static final LocalDateTime DELETED = UPDATED.plusMinutes(5);
+
+    @Test
+    void deleteChangesTheETag() {
+        ResourceVersion before = ResourceVersion.ofCollection("courses", collection(3, UPDATED), UPDATED);
+        ResourceVersion after = ResourceVersion.ofCollection("courses", collection(2, UPDATED), DELETED);
+
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+        assertThat(notModified(after, HttpHeaders.IF_NONE_MATCH, before.etag())).isFalse();
+        assertThat(notModified(before, HttpHeaders.IF_NONE_MATCH, before.etag())).isTrue();
+    }
+
+    @Test
+    void deleteMovesLastModified() {
+        ResourceVersion before = ResourceVersion.ofCollection("courses", collection(3, UPDATED), UPDATED);
+        ResourceVersion after = ResourceVersion.ofCollection("courses", collection(2, UPDATED), DELETED);
+
+        assertThat(after.lastModified()).isGreaterThan(before.lastModified());
+        assertThat(notModified(after, HttpHeaders.IF_MODIFIED_SINCE, before.lastModified())).isFalse();
+        assertThat(notModified(before, HttpHeaders.IF_MODIFIED_SINCE, before.lastModified())).isTrue();
+    }
+
+    @Test
+    void changesOutsideTheListOnlyMoveLastModified() {
+        ResourceVersion before = ResourceVersion.ofCollection("courses:status:ACTIVE", collection(3, UPDATED), UPDATED);
+        ResourceVersion after = ResourceVersion.ofCollection("courses:status:ACTIVE", collection(3, UPDATED), DELETED);
+
+        assertThat(after.etag()).isEqualTo(before.etag());
+        assertThat(after.lastModified()).isGreaterThan(before.lastModified());
+    }
+
+    @Test
+    void emptyTableSendsNoLastModified() {
+        ResourceVersion version = ResourceVersion.ofCollection("courses", collection(0, null), null);
+
+        assertThat(version.lastModified()).isNegative();
+        assertThat(version.etag()).isEqualTo(ResourceVersion.ofCollection("courses", collection(0, null), null).etag());
+    }
+
+    // Helper methods
+    private boolean notModified(ResourceVersion version, String header, Object value) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/courses");
+        request.addHeader(header, value);
+        return version.notModified(new ServletWebRequest(request, new MockHttpServletResponse()));
+    }
+
+    private CollectionVersion collection(long rowCount, LocalDateTime lastModified) {
+        return new CollectionVersion() {
+            @Override
+            public Long getRowCount() {
+                return rowCount;
+            }
+
+            @Override
+            public LocalDateTime getLastModified() {
+                return lastModified;
+            }
+        };
+    }
+}
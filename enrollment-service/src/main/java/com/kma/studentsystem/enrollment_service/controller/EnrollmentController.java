@@ -1,7 +1,14 @@
 package com.kma.studentsystem.enrollment_service.controller;
 
+import com.kma.studentsystem.enrollment_service.dto.BulkOperationResultDTO;
 import com.kma.studentsystem.enrollment_service.dto.EnrollmentDTO;
+import com.kma.studentsystem.enrollment_service.dto.EnrollmentGradeDTO;
+import com.kma.studentsystem.enrollment_service.dto.RolloverStatusDTO;
+import com.kma.studentsystem.enrollment_service.dto.ScheduleValidationDTO;
+import com.kma.studentsystem.enrollment_service.dto.TranscriptDTO;
+import com.kma.studentsystem.enrollment_service.service.EnrollmentBulkService;
 import com.kma.studentsystem.enrollment_service.service.EnrollmentService;
+import com.kma.studentsystem.enrollment_service.service.SemesterRolloverService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,6 +27,8 @@ import java.util.Optional;
 public class EnrollmentController {
     
     private final EnrollmentService enrollmentService;
+    private final EnrollmentBulkService enrollmentBulkService;
+    private final SemesterRolloverService semesterRolloverService;
     
     @PostMapping
     public ResponseEntity<EnrollmentDTO> createEnrollment(@Valid @RequestBody EnrollmentDTO enrollmentDTO) {
@@ -34,6 +43,54 @@ public class EnrollmentController {
         }
     }
     
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkOperationResultDTO> createEnrollments(@RequestBody List<EnrollmentDTO> enrollmentDTOs) {
+        log.info("Bulk creating {} enrollments", enrollmentDTOs.size());
+        try {
+            BulkOperationResultDTO result = enrollmentBulkService.createEnrollments(enrollmentDTOs);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            log.error("Error bulk creating enrollments: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+    
+    @PostMapping("/bulk/approve")
+    public ResponseEntity<BulkOperationResultDTO> approveEnrollments(@RequestBody List<Long> ids) {
+        log.info("Bulk approving {} enrollments", ids.size());
+        try {
+            BulkOperationResultDTO result = enrollmentBulkService.approveEnrollments(ids);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            log.error("Error bulk approving enrollments: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+    
+    @PostMapping("/bulk/complete")
+    public ResponseEntity<BulkOperationResultDTO> completeEnrollments(@Valid @RequestBody List<EnrollmentGradeDTO> grades) {
+        log.info("Bulk completing {} enrollments", grades.size());
+        try {
+            BulkOperationResultDTO result = enrollmentBulkService.completeEnrollments(grades);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            log.error("Error bulk completing enrollments: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+    
+    @PostMapping("/bulk/cancel")
+    public ResponseEntity<BulkOperationResultDTO> cancelEnrollments(@RequestBody List<Long> ids) {
+        log.info("Bulk cancelling {} enrollments", ids.size());
+        try {
+            BulkOperationResultDTO result = enrollmentBulkService.cancelEnrollments(ids);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            log.error("Error bulk cancelling enrollments: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+    
     @PutMapping("/{id}")
     public ResponseEntity<EnrollmentDTO> updateEnrollment(@PathVariable Long id, 
                                                          @Valid @RequestBody EnrollmentDTO enrollmentDTO) {
@@ -169,6 +226,47 @@ public class EnrollmentController {
         }
     }
     
+    @GetMapping("/{id}/waitlist-position")
+    public ResponseEntity<Integer> getWaitlistPosition(@PathVariable Long id) {
+        log.info("Retrieving waitlist position for enrollment: {}", id);
+        try {
+            Integer position = enrollmentService.getWaitlistPosition(id);
+            return ResponseEntity.ok(position);
+        } catch (Exception e) {
+            log.error("Error retrieving waitlist position: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @GetMapping("/course/{courseCode}/waitlist")
+    public ResponseEntity<List<String>> getWaitlist(@PathVariable String courseCode,
+                                                    @RequestParam Integer academicYear,
+                                                    @RequestParam String semester) {
+        log.info("Retrieving waitlist for course: {}", courseCode);
+        try {
+            List<String> waitlist = enrollmentService.getWaitlist(courseCode, academicYear, semester);
+            return ResponseEntity.ok(waitlist);
+        } catch (Exception e) {
+            log.error("Error retrieving waitlist for course: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    @PostMapping("/student/{studentId}/schedule/validate")
+    public ResponseEntity<ScheduleValidationDTO> validateSchedule(@PathVariable String studentId,
+                                                                  @RequestParam Integer academicYear,
+                                                                  @RequestParam String semester,
+                                                                  @RequestBody List<String> courseCodes) {
+        log.info("POST /api/enrollments/student/{}/schedule/validate - {} courses", studentId, courseCodes.size());
+        try {
+            ScheduleValidationDTO validation = enrollmentService.validateSchedule(studentId, academicYear, semester, courseCodes);
+            return ResponseEntity.ok(validation);
+        } catch (Exception e) {
+            log.error("Error validating schedule for student: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+    
     @GetMapping("/course/{courseCode}/count")
     public ResponseEntity<Long> countActiveEnrollmentsByCourse(@PathVariable String courseCode) {
         log.info("Counting active enrollments for course: {}", courseCode);
@@ -205,6 +303,50 @@ public class EnrollmentController {
         }
     }
     
+    @GetMapping("/student/{studentId}/transcript")
+    public ResponseEntity<TranscriptDTO> getTranscript(@PathVariable String studentId) {
+        log.info("Retrieving transcript for student: {}", studentId);
+        try {
+            Optional<TranscriptDTO> transcript = enrollmentService.getTranscript(studentId);
+            return transcript.map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            log.error("Error retrieving transcript for student: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    @PostMapping("/transcripts/rebuild")
+    public ResponseEntity<Integer> rebuildTranscripts() {
+        log.info("POST /api/enrollments/transcripts/rebuild");
+        try {
+            int students = enrollmentService.rebuildTranscripts();
+            return ResponseEntity.ok(students);
+        } catch (Exception e) {
+            log.error("Error rebuilding transcripts: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    @PostMapping("/rollover")
+    public ResponseEntity<RolloverStatusDTO> startRollover(@RequestParam Integer academicYear, @RequestParam String semester) {
+        log.info("POST /api/enrollments/rollover?academicYear={}&semester={}", academicYear, semester);
+        try {
+            RolloverStatusDTO status = semesterRolloverService.startRollover(academicYear, semester);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+        } catch (Exception e) {
+            log.error("Error starting rollover: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    @GetMapping("/rollover")
+    public ResponseEntity<RolloverStatusDTO> getRolloverStatus(@RequestParam Integer academicYear, @RequestParam String semester) {
+        log.info("GET /api/enrollments/rollover?academicYear={}&semester={}", academicYear, semester);
+        Optional<RolloverStatusDTO> status = semesterRolloverService.getStatus(academicYear, semester);
+        return status.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    }
+    
     @GetMapping("/health")
     public ResponseEntity<String> healthCheck() {
         return ResponseEntity.ok("Enrollment Service is running");
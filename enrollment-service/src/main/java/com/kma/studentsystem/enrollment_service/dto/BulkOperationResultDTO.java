@@ -0,0 +1,45 @@
+package com.kma.studentsystem.enrollment_service.dto;
+
+import com.kma.studentsystem.enrollment_service.model.Enrollment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOperationResultDTO {
+    
+    private String operation;
+    private int requested;
+    private int succeeded;
+    private int failed;
+    private List<ItemResult> results = new ArrayList<>();
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private int index;
+        private Long enrollmentId;
+        private String studentId;
+        private String courseCode;
+        private Enrollment.EnrollmentStatus status;
+        private boolean success;
+        private String error;
+    }
+    
+    // Helper methods
+    public static BulkOperationResultDTO of(String operation, List<ItemResult> results) {
+        BulkOperationResultDTO dto = new BulkOperationResultDTO();
+        dto.setOperation(operation);
+        dto.setRequested(results.size());
+        dto.setResults(results);
+        dto.setSucceeded((int) results.stream().filter(ItemResult::isSuccess).count());
+        dto.setFailed(dto.getRequested() - dto.getSucceeded());
+        return dto;
+    }
+}
@@ -77,7 +77,7 @@ public class EnrollmentDTO {
     }
     
     public boolean isPassing() {
-        return finalGrade != null && finalGrade >= 5.0;
+        return finalGrade != null && gpaPoints != null && gpaPoints > 0;
     }
     
     public String getStatusDescription() {
@@ -88,6 +88,7 @@ public class EnrollmentDTO {
             case WITHDRAWN: return "Đã rút";
             case FAILED: return "Không đạt";
             case AUDIT: return "Học thử";
+            case WAITLISTED: return "Danh sách chờ";
             default: return "Không xác định";
         }
     }
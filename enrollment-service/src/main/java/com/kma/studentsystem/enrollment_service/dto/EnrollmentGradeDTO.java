@@ -0,0 +1,17 @@
+package com.kma.studentsystem.enrollment_service.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentGradeDTO {
+    
+    @NotNull(message = "Enrollment ID is required")
+    private Long id;
+    
+    private Double finalGrade;
+}
@@ -0,0 +1,59 @@
+package com.kma.studentsystem.enrollment_service.dto;
+
+import com.kma.studentsystem.enrollment_service.model.RolloverCheckpoint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RolloverStatusDTO {
+    
+    private Integer academicYear;
+    private String semester;
+    private RolloverCheckpoint.RolloverStatus status;
+    private int completedCount;
+    private int withdrawnCount;
+    private List<PartitionProgress> partitions = new ArrayList<>();
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PartitionProgress {
+        private Integer partitionNo;
+        private RolloverCheckpoint.RolloverStatus status;
+        private Long lastEnrollmentId;
+        private Integer completedCount;
+        private Integer withdrawnCount;
+        private Integer chunkCount;
+        private String lastError;
+        private LocalDateTime updatedAt;
+    }
+    
+    // Helper methods
+    public static RolloverStatusDTO of(Integer academicYear, String semester, List<RolloverCheckpoint> checkpoints) {
+        RolloverStatusDTO dto = new RolloverStatusDTO();
+        dto.setAcademicYear(academicYear);
+        dto.setSemester(semester);
+        for (RolloverCheckpoint checkpoint : checkpoints) {
+            dto.getPartitions().add(new PartitionProgress(checkpoint.getPartitionNo(), checkpoint.getStatus(),
+                    checkpoint.getLastEnrollmentId(), checkpoint.getCompletedCount(), checkpoint.getWithdrawnCount(),
+                    checkpoint.getChunkCount(), checkpoint.getLastError(), checkpoint.getUpdatedAt()));
+            dto.setCompletedCount(dto.getCompletedCount() + checkpoint.getCompletedCount());
+            dto.setWithdrawnCount(dto.getWithdrawnCount() + checkpoint.getWithdrawnCount());
+        }
+        if (checkpoints.stream().anyMatch(checkpoint -> checkpoint.getStatus() == RolloverCheckpoint.RolloverStatus.FAILED)) {
+            dto.setStatus(RolloverCheckpoint.RolloverStatus.FAILED);
+        } else if (checkpoints.stream().allMatch(checkpoint -> checkpoint.getStatus() == RolloverCheckpoint.RolloverStatus.DONE)) {
+            dto.setStatus(RolloverCheckpoint.RolloverStatus.DONE);
+        } else {
+            dto.setStatus(RolloverCheckpoint.RolloverStatus.RUNNING);
+        }
+        return dto;
+    }
+}
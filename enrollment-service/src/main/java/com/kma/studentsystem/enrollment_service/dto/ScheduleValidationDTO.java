@@ -0,0 +1,33 @@
+package com.kma.studentsystem.enrollment_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleValidationDTO {
+    
+    private String studentId;
+    private Integer academicYear;
+    private String semester;
+    private boolean valid;
+    private List<Conflict> conflicts = new ArrayList<>();
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Conflict {
+        private String courseCode;
+        private String conflictingCourseCode;
+        private DayOfWeek dayOfWeek;
+        private LocalTime startTime;
+        private LocalTime endTime;
+    }
+}
@@ -0,0 +1,36 @@
+package com.kma.studentsystem.enrollment_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TranscriptDTO {
+    
+    private String studentId;
+    // Average final grade of graded, completed enrollments (10-point scale)
+    private Double gpa;
+    private Integer totalCredits;
+    private Integer completedCount;
+    private Integer activeCount;
+    private List<SemesterSummary> semesters = new ArrayList<>();
+    private LocalDateTime updatedAt;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SemesterSummary {
+        private Integer academicYear;
+        private String semester;
+        private Double gpa;
+        private Integer totalCredits;
+        private Integer completedCount;
+        private Integer activeCount;
+    }
+}
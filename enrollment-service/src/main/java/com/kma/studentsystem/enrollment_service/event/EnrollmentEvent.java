@@ -1,11 +1,14 @@
 package com.kma.studentsystem.enrollment_service.event;
 
 import com.kma.studentsystem.enrollment_service.model.Enrollment;
+import com.kma.studentsystem.enrollment_service.model.WaitlistEntry;
+import com.kma.studentsystem.enrollment_service.tracing.CorrelationContext;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -20,6 +23,8 @@ public class EnrollmentEvent {
     private LocalDateTime timestamp;
     private String source;
     private String correlationId;
+    private Integer waitlistPosition;
+    private List<Enrollment> enrollments;
     
     public static EnrollmentEvent createEnrollmentCreatedEvent(Enrollment enrollment) {
         EnrollmentEvent event = new EnrollmentEvent();
@@ -30,7 +35,7 @@ public class EnrollmentEvent {
         event.setEnrollment(enrollment);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("enrollment-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         return event;
     }
     
@@ -43,7 +48,7 @@ public class EnrollmentEvent {
         event.setEnrollment(enrollment);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("enrollment-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         return event;
     }
     
@@ -56,7 +61,7 @@ public class EnrollmentEvent {
         event.setEnrollment(enrollment);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("enrollment-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         return event;
     }
     
@@ -69,7 +74,7 @@ public class EnrollmentEvent {
         event.setEnrollment(enrollment);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("enrollment-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         return event;
     }
     
@@ -82,7 +87,60 @@ public class EnrollmentEvent {
         event.setEnrollment(null);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("enrollment-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
+        return event;
+    }
+    
+    public static EnrollmentEvent createEnrollmentWaitlistedEvent(Enrollment enrollment, int position) {
+        EnrollmentEvent event = new EnrollmentEvent();
+        event.setEventId(java.util.UUID.randomUUID().toString());
+        event.setEventType("EnrollmentWaitlisted");
+        event.setStudentId(enrollment.getStudentId());
+        event.setCourseCode(enrollment.getCourseCode());
+        event.setEnrollment(enrollment);
+        event.setTimestamp(LocalDateTime.now());
+        event.setSource("enrollment-service");
+        event.setCorrelationId(CorrelationContext.currentOrNew());
+        event.setWaitlistPosition(position);
+        return event;
+    }
+    
+    public static EnrollmentEvent createEnrollmentPromotedEvent(Enrollment enrollment) {
+        EnrollmentEvent event = new EnrollmentEvent();
+        event.setEventId(java.util.UUID.randomUUID().toString());
+        event.setEventType("EnrollmentPromoted");
+        event.setStudentId(enrollment.getStudentId());
+        event.setCourseCode(enrollment.getCourseCode());
+        event.setEnrollment(enrollment);
+        event.setTimestamp(LocalDateTime.now());
+        event.setSource("enrollment-service");
+        event.setCorrelationId(CorrelationContext.currentOrNew());
+        return event;
+    }
+    
+    public static EnrollmentEvent createWaitlistPositionUpdatedEvent(WaitlistEntry entry, int position) {
+        EnrollmentEvent event = new EnrollmentEvent();
+        event.setEventId(java.util.UUID.randomUUID().toString());
+        event.setEventType("WaitlistPositionUpdated");
+        event.setStudentId(entry.getStudentId());
+        event.setCourseCode(entry.getCourseCode());
+        event.setEnrollment(null);
+        event.setTimestamp(LocalDateTime.now());
+        event.setSource("enrollment-service");
+        event.setCorrelationId(CorrelationContext.currentOrNew());
+        event.setWaitlistPosition(position);
+        return event;
+    }
+    
+    // One event for a whole bulk request; consumers fan out over enrollments
+    public static EnrollmentEvent createBulkEvent(String eventType, List<Enrollment> enrollments) {
+        EnrollmentEvent event = new EnrollmentEvent();
+        event.setEventId(java.util.UUID.randomUUID().toString());
+        event.setEventType(eventType);
+        event.setEnrollments(enrollments);
+        event.setTimestamp(LocalDateTime.now());
+        event.setSource("enrollment-service");
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         return event;
     }
 }
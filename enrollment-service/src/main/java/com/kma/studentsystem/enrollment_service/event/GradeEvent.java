@@ -0,0 +1,52 @@
+package com.kma.studentsystem.enrollment_service.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The parts of grade-service's GradeEvent this service reads.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class GradeEvent {
+    
+    private String eventId;
+    private String eventType;
+    private String studentId;
+    private String courseCode;
+    private Grade grade;
+    private LocalDateTime timestamp;
+    private String source;
+    private String correlationId;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Grade {
+        private Double gradeValue;
+        private String gradeType;
+        private Integer academicYear;
+        private String semester;
+        private String status;
+        private Boolean isFinalGrade;
+    }
+    
+    // Helper methods
+    public boolean carriesFinalGrade() {
+        return grade != null
+                && "FINAL".equals(grade.getGradeType())
+                && Boolean.TRUE.equals(grade.getIsFinalGrade())
+                && grade.getGradeValue() != null;
+    }
+    
+    public boolean isFinalized() {
+        return "GradeFinalized".equals(eventType);
+    }
+}
@@ -1,7 +1,11 @@
 package com.kma.studentsystem.enrollment_service.listener;
 
-import com.kma.studentsystem.enrollment_service.event.EnrollmentEvent;
+import com.kma.studentsystem.enrollment_service.event.GradeEvent;
+import com.kma.studentsystem.enrollment_service.idempotency.IdempotentConsumer;
+import com.kma.studentsystem.enrollment_service.service.EnrollmentService;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
@@ -9,10 +13,20 @@ import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class EnrollmentEventListener {
     
+    private static final String GRADE_EVENTS_TOPIC = "grade-events";
+    
+    private final EnrollmentService enrollmentService;
+    private final IdempotentConsumer idempotentConsumer;
+    
     @KafkaListener(topics = "student-events", groupId = "enrollment-service-group")
     public void handleStudentEvents(@Payload String message,
                                    @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
@@ -55,24 +69,39 @@ public class EnrollmentEventListener {
         }
     }
     
-    @KafkaListener(topics = "grade-events", groupId = "enrollment-service-group")
-    public void handleGradeEvents(@Payload String message,
-                                 @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
-                                 @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-                                 @Header(KafkaHeaders.OFFSET) long offset,
+    @KafkaListener(topics = GRADE_EVENTS_TOPIC, groupId = "enrollment-service-group",
+                   containerFactory = "gradeEventKafkaListenerContainerFactory")
+    public void handleGradeEvents(List<ConsumerRecord<String, GradeEvent>> records,
                                  Acknowledgment acknowledgment) {
         try {
-            log.info("Received grade event from topic: {}, partition: {}, offset: {}", topic, partition, offset);
-            log.info("Grade event message: {}", message);
+            log.info("Received {} grade events", records.size());
             
-            // Process grade events (e.g., grade updated, grade deleted)
-            // This could trigger enrollment completion or updates
+            // Only final grades touch enrollments; the rest of the poll is just acknowledged
+            Map<String, GradeEvent> finalGrades = new LinkedHashMap<>();
+            for (ConsumerRecord<String, GradeEvent> record : records) {
+                GradeEvent event = record.value();
+                if (event == null) {
+                    log.warn("Skipping unreadable grade event at partition: {}, offset: {}", record.partition(), record.offset());
+                    continue;
+                }
+                if (event.carriesFinalGrade()) {
+                    String eventId = event.getEventId() != null ? event.getEventId()
+                            : record.topic() + "-" + record.partition() + "@" + record.offset();
+                    finalGrades.put(eventId, event);
+                }
+            }
+            if (!finalGrades.isEmpty()) {
+                int applied = idempotentConsumer.processBatchOnce(finalGrades, GRADE_EVENTS_TOPIC,
+                        enrollmentService::applyFinalGrades);
+                log.info("Applied {} of {} final grade events", applied, finalGrades.size());
+            }
             
             acknowledgment.acknowledge();
-            log.info("Successfully processed grade event");
-        } catch (Exception e) {
-            log.error("Error processing grade event: {}", e.getMessage(), e);
-            // Don't acknowledge to retry
+            log.info("Successfully processed grade events");
+        } catch (RuntimeException e) {
+            log.error("Error processing grade events: {}", e.getMessage(), e);
+            // The next batch's ack would commit past this one, so hand it to the container's error handler
+            throw e;
         }
     }
     
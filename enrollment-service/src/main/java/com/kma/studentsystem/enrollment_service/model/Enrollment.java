@@ -11,12 +11,15 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "enrollments")
+@Table(name = "enrollments", uniqueConstraints = @UniqueConstraint(name = Enrollment.UNIQUE_SECTION_CONSTRAINT,
+        columnNames = {"student_id", "academic_year", "semester", "course_code"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Enrollment {
     
+    public static final String UNIQUE_SECTION_CONSTRAINT = "uk_enrollments_student_term_course";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -92,7 +95,7 @@ public class Enrollment {
     private LocalDateTime updatedAt;
     
     public enum EnrollmentStatus {
-        PENDING, ENROLLED, COMPLETED, WITHDRAWN, FAILED, AUDIT
+        PENDING, ENROLLED, COMPLETED, WITHDRAWN, FAILED, AUDIT, WAITLISTED
     }
     
     // Helper methods
@@ -108,8 +111,9 @@ public class Enrollment {
         return status == EnrollmentStatus.WITHDRAWN;
     }
     
+    // Grade points come from the program's GradeScale, whose failing band is the one worth none
     public boolean isPassing() {
-        return finalGrade != null && finalGrade >= 5.0;
+        return finalGrade != null && gpaPoints != null && gpaPoints > 0;
     }
     
     public String getStatusDescription() {
@@ -120,6 +124,7 @@ public class Enrollment {
             case WITHDRAWN: return "Đã rút";
             case FAILED: return "Không đạt";
             case AUDIT: return "Học thử";
+            case WAITLISTED: return "Danh sách chờ";
             default: return "Không xác định";
         }
     }
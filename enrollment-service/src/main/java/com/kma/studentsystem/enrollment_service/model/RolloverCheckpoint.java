@@ -0,0 +1,71 @@
+package com.kma.studentsystem.enrollment_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of one studentId partition of a semester rollover. Updated in the same transaction
+ * as each chunk, so a restarted job continues after the last committed enrollment id.
+ */
+@Entity
+@Table(name = "rollover_checkpoints", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_rollover_partition", columnNames = {"academic_year", "semester", "partition_no"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RolloverCheckpoint {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "academic_year", nullable = false)
+    private Integer academicYear;
+    
+    @Column(name = "semester", nullable = false)
+    private String semester;
+    
+    @Column(name = "partition_no", nullable = false)
+    private Integer partitionNo;
+    
+    @Column(name = "partition_count", nullable = false)
+    private Integer partitionCount;
+    
+    @Column(name = "last_enrollment_id", nullable = false)
+    private Long lastEnrollmentId = 0L;
+    
+    @Column(name = "completed_count", nullable = false)
+    private Integer completedCount = 0;
+    
+    @Column(name = "withdrawn_count", nullable = false)
+    private Integer withdrawnCount = 0;
+    
+    @Column(name = "chunk_count", nullable = false)
+    private Integer chunkCount = 0;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private RolloverStatus status = RolloverStatus.RUNNING;
+    
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    public enum RolloverStatus {
+        RUNNING, DONE, FAILED
+    }
+}
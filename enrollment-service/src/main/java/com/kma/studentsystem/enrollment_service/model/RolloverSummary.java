@@ -0,0 +1,59 @@
+package com.kma.studentsystem.enrollment_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Outbox row for the summary event of one committed rollover chunk. Inserted in the chunk's
+ * transaction and deleted once Kafka has acknowledged the event.
+ */
+@Entity
+@Table(name = "rollover_summaries")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RolloverSummary {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "academic_year", nullable = false)
+    private Integer academicYear;
+    
+    @Column(name = "semester", nullable = false)
+    private String semester;
+    
+    @Column(name = "partition_no", nullable = false)
+    private Integer partitionNo;
+    
+    // Comma-separated ids of the enrollments the chunk closed out
+    @Column(name = "enrollment_ids", nullable = false, columnDefinition = "TEXT")
+    private String enrollmentIds;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    public static RolloverSummary of(Integer academicYear, String semester, int partitionNo, List<Enrollment> chunk) {
+        RolloverSummary summary = new RolloverSummary();
+        summary.setAcademicYear(academicYear);
+        summary.setSemester(semester);
+        summary.setPartitionNo(partitionNo);
+        summary.setEnrollmentIds(chunk.stream().map(enrollment -> enrollment.getId().toString())
+                .collect(Collectors.joining(",")));
+        return summary;
+    }
+    
+    public List<Long> enrollmentIdList() {
+        return Arrays.stream(enrollmentIds.split(",")).map(Long::valueOf).collect(Collectors.toList());
+    }
+}
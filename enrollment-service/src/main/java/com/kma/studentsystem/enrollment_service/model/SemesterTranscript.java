@@ -0,0 +1,62 @@
+package com.kma.studentsystem.enrollment_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Per-semester breakdown of a student's transcript, maintained together with StudentTranscript.
+ */
+@Entity
+@Table(name = "semester_transcripts", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_semester_transcript", columnNames = {"student_id", "academic_year", "semester"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SemesterTranscript {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "student_id", nullable = false)
+    private String studentId;
+    
+    @Column(name = "academic_year", nullable = false)
+    private Integer academicYear;
+    
+    @Column(name = "semester", nullable = false)
+    private String semester;
+    
+    @Column(name = "completed_count", nullable = false)
+    private Integer completedCount = 0;
+    
+    @Column(name = "active_count", nullable = false)
+    private Integer activeCount = 0;
+    
+    @Column(name = "graded_count", nullable = false)
+    private Integer gradedCount = 0;
+    
+    @Column(name = "grade_sum", nullable = false, precision = 14, scale = 4)
+    private BigDecimal gradeSum = BigDecimal.ZERO;
+    
+    @Column(name = "total_credits", nullable = false)
+    private Integer totalCredits = 0;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Helper methods
+    public Double getGpa() {
+        return StudentTranscript.average(gradeSum, gradedCount);
+    }
+    
+    public boolean isEmpty() {
+        return completedCount == 0 && activeCount == 0;
+    }
+}
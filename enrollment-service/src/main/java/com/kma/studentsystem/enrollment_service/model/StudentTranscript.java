@@ -0,0 +1,56 @@
+package com.kma.studentsystem.enrollment_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * Per-student transcript totals, maintained incrementally alongside enrollment changes.
+ * Can always be recomputed from the enrollments table (see TranscriptService.rebuild).
+ */
+@Entity
+@Table(name = "student_transcripts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentTranscript {
+    
+    @Id
+    @Column(name = "student_id", nullable = false)
+    private String studentId;
+    
+    @Column(name = "completed_count", nullable = false)
+    private Integer completedCount = 0;
+    
+    @Column(name = "active_count", nullable = false)
+    private Integer activeCount = 0;
+    
+    @Column(name = "graded_count", nullable = false)
+    private Integer gradedCount = 0;
+    
+    @Column(name = "grade_sum", nullable = false, precision = 14, scale = 4)
+    private BigDecimal gradeSum = BigDecimal.ZERO;
+    
+    @Column(name = "total_credits", nullable = false)
+    private Integer totalCredits = 0;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Helper methods
+    public Double getGpa() {
+        return average(gradeSum, gradedCount);
+    }
+    
+    static Double average(BigDecimal sum, Integer count) {
+        if (count == null || count <= 0) {
+            return null;
+        }
+        return sum.divide(BigDecimal.valueOf(count), 4, RoundingMode.HALF_UP).doubleValue();
+    }
+}
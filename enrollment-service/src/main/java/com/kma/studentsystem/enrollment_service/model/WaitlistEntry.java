@@ -0,0 +1,58 @@
+package com.kma.studentsystem.enrollment_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "waitlist_entries", indexes = {
+        @Index(name = "idx_waitlist_section_order", columnList = "course_code, academic_year, semester, priority, queued_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "enrollment_id", unique = true, nullable = false)
+    private Long enrollmentId;
+    
+    @Column(name = "student_id", nullable = false)
+    private String studentId;
+    
+    @Column(name = "course_code", nullable = false)
+    private String courseCode;
+    
+    @Column(name = "academic_year", nullable = false)
+    private Integer academicYear;
+    
+    @Column(name = "semester", nullable = false)
+    private String semester;
+    
+    // Higher priority is admitted first; entries with equal priority are FIFO by queuedAt
+    @Column(name = "priority", nullable = false)
+    private Integer priority = 0;
+    
+    @Column(name = "queued_at", nullable = false)
+    private LocalDateTime queuedAt;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    // Helper methods
+    public static String sectionKey(String courseCode, Integer academicYear, String semester) {
+        return courseCode + "|" + academicYear + "|" + semester;
+    }
+    
+    public String getSectionKey() {
+        return sectionKey(courseCode, academicYear, semester);
+    }
+}
@@ -0,0 +1,31 @@
+package com.kma.studentsystem.enrollment_service.replica;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CourseState {
+    private String courseCode;
+    private String courseName;
+    private Integer credits;
+    private String department;
+    private String status;
+    private Integer capacity;
+    private Integer enrolledCount;
+    private Integer academicYear;
+    private String semester;
+    private String prerequisites;
+    private String instructorName;
+    private String schedule;
+    private String location;
+    private List<ScheduleSlot> scheduleSlots;
+    private LocalDateTime updatedAt;
+}
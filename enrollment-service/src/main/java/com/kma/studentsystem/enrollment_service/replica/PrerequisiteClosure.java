@@ -0,0 +1,20 @@
+package com.kma.studentsystem.enrollment_service.replica;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PrerequisiteClosure {
+    private String courseCode;
+    private List<String> prerequisites;
+    private List<String> requiredCourses;
+    private LocalDateTime updatedAt;
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -74,4 +75,43 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     
     @Query("SELECT e FROM Enrollment e WHERE e.studentId = :studentId AND e.courseCode = :courseCode")
     List<Enrollment> findByStudentIdAndCourseCode(@Param("studentId") String studentId, @Param("courseCode") String courseCode);
+    
+    @Query("SELECT COUNT(e) FROM Enrollment e WHERE e.courseCode = :courseCode AND e.academicYear = :academicYear " +
+           "AND e.semester = :semester AND e.status IN ('PENDING', 'ENROLLED')")
+    long countSeatHolders(@Param("courseCode") String courseCode, @Param("academicYear") Integer academicYear,
+                          @Param("semester") String semester);
+    
+    // Passed courses of many students in one query, for prerequisite checks; passing is whatever the
+    // program's grade scale gives points for, as in Enrollment.isPassing
+    @Query("SELECT e.studentId, e.courseCode FROM Enrollment e WHERE e.studentId IN :studentIds " +
+           "AND e.status = 'COMPLETED' AND e.finalGrade IS NOT NULL AND e.gpaPoints > 0")
+    List<Object[]> findPassedCourses(@Param("studentIds") Collection<String> studentIds);
+    
+    // Enrollments of one term for a batch of (student, course) pairs; callers drop cross-matches
+    List<Enrollment> findByAcademicYearAndSemesterAndStudentIdInAndCourseCodeIn(Integer academicYear, String semester,
+                                                                           Collection<String> studentIds,
+                                                                           Collection<String> courseCodes);
+    
+    // Set-based duplicate check for bulk creation: one query per term instead of one per row
+    @Query("SELECT CONCAT(e.studentId, '|', e.courseCode) FROM Enrollment e WHERE e.academicYear = :academicYear " +
+           "AND e.semester = :semester AND e.studentId IN :studentIds AND e.courseCode IN :courseCodes")
+    List<String> findExistingStudentCoursePairs(@Param("academicYear") Integer academicYear,
+                                                @Param("semester") String semester,
+                                                @Param("studentIds") Collection<String> studentIds,
+                                                @Param("courseCodes") Collection<String> courseCodes);
+    
+    // Next keyset chunk of ENROLLED rows in one studentId partition of a term, for the semester rollover.
+    // Locked for the chunk transaction; not SKIP LOCKED, because the keyset moves past every row this
+    // returns and a skipped row would never be rolled over. A row withdrawn while this waits is re-checked
+    // against status = 'ENROLLED' and left out.
+    @Query(value = "SELECT * FROM enrollments WHERE academic_year = :academicYear AND semester = :semester " +
+           "AND status = 'ENROLLED' AND id > :afterId AND (hashtext(student_id) & 2147483647) % :partitionCount = :partitionNo " +
+           "ORDER BY id LIMIT :chunkSize FOR UPDATE", nativeQuery = true)
+    List<Enrollment> findRolloverChunk(@Param("academicYear") Integer academicYear, @Param("semester") String semester,
+                                       @Param("afterId") Long afterId, @Param("partitionCount") int partitionCount,
+                                       @Param("partitionNo") int partitionNo, @Param("chunkSize") int chunkSize);
+    
+    // Transaction-scoped advisory lock serialising admission decisions for one course section
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(hashtext(:sectionKey))) AS section_lock", nativeQuery = true)
+    Integer lockSection(@Param("sectionKey") String sectionKey);
 }
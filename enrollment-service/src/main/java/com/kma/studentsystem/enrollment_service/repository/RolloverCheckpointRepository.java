@@ -0,0 +1,28 @@
+package com.kma.studentsystem.enrollment_service.repository;
+
+import com.kma.studentsystem.enrollment_service.model.RolloverCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RolloverCheckpointRepository extends JpaRepository<RolloverCheckpoint, Long> {
+    
+    List<RolloverCheckpoint> findByAcademicYearAndSemesterOrderByPartitionNo(Integer academicYear, String semester);
+    
+    List<RolloverCheckpoint> findByStatus(RolloverCheckpoint.RolloverStatus status);
+    
+    // Row lock held for the chunk transaction: one worker per partition, even across instances
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM RolloverCheckpoint r WHERE r.academicYear = :academicYear AND r.semester = :semester " +
+           "AND r.partitionNo = :partitionNo")
+    Optional<RolloverCheckpoint> findForUpdate(@Param("academicYear") Integer academicYear,
+                                               @Param("semester") String semester,
+                                               @Param("partitionNo") Integer partitionNo);
+}
@@ -0,0 +1,17 @@
+package com.kma.studentsystem.enrollment_service.repository;
+
+import com.kma.studentsystem.enrollment_service.model.RolloverSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RolloverSummaryRepository extends JpaRepository<RolloverSummary, Long> {
+    
+    // Oldest unsent summaries; rows another instance is sending are skipped rather than sent twice
+    @Query(value = "SELECT * FROM rollover_summaries ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<RolloverSummary> lockPending(@Param("limit") int limit);
+}
@@ -0,0 +1,50 @@
+package com.kma.studentsystem.enrollment_service.repository;
+
+import com.kma.studentsystem.enrollment_service.model.SemesterTranscript;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SemesterTranscriptRepository extends JpaRepository<SemesterTranscript, Long> {
+    
+    List<SemesterTranscript> findByStudentIdOrderByAcademicYearAscSemesterAsc(String studentId);
+    
+    @Modifying
+    @Query(value = "INSERT INTO semester_transcripts (student_id, academic_year, semester, completed_count, active_count, graded_count, grade_sum, total_credits, updated_at) " +
+           "VALUES (:studentId, :academicYear, :semester, :completed, :active, :graded, :gradeSum, :credits, :now) " +
+           "ON CONFLICT (student_id, academic_year, semester) DO UPDATE SET " +
+           "completed_count = semester_transcripts.completed_count + EXCLUDED.completed_count, " +
+           "active_count = semester_transcripts.active_count + EXCLUDED.active_count, " +
+           "graded_count = semester_transcripts.graded_count + EXCLUDED.graded_count, " +
+           "grade_sum = semester_transcripts.grade_sum + EXCLUDED.grade_sum, " +
+           "total_credits = semester_transcripts.total_credits + EXCLUDED.total_credits, " +
+           "updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    int applyDelta(@Param("studentId") String studentId, @Param("academicYear") Integer academicYear,
+                   @Param("semester") String semester, @Param("completed") int completed,
+                   @Param("active") int active, @Param("graded") int graded,
+                   @Param("gradeSum") BigDecimal gradeSum, @Param("credits") int credits,
+                   @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query(value = "DELETE FROM semester_transcripts", nativeQuery = true)
+    int deleteAllRows();
+    
+    @Modifying
+    @Query(value = "INSERT INTO semester_transcripts (student_id, academic_year, semester, completed_count, active_count, graded_count, grade_sum, total_credits, updated_at) " +
+           "SELECT student_id, academic_year, semester, " +
+           "COUNT(*) FILTER (WHERE status = 'COMPLETED'), " +
+           "COUNT(*) FILTER (WHERE status = 'ENROLLED'), " +
+           "COUNT(*) FILTER (WHERE status = 'COMPLETED' AND final_grade IS NOT NULL), " +
+           "COALESCE(SUM(CAST(final_grade AS numeric(14, 4))) FILTER (WHERE status = 'COMPLETED'), 0), " +
+           "COALESCE(SUM(credits_earned) FILTER (WHERE status = 'COMPLETED'), 0), " +
+           ":now FROM enrollments GROUP BY student_id, academic_year, semester " +
+           "HAVING COUNT(*) FILTER (WHERE status IN ('COMPLETED', 'ENROLLED')) > 0", nativeQuery = true)
+    int insertFromEnrollments(@Param("now") LocalDateTime now);
+}
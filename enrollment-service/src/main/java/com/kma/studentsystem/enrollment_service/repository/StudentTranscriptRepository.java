@@ -0,0 +1,51 @@
+package com.kma.studentsystem.enrollment_service.repository;
+
+import com.kma.studentsystem.enrollment_service.model.StudentTranscript;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Repository
+public interface StudentTranscriptRepository extends JpaRepository<StudentTranscript, String> {
+    
+    // Adds a delta in a single statement so concurrent writers for the same student never lose updates
+    @Modifying
+    @Query(value = "INSERT INTO student_transcripts (student_id, completed_count, active_count, graded_count, grade_sum, total_credits, updated_at) " +
+           "VALUES (:studentId, :completed, :active, :graded, :gradeSum, :credits, :now) " +
+           "ON CONFLICT (student_id) DO UPDATE SET " +
+           "completed_count = student_transcripts.completed_count + EXCLUDED.completed_count, " +
+           "active_count = student_transcripts.active_count + EXCLUDED.active_count, " +
+           "graded_count = student_transcripts.graded_count + EXCLUDED.graded_count, " +
+           "grade_sum = student_transcripts.grade_sum + EXCLUDED.grade_sum, " +
+           "total_credits = student_transcripts.total_credits + EXCLUDED.total_credits, " +
+           "updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    int applyDelta(@Param("studentId") String studentId, @Param("completed") int completed,
+                   @Param("active") int active, @Param("graded") int graded,
+                   @Param("gradeSum") BigDecimal gradeSum, @Param("credits") int credits,
+                   @Param("now") LocalDateTime now);
+    
+    // Blocks incremental writers until the rebuild commits, so no delta lands on rows being replaced
+    @Modifying
+    @Query(value = "LOCK TABLE student_transcripts, semester_transcripts IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+    
+    @Modifying
+    @Query(value = "DELETE FROM student_transcripts", nativeQuery = true)
+    int deleteAllRows();
+    
+    @Modifying
+    @Query(value = "INSERT INTO student_transcripts (student_id, completed_count, active_count, graded_count, grade_sum, total_credits, updated_at) " +
+           "SELECT student_id, " +
+           "COUNT(*) FILTER (WHERE status = 'COMPLETED'), " +
+           "COUNT(*) FILTER (WHERE status = 'ENROLLED'), " +
+           "COUNT(*) FILTER (WHERE status = 'COMPLETED' AND final_grade IS NOT NULL), " +
+           "COALESCE(SUM(CAST(final_grade AS numeric(14, 4))) FILTER (WHERE status = 'COMPLETED'), 0), " +
+           "COALESCE(SUM(credits_earned) FILTER (WHERE status = 'COMPLETED'), 0), " +
+           ":now FROM enrollments GROUP BY student_id", nativeQuery = true)
+    int insertFromEnrollments(@Param("now") LocalDateTime now);
+}
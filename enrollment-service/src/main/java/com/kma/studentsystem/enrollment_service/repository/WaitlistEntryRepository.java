@@ -0,0 +1,36 @@
+package com.kma.studentsystem.enrollment_service.repository;
+
+import com.kma.studentsystem.enrollment_service.model.WaitlistEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+    
+    Optional<WaitlistEntry> findByEnrollmentId(Long enrollmentId);
+    
+    boolean existsByCourseCodeAndAcademicYearAndSemester(String courseCode, Integer academicYear, String semester);
+    
+    // Terms of the course with students waiting, as [academicYear, semester]
+    @Query("SELECT DISTINCT w.academicYear, w.semester FROM WaitlistEntry w WHERE w.courseCode = :courseCode")
+    List<Object[]> findWaitingTerms(@Param("courseCode") String courseCode);
+    
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.courseCode = :courseCode AND w.academicYear = :academicYear " +
+           "AND w.semester = :semester ORDER BY w.priority DESC, w.queuedAt ASC, w.id ASC")
+    List<WaitlistEntry> findSectionQueue(@Param("courseCode") String courseCode,
+                                         @Param("academicYear") Integer academicYear,
+                                         @Param("semester") String semester);
+    
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.courseCode = :courseCode AND w.academicYear = :academicYear " +
+           "AND w.semester = :semester ORDER BY w.priority DESC, w.queuedAt ASC, w.id ASC")
+    List<WaitlistEntry> findSectionQueue(@Param("courseCode") String courseCode,
+                                         @Param("academicYear") Integer academicYear,
+                                         @Param("semester") String semester,
+                                         Pageable pageable);
+}
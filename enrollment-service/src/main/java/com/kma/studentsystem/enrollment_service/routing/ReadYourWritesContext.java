@@ -0,0 +1,39 @@
+package com.kma.studentsystem.enrollment_service.routing;
+
+/**
+ * Per-request flag recording that the request has written through the primary.
+ *
+ * Only tracked inside a scope opened by ReadYourWritesFilter. Listener and scheduler threads
+ * have no scope, and their reads always go to the primary.
+ */
+final class ReadYourWritesContext {
+
+    private static final ThreadLocal<boolean[]> WROTE = new ThreadLocal<>();
+
+    private ReadYourWritesContext() {
+    }
+
+    static void open() {
+        WROTE.set(new boolean[1]);
+    }
+
+    static void close() {
+        WROTE.remove();
+    }
+
+    static boolean isOpen() {
+        return WROTE.get() != null;
+    }
+
+    static void markWrite() {
+        boolean[] wrote = WROTE.get();
+        if (wrote != null) {
+            wrote[0] = true;
+        }
+    }
+
+    static boolean hasWritten() {
+        boolean[] wrote = WROTE.get();
+        return wrote != null && wrote[0];
+    }
+}
@@ -0,0 +1,409 @@
+package com.kma.studentsystem.enrollment_service.service;
+
+import com.kma.studentsystem.enrollment_service.dto.BulkOperationResultDTO;
+import com.kma.studentsystem.enrollment_service.dto.BulkOperationResultDTO.ItemResult;
+import com.kma.studentsystem.enrollment_service.dto.EnrollmentDTO;
+import com.kma.studentsystem.enrollment_service.dto.EnrollmentGradeDTO;
+import com.kma.studentsystem.enrollment_service.event.EnrollmentEvent;
+import com.kma.studentsystem.enrollment_service.model.Enrollment;
+import com.kma.studentsystem.enrollment_service.model.WaitlistEntry;
+import com.kma.studentsystem.enrollment_service.repository.EnrollmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Bulk create/approve/complete/cancel.
+ *
+ * Each request runs in one transaction with a fixed number of round trips: one duplicate
+ * check per term (taken under the section locks), one JDBC batch insert (or one batched
+ * Hibernate update), and one aggregated Kafka event. Items that fail validation are reported
+ * individually and do not abort the rest.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class EnrollmentBulkService {
+
+    private static final String ENROLLMENT_EVENTS_TOPIC = "enrollment-events";
+
+    private static final String INSERT_ENROLLMENT_SQL =
+            "INSERT INTO enrollments (student_id, course_code, academic_year, semester, status, enrollment_date, " +
+            "instructor_name, instructor_id, notes, is_audit, is_pass_fail, prerequisite_met, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final EnrollmentService enrollmentService;
+    private final WaitlistService waitlistService;
+    private final TranscriptService transcriptService;
+    private final TimetableService timetableService;
+    private final JdbcTemplate jdbcTemplate;
+    private final KafkaTemplate<String, EnrollmentEvent> kafkaTemplate;
+
+    @Value("${enrollment.bulk.max-items:1000}")
+    private int maxItems;
+
+    public BulkOperationResultDTO createEnrollments(List<EnrollmentDTO> enrollmentDTOs) {
+        log.info("Bulk creating {} enrollments", enrollmentDTOs.size());
+        checkSize(enrollmentDTOs.size());
+
+        ItemResult[] results = new ItemResult[enrollmentDTOs.size()];
+        Map<Integer, EnrollmentDTO> candidates = new LinkedHashMap<>();
+        Set<String> seenInRequest = new HashSet<>();
+        // Passed courses of every student in the request come from one query
+        Map<String, BitSet> passedPrerequisites = enrollmentService.passedPrerequisites(enrollmentDTOs.stream()
+                .map(EnrollmentDTO::getStudentId).filter(Objects::nonNull).collect(Collectors.toSet()));
+        for (int i = 0; i < enrollmentDTOs.size(); i++) {
+            EnrollmentDTO dto = enrollmentDTOs.get(i);
+            try {
+                validateRequired(dto);
+                if (!seenInRequest.add(termKey(dto.getAcademicYear(), dto.getSemester()) + "|" + pairKey(dto.getStudentId(), dto.getCourseCode()))) {
+                    throw new RuntimeException("Duplicate item in request");
+                }
+                enrollmentService.validateAgainstReplicas(dto);
+                enrollmentService.checkPrerequisites(dto, passedPrerequisites.getOrDefault(dto.getStudentId(), new BitSet()));
+                candidates.put(i, dto);
+            } catch (Exception e) {
+                results[i] = failure(i, null, dto.getStudentId(), dto.getCourseCode(), e.getMessage());
+            }
+        }
+
+        // Taken before the duplicate check so it sees rows committed by a concurrent request for the same section
+        lockSections(candidates.values().stream()
+                .map(dto -> WaitlistEntry.sectionKey(dto.getCourseCode(), dto.getAcademicYear(), dto.getSemester())));
+
+        // Duplicate check against the table: one query per (academic year, semester)
+        Map<String, List<Integer>> byTerm = candidates.keySet().stream()
+                .collect(Collectors.groupingBy(i -> termKey(candidates.get(i).getAcademicYear(), candidates.get(i).getSemester()),
+                        LinkedHashMap::new, Collectors.toList()));
+        for (List<Integer> termItems : byTerm.values()) {
+            EnrollmentDTO first = candidates.get(termItems.get(0));
+            Set<String> studentIds = termItems.stream().map(i -> candidates.get(i).getStudentId()).collect(Collectors.toSet());
+            Set<String> courseCodes = termItems.stream().map(i -> candidates.get(i).getCourseCode()).collect(Collectors.toSet());
+            Set<String> existing = new HashSet<>(enrollmentRepository.findExistingStudentCoursePairs(
+                    first.getAcademicYear(), first.getSemester(), studentIds, courseCodes));
+            for (Integer i : termItems) {
+                EnrollmentDTO dto = candidates.get(i);
+                if (existing.contains(pairKey(dto.getStudentId(), dto.getCourseCode()))) {
+                    results[i] = failure(i, null, dto.getStudentId(), dto.getCourseCode(),
+                            "Enrollment already exists for " + dto.getAcademicYear() + " " + dto.getSemester());
+                    candidates.remove(i);
+                }
+            }
+        }
+
+        // Timetable clashes per student and term, including clashes between items of this request
+        Map<String, List<Integer>> byStudentTerm = candidates.keySet().stream()
+                .collect(Collectors.groupingBy(i -> termKey(candidates.get(i).getAcademicYear(), candidates.get(i).getSemester())
+                        + "|" + candidates.get(i).getStudentId(), LinkedHashMap::new, Collectors.toList()));
+        for (List<Integer> studentItems : byStudentTerm.values()) {
+            EnrollmentDTO first = candidates.get(studentItems.get(0));
+            List<String> courseCodes = studentItems.stream().map(i -> candidates.get(i).getCourseCode()).collect(Collectors.toList());
+            Map<String, String> clashes = new HashMap<>();
+            timetableService.findConflicts(first.getStudentId(), first.getAcademicYear(), first.getSemester(), courseCodes)
+                    .forEach(conflict -> clashes.putIfAbsent(conflict.getCourseCode(), conflict.getConflictingCourseCode()));
+            for (Integer i : studentItems) {
+                EnrollmentDTO dto = candidates.get(i);
+                if (clashes.containsKey(dto.getCourseCode())) {
+                    results[i] = failure(i, null, dto.getStudentId(), dto.getCourseCode(),
+                            "Schedule conflict with " + clashes.get(dto.getCourseCode()));
+                    candidates.remove(i);
+                }
+            }
+        }
+
+        // Seats are handed out per section in request order; the rest go to the waitlist
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Long> remainingBySection = new HashMap<>();
+        List<Integer> indexes = new ArrayList<>(candidates.keySet());
+        List<Enrollment> toInsert = new ArrayList<>();
+        for (Integer i : indexes) {
+            EnrollmentDTO dto = candidates.get(i);
+            String sectionKey = WaitlistEntry.sectionKey(dto.getCourseCode(), dto.getAcademicYear(), dto.getSemester());
+            long remaining = remainingBySection.computeIfAbsent(sectionKey,
+                    key -> waitlistService.remainingSeats(dto.getCourseCode(), dto.getAcademicYear(), dto.getSemester()));
+            boolean seatAvailable = remaining > 0;
+            if (seatAvailable && remaining != Long.MAX_VALUE) {
+                remainingBySection.put(sectionKey, remaining - 1);
+            }
+            toInsert.add(newEnrollment(dto, seatAvailable ? Enrollment.EnrollmentStatus.PENDING
+                    : Enrollment.EnrollmentStatus.WAITLISTED, now));
+        }
+
+        batchInsert(toInsert);
+        toInsert.forEach(timetableService::invalidate);
+
+        List<Enrollment> created = new ArrayList<>();
+        for (int k = 0; k < indexes.size(); k++) {
+            Enrollment enrollment = toInsert.get(k);
+            int i = indexes.get(k);
+            if (enrollment.getStatus() == Enrollment.EnrollmentStatus.WAITLISTED) {
+                waitlistService.enqueue(enrollment);
+            } else {
+                created.add(enrollment);
+            }
+            results[i] = success(i, enrollment);
+        }
+
+        publish("EnrollmentsBulkCreated", created);
+        return BulkOperationResultDTO.of("create", List.of(results));
+    }
+
+    public BulkOperationResultDTO approveEnrollments(List<Long> ids) {
+        log.info("Bulk approving {} enrollments", ids.size());
+        checkSize(ids.size());
+
+        LocalDateTime now = LocalDateTime.now();
+        return applyToExisting("approve", "EnrollmentsBulkApproved", ids, enrollment -> {
+            if (enrollment.getStatus() != Enrollment.EnrollmentStatus.PENDING) {
+                return "Only pending enrollments can be approved";
+            }
+            enrollment.setStatus(Enrollment.EnrollmentStatus.ENROLLED);
+            enrollment.setEnrollmentDate(now);
+            return null;
+        });
+    }
+
+    public BulkOperationResultDTO completeEnrollments(List<EnrollmentGradeDTO> grades) {
+        log.info("Bulk completing {} enrollments", grades.size());
+        checkSize(grades.size());
+
+        Map<Long, Double> gradeById = new HashMap<>();
+        grades.forEach(grade -> gradeById.put(grade.getId(), grade.getFinalGrade()));
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = grades.stream().map(EnrollmentGradeDTO::getId).collect(Collectors.toList());
+        return applyToExisting("complete", "EnrollmentsBulkCompleted", ids, enrollment -> {
+            if (enrollment.getStatus() != Enrollment.EnrollmentStatus.ENROLLED) {
+                return "Only enrolled courses can be completed";
+            }
+            enrollmentService.complete(enrollment, gradeById.get(enrollment.getId()), now);
+            return null;
+        });
+    }
+
+    public BulkOperationResultDTO cancelEnrollments(List<Long> ids) {
+        log.info("Bulk cancelling {} enrollments", ids.size());
+        checkSize(ids.size());
+
+        lockSections(enrollmentRepository.findAllById(new HashSet<>(ids)).stream()
+                .map(enrollment -> WaitlistEntry.sectionKey(enrollment.getCourseCode(), enrollment.getAcademicYear(), enrollment.getSemester())));
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Enrollment.EnrollmentStatus> previousStatuses = new HashMap<>();
+        BulkOperationResultDTO result = applyToExisting("cancel", "EnrollmentsBulkCancelled", ids, enrollment -> {
+            if (enrollment.getStatus() == Enrollment.EnrollmentStatus.COMPLETED) {
+                return "Completed enrollments cannot be cancelled";
+            }
+            previousStatuses.put(enrollment.getId(), enrollment.getStatus());
+            enrollment.setStatus(Enrollment.EnrollmentStatus.WITHDRAWN);
+            enrollment.setWithdrawalDate(now);
+            return null;
+        });
+
+        // Waitlisted rows leave their queue; freed seats are promoted once per section
+        Set<String> sectionsToPromote = new HashSet<>();
+        for (Enrollment enrollment : enrollmentRepository.findAllById(previousStatuses.keySet())) {
+            Enrollment.EnrollmentStatus previousStatus = previousStatuses.get(enrollment.getId());
+            if (previousStatus == Enrollment.EnrollmentStatus.WAITLISTED) {
+                waitlistService.onEnrollmentReleased(enrollment, previousStatus);
+            } else if (holdsSeat(previousStatus) && sectionsToPromote.add(WaitlistEntry.sectionKey(
+                    enrollment.getCourseCode(), enrollment.getAcademicYear(), enrollment.getSemester()))) {
+                waitlistService.onEnrollmentReleased(enrollment, previousStatus);
+            }
+        }
+        return result;
+    }
+
+    // Helper methods
+    private void publish(String key, EnrollmentEvent event) {
+        kafkaTemplate.send(ENROLLMENT_EVENTS_TOPIC, key, event).whenComplete((result, error) -> {
+            if (error != null) {
+                log.error("Could not publish {} event {} for {}", event.getEventType(), event.getEventId(), key, error);
+            }
+        });
+    }
+
+    // Sections are locked up front in a fixed order so concurrent bulk requests cannot deadlock
+    private void lockSections(Stream<String> sectionKeys) {
+        sectionKeys.distinct().sorted().forEach(enrollmentRepository::lockSection);
+    }
+
+    private BulkOperationResultDTO applyToExisting(String operation, String eventType, List<Long> ids,
+                                                   Function<Enrollment, String> transition) {
+        Map<Long, Enrollment> byId = enrollmentRepository.findAllById(new HashSet<>(ids)).stream()
+                .collect(Collectors.toMap(Enrollment::getId, Function.identity()));
+
+        List<ItemResult> results = new ArrayList<>();
+        List<Enrollment> changed = new ArrayList<>();
+        TranscriptChanges transcriptChanges = new TranscriptChanges();
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            Enrollment enrollment = byId.get(id);
+            if (enrollment == null) {
+                results.add(failure(i, id, null, null, "Enrollment not found with ID: " + id));
+                continue;
+            }
+            if (!seen.add(id)) {
+                results.add(failure(i, id, enrollment.getStudentId(), enrollment.getCourseCode(), "Duplicate item in request"));
+                continue;
+            }
+            // Rejected transitions leave the row untouched, so their remove/add pair nets out
+            transcriptChanges.remove(enrollment);
+            String error = transition.apply(enrollment);
+            transcriptChanges.add(enrollment);
+            if (error != null) {
+                results.add(failure(i, id, enrollment.getStudentId(), enrollment.getCourseCode(), error));
+            } else {
+                changed.add(enrollment);
+                results.add(success(i, enrollment));
+            }
+        }
+
+        // Flushed as JDBC-batched UPDATEs (hibernate.jdbc.batch_size)
+        enrollmentRepository.saveAll(changed);
+        enrollmentRepository.flush();
+        transcriptService.apply(transcriptChanges);
+        changed.forEach(timetableService::invalidate);
+        log.info("Bulk {}: {} of {} enrollments updated", operation, changed.size(), ids.size());
+
+        publish(eventType, changed);
+        return BulkOperationResultDTO.of(operation, results);
+    }
+
+    private void batchInsert(List<Enrollment> enrollments) {
+        if (enrollments.isEmpty()) {
+            return;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_ENROLLMENT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Enrollment enrollment = enrollments.get(i);
+                        ps.setString(1, enrollment.getStudentId());
+                        ps.setString(2, enrollment.getCourseCode());
+                        ps.setInt(3, enrollment.getAcademicYear());
+                        ps.setString(4, enrollment.getSemester());
+                        ps.setString(5, enrollment.getStatus().name());
+                        ps.setTimestamp(6, Timestamp.valueOf(enrollment.getEnrollmentDate()));
+                        ps.setString(7, enrollment.getInstructorName());
+                        ps.setString(8, enrollment.getInstructorId());
+                        ps.setString(9, enrollment.getNotes());
+                        ps.setBoolean(10, enrollment.getIsAudit());
+                        ps.setBoolean(11, enrollment.getIsPassFail());
+                        ps.setBoolean(12, enrollment.getPrerequisiteMet());
+                        ps.setTimestamp(13, Timestamp.valueOf(enrollment.getCreatedAt()));
+                        ps.setTimestamp(14, Timestamp.valueOf(enrollment.getUpdatedAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return enrollments.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < enrollments.size(); i++) {
+            enrollments.get(i).setId(((Number) keys.get(i).get("id")).longValue());
+        }
+        log.info("Inserted {} enrollments in one batch", enrollments.size());
+    }
+
+    private Enrollment newEnrollment(EnrollmentDTO dto, Enrollment.EnrollmentStatus status, LocalDateTime now) {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setStudentId(dto.getStudentId());
+        enrollment.setCourseCode(dto.getCourseCode());
+        enrollment.setAcademicYear(dto.getAcademicYear());
+        enrollment.setSemester(dto.getSemester());
+        enrollment.setStatus(status);
+        enrollment.setEnrollmentDate(now);
+        enrollment.setInstructorName(dto.getInstructorName());
+        enrollment.setInstructorId(dto.getInstructorId());
+        enrollment.setNotes(dto.getNotes());
+        enrollment.setIsAudit(dto.getIsAudit() != null ? dto.getIsAudit() : false);
+        enrollment.setIsPassFail(dto.getIsPassFail() != null ? dto.getIsPassFail() : false);
+        enrollment.setPrerequisiteMet(dto.getPrerequisiteMet() != null ? dto.getPrerequisiteMet() : true);
+        enrollment.setCreatedAt(now);
+        enrollment.setUpdatedAt(now);
+        return enrollment;
+    }
+
+    private void publish(String eventType, List<Enrollment> enrollments) {
+        if (enrollments.isEmpty()) {
+            return;
+        }
+        EnrollmentEvent event = EnrollmentEvent.createBulkEvent(eventType, enrollments);
+        publish(event.getCorrelationId(), event);
+        log.info("Published {} event for {} enrollments", eventType, enrollments.size());
+    }
+
+    private void validateRequired(EnrollmentDTO dto) {
+        if (dto.getStudentId() == null || dto.getStudentId().isBlank()) {
+            throw new RuntimeException("Student ID is required");
+        }
+        if (dto.getCourseCode() == null || dto.getCourseCode().isBlank()) {
+            throw new RuntimeException("Course code is required");
+        }
+        if (dto.getAcademicYear() == null) {
+            throw new RuntimeException("Academic year is required");
+        }
+        if (dto.getSemester() == null || dto.getSemester().isBlank()) {
+            throw new RuntimeException("Semester is required");
+        }
+    }
+
+    private void checkSize(int size) {
+        if (size > maxItems) {
+            throw new RuntimeException("Bulk request exceeds the limit of " + maxItems + " items");
+        }
+    }
+
+    private static boolean holdsSeat(Enrollment.EnrollmentStatus status) {
+        return status == Enrollment.EnrollmentStatus.PENDING || status == Enrollment.EnrollmentStatus.ENROLLED;
+    }
+
+    private static String termKey(Integer academicYear, String semester) {
+        return academicYear + "|" + semester;
+    }
+
+    private static String pairKey(String studentId, String courseCode) {
+        return studentId + "|" + courseCode;
+    }
+
+    private static ItemResult success(int index, Enrollment enrollment) {
+        return new ItemResult(index, enrollment.getId(), enrollment.getStudentId(), enrollment.getCourseCode(),
+                enrollment.getStatus(), true, null);
+    }
+
+    private static ItemResult failure(int index, Long id, String studentId, String courseCode, String error) {
+        return new ItemResult(index, id, studentId, courseCode, null, false, error);
+    }
+}
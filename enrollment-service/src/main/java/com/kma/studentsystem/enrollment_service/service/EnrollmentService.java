@@ -1,18 +1,36 @@
 package com.kma.studentsystem.enrollment_service.service;
 
 import com.kma.studentsystem.enrollment_service.dto.EnrollmentDTO;
+import com.kma.studentsystem.enrollment_service.dto.ScheduleValidationDTO;
+import com.kma.studentsystem.enrollment_service.dto.TranscriptDTO;
 import com.kma.studentsystem.enrollment_service.event.EnrollmentEvent;
+import com.kma.studentsystem.enrollment_service.event.GradeEvent;
 import com.kma.studentsystem.enrollment_service.model.Enrollment;
+import com.kma.studentsystem.enrollment_service.model.WaitlistEntry;
+import com.kma.studentsystem.enrollment_service.replica.CourseState;
+import com.kma.studentsystem.enrollment_service.replica.StateReplica;
+import com.kma.studentsystem.enrollment_service.replica.StudentState;
 import com.kma.studentsystem.enrollment_service.repository.EnrollmentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,9 +41,19 @@ public class EnrollmentService {
     
     private final EnrollmentRepository enrollmentRepository;
     private final KafkaTemplate<String, EnrollmentEvent> kafkaTemplate;
+    private final StateReplica<StudentState> studentReplica;
+    private final StateReplica<CourseState> courseReplica;
+    private final WaitlistService waitlistService;
+    private final TranscriptService transcriptService;
+    private final TimetableService timetableService;
+    private final PrerequisiteIndex prerequisiteIndex;
+    private final GradeScale gradeScale;
     
     private static final String ENROLLMENT_EVENTS_TOPIC = "enrollment-events";
     
+    @Value("${enrollment.prerequisites.enforce:true}")
+    private boolean enforcePrerequisites;
+    
     public EnrollmentDTO createEnrollment(EnrollmentDTO enrollmentDTO) {
         log.info("Creating new enrollment for student: {} in course: {}", 
                 enrollmentDTO.getStudentId(), enrollmentDTO.getCourseCode());
@@ -39,18 +67,43 @@ public class EnrollmentService {
                     enrollmentDTO.getAcademicYear() + " " + enrollmentDTO.getSemester());
         }
         
+        validateAgainstReplicas(enrollmentDTO);
+        checkPrerequisites(enrollmentDTO, passedPrerequisites(List.of(enrollmentDTO.getStudentId()))
+                .getOrDefault(enrollmentDTO.getStudentId(), new BitSet()));
+        timetableService.checkNoClash(enrollmentDTO.getStudentId(), enrollmentDTO.getCourseCode(),
+                enrollmentDTO.getAcademicYear(), enrollmentDTO.getSemester());
+        
         // Convert DTO to Entity
         Enrollment enrollment = convertToEntity(enrollmentDTO);
-        enrollment.setStatus(Enrollment.EnrollmentStatus.PENDING);
+        boolean seatAvailable = waitlistService.hasSeatFor(enrollment);
+        enrollment.setStatus(seatAvailable ? Enrollment.EnrollmentStatus.PENDING : Enrollment.EnrollmentStatus.WAITLISTED);
         enrollment.setEnrollmentDate(LocalDateTime.now());
         
         // Save enrollment
-        Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
+        Enrollment savedEnrollment;
+        try {
+            savedEnrollment = enrollmentRepository.saveAndFlush(enrollment);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request for the same student, course and term passed the existence check first
+            if (e.getCause() instanceof ConstraintViolationException violation
+                    && Enrollment.UNIQUE_SECTION_CONSTRAINT.equals(violation.getConstraintName())) {
+                throw new RuntimeException("Enrollment already exists for student " + enrollmentDTO.getStudentId() +
+                        " in course " + enrollmentDTO.getCourseCode() + " for " +
+                        enrollmentDTO.getAcademicYear() + " " + enrollmentDTO.getSemester());
+            }
+            throw e;
+        }
+        timetableService.invalidate(savedEnrollment);
         log.info("Enrollment created successfully: {}", savedEnrollment.getId());
         
+        if (!seatAvailable) {
+            waitlistService.enqueue(savedEnrollment);
+            return convertToDTO(savedEnrollment);
+        }
+        
         // Publish event
         EnrollmentEvent event = EnrollmentEvent.createEnrollmentCreatedEvent(savedEnrollment);
-        kafkaTemplate.send(ENROLLMENT_EVENTS_TOPIC, savedEnrollment.getStudentId(), event);
+        publish(savedEnrollment.getStudentId(), event);
         log.info("Published EnrollmentCreated event for student: {}", savedEnrollment.getStudentId());
         
         return convertToDTO(savedEnrollment);
@@ -61,6 +114,12 @@ public class EnrollmentService {
         
         Enrollment existingEnrollment = enrollmentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Enrollment not found with ID: " + id));
+        TranscriptChanges transcriptChanges = TranscriptChanges.before(existingEnrollment);
+        timetableService.invalidate(existingEnrollment);
+        String previousCourseCode = existingEnrollment.getCourseCode();
+        Integer previousAcademicYear = existingEnrollment.getAcademicYear();
+        String previousSemester = existingEnrollment.getSemester();
+        Enrollment.EnrollmentStatus previousStatus = existingEnrollment.getStatus();
         
         // Update fields
         existingEnrollment.setStudentId(enrollmentDTO.getStudentId());
@@ -83,13 +142,19 @@ public class EnrollmentService {
         existingEnrollment.setPrerequisiteMet(enrollmentDTO.getPrerequisiteMet());
         
         Enrollment updatedEnrollment = enrollmentRepository.save(existingEnrollment);
+        transcriptService.apply(transcriptChanges.add(updatedEnrollment));
+        timetableService.invalidate(updatedEnrollment);
         log.info("Enrollment updated successfully: {}", updatedEnrollment.getId());
         
         // Publish event
         EnrollmentEvent event = EnrollmentEvent.createEnrollmentUpdatedEvent(updatedEnrollment);
-        kafkaTemplate.send(ENROLLMENT_EVENTS_TOPIC, updatedEnrollment.getStudentId(), event);
+        publish(updatedEnrollment.getStudentId(), event);
         log.info("Published EnrollmentUpdated event for student: {}", updatedEnrollment.getStudentId());
         
+        // A seat or queue place given up by the update goes to the next students in line
+        waitlistService.onEnrollmentUpdated(updatedEnrollment, previousCourseCode, previousAcademicYear,
+                previousSemester, previousStatus);
+        
         return convertToDTO(updatedEnrollment);
     }
     
@@ -103,15 +168,17 @@ public class EnrollmentService {
             throw new RuntimeException("Only pending enrollments can be approved");
         }
         
+        TranscriptChanges transcriptChanges = TranscriptChanges.before(enrollment);
         enrollment.setStatus(Enrollment.EnrollmentStatus.ENROLLED);
         enrollment.setEnrollmentDate(LocalDateTime.now());
         
         Enrollment approvedEnrollment = enrollmentRepository.save(enrollment);
+        transcriptService.apply(transcriptChanges.add(approvedEnrollment));
         log.info("Enrollment approved successfully: {}", approvedEnrollment.getId());
         
         // Publish event
         EnrollmentEvent event = EnrollmentEvent.createEnrollmentUpdatedEvent(approvedEnrollment);
-        kafkaTemplate.send(ENROLLMENT_EVENTS_TOPIC, approvedEnrollment.getStudentId(), event);
+        publish(approvedEnrollment.getStudentId(), event);
         log.info("Published EnrollmentUpdated event for student: {}", approvedEnrollment.getStudentId());
         
         return convertToDTO(approvedEnrollment);
@@ -127,21 +194,17 @@ public class EnrollmentService {
             throw new RuntimeException("Only enrolled courses can be completed");
         }
         
-        enrollment.setStatus(Enrollment.EnrollmentStatus.COMPLETED);
-        enrollment.setFinalGrade(finalGrade);
-        enrollment.setCompletionDate(LocalDateTime.now());
-        
-        // Set letter grade based on final grade
-        if (finalGrade != null) {
-            enrollment.setLetterGrade(getLetterGrade(finalGrade));
-        }
+        TranscriptChanges transcriptChanges = TranscriptChanges.before(enrollment);
+        complete(enrollment, finalGrade, LocalDateTime.now());
         
         Enrollment completedEnrollment = enrollmentRepository.save(enrollment);
+        transcriptService.apply(transcriptChanges.add(completedEnrollment));
+        timetableService.invalidate(completedEnrollment);
         log.info("Enrollment completed successfully: {}", completedEnrollment.getId());
         
         // Publish event
         EnrollmentEvent event = EnrollmentEvent.createEnrollmentCompletedEvent(completedEnrollment);
-        kafkaTemplate.send(ENROLLMENT_EVENTS_TOPIC, completedEnrollment.getStudentId(), event);
+        publish(completedEnrollment.getStudentId(), event);
         log.info("Published EnrollmentCompleted event for student: {}", completedEnrollment.getStudentId());
         
         return convertToDTO(completedEnrollment);
@@ -157,17 +220,24 @@ public class EnrollmentService {
             throw new RuntimeException("Completed enrollments cannot be cancelled");
         }
         
+        Enrollment.EnrollmentStatus previousStatus = enrollment.getStatus();
+        TranscriptChanges transcriptChanges = TranscriptChanges.before(enrollment);
         enrollment.setStatus(Enrollment.EnrollmentStatus.WITHDRAWN);
         enrollment.setWithdrawalDate(LocalDateTime.now());
         
         Enrollment cancelledEnrollment = enrollmentRepository.save(enrollment);
+        transcriptService.apply(transcriptChanges.add(cancelledEnrollment));
+        timetableService.invalidate(cancelledEnrollment);
         log.info("Enrollment cancelled successfully: {}", cancelledEnrollment.getId());
         
         // Publish event
         EnrollmentEvent event = EnrollmentEvent.createEnrollmentCancelledEvent(cancelledEnrollment);
-        kafkaTemplate.send(ENROLLMENT_EVENTS_TOPIC, cancelledEnrollment.getStudentId(), event);
+        publish(cancelledEnrollment.getStudentId(), event);
         log.info("Published EnrollmentCancelled event for student: {}", cancelledEnrollment.getStudentId());
         
+        // A freed seat goes to the next students in line in this same transaction
+        waitlistService.onEnrollmentReleased(cancelledEnrollment, previousStatus);
+        
         return convertToDTO(cancelledEnrollment);
     }
     
@@ -180,11 +250,16 @@ public class EnrollmentService {
         String studentId = enrollment.getStudentId();
         String courseCode = enrollment.getCourseCode();
         enrollmentRepository.delete(enrollment);
+        enrollmentRepository.flush();
+        transcriptService.apply(TranscriptChanges.before(enrollment));
+        timetableService.invalidate(enrollment);
         log.info("Enrollment deleted successfully: {}", id);
         
+        waitlistService.onEnrollmentReleased(enrollment, enrollment.getStatus());
+        
         // Publish event
         EnrollmentEvent event = EnrollmentEvent.createEnrollmentDeletedEvent(studentId, courseCode);
-        kafkaTemplate.send(ENROLLMENT_EVENTS_TOPIC, studentId, event);
+        publish(studentId, event);
         log.info("Published EnrollmentDeleted event for student: {}", studentId);
     }
     
@@ -235,6 +310,29 @@ public class EnrollmentService {
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
+    public Integer getWaitlistPosition(Long id) {
+        log.info("Retrieving waitlist position for enrollment: {}", id);
+        Enrollment enrollment = enrollmentRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Enrollment not found with ID: " + id));
+        return waitlistService.getPosition(enrollment);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<String> getWaitlist(String courseCode, Integer academicYear, String semester) {
+        log.info("Retrieving waitlist for course: {} {} {}", courseCode, academicYear, semester);
+        return waitlistService.getQueue(courseCode, academicYear, semester).stream()
+                .map(WaitlistEntry::getStudentId)
+                .collect(Collectors.toList());
+    }
+    
+    @Transactional(readOnly = true)
+    public ScheduleValidationDTO validateSchedule(String studentId, Integer academicYear, String semester,
+                                                  List<String> courseCodes) {
+        log.info("Validating proposed schedule of {} courses for student: {}", courseCodes.size(), studentId);
+        return timetableService.validateSchedule(studentId, academicYear, semester, courseCodes);
+    }
+    
     @Transactional(readOnly = true)
     public Long countActiveEnrollmentsByCourse(String courseCode) {
         log.info("Counting active enrollments for course: {}", courseCode);
@@ -244,25 +342,193 @@ public class EnrollmentService {
     @Transactional(readOnly = true)
     public Double getAverageGradeByStudent(String studentId) {
         log.info("Calculating average grade for student: {}", studentId);
-        return enrollmentRepository.getAverageGradeByStudent(studentId);
+        return transcriptService.getGpa(studentId);
     }
     
     @Transactional(readOnly = true)
     public Integer getTotalCreditsByStudent(String studentId) {
         log.info("Calculating total credits for student: {}", studentId);
-        return enrollmentRepository.getTotalCreditsByStudent(studentId);
+        return transcriptService.getTotalCredits(studentId);
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<TranscriptDTO> getTranscript(String studentId) {
+        log.info("Retrieving transcript for student: {}", studentId);
+        return transcriptService.getTranscript(studentId);
+    }
+    
+    public int rebuildTranscripts() {
+        log.info("Rebuilding transcripts");
+        return transcriptService.rebuild();
+    }
+    
+    /**
+     * Applies the final grades of one poll of grade-events. Finalized grades complete enrolled courses,
+     * other final-grade updates regrade completed courses or ride on enrolled ones until the semester
+     * rollover completes them. Matches are loaded with one query per term and saved as one batch.
+     *
+     * @return number of enrollments changed
+     */
+    public int applyFinalGrades(List<GradeEvent> events) {
+        // The last event per enrollment wins, but a finalize anywhere in the poll still completes it
+        Map<String, GradeEvent> latest = new LinkedHashMap<>();
+        Set<String> finalized = new HashSet<>();
+        for (GradeEvent event : events) {
+            if (!event.carriesFinalGrade()) {
+                continue;
+            }
+            String key = gradeKey(event.getStudentId(), event.getCourseCode(),
+                    event.getGrade().getAcademicYear(), event.getGrade().getSemester());
+            latest.put(key, event);
+            if (event.isFinalized()) {
+                finalized.add(key);
+            }
+        }
+        
+        Map<String, List<GradeEvent>> byTerm = latest.values().stream().collect(Collectors.groupingBy(
+                event -> event.getGrade().getAcademicYear() + "|" + event.getGrade().getSemester(),
+                LinkedHashMap::new, Collectors.toList()));
+        List<Enrollment> matches = new ArrayList<>();
+        byTerm.values().forEach(termEvents -> matches.addAll(
+                enrollmentRepository.findByAcademicYearAndSemesterAndStudentIdInAndCourseCodeIn(
+                        termEvents.get(0).getGrade().getAcademicYear(), termEvents.get(0).getGrade().getSemester(),
+                        termEvents.stream().map(GradeEvent::getStudentId).collect(Collectors.toSet()),
+                        termEvents.stream().map(GradeEvent::getCourseCode).collect(Collectors.toSet()))));
+        
+        LocalDateTime now = LocalDateTime.now();
+        TranscriptChanges transcriptChanges = new TranscriptChanges();
+        List<Enrollment> completed = new ArrayList<>();
+        List<Enrollment> regraded = new ArrayList<>();
+        for (Enrollment enrollment : matches) {
+            String key = gradeKey(enrollment.getStudentId(), enrollment.getCourseCode(),
+                    enrollment.getAcademicYear(), enrollment.getSemester());
+            GradeEvent event = latest.get(key);
+            if (event == null || !(enrollment.isActive() || enrollment.isCompleted())) {
+                continue;
+            }
+            Double finalGrade = event.getGrade().getGradeValue();
+            if (enrollment.isActive() && finalized.contains(key)) {
+                transcriptChanges.remove(enrollment);
+                complete(enrollment, finalGrade, now);
+                transcriptChanges.add(enrollment);
+                timetableService.invalidate(enrollment);
+                completed.add(enrollment);
+            } else if (!finalGrade.equals(enrollment.getFinalGrade())) {
+                transcriptChanges.remove(enrollment);
+                applyGrade(enrollment, finalGrade);
+                transcriptChanges.add(enrollment);
+                regraded.add(enrollment);
+            }
+        }
+        if (completed.isEmpty() && regraded.isEmpty()) {
+            return 0;
+        }
+        
+        enrollmentRepository.saveAll(completed);
+        enrollmentRepository.saveAll(regraded);
+        enrollmentRepository.flush();
+        transcriptService.apply(transcriptChanges);
+        log.info("Applied final grades: {} enrollments completed, {} regraded", completed.size(), regraded.size());
+        
+        // Publish events
+        if (!completed.isEmpty()) {
+            EnrollmentEvent event = EnrollmentEvent.createBulkEvent("EnrollmentsBulkCompleted", completed);
+            publish(event.getCorrelationId(), event);
+        }
+        if (!regraded.isEmpty()) {
+            EnrollmentEvent event = EnrollmentEvent.createBulkEvent("EnrollmentsBulkRegraded", regraded);
+            publish(event.getCorrelationId(), event);
+        }
+        return completed.size() + regraded.size();
+    }
+
+    /**
+     * Marks an enrollment completed with its final grade, program letter grade, grade points and
+     * earned credits.
+     */
+    void complete(Enrollment enrollment, Double finalGrade, LocalDateTime completionDate) {
+        enrollment.setStatus(Enrollment.EnrollmentStatus.COMPLETED);
+        enrollment.setCompletionDate(completionDate);
+        applyGrade(enrollment, finalGrade);
+    }
+
+    /**
+     * Sets the final grade with its letter and points and, on a completed enrollment, the credits
+     * it earns: the course's credits when the grade passes, none when it does not.
+     */
+    void applyGrade(Enrollment enrollment, Double finalGrade) {
+        gradeScale.applyTo(enrollment, finalGrade);
+        if (finalGrade == null || !enrollment.isCompleted()) {
+            return;
+        }
+        if (!enrollment.isPassing()) {
+            enrollment.setCreditsEarned(0);
+            return;
+        }
+        // A regrade between passing grades keeps what it had if the course has left the replica
+        Integer earned = enrollment.getCreditsEarned() != null && enrollment.getCreditsEarned() > 0
+                ? enrollment.getCreditsEarned() : null;
+        enrollment.setCreditsEarned(courseReplica.get(enrollment.getCourseCode())
+                .map(CourseState::getCredits).orElse(earned));
+    }
+
+    void validateAgainstReplicas(EnrollmentDTO enrollmentDTO) {
+        // Until a replica has caught up a missing key proves nothing, so only reject once it is ready
+        if (studentReplica.isReady()) {
+            StudentState student = studentReplica.get(enrollmentDTO.getStudentId())
+                    .orElseThrow(() -> new RuntimeException("Student not found with ID: " + enrollmentDTO.getStudentId()));
+            if (!"ACTIVE".equals(student.getStatus())) {
+                throw new RuntimeException("Student " + student.getStudentId() + " is not active (" + student.getStatus() + ")");
+            }
+        }
+        if (courseReplica.isReady()) {
+            CourseState course = courseReplica.get(enrollmentDTO.getCourseCode())
+                    .orElseThrow(() -> new RuntimeException("Course not found with code: " + enrollmentDTO.getCourseCode()));
+            if (!"ACTIVE".equals(course.getStatus())) {
+                throw new RuntimeException("Course " + course.getCourseCode() + " is not open for enrollment (" + course.getStatus() + ")");
+            }
+        }
+    }
+
+    /**
+     * Satisfied-prerequisite bitsets of the given students, from one query over their passed courses.
+     */
+    Map<String, BitSet> passedPrerequisites(Collection<String> studentIds) {
+        if (!enforcePrerequisites || !prerequisiteIndex.isReady() || studentIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, List<String>> passedByStudent = new HashMap<>();
+        for (Object[] row : enrollmentRepository.findPassedCourses(studentIds)) {
+            passedByStudent.computeIfAbsent((String) row[0], key -> new ArrayList<>()).add((String) row[1]);
+        }
+        Map<String, BitSet> satisfied = new HashMap<>();
+        passedByStudent.forEach((studentId, courseCodes) -> satisfied.put(studentId, prerequisiteIndex.satisfiedBy(courseCodes)));
+        return satisfied;
+    }
+    
+    void checkPrerequisites(EnrollmentDTO enrollmentDTO, BitSet satisfied) {
+        // Until the index has caught up the client-supplied prerequisiteMet flag stands
+        if (!enforcePrerequisites || !prerequisiteIndex.isReady()) {
+            return;
+        }
+        List<String> missing = prerequisiteIndex.missingFor(enrollmentDTO.getCourseCode(), satisfied);
+        if (!missing.isEmpty()) {
+            throw new RuntimeException("Prerequisites not met for " + enrollmentDTO.getCourseCode() + ": missing "
+                    + String.join(", ", missing));
+        }
+        enrollmentDTO.setPrerequisiteMet(true);
+    }
+
+    private void publish(String key, EnrollmentEvent event) {
+        kafkaTemplate.send(ENROLLMENT_EVENTS_TOPIC, key, event).whenComplete((result, error) -> {
+            if (error != null) {
+                log.error("Could not publish {} event {} for {}", event.getEventType(), event.getEventId(), key, error);
+            }
+        });
     }
     
-    private String getLetterGrade(Double grade) {
-        if (grade >= 9.0) return "A+";
-        else if (grade >= 8.5) return "A";
-        else if (grade >= 8.0) return "B+";
-        else if (grade >= 7.0) return "B";
-        else if (grade >= 6.5) return "C+";
-        else if (grade >= 5.5) return "C";
-        else if (grade >= 5.0) return "D+";
-        else if (grade >= 4.0) return "D";
-        else return "F";
+    private String gradeKey(String studentId, String courseCode, Integer academicYear, String semester) {
+        return studentId + "|" + courseCode + "|" + academicYear + "|" + semester;
     }
     
     private Enrollment convertToEntity(EnrollmentDTO dto) {
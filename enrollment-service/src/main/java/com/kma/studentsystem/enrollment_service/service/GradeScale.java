@@ -0,0 +1,121 @@
+package com.kma.studentsystem.enrollment_service.service;
+
+import com.kma.studentsystem.enrollment_service.model.Enrollment;
+import com.kma.studentsystem.enrollment_service.replica.StateReplica;
+import com.kma.studentsystem.enrollment_service.replica.StudentState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Letter grades and grade points as configured tables, one per program.
+ *
+ * A scale is a list of minGrade:letter:points bands in descending order, e.g.
+ * grading.scale.default=9.0:A+:4.0,8.5:A:3.8,...,0:F:0.0. A program (the student's major)
+ * can override it with grading.scale.programs.<program>, where the program name is lower-cased
+ * and non-alphanumerics become '-' (Computer Science -> computer-science).
+ */
+@Component
+public class GradeScale {
+
+    private static final String PROGRAM_SCALE_PREFIX = "grading.scale.programs.";
+
+    private final Environment environment;
+    private final StateReplica<StudentState> studentReplica;
+    private final Map<String, Scale> scales = new ConcurrentHashMap<>();
+    private final Scale defaultScale;
+
+    public GradeScale(Environment environment,
+                      StateReplica<StudentState> studentReplica,
+                      @Value("${grading.scale.default:9.0:A+:4.0,8.5:A:3.8,8.0:B+:3.5,7.0:B:3.0,6.5:C+:2.5,5.5:C:2.0,5.0:D+:1.5,4.0:D:1.0,0:F:0.0}") String defaultScale) {
+        this.environment = environment;
+        this.studentReplica = studentReplica;
+        this.defaultScale = Scale.parse(defaultScale);
+    }
+
+    public Scale forProgram(String program) {
+        if (program == null || program.isBlank()) {
+            return defaultScale;
+        }
+        String key = program.trim().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+        return scales.computeIfAbsent(key, k -> {
+            String table = environment.getProperty(PROGRAM_SCALE_PREFIX + k);
+            return table == null ? defaultScale : Scale.parse(table);
+        });
+    }
+
+    public Scale forStudent(String studentId) {
+        return forProgram(studentReplica.get(studentId).map(StudentState::getMajor).orElse(null));
+    }
+
+    /**
+     * Sets the final grade of an enrollment together with the letter grade and grade points
+     * of the student's program.
+     */
+    public void applyTo(Enrollment enrollment, Double finalGrade) {
+        enrollment.setFinalGrade(finalGrade);
+        if (finalGrade == null) {
+            return;
+        }
+        Scale scale = forStudent(enrollment.getStudentId());
+        String letterGrade = scale.letterFor(finalGrade);
+        enrollment.setLetterGrade(letterGrade);
+        enrollment.setGpaPoints(scale.pointsFor(letterGrade));
+    }
+
+    public static final class Scale {
+
+        private final double[] minGrades;
+        private final String[] letters;
+        private final double[] points;
+
+        private Scale(double[] minGrades, String[] letters, double[] points) {
+            this.minGrades = minGrades;
+            this.letters = letters;
+            this.points = points;
+        }
+
+        static Scale parse(String table) {
+            String[] bands = table.split(",");
+            double[] minGrades = new double[bands.length];
+            String[] letters = new String[bands.length];
+            double[] points = new double[bands.length];
+            for (int i = 0; i < bands.length; i++) {
+                String[] parts = bands[i].trim().split(":");
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException("Grade band must be minGrade:letter:points, got: " + bands[i]);
+                }
+                minGrades[i] = Double.parseDouble(parts[0].trim());
+                letters[i] = parts[1].trim();
+                points[i] = Double.parseDouble(parts[2].trim());
+                if (i > 0 && minGrades[i] >= minGrades[i - 1]) {
+                    throw new IllegalArgumentException("Grade bands must be in descending order: " + table);
+                }
+            }
+            return new Scale(minGrades, letters, points);
+        }
+
+        // Bands are checked from the top; grades under the lowest band get its letter
+        public String letterFor(double grade) {
+            for (int i = 0; i < minGrades.length; i++) {
+                if (grade >= minGrades[i]) {
+                    return letters[i];
+                }
+            }
+            return letters[letters.length - 1];
+        }
+
+        public double pointsFor(String letterGrade) {
+            for (int i = 0; i < letters.length; i++) {
+                if (letters[i].equals(letterGrade)) {
+                    return points[i];
+                }
+            }
+            return 0.0;
+        }
+    }
+}
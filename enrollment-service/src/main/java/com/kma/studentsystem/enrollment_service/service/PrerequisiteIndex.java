@@ -0,0 +1,95 @@
+package com.kma.studentsystem.enrollment_service.service;
+
+import com.kma.studentsystem.enrollment_service.replica.PrerequisiteClosure;
+import com.kma.studentsystem.enrollment_service.replica.StateReplica;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bitset view of the prerequisite closures published by course-service.
+ *
+ * Every course code gets a local bit number on first sight. A student's satisfied set is the
+ * union of their passed courses and those courses' closures (passing CS201 implies CS101), and
+ * a course is open to them when its closure has no bit outside that set. Closure bitsets are
+ * cached per replica entry and recomputed when the replica receives a newer one.
+ */
+@Component
+@RequiredArgsConstructor
+public class PrerequisiteIndex {
+
+    private final StateReplica<PrerequisiteClosure> prerequisiteReplica;
+
+    private final Map<String, Integer> bits = new ConcurrentHashMap<>();
+    private final List<String> codes = new ArrayList<>();
+    private final Map<String, CachedClosure> closures = new ConcurrentHashMap<>();
+
+    public boolean isReady() {
+        return prerequisiteReplica.isReady();
+    }
+
+    public BitSet satisfiedBy(Collection<String> passedCourseCodes) {
+        BitSet satisfied = new BitSet();
+        for (String courseCode : passedCourseCodes) {
+            satisfied.set(bitOf(courseCode));
+            satisfied.or(closureOf(courseCode));
+        }
+        return satisfied;
+    }
+
+    /**
+     * @return required courses of the given course that the satisfied set does not cover
+     */
+    public List<String> missingFor(String courseCode, BitSet satisfied) {
+        BitSet missing = (BitSet) closureOf(courseCode).clone();
+        missing.andNot(satisfied);
+        if (missing.isEmpty()) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>();
+        synchronized (codes) {
+            missing.stream().forEach(bit -> result.add(codes.get(bit)));
+        }
+        return result;
+    }
+
+    // Helper methods
+    private BitSet closureOf(String courseCode) {
+        PrerequisiteClosure closure = prerequisiteReplica.get(courseCode).orElse(null);
+        if (closure == null || closure.getRequiredCourses() == null) {
+            return new BitSet();
+        }
+        CachedClosure cached = closures.get(courseCode);
+        if (cached == null || cached.source != closure) {
+            BitSet required = new BitSet();
+            for (String requiredCourse : closure.getRequiredCourses()) {
+                required.set(bitOf(requiredCourse));
+            }
+            cached = new CachedClosure(closure, required);
+            closures.put(courseCode, cached);
+        }
+        return cached.bits;
+    }
+
+    private int bitOf(String courseCode) {
+        Integer bit = bits.get(courseCode);
+        if (bit != null) {
+            return bit;
+        }
+        synchronized (codes) {
+            return bits.computeIfAbsent(courseCode, key -> {
+                codes.add(key);
+                return codes.size() - 1;
+            });
+        }
+    }
+
+    private record CachedClosure(PrerequisiteClosure source, BitSet bits) {
+    }
+}
@@ -0,0 +1,284 @@
+package com.kma.studentsystem.enrollment_service.service;
+
+import com.kma.studentsystem.enrollment_service.dto.RolloverStatusDTO;
+import com.kma.studentsystem.enrollment_service.event.EnrollmentEvent;
+import com.kma.studentsystem.enrollment_service.model.Enrollment;
+import com.kma.studentsystem.enrollment_service.model.RolloverCheckpoint;
+import com.kma.studentsystem.enrollment_service.model.RolloverSummary;
+import com.kma.studentsystem.enrollment_service.repository.EnrollmentRepository;
+import com.kma.studentsystem.enrollment_service.repository.RolloverCheckpointRepository;
+import com.kma.studentsystem.enrollment_service.repository.RolloverSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * End-of-semester close-out of ENROLLED rows.
+ *
+ * Rows carrying a final grade from grade-events are completed with letter grade, credits and
+ * grade points; rows without one are withdrawn as no-shows. The term is split into partitions
+ * by hash of studentId, each worked on by its own thread in keyset chunks ordered by id. Each
+ * chunk is one transaction that holds its partition's checkpoint row lock, applies batched
+ * updates and the transcript deltas, and advances the checkpoint, so a crashed run resumes
+ * after the last committed chunk. Transactions are managed per chunk rather than per method.
+ *
+ * Chunk rows are read FOR UPDATE, so a concurrent withdrawal or grade write either commits first
+ * and is seen, or waits for the chunk. Each chunk's summary event goes through the
+ * rollover_summaries outbox written in the same transaction: it is sent after commit and resent by
+ * publishPendingSummaries until Kafka acknowledges it, including after a restart.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SemesterRolloverService {
+
+    private static final String ENROLLMENT_EVENTS_TOPIC = "enrollment-events";
+    private static final int SUMMARY_BATCH_SIZE = 50;
+    private static final long SUMMARY_SEND_TIMEOUT_SECONDS = 30;
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final RolloverCheckpointRepository checkpointRepository;
+    private final RolloverSummaryRepository summaryRepository;
+    private final EnrollmentService enrollmentService;
+    private final TranscriptService transcriptService;
+    private final TimetableService timetableService;
+    private final KafkaTemplate<String, EnrollmentEvent> kafkaTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<String, CompletableFuture<Void>> runningJobs = new ConcurrentHashMap<>();
+
+    @Value("${rollover.partitions:4}")
+    private int partitions;
+
+    @Value("${rollover.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${rollover.resume-on-startup:true}")
+    private boolean resumeOnStartup;
+
+    /**
+     * Starts the rollover of a term, or resumes it from its checkpoints. Finished partitions are
+     * rescanned from the start so rows approved after an earlier run are picked up too.
+     */
+    public RolloverStatusDTO startRollover(Integer academicYear, String semester) {
+        log.info("Starting rollover for {} {}", academicYear, semester);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            transactionTemplate.executeWithoutResult(status -> prepareCheckpoints(academicYear, semester));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the checkpoints first; theirs are just as good
+            log.info("Rollover checkpoints for {} {} already created elsewhere", academicYear, semester);
+        }
+        launch(academicYear, semester);
+        return getStatus(academicYear, semester).orElseThrow();
+    }
+
+    public Optional<RolloverStatusDTO> getStatus(Integer academicYear, String semester) {
+        List<RolloverCheckpoint> checkpoints = checkpointRepository.findByAcademicYearAndSemesterOrderByPartitionNo(academicYear, semester);
+        if (checkpoints.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(RolloverStatusDTO.of(academicYear, semester, checkpoints));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRollovers() {
+        if (!resumeOnStartup) {
+            return;
+        }
+        checkpointRepository.findByStatus(RolloverCheckpoint.RolloverStatus.RUNNING).stream()
+                .map(checkpoint -> List.of(checkpoint.getAcademicYear(), checkpoint.getSemester()))
+                .distinct()
+                .forEach(term -> {
+                    log.info("Resuming interrupted rollover for {} {}", term.get(0), term.get(1));
+                    launch((Integer) term.get(0), (String) term.get(1));
+                });
+    }
+
+    /**
+     * Sends the summary events of committed chunks that are still in the outbox. Runs after every
+     * chunk and on a timer, which also covers summaries left behind by a crash or a broker outage.
+     *
+     * @return the number of summaries sent
+     */
+    @Scheduled(initialDelayString = "${rollover.summary-retry-interval-ms:30000}",
+               fixedDelayString = "${rollover.summary-retry-interval-ms:30000}")
+    public int publishPendingSummaries() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int sent = 0;
+        try {
+            Integer batch;
+            do {
+                batch = transactionTemplate.execute(status -> sendPendingSummaries());
+                sent += batch;
+            } while (batch == SUMMARY_BATCH_SIZE);
+        } catch (Exception e) {
+            log.warn("Could not send rollover summaries, keeping them for the next attempt: {}", e.getMessage());
+        }
+        return sent;
+    }
+
+    // Helper methods
+    private void prepareCheckpoints(Integer academicYear, String semester) {
+        List<RolloverCheckpoint> checkpoints = checkpointRepository.findByAcademicYearAndSemesterOrderByPartitionNo(academicYear, semester);
+        if (checkpoints.isEmpty()) {
+            for (int partitionNo = 0; partitionNo < partitions; partitionNo++) {
+                RolloverCheckpoint checkpoint = new RolloverCheckpoint();
+                checkpoint.setAcademicYear(academicYear);
+                checkpoint.setSemester(semester);
+                checkpoint.setPartitionNo(partitionNo);
+                checkpoint.setPartitionCount(partitions);
+                checkpoints.add(checkpoint);
+            }
+            checkpointRepository.saveAllAndFlush(checkpoints);
+            return;
+        }
+        for (RolloverCheckpoint checkpoint : checkpoints) {
+            if (checkpoint.getStatus() == RolloverCheckpoint.RolloverStatus.DONE) {
+                checkpoint.setLastEnrollmentId(0L);
+            }
+            checkpoint.setStatus(RolloverCheckpoint.RolloverStatus.RUNNING);
+            checkpoint.setLastError(null);
+        }
+    }
+
+    private void launch(Integer academicYear, String semester) {
+        String jobKey = academicYear + "|" + semester;
+        runningJobs.compute(jobKey, (key, current) -> {
+            if (current != null && !current.isDone()) {
+                return current;
+            }
+            List<Integer> partitionNos = checkpointRepository.findByAcademicYearAndSemesterOrderByPartitionNo(academicYear, semester)
+                    .stream().map(RolloverCheckpoint::getPartitionNo).collect(Collectors.toList());
+            ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, partitionNos.size()));
+            List<CompletableFuture<Void>> workers = new ArrayList<>();
+            for (Integer partitionNo : partitionNos) {
+                workers.add(CompletableFuture.runAsync(() -> runPartition(academicYear, semester, partitionNo), executor));
+            }
+            return CompletableFuture.allOf(workers.toArray(new CompletableFuture[0]))
+                    .whenComplete((result, error) -> {
+                        executor.shutdown();
+                        log.info("Rollover for {} {} finished", academicYear, semester);
+                    });
+        });
+    }
+
+    private void runPartition(Integer academicYear, String semester, int partitionNo) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        while (true) {
+            List<Enrollment> chunk;
+            try {
+                chunk = transactionTemplate.execute(status -> processChunk(academicYear, semester, partitionNo));
+            } catch (Exception e) {
+                log.error("Rollover of {} {} partition {} failed: {}", academicYear, semester, partitionNo, e.getMessage(), e);
+                transactionTemplate.executeWithoutResult(status -> checkpointRepository
+                        .findForUpdate(academicYear, semester, partitionNo).ifPresent(checkpoint -> {
+                            checkpoint.setStatus(RolloverCheckpoint.RolloverStatus.FAILED);
+                            checkpoint.setLastError(e.getMessage());
+                        }));
+                return;
+            }
+            if (chunk == null) {
+                return;
+            }
+            publishPendingSummaries();
+        }
+    }
+
+    /**
+     * Sends one batch of outbox rows and deletes them. The rows stay locked until the events are
+     * acknowledged, and a failed send rolls the deletes back.
+     */
+    private int sendPendingSummaries() {
+        List<RolloverSummary> summaries = summaryRepository.lockPending(SUMMARY_BATCH_SIZE);
+        for (RolloverSummary summary : summaries) {
+            List<Enrollment> enrollments = new ArrayList<>(enrollmentRepository.findAllById(summary.enrollmentIdList()));
+            enrollments.sort(Comparator.comparing(Enrollment::getId));
+            EnrollmentEvent event = EnrollmentEvent.createBulkEvent("EnrollmentsRolledOver", enrollments);
+            // Stable across resends, so idempotent consumers drop a summary delivered twice
+            event.setEventId("rollover-summary-" + summary.getId());
+            try {
+                kafkaTemplate.send(ENROLLMENT_EVENTS_TOPIC, event.getCorrelationId(), event)
+                        .get(SUMMARY_SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while sending rollover summary " + summary.getId(), e);
+            } catch (ExecutionException | TimeoutException e) {
+                throw new RuntimeException("Failed to send rollover summary " + summary.getId(), e);
+            }
+        }
+        summaryRepository.deleteAll(summaries);
+        return summaries.size();
+    }
+
+    /**
+     * @return the enrollments closed out by this chunk, or null once the partition is finished
+     */
+    List<Enrollment> processChunk(Integer academicYear, String semester, int partitionNo) {
+        RolloverCheckpoint checkpoint = checkpointRepository.findForUpdate(academicYear, semester, partitionNo)
+                .orElseThrow(() -> new RuntimeException("Rollover checkpoint not found for partition " + partitionNo));
+        if (checkpoint.getStatus() != RolloverCheckpoint.RolloverStatus.RUNNING) {
+            return null;
+        }
+        List<Enrollment> chunk = enrollmentRepository.findRolloverChunk(academicYear, semester,
+                checkpoint.getLastEnrollmentId(), checkpoint.getPartitionCount(), partitionNo, chunkSize);
+        if (chunk.isEmpty()) {
+            checkpoint.setStatus(RolloverCheckpoint.RolloverStatus.DONE);
+            log.info("Rollover of {} {} partition {} done", academicYear, semester, partitionNo);
+            return null;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        TranscriptChanges transcriptChanges = new TranscriptChanges();
+        int completed = 0;
+        for (Enrollment enrollment : chunk) {
+            transcriptChanges.remove(enrollment);
+            if (enrollment.getFinalGrade() != null) {
+                enrollmentService.complete(enrollment, enrollment.getFinalGrade(), now);
+                completed++;
+            } else {
+                enrollment.setStatus(Enrollment.EnrollmentStatus.WITHDRAWN);
+                enrollment.setWithdrawalDate(now);
+            }
+            transcriptChanges.add(enrollment);
+            timetableService.invalidate(enrollment);
+        }
+
+        // Flushed as JDBC-batched UPDATEs (hibernate.jdbc.batch_size)
+        enrollmentRepository.saveAll(chunk);
+        enrollmentRepository.flush();
+        transcriptService.apply(transcriptChanges);
+        summaryRepository.save(RolloverSummary.of(academicYear, semester, partitionNo, chunk));
+
+        checkpoint.setLastEnrollmentId(chunk.get(chunk.size() - 1).getId());
+        checkpoint.setCompletedCount(checkpoint.getCompletedCount() + completed);
+        checkpoint.setWithdrawnCount(checkpoint.getWithdrawnCount() + chunk.size() - completed);
+        checkpoint.setChunkCount(checkpoint.getChunkCount() + 1);
+        log.info("Rollover of {} {} partition {}: {} completed, {} withdrawn up to id {}", academicYear, semester,
+                partitionNo, completed, chunk.size() - completed, checkpoint.getLastEnrollmentId());
+        return chunk;
+    }
+}
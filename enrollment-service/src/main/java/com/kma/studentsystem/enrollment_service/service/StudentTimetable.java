@@ -0,0 +1,99 @@
+package com.kma.studentsystem.enrollment_service.service;
+
+import com.kma.studentsystem.enrollment_service.replica.ScheduleSlot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable interval index over one student's weekly meetings in one term.
+ *
+ * Meetings are mapped to minute-of-week intervals [start, end) and kept sorted by start with a
+ * running maximum of end, i.e. a flattened, static interval tree. Whether a new slot clashes is
+ * a binary search plus one comparison; listing the clashes costs O(log n + k).
+ */
+public final class StudentTimetable {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    public static final StudentTimetable EMPTY = new StudentTimetable(List.of());
+
+    private final Booking[] bookings;
+    private final int[] maxEnd;
+    private final Set<String> courseCodes;
+
+    public StudentTimetable(List<Booking> bookings) {
+        this.bookings = bookings.toArray(new Booking[0]);
+        Arrays.sort(this.bookings, Comparator.comparingInt(Booking::start));
+        this.maxEnd = new int[this.bookings.length];
+        for (int i = 0; i < this.bookings.length; i++) {
+            maxEnd[i] = Math.max(this.bookings[i].end(), i > 0 ? maxEnd[i - 1] : Integer.MIN_VALUE);
+        }
+        this.courseCodes = bookings.stream().map(Booking::courseCode).collect(Collectors.toUnmodifiableSet());
+    }
+
+    public int size() {
+        return bookings.length;
+    }
+
+    public boolean contains(String courseCode) {
+        return courseCodes.contains(courseCode);
+    }
+
+    public boolean clashesWith(ScheduleSlot slot) {
+        int candidates = countStartingBefore(endOf(slot));
+        return candidates > 0 && maxEnd[candidates - 1] > startOf(slot);
+    }
+
+    public List<Booking> clashes(ScheduleSlot slot) {
+        int start = startOf(slot);
+        List<Booking> result = new ArrayList<>();
+        // Only bookings starting before the slot ends can overlap; stop once none further left can reach it
+        for (int i = countStartingBefore(endOf(slot)) - 1; i >= 0 && maxEnd[i] > start; i--) {
+            if (bookings[i].end() > start) {
+                result.add(bookings[i]);
+            }
+        }
+        return result;
+    }
+
+    public StudentTimetable with(List<Booking> added) {
+        List<Booking> all = new ArrayList<>(Arrays.asList(bookings));
+        all.addAll(added);
+        return new StudentTimetable(all);
+    }
+
+    public static Booking booking(String courseCode, ScheduleSlot slot) {
+        return new Booking(courseCode, slot, startOf(slot), endOf(slot));
+    }
+
+    // Helper methods
+    private int countStartingBefore(int minute) {
+        int low = 0;
+        int high = bookings.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bookings[mid].start() < minute) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int startOf(ScheduleSlot slot) {
+        return slot.getDayOfWeek().ordinal() * MINUTES_PER_DAY + slot.getStartTime().toSecondOfDay() / 60;
+    }
+
+    private static int endOf(ScheduleSlot slot) {
+        return slot.getDayOfWeek().ordinal() * MINUTES_PER_DAY + slot.getEndTime().toSecondOfDay() / 60;
+    }
+
+    public record Booking(String courseCode, ScheduleSlot slot, int start, int end) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.kma.studentsystem.enrollment_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Cache of each student's timetable per term, used for clash checks at registration.
+ *
+ * Entries are built from the student's active enrollments and the course replica's schedule
+ * slots. Local enrollment changes drop the entry after commit; entries also expire after a
+ * short TTL so schedule changes and writes from other instances show up, and the cache is
+ * bounded in size.
+ *
+ * Loads run inside Caffeine's atomic compute for the key, so an invalidation that arrives while
+ * a load is in flight waits for it and then removes its result. A timetable read before a
+ * commit can therefore never be stored after that commit's invalidation.
+ */
+@Component
+public class TimetableIndex {
+
+    private final Cache<String, StudentTimetable> timetables;
+
+    public TimetableIndex(@Value("${timetable.index.ttl-seconds:60}") long ttlSeconds,
+                          @Value("${timetable.index.maximum-size:10000}") long maximumSize) {
+        this.timetables = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public static String key(String studentId, Integer academicYear, String semester) {
+        return studentId + "|" + academicYear + "|" + semester;
+    }
+
+    public StudentTimetable get(String key, Supplier<StudentTimetable> loader) {
+        return timetables.get(key, k -> loader.get());
+    }
+
+    /**
+     * Drops the cached timetable once the current transaction completes, or immediately outside one.
+     */
+    public void invalidateAfterCommit(String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            timetables.invalidate(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                timetables.invalidate(key);
+            }
+        });
+    }
+}
@@ -0,0 +1,110 @@
+package com.kma.studentsystem.enrollment_service.service;
+
+import com.kma.studentsystem.enrollment_service.dto.ScheduleValidationDTO;
+import com.kma.studentsystem.enrollment_service.model.Enrollment;
+import com.kma.studentsystem.enrollment_service.replica.CourseState;
+import com.kma.studentsystem.enrollment_service.replica.ScheduleSlot;
+import com.kma.studentsystem.enrollment_service.replica.StateReplica;
+import com.kma.studentsystem.enrollment_service.repository.EnrollmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class TimetableService {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final StateReplica<CourseState> courseReplica;
+    private final TimetableIndex timetableIndex;
+
+    public void checkNoClash(String studentId, String courseCode, Integer academicYear, String semester) {
+        List<ScheduleValidationDTO.Conflict> conflicts = findConflicts(studentId, academicYear, semester, List.of(courseCode));
+        if (!conflicts.isEmpty()) {
+            ScheduleValidationDTO.Conflict conflict = conflicts.get(0);
+            throw new RuntimeException("Schedule conflict: " + courseCode + " clashes with " + conflict.getConflictingCourseCode()
+                    + " on " + conflict.getDayOfWeek() + " " + conflict.getStartTime() + "-" + conflict.getEndTime());
+        }
+    }
+
+    public ScheduleValidationDTO validateSchedule(String studentId, Integer academicYear, String semester, List<String> courseCodes) {
+        List<ScheduleValidationDTO.Conflict> conflicts = findConflicts(studentId, academicYear, semester, courseCodes);
+        return new ScheduleValidationDTO(studentId, academicYear, semester, conflicts.isEmpty(), conflicts);
+    }
+
+    /**
+     * Clashes of the proposed courses with the student's current timetable and with each other.
+     * Courses the student already takes are only checked against the others.
+     */
+    public List<ScheduleValidationDTO.Conflict> findConflicts(String studentId, Integer academicYear, String semester,
+                                                              List<String> courseCodes) {
+        // Without an up-to-date course replica there are no slots to compare
+        if (!courseReplica.isReady()) {
+            return List.of();
+        }
+        StudentTimetable timetable = timetableIndex.get(TimetableIndex.key(studentId, academicYear, semester),
+                () -> load(studentId, academicYear, semester));
+
+        List<ScheduleValidationDTO.Conflict> conflicts = new ArrayList<>();
+        for (String courseCode : new LinkedHashSet<>(courseCodes)) {
+            List<StudentTimetable.Booking> bookings = bookingsOf(courseCode);
+            for (StudentTimetable.Booking booking : bookings) {
+                if (!timetable.clashesWith(booking.slot())) {
+                    continue;
+                }
+                for (StudentTimetable.Booking other : timetable.clashes(booking.slot())) {
+                    if (!other.courseCode().equals(courseCode)) {
+                        ScheduleSlot slot = booking.slot();
+                        conflicts.add(new ScheduleValidationDTO.Conflict(courseCode, other.courseCode(),
+                                slot.getDayOfWeek(), slot.getStartTime(), slot.getEndTime()));
+                    }
+                }
+            }
+            if (!timetable.contains(courseCode)) {
+                timetable = timetable.with(bookings);
+            }
+        }
+        return conflicts;
+    }
+
+    public void invalidate(Enrollment enrollment) {
+        timetableIndex.invalidateAfterCommit(TimetableIndex.key(
+                enrollment.getStudentId(), enrollment.getAcademicYear(), enrollment.getSemester()));
+    }
+
+    // Helper methods
+    private StudentTimetable load(String studentId, Integer academicYear, String semester) {
+        List<StudentTimetable.Booking> bookings = enrollmentRepository
+                .findByStudentIdAndAcademicYearAndSemester(studentId, academicYear, semester).stream()
+                .filter(enrollment -> occupiesSlot(enrollment.getStatus()))
+                .flatMap(enrollment -> bookingsOf(enrollment.getCourseCode()).stream())
+                .collect(Collectors.toList());
+        return new StudentTimetable(bookings);
+    }
+
+    private List<StudentTimetable.Booking> bookingsOf(String courseCode) {
+        return courseReplica.get(courseCode)
+                .map(CourseState::getScheduleSlots)
+                .orElse(List.of()).stream()
+                .filter(Objects::nonNull)
+                .filter(slot -> slot.getDayOfWeek() != null && slot.getStartTime() != null && slot.getEndTime() != null)
+                .map(slot -> StudentTimetable.booking(courseCode, slot))
+                .collect(Collectors.toList());
+    }
+
+    // Waitlisted students keep the slot free: promotion must not create a clash
+    private static boolean occupiesSlot(Enrollment.EnrollmentStatus status) {
+        return status == Enrollment.EnrollmentStatus.PENDING
+                || status == Enrollment.EnrollmentStatus.ENROLLED
+                || status == Enrollment.EnrollmentStatus.WAITLISTED;
+    }
+}
@@ -0,0 +1,93 @@
+package com.kma.studentsystem.enrollment_service.service;
+
+import com.kma.studentsystem.enrollment_service.model.Enrollment;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Accumulates the transcript deltas caused by enrollment changes within one transaction.
+ *
+ * Call {@link #remove} with an enrollment before mutating it and {@link #add} afterwards; the
+ * difference is what TranscriptService writes. Keys are kept sorted so concurrent transactions
+ * touch transcript rows in the same order.
+ */
+public class TranscriptChanges {
+
+    private final Map<String, Totals> students = new TreeMap<>();
+    private final Map<SemesterKey, Totals> semesters = new TreeMap<>(Comparator
+            .comparing(SemesterKey::studentId)
+            .thenComparing(SemesterKey::academicYear)
+            .thenComparing(SemesterKey::semester));
+
+    public static TranscriptChanges before(Enrollment enrollment) {
+        TranscriptChanges changes = new TranscriptChanges();
+        changes.remove(enrollment);
+        return changes;
+    }
+
+    public TranscriptChanges remove(Enrollment enrollment) {
+        accumulate(enrollment, -1);
+        return this;
+    }
+
+    public TranscriptChanges add(Enrollment enrollment) {
+        accumulate(enrollment, 1);
+        return this;
+    }
+
+    Map<String, Totals> students() {
+        return students;
+    }
+
+    Map<SemesterKey, Totals> semesters() {
+        return semesters;
+    }
+
+    private void accumulate(Enrollment enrollment, int sign) {
+        boolean completed = enrollment.getStatus() == Enrollment.EnrollmentStatus.COMPLETED;
+        boolean active = enrollment.getStatus() == Enrollment.EnrollmentStatus.ENROLLED;
+        if (!completed && !active) {
+            return;
+        }
+        Totals totals = new Totals();
+        totals.completed = completed ? sign : 0;
+        totals.active = active ? sign : 0;
+        if (completed && enrollment.getFinalGrade() != null) {
+            totals.graded = sign;
+            totals.gradeSum = BigDecimal.valueOf(enrollment.getFinalGrade()).multiply(BigDecimal.valueOf(sign));
+        }
+        if (completed && enrollment.getCreditsEarned() != null) {
+            totals.credits = enrollment.getCreditsEarned() * sign;
+        }
+
+        students.computeIfAbsent(enrollment.getStudentId(), key -> new Totals()).plus(totals);
+        semesters.computeIfAbsent(new SemesterKey(enrollment.getStudentId(), enrollment.getAcademicYear(),
+                enrollment.getSemester()), key -> new Totals()).plus(totals);
+    }
+
+    record SemesterKey(String studentId, Integer academicYear, String semester) {
+    }
+
+    static class Totals {
+        int completed;
+        int active;
+        int graded;
+        BigDecimal gradeSum = BigDecimal.ZERO;
+        int credits;
+
+        void plus(Totals other) {
+            completed += other.completed;
+            active += other.active;
+            graded += other.graded;
+            gradeSum = gradeSum.add(other.gradeSum);
+            credits += other.credits;
+        }
+
+        boolean isZero() {
+            return completed == 0 && active == 0 && graded == 0 && credits == 0 && gradeSum.signum() == 0;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.kma.studentsystem.enrollment_service.service;
+
+import com.kma.studentsystem.enrollment_service.dto.TranscriptDTO;
+import com.kma.studentsystem.enrollment_service.model.SemesterTranscript;
+import com.kma.studentsystem.enrollment_service.model.StudentTranscript;
+import com.kma.studentsystem.enrollment_service.repository.EnrollmentRepository;
+import com.kma.studentsystem.enrollment_service.repository.SemesterTranscriptRepository;
+import com.kma.studentsystem.enrollment_service.repository.StudentTranscriptRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Transcript read model: GPA, credits and course counts per student and per semester.
+ *
+ * Enrollment writes hand their {@link TranscriptChanges} to {@link #apply} inside their own
+ * transaction, so the projection commits or rolls back with the enrollment rows and aggregate
+ * reads become primary-key lookups. {@link #rebuild} recomputes everything from enrollments.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class TranscriptService {
+
+    private final StudentTranscriptRepository studentTranscriptRepository;
+    private final SemesterTranscriptRepository semesterTranscriptRepository;
+    private final EnrollmentRepository enrollmentRepository;
+
+    @Value("${transcript.rebuild-if-empty:true}")
+    private boolean rebuildIfEmpty;
+
+    public void apply(TranscriptChanges changes) {
+        LocalDateTime now = LocalDateTime.now();
+        changes.students().forEach((studentId, totals) -> {
+            if (!totals.isZero()) {
+                studentTranscriptRepository.applyDelta(studentId, totals.completed, totals.active,
+                        totals.graded, totals.gradeSum, totals.credits, now);
+            }
+        });
+        changes.semesters().forEach((key, totals) -> {
+            if (!totals.isZero()) {
+                semesterTranscriptRepository.applyDelta(key.studentId(), key.academicYear(), key.semester(),
+                        totals.completed, totals.active, totals.graded, totals.gradeSum, totals.credits, now);
+            }
+        });
+    }
+
+    public int rebuild() {
+        log.info("Rebuilding transcript projection from enrollments");
+        studentTranscriptRepository.lockForRebuild();
+        studentTranscriptRepository.deleteAllRows();
+        semesterTranscriptRepository.deleteAllRows();
+
+        LocalDateTime now = LocalDateTime.now();
+        int students = studentTranscriptRepository.insertFromEnrollments(now);
+        int semesters = semesterTranscriptRepository.insertFromEnrollments(now);
+        log.info("Transcript projection rebuilt: {} students, {} semesters", students, semesters);
+        return students;
+    }
+
+    // First start after upgrading: populate the projection from existing enrollments
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (rebuildIfEmpty && studentTranscriptRepository.count() == 0 && enrollmentRepository.count() > 0) {
+            rebuild();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<TranscriptDTO> getTranscript(String studentId) {
+        return studentTranscriptRepository.findById(studentId).map(transcript -> {
+            TranscriptDTO dto = new TranscriptDTO();
+            dto.setStudentId(transcript.getStudentId());
+            dto.setGpa(transcript.getGpa());
+            dto.setTotalCredits(transcript.getTotalCredits());
+            dto.setCompletedCount(transcript.getCompletedCount());
+            dto.setActiveCount(transcript.getActiveCount());
+            dto.setUpdatedAt(transcript.getUpdatedAt());
+            dto.setSemesters(semesterTranscriptRepository.findByStudentIdOrderByAcademicYearAscSemesterAsc(studentId).stream()
+                    .filter(semester -> !semester.isEmpty())
+                    .map(this::convertToSummary)
+                    .collect(Collectors.toList()));
+            return dto;
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public Double getGpa(String studentId) {
+        return studentTranscriptRepository.findById(studentId).map(StudentTranscript::getGpa).orElse(null);
+    }
+
+    @Transactional(readOnly = true)
+    public Integer getTotalCredits(String studentId) {
+        return studentTranscriptRepository.findById(studentId)
+                .filter(transcript -> transcript.getCompletedCount() > 0)
+                .map(StudentTranscript::getTotalCredits)
+                .orElse(null);
+    }
+
+    // Helper methods
+    private TranscriptDTO.SemesterSummary convertToSummary(SemesterTranscript semester) {
+        return new TranscriptDTO.SemesterSummary(semester.getAcademicYear(), semester.getSemester(),
+                semester.getGpa(), semester.getTotalCredits(), semester.getCompletedCount(), semester.getActiveCount());
+    }
+}
@@ -0,0 +1,65 @@
+package com.kma.studentsystem.enrollment_service.service;
+
+import com.kma.studentsystem.enrollment_service.model.Enrollment;
+import com.kma.studentsystem.enrollment_service.replica.CourseState;
+import com.kma.studentsystem.enrollment_service.replica.StateReplica;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Promotes waitlisted students when a course's capacity goes up.
+ *
+ * Capacity changes arrive through the course-state replica rather than through an enrollment, so
+ * without this the queue would only move on the section's next registration or release. Every
+ * instance sees the change and promotes; the section lock turns all but the first into no-ops.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistCapacityWatcher {
+
+    private final StateReplica<CourseState> courseReplica;
+    private final WaitlistService waitlistService;
+
+    // One promotion at a time, off the replica thread so it keeps applying records
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @PostConstruct
+    public void register() {
+        courseReplica.addListener(this::onCourseChanged);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    void onCourseChanged(CourseState previous, CourseState current) {
+        if (current == null || current.getCapacity() == null) {
+            return;
+        }
+        if (previous != null && previous.getCapacity() != null && current.getCapacity() <= previous.getCapacity()) {
+            return;
+        }
+        executor.execute(() -> promoteWaiting(current.getCourseCode()));
+    }
+
+    // Helper methods
+    private void promoteWaiting(String courseCode) {
+        try {
+            List<Enrollment> promoted = waitlistService.promoteWaiting(courseCode);
+            if (!promoted.isEmpty()) {
+                log.info("Capacity of {} went up, promoted {} waitlisted enrollments", courseCode, promoted.size());
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not promote the waitlist of {} after a capacity change: {}", courseCode, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.kma.studentsystem.enrollment_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kma.studentsystem.enrollment_service.model.WaitlistEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Read-side cache of waitlist order per course section.
+ *
+ * Students poll their position heavily while registration is open; this keeps the ordered
+ * queue of each section in memory so those reads do not hit the database. The waitlist_entries
+ * table stays authoritative: local changes drop the cached section after commit and cached
+ * sections expire after a short TTL so changes made by other instances show up. The number of
+ * cached sections is bounded.
+ *
+ * As in TimetableIndex, loads run inside Caffeine's atomic compute for the key: concurrent readers
+ * of a cold section share one query, and an invalidation that arrives while a load is in flight
+ * removes its result instead of being overwritten by it.
+ */
+@Component
+public class WaitlistIndex {
+
+    private final Cache<String, List<WaitlistEntry>> sections;
+
+    public WaitlistIndex(@Value("${waitlist.index.ttl-seconds:30}") long ttlSeconds,
+                         @Value("${waitlist.index.maximum-size:10000}") long maximumSize) {
+        this.sections = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public List<WaitlistEntry> getQueue(String sectionKey, Supplier<List<WaitlistEntry>> loader) {
+        return sections.get(sectionKey, key -> List.copyOf(loader.get()));
+    }
+
+    /**
+     * @return 1-based position of the enrollment in the section queue, or 0 if it is not waiting
+     */
+    public int positionOf(String sectionKey, Long enrollmentId, Supplier<List<WaitlistEntry>> loader) {
+        List<WaitlistEntry> queue = getQueue(sectionKey, loader);
+        for (int i = 0; i < queue.size(); i++) {
+            if (queue.get(i).getEnrollmentId().equals(enrollmentId)) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Drops the cached section once the current transaction commits, or immediately outside one.
+     */
+    public void invalidateAfterCommit(String sectionKey) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sections.invalidate(sectionKey);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                sections.invalidate(sectionKey);
+            }
+        });
+    }
+}
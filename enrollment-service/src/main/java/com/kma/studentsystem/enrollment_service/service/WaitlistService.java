@@ -0,0 +1,263 @@
+package com.kma.studentsystem.enrollment_service.service;
+
+import com.kma.studentsystem.enrollment_service.event.EnrollmentEvent;
+import com.kma.studentsystem.enrollment_service.model.Enrollment;
+import com.kma.studentsystem.enrollment_service.model.WaitlistEntry;
+import com.kma.studentsystem.enrollment_service.replica.CourseState;
+import com.kma.studentsystem.enrollment_service.replica.StateReplica;
+import com.kma.studentsystem.enrollment_service.replica.StudentState;
+import com.kma.studentsystem.enrollment_service.repository.EnrollmentRepository;
+import com.kma.studentsystem.enrollment_service.repository.WaitlistEntryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class WaitlistService {
+
+    private static final String ENROLLMENT_EVENTS_TOPIC = "enrollment-events";
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final WaitlistIndex waitlistIndex;
+    private final KafkaTemplate<String, EnrollmentEvent> kafkaTemplate;
+    private final StateReplica<CourseState> courseReplica;
+    private final StateReplica<StudentState> studentReplica;
+
+    // fifo: strictly first come, first served; seniority: students further into their program go first
+    @Value("${waitlist.ordering:fifo}")
+    private String ordering;
+
+    /**
+     * Decides whether a new enrollment can take a seat in its section.
+     * Takes the section lock, which is held until the surrounding transaction ends.
+     */
+    public boolean hasSeatFor(Enrollment enrollment) {
+        return remainingSeats(enrollment.getCourseCode(), enrollment.getAcademicYear(), enrollment.getSemester()) > 0;
+    }
+
+    /**
+     * Seats a new enrollment may still take in the section, or Long.MAX_VALUE when capacity is unknown.
+     * Takes the section lock, which is held until the surrounding transaction ends.
+     */
+    public long remainingSeats(String courseCode, Integer academicYear, String semester) {
+        // Taken even without a capacity, so inserts into one section are serialized against the bulk duplicate check
+        enrollmentRepository.lockSection(WaitlistEntry.sectionKey(courseCode, academicYear, semester));
+        Integer capacity = capacityOf(courseCode);
+        if (capacity == null) {
+            return Long.MAX_VALUE;
+        }
+        // Nobody jumps the queue while others are waiting; seats that freed up go to them first
+        if (waitlistEntryRepository.existsByCourseCodeAndAcademicYearAndSemester(courseCode, academicYear, semester)) {
+            promoteLocked(courseCode, academicYear, semester, capacity);
+            if (waitlistEntryRepository.existsByCourseCodeAndAcademicYearAndSemester(courseCode, academicYear, semester)) {
+                return 0;
+            }
+        }
+        return Math.max(0, capacity - enrollmentRepository.countSeatHolders(courseCode, academicYear, semester));
+    }
+
+    public int enqueue(Enrollment enrollment) {
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setEnrollmentId(enrollment.getId());
+        entry.setStudentId(enrollment.getStudentId());
+        entry.setCourseCode(enrollment.getCourseCode());
+        entry.setAcademicYear(enrollment.getAcademicYear());
+        entry.setSemester(enrollment.getSemester());
+        entry.setPriority(priorityOf(enrollment.getStudentId()));
+        entry.setQueuedAt(LocalDateTime.now());
+        WaitlistEntry savedEntry = waitlistEntryRepository.saveAndFlush(entry);
+
+        List<WaitlistEntry> queue = loadQueue(savedEntry);
+        int position = queue.indexOf(savedEntry) + 1;
+        log.info("Enrollment {} waitlisted for {} at position {}", enrollment.getId(), savedEntry.getSectionKey(), position);
+
+        // Publish event
+        EnrollmentEvent event = EnrollmentEvent.createEnrollmentWaitlistedEvent(enrollment, position);
+        publish(enrollment.getStudentId(), event);
+        // Higher-priority arrivals push everyone behind them back one place
+        publishPositions(queue, position);
+        waitlistIndex.invalidateAfterCommit(savedEntry.getSectionKey());
+        return position;
+    }
+
+    /**
+     * Called after an enrollment leaves its section. Drops it from the waitlist if it was waiting,
+     * or promotes the next students in line if it held a seat, all in the caller's transaction.
+     */
+    public List<Enrollment> onEnrollmentReleased(Enrollment enrollment, Enrollment.EnrollmentStatus previousStatus) {
+        if (previousStatus == Enrollment.EnrollmentStatus.WAITLISTED) {
+            leaveQueue(enrollment);
+            return List.of();
+        }
+        if (holdsSeat(previousStatus)) {
+            return promote(enrollment.getCourseCode(), enrollment.getAcademicYear(), enrollment.getSemester());
+        }
+        return List.of();
+    }
+
+    /**
+     * Called after an update changed an enrollment's status or section. Releases the queue place or
+     * seat it held in its previous section when the update gave it up, in the caller's transaction.
+     */
+    public List<Enrollment> onEnrollmentUpdated(Enrollment enrollment, String previousCourseCode, Integer previousAcademicYear,
+                                                String previousSemester, Enrollment.EnrollmentStatus previousStatus) {
+        boolean sectionChanged = !WaitlistEntry.sectionKey(previousCourseCode, previousAcademicYear, previousSemester)
+                .equals(sectionKey(enrollment));
+        if (previousStatus == Enrollment.EnrollmentStatus.WAITLISTED
+                && (sectionChanged || enrollment.getStatus() != Enrollment.EnrollmentStatus.WAITLISTED)) {
+            leaveQueue(enrollment);
+        } else if (holdsSeat(previousStatus) && (sectionChanged || !holdsSeat(enrollment.getStatus()))) {
+            return promote(previousCourseCode, previousAcademicYear, previousSemester);
+        }
+        return List.of();
+    }
+
+    public List<Enrollment> promote(String courseCode, Integer academicYear, String semester) {
+        Integer capacity = capacityOf(courseCode);
+        if (capacity == null) {
+            return List.of();
+        }
+        enrollmentRepository.lockSection(WaitlistEntry.sectionKey(courseCode, academicYear, semester));
+        return promoteLocked(courseCode, academicYear, semester, capacity);
+    }
+
+    /**
+     * Admits waiting students of every term of the course into the seats its capacity now allows.
+     * Called when the course-state replica reports a capacity increase.
+     */
+    public List<Enrollment> promoteWaiting(String courseCode) {
+        List<Enrollment> promoted = new ArrayList<>();
+        for (Object[] term : waitlistEntryRepository.findWaitingTerms(courseCode)) {
+            promoted.addAll(promote(courseCode, (Integer) term[0], (String) term[1]));
+        }
+        return promoted;
+    }
+
+    @Transactional(readOnly = true)
+    public List<WaitlistEntry> getQueue(String courseCode, Integer academicYear, String semester) {
+        return waitlistIndex.getQueue(WaitlistEntry.sectionKey(courseCode, academicYear, semester),
+                () -> waitlistEntryRepository.findSectionQueue(courseCode, academicYear, semester));
+    }
+
+    @Transactional(readOnly = true)
+    public int getPosition(Enrollment enrollment) {
+        if (enrollment.getStatus() != Enrollment.EnrollmentStatus.WAITLISTED) {
+            return 0;
+        }
+        return waitlistIndex.positionOf(sectionKey(enrollment), enrollment.getId(),
+                () -> waitlistEntryRepository.findSectionQueue(
+                        enrollment.getCourseCode(), enrollment.getAcademicYear(), enrollment.getSemester()));
+    }
+
+    // Helper methods
+    private void publish(String key, EnrollmentEvent event) {
+        kafkaTemplate.send(ENROLLMENT_EVENTS_TOPIC, key, event).whenComplete((result, error) -> {
+            if (error != null) {
+                log.error("Could not publish {} event {} for {}", event.getEventType(), event.getEventId(), key, error);
+            }
+        });
+    }
+
+    // Admits the head of the queue into the section's free seats; the caller holds the section lock
+    private List<Enrollment> promoteLocked(String courseCode, Integer academicYear, String semester, int capacity) {
+        String sectionKey = WaitlistEntry.sectionKey(courseCode, academicYear, semester);
+        long freeSeats = capacity - enrollmentRepository.countSeatHolders(courseCode, academicYear, semester);
+        if (freeSeats <= 0) {
+            return List.of();
+        }
+        List<WaitlistEntry> admitted = waitlistEntryRepository.findSectionQueue(
+                courseCode, academicYear, semester, PageRequest.of(0, (int) Math.min(freeSeats, Integer.MAX_VALUE)));
+        if (admitted.isEmpty()) {
+            return List.of();
+        }
+
+        // The whole batch is admitted in one transaction: status flips and queue removals commit together
+        List<Enrollment> promoted = enrollmentRepository.findAllById(
+                admitted.stream().map(WaitlistEntry::getEnrollmentId).collect(Collectors.toList()));
+        LocalDateTime now = LocalDateTime.now();
+        promoted.forEach(enrollment -> {
+            enrollment.setStatus(Enrollment.EnrollmentStatus.PENDING);
+            enrollment.setEnrollmentDate(now);
+        });
+        enrollmentRepository.saveAll(promoted);
+        waitlistEntryRepository.deleteAllInBatch(admitted);
+        waitlistEntryRepository.flush();
+        log.info("Promoted {} waitlisted enrollments in {}", promoted.size(), sectionKey);
+
+        // Publish events
+        for (Enrollment enrollment : promoted) {
+            EnrollmentEvent event = EnrollmentEvent.createEnrollmentPromotedEvent(enrollment);
+            publish(enrollment.getStudentId(), event);
+        }
+        publishPositions(waitlistEntryRepository.findSectionQueue(courseCode, academicYear, semester), 1);
+        waitlistIndex.invalidateAfterCommit(sectionKey);
+        return promoted;
+    }
+
+    private void leaveQueue(Enrollment enrollment) {
+        waitlistEntryRepository.findByEnrollmentId(enrollment.getId()).ifPresent(entry -> {
+            List<WaitlistEntry> queue = loadQueue(entry);
+            int position = queue.indexOf(entry) + 1;
+            waitlistEntryRepository.delete(entry);
+            waitlistEntryRepository.flush();
+            log.info("Enrollment {} left the waitlist for {}", enrollment.getId(), entry.getSectionKey());
+
+            queue.remove(entry);
+            publishPositions(queue, position);
+            waitlistIndex.invalidateAfterCommit(entry.getSectionKey());
+        });
+    }
+
+    private void publishPositions(List<WaitlistEntry> queue, int fromPosition) {
+        for (int i = Math.max(fromPosition, 1); i <= queue.size(); i++) {
+            WaitlistEntry entry = queue.get(i - 1);
+            EnrollmentEvent event = EnrollmentEvent.createWaitlistPositionUpdatedEvent(entry, i);
+            publish(entry.getStudentId(), event);
+        }
+    }
+
+    private List<WaitlistEntry> loadQueue(WaitlistEntry entry) {
+        return new ArrayList<>(waitlistEntryRepository.findSectionQueue(
+                entry.getCourseCode(), entry.getAcademicYear(), entry.getSemester()));
+    }
+
+    private Integer capacityOf(String courseCode) {
+        // Without an up-to-date course replica there is no capacity to enforce
+        if (!courseReplica.isReady()) {
+            return null;
+        }
+        return courseReplica.get(courseCode).map(CourseState::getCapacity).orElse(null);
+    }
+
+    private int priorityOf(String studentId) {
+        if (!"seniority".equalsIgnoreCase(ordering)) {
+            return 0;
+        }
+        return studentReplica.get(studentId)
+                .map(StudentState::getEnrollmentYear)
+                .map(year -> Math.max(0, Year.now().getValue() - year))
+                .orElse(0);
+    }
+
+    private boolean holdsSeat(Enrollment.EnrollmentStatus status) {
+        return status == Enrollment.EnrollmentStatus.PENDING || status == Enrollment.EnrollmentStatus.ENROLLED;
+    }
+
+    private String sectionKey(Enrollment enrollment) {
+        return WaitlistEntry.sectionKey(enrollment.getCourseCode(), enrollment.getAcademicYear(), enrollment.getSemester());
+    }
+}
@@ -0,0 +1,27 @@
+-- Baseline: the schema Hibernate generated for the entities before migrations were introduced.
+-- Existing databases are baselined at this version, so later tables and columns live in V2 onwards.
+-- Enum columns get no check constraints so new statuses do not need a migration.
+
+CREATE TABLE enrollments (
+    id               bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    student_id       varchar(255) NOT NULL,
+    course_code      varchar(255) NOT NULL,
+    academic_year    integer      NOT NULL,
+    semester         varchar(255) NOT NULL,
+    status           varchar(255) NOT NULL,
+    enrollment_date  timestamp(6),
+    completion_date  timestamp(6),
+    withdrawal_date  timestamp(6),
+    final_grade      float(53),
+    letter_grade     varchar(255),
+    credits_earned   integer,
+    gpa_points       float(53),
+    instructor_name  varchar(255),
+    instructor_id    varchar(255),
+    notes            text,
+    is_audit         boolean,
+    is_pass_fail     boolean,
+    prerequisite_met boolean,
+    created_at       timestamp(6) NOT NULL,
+    updated_at       timestamp(6)
+);
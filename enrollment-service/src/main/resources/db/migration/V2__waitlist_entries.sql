@@ -0,0 +1,21 @@
+-- Course section waitlists.
+-- IF NOT EXISTS: databases baselined at V1 may already have the table from ddl-auto.
+
+-- Schemas created by ddl-auto carry a check constraint listing the statuses known at the time,
+-- which rejects WAITLISTED and any later addition
+ALTER TABLE enrollments DROP CONSTRAINT IF EXISTS enrollments_status_check;
+
+CREATE TABLE IF NOT EXISTS waitlist_entries (
+    id            bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    enrollment_id bigint       NOT NULL,
+    student_id    varchar(255) NOT NULL,
+    course_code   varchar(255) NOT NULL,
+    academic_year integer      NOT NULL,
+    semester      varchar(255) NOT NULL,
+    priority      integer      NOT NULL,
+    queued_at     timestamp(6) NOT NULL,
+    created_at    timestamp(6) NOT NULL,
+    CONSTRAINT uk_waitlist_entries_enrollment_id UNIQUE (enrollment_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_waitlist_section_order ON waitlist_entries (course_code, academic_year, semester, priority, queued_at);
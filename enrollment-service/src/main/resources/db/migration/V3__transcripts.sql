@@ -0,0 +1,26 @@
+-- Per-student and per-semester transcript projections.
+-- IF NOT EXISTS: databases baselined at V1 may already have the tables from ddl-auto.
+
+CREATE TABLE IF NOT EXISTS student_transcripts (
+    student_id      varchar(255)   NOT NULL PRIMARY KEY,
+    completed_count integer        NOT NULL,
+    active_count    integer        NOT NULL,
+    graded_count    integer        NOT NULL,
+    grade_sum       numeric(14, 4) NOT NULL,
+    total_credits   integer        NOT NULL,
+    updated_at      timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS semester_transcripts (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    student_id      varchar(255)   NOT NULL,
+    academic_year   integer        NOT NULL,
+    semester        varchar(255)   NOT NULL,
+    completed_count integer        NOT NULL,
+    active_count    integer        NOT NULL,
+    graded_count    integer        NOT NULL,
+    grade_sum       numeric(14, 4) NOT NULL,
+    total_credits   integer        NOT NULL,
+    updated_at      timestamp(6),
+    CONSTRAINT uk_semester_transcript UNIQUE (student_id, academic_year, semester)
+);
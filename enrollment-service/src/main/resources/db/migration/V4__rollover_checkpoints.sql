@@ -0,0 +1,19 @@
+-- Checkpoints of the restartable semester rollover job.
+-- IF NOT EXISTS: databases baselined at V1 may already have the table from ddl-auto.
+
+CREATE TABLE IF NOT EXISTS rollover_checkpoints (
+    id                 bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    academic_year      integer      NOT NULL,
+    semester           varchar(255) NOT NULL,
+    partition_no       integer      NOT NULL,
+    partition_count    integer      NOT NULL,
+    last_enrollment_id bigint       NOT NULL,
+    completed_count    integer      NOT NULL,
+    withdrawn_count    integer      NOT NULL,
+    chunk_count        integer      NOT NULL,
+    status             varchar(255) NOT NULL,
+    last_error         text,
+    created_at         timestamp(6) NOT NULL,
+    updated_at         timestamp(6),
+    CONSTRAINT uk_rollover_partition UNIQUE (academic_year, semester, partition_no)
+);
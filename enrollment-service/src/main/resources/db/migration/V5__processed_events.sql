@@ -0,0 +1,12 @@
+-- Event ids already handled by idempotent consumers.
+-- IF NOT EXISTS: databases baselined at V1 may already have the table from ddl-auto.
+
+CREATE TABLE IF NOT EXISTS processed_events (
+    event_id       varchar(64)  NOT NULL PRIMARY KEY,
+    topic          varchar(255) NOT NULL,
+    consumer_group varchar(255) NOT NULL,
+    processed_at   timestamp(6) NOT NULL
+);
+
+-- IdempotentConsumer.purgeExpiredMarkers
+CREATE INDEX IF NOT EXISTS idx_processed_events_processed_at ON processed_events (processed_at);
@@ -0,0 +1,7 @@
+-- One enrollment per student, course and term. Concurrent creates that both pass the existence
+-- check no longer insert twice. Duplicates already in the table make this migration fail and
+-- have to be resolved by hand first.
+
+-- Also serves findByStudentIdAndCourseCodeAndAcademicYearAndSemester, existsByStudentIdAndCourseCodeAndAcademicYearAndSemester,
+-- findByStudentIdAndAcademicYearAndSemester, findByStudentId and the per-student status queries, findPassedCourses
+CREATE UNIQUE INDEX IF NOT EXISTS uk_enrollments_student_term_course ON enrollments (student_id, academic_year, semester, course_code);
@@ -0,0 +1,15 @@
+-- Indexes for EnrollmentRepository predicates
+
+-- countSeatHolders, findByCourseCodeAndAcademicYearAndSemester, findByCourseCode and the per-course status queries
+CREATE INDEX IF NOT EXISTS idx_enrollments_course_term_status ON enrollments (course_code, academic_year, semester, status);
+
+-- findRolloverChunk keyset scans, findByAcademicYearAndSemester,
+-- findByAcademicYearAndSemesterAndStudentIdInAndCourseCodeIn, findExistingStudentCoursePairs
+CREATE INDEX IF NOT EXISTS idx_enrollments_term_status_id ON enrollments (academic_year, semester, status, id);
+
+-- findByInstructorId
+CREATE INDEX IF NOT EXISTS idx_enrollments_instructor ON enrollments (instructor_id);
+
+-- findAuditEnrollments, findPassFailEnrollments
+CREATE INDEX IF NOT EXISTS idx_enrollments_audit ON enrollments (id) WHERE is_audit;
+CREATE INDEX IF NOT EXISTS idx_enrollments_pass_fail ON enrollments (id) WHERE is_pass_fail;
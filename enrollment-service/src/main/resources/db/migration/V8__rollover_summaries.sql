@@ -0,0 +1,11 @@
+-- Summary events of committed rollover chunks that have not been acknowledged by Kafka yet.
+-- Written in the chunk's transaction and deleted once sent, so a crash or broker outage only delays them.
+
+CREATE TABLE IF NOT EXISTS rollover_summaries (
+    id             bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    academic_year  integer      NOT NULL,
+    semester       varchar(255) NOT NULL,
+    partition_no   integer      NOT NULL,
+    enrollment_ids text         NOT NULL,
+    created_at     timestamp(6) NOT NULL
+);
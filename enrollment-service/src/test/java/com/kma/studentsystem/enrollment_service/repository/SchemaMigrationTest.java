@@ -0,0 +1,182 @@
+package com.kma.studentsystem.enrollment_service.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the Flyway migrations against a real PostgreSQL, both on an empty database and on one
+ * baselined at V1 the way spring.flyway.baseline-on-migrate does it, and checks that the
+ * repository predicates are planned on the indexes the migrations create.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class SchemaMigrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @BeforeEach
+    void resetSchema() throws SQLException {
+        execute("DROP SCHEMA public CASCADE; CREATE SCHEMA public");
+    }
+
+    @Test
+    void migratesAnEmptyDatabase() throws SQLException {
+        MigrateResult result = flyway().migrate();
+
+        assertThat(result.success).isTrue();
+        assertThat(tables()).contains("enrollments", "waitlist_entries", "student_transcripts", "semester_transcripts",
+                "rollover_checkpoints", "processed_events", "rollover_summaries");
+    }
+
+    @Test
+    void upgradesADatabaseCreatedBeforeMigrations() throws Exception {
+        // The pre-migration schema ddl-auto left behind: no Flyway history, only the V1 table and its status check
+        execute(script("V1__baseline.sql"));
+        execute("ALTER TABLE enrollments ADD CONSTRAINT enrollments_status_check "
+                + "CHECK (status IN ('PENDING', 'ENROLLED', 'COMPLETED', 'WITHDRAWN', 'FAILED', 'AUDIT'))");
+
+        MigrateResult result = flyway().migrate();
+
+        assertThat(result.success).isTrue();
+        assertThat(result.migrationsExecuted).isEqualTo(7);
+        assertThat(tables()).contains("waitlist_entries", "student_transcripts", "semester_transcripts",
+                "rollover_checkpoints", "processed_events");
+        execute(enrollment("S1", "CS101", "WAITLISTED"));
+    }
+
+    @Test
+    void upgradesADatabaseWhereDdlAutoAlreadyCreatedTheNewTables() throws Exception {
+        execute(script("V1__baseline.sql"));
+        for (String name : List.of("V2__waitlist_entries.sql", "V3__transcripts.sql", "V4__rollover_checkpoints.sql",
+                "V5__processed_events.sql")) {
+            execute(script(name));
+        }
+
+        assertThat(flyway().migrate().success).isTrue();
+    }
+
+    @Test
+    void allowsOneEnrollmentPerStudentCourseAndTerm() throws SQLException {
+        flyway().migrate();
+        execute(enrollment("S1", "CS101", "ENROLLED"));
+        execute(enrollment("S1", "CS102", "ENROLLED"));
+
+        assertThatThrownBy(() -> execute(enrollment("S1", "CS101", "PENDING")))
+                .isInstanceOf(SQLException.class)
+                .hasMessageContaining("uk_enrollments_student_term_course");
+    }
+
+    @Test
+    void repositoryPredicatesUseTheirIndexes() throws SQLException {
+        flyway().migrate();
+        execute("""
+                INSERT INTO enrollments (student_id, course_code, academic_year, semester, status, created_at, is_audit, is_pass_fail)
+                SELECT 'S' || (i / 10), 'C' || (i % 300), 2020 + i % 6, CASE WHEN i % 2 = 0 THEN 'FALL' ELSE 'SPRING' END,
+                       (ARRAY['PENDING', 'ENROLLED', 'COMPLETED', 'WITHDRAWN'])[1 + i % 4], now(), i % 97 = 0, i % 89 = 0
+                FROM generate_series(1, 20000) AS i;
+                INSERT INTO waitlist_entries (enrollment_id, student_id, course_code, academic_year, semester, priority, queued_at, created_at)
+                SELECT i, 'S' || i, 'C' || (i % 300), 2025, 'FALL', i % 3, now(), now() FROM generate_series(1, 5000) AS i;
+                INSERT INTO processed_events (event_id, topic, consumer_group, processed_at)
+                SELECT 'e' || i, 'grade-events', 'enrollment-service-group', now() - i * interval '1 minute'
+                FROM generate_series(1, 5000) AS i;
+                ANALYZE
+                """);
+
+        assertThat(plan("SELECT count(*) FROM enrollments WHERE course_code = 'C7' AND academic_year = 2025 "
+                + "AND semester = 'FALL' AND status IN ('PENDING', 'ENROLLED')"))
+                .contains("idx_enrollments_course_term_status");
+        assertThat(plan("SELECT * FROM enrollments WHERE student_id = 'S7' AND academic_year = 2025 AND semester = 'FALL'"))
+                .contains("uk_enrollments_student_term_course");
+        assertThat(plan("SELECT id FROM enrollments WHERE academic_year = 2025 AND semester = 'FALL' AND status = 'ENROLLED' "
+                + "AND id > 100 ORDER BY id LIMIT 500"))
+                .contains("idx_enrollments_term_status_id");
+        assertThat(plan("SELECT * FROM enrollments WHERE instructor_id = 'I7'"))
+                .contains("idx_enrollments_instructor");
+        assertThat(plan("SELECT * FROM enrollments WHERE is_audit"))
+                .contains("idx_enrollments_audit");
+        assertThat(plan("SELECT * FROM waitlist_entries WHERE course_code = 'C7' AND academic_year = 2025 AND semester = 'FALL' "
+                + "ORDER BY priority DESC, queued_at, id"))
+                .contains("idx_waitlist_section_order");
+        assertThat(plan("DELETE FROM processed_events WHERE processed_at < now() - interval '1 day'"))
+                .contains("idx_processed_events_processed_at");
+    }
+
+    // Helper methods
+    private Flyway flyway() {
+        return Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private String plan(String query) throws SQLException {
+        List<String> lines = new ArrayList<>();
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            // Small tables are cheaper to scan; only whether an index can serve the predicate matters here
+            statement.execute("SET enable_seqscan = off");
+            try (ResultSet rows = statement.executeQuery("EXPLAIN " + query)) {
+                while (rows.next()) {
+                    lines.add(rows.getString(1));
+                }
+            }
+        }
+        return String.join("\n", lines);
+    }
+
+    private List<String> tables() throws SQLException {
+        return names("SELECT table_name FROM information_schema.tables WHERE table_schema = 'public'");
+    }
+
+    private List<String> names(String query) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (Connection connection = connect(); Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(query)) {
+            while (rows.next()) {
+                names.add(rows.getString(1));
+            }
+        }
+        return names;
+    }
+
+    private String script(String name) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/db/migration/" + name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private String enrollment(String studentId, String courseCode, String status) {
+        return "INSERT INTO enrollments (student_id, course_code, academic_year, semester, status, created_at) "
+                + "VALUES ('" + studentId + "', '" + courseCode + "', 2025, 'FALL', '" + status + "', now())";
+    }
+}
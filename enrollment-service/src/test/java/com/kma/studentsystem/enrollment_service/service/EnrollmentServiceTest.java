@@ -0,0 +1,156 @@
+package com.kma.studentsystem.enrollment_service.service;
+
+import com.kma.studentsystem.enrollment_service.event.EnrollmentEvent;
+import com.kma.studentsystem.enrollment_service.event.GradeEvent;
+import com.kma.studentsystem.enrollment_service.model.Enrollment;
+import com.kma.studentsystem.enrollment_service.replica.CourseState;
+import com.kma.studentsystem.enrollment_service.replica.StateReplica;
+import com.kma.studentsystem.enrollment_service.replica.StudentState;
+import com.kma.studentsystem.enrollment_service.repository.EnrollmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class EnrollmentServiceTest {
+
+    private static final String DEFAULT_SCALE = "9.0:A+:4.0,8.5:A:3.8,8.0:B+:3.5,7.0:B:3.0,6.5:C+:2.5,5.5:C:2.0,5.0:D+:1.5,4.0:D:1.0,0:F:0.0";
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+    @Mock
+    private KafkaTemplate<String, EnrollmentEvent> kafkaTemplate;
+    @Mock
+    private StateReplica<StudentState> studentReplica;
+    @Mock
+    private StateReplica<CourseState> courseReplica;
+    @Mock
+    private WaitlistService waitlistService;
+    @Mock
+    private TranscriptService transcriptService;
+    @Mock
+    private TimetableService timetableService;
+    @Mock
+    private PrerequisiteIndex prerequisiteIndex;
+
+    private EnrollmentService enrollmentService;
+
+    @BeforeEach
+    void setUp() {
+        GradeScale gradeScale = new GradeScale(new MockEnvironment(), studentReplica, DEFAULT_SCALE);
+        enrollmentService = new EnrollmentService(enrollmentRepository, kafkaTemplate, studentReplica, courseReplica,
+                waitlistService, transcriptService, timetableService, prerequisiteIndex, gradeScale);
+
+        CourseState course = new CourseState();
+        course.setCourseCode("CS101");
+        course.setCredits(3);
+        when(courseReplica.get("CS101")).thenReturn(Optional.of(course));
+        when(studentReplica.get(anyString())).thenReturn(Optional.empty());
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    void completingWithAPassingGradeEarnsTheCourseCredits() {
+        Enrollment enrollment = enrollment(Enrollment.EnrollmentStatus.ENROLLED);
+
+        enrollmentService.complete(enrollment, 4.2, LocalDateTime.now());
+
+        // A D is worth grade points on the default scale, so it passes
+        assertThat(enrollment.getLetterGrade()).isEqualTo("D");
+        assertThat(enrollment.isPassing()).isTrue();
+        assertThat(enrollment.getCreditsEarned()).isEqualTo(3);
+    }
+
+    @Test
+    void regradingAFailToAPassEarnsTheCredits() {
+        Enrollment enrollment = completed(2.0);
+        assertThat(enrollment.getCreditsEarned()).isZero();
+        givenMatches(enrollment);
+
+        assertThat(enrollmentService.applyFinalGrades(List.of(finalGrade(7.5)))).isEqualTo(1);
+
+        assertThat(enrollment.getLetterGrade()).isEqualTo("B");
+        assertThat(enrollment.getCreditsEarned()).isEqualTo(3);
+        assertThat(appliedCreditDelta()).isEqualTo(3);
+    }
+
+    @Test
+    void regradingAPassToAFailTakesTheCreditsBack() {
+        Enrollment enrollment = completed(7.5);
+        assertThat(enrollment.getCreditsEarned()).isEqualTo(3);
+        givenMatches(enrollment);
+
+        assertThat(enrollmentService.applyFinalGrades(List.of(finalGrade(3.0)))).isEqualTo(1);
+
+        assertThat(enrollment.getLetterGrade()).isEqualTo("F");
+        assertThat(enrollment.isPassing()).isFalse();
+        assertThat(enrollment.getCreditsEarned()).isZero();
+        assertThat(appliedCreditDelta()).isEqualTo(-3);
+    }
+
+    @Test
+    void regradingAnActiveEnrollmentLeavesCreditsToTheRollover() {
+        Enrollment enrollment = enrollment(Enrollment.EnrollmentStatus.ENROLLED);
+        givenMatches(enrollment);
+
+        enrollmentService.applyFinalGrades(List.of(finalGrade(7.5)));
+
+        assertThat(enrollment.getFinalGrade()).isEqualTo(7.5);
+        assertThat(enrollment.getCreditsEarned()).isNull();
+    }
+
+    // Helper methods
+    private Enrollment enrollment(Enrollment.EnrollmentStatus status) {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setId(1L);
+        enrollment.setStudentId("S1");
+        enrollment.setCourseCode("CS101");
+        enrollment.setAcademicYear(2025);
+        enrollment.setSemester("FALL");
+        enrollment.setStatus(status);
+        return enrollment;
+    }
+
+    private Enrollment completed(double grade) {
+        Enrollment enrollment = enrollment(Enrollment.EnrollmentStatus.ENROLLED);
+        enrollmentService.complete(enrollment, grade, LocalDateTime.now());
+        return enrollment;
+    }
+
+    private void givenMatches(Enrollment enrollment) {
+        when(enrollmentRepository.findByAcademicYearAndSemesterAndStudentIdInAndCourseCodeIn(
+                anyInt(), anyString(), anyCollection(), anyCollection())).thenReturn(List.of(enrollment));
+    }
+
+    private GradeEvent finalGrade(double value) {
+        GradeEvent.Grade grade = new GradeEvent.Grade(value, "FINAL", 2025, "FALL", "PUBLISHED", true);
+        return new GradeEvent("e1", "GradeUpdated", "S1", "CS101", grade, LocalDateTime.now(), "grade-service", "c1");
+    }
+
+    private int appliedCreditDelta() {
+        ArgumentCaptor<TranscriptChanges> changes = ArgumentCaptor.forClass(TranscriptChanges.class);
+        verify(transcriptService).apply(changes.capture());
+        return changes.getValue().students().get("S1").credits;
+    }
+}
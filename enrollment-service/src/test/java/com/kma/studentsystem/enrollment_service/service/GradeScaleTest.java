@@ -0,0 +1,111 @@
+package com.kma.studentsystem.enrollment_service.service;
+
+import com.kma.studentsystem.enrollment_service.model.Enrollment;
+import com.kma.studentsystem.enrollment_service.replica.StateReplica;
+import com.kma.studentsystem.enrollment_service.replica.StudentState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GradeScaleTest {
+
+    private static final String DEFAULT_SCALE = "9.0:A+:4.0,8.5:A:3.8,8.0:B+:3.5,7.0:B:3.0,6.5:C+:2.5,5.5:C:2.0,5.0:D+:1.5,4.0:D:1.0,0:F:0.0";
+
+    private MockEnvironment environment;
+    private StateReplica<StudentState> studentReplica;
+    private GradeScale gradeScale;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        environment = new MockEnvironment()
+                .withProperty("grading.scale.programs.computer-science", "8.0:A:4.0,6.0:B:3.0,0:F:0.0");
+        studentReplica = mock(StateReplica.class);
+        gradeScale = new GradeScale(environment, studentReplica, DEFAULT_SCALE);
+    }
+
+    @Test
+    void bandsIncludeTheirLowerBound() {
+        GradeScale.Scale scale = gradeScale.forProgram(null);
+
+        assertThat(scale.letterFor(10.0)).isEqualTo("A+");
+        assertThat(scale.letterFor(9.0)).isEqualTo("A+");
+        assertThat(scale.letterFor(8.99)).isEqualTo("A");
+        assertThat(scale.letterFor(5.0)).isEqualTo("D+");
+        assertThat(scale.letterFor(4.0)).isEqualTo("D");
+        assertThat(scale.letterFor(0.0)).isEqualTo("F");
+    }
+
+    @Test
+    void gradesBelowTheLowestBandGetItsLetter() {
+        assertThat(GradeScale.Scale.parse("5.0:P:1.0,3.0:F:0.0").letterFor(1.0)).isEqualTo("F");
+    }
+
+    @Test
+    void pointsFollowTheLetter() {
+        GradeScale.Scale scale = gradeScale.forProgram("");
+
+        assertThat(scale.pointsFor("A+")).isEqualTo(4.0);
+        assertThat(scale.pointsFor("C")).isEqualTo(2.0);
+        assertThat(scale.pointsFor("Z")).isEqualTo(0.0);
+    }
+
+    @Test
+    void programNamesAreNormalisedToPropertyKeys() {
+        GradeScale.Scale scale = gradeScale.forProgram(" Computer Science ");
+
+        assertThat(scale.letterFor(8.5)).isEqualTo("A");
+        assertThat(scale.pointsFor("A")).isEqualTo(4.0);
+        assertThat(gradeScale.forProgram("computer_science")).isSameAs(scale);
+    }
+
+    @Test
+    void programsWithoutAnOverrideUseTheDefaultScale() {
+        assertThat(gradeScale.forProgram("History")).isSameAs(gradeScale.forProgram(null));
+    }
+
+    @Test
+    void rejectsMalformedOrUnorderedBands() {
+        assertThatThrownBy(() -> GradeScale.Scale.parse("9.0:A+"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("minGrade:letter:points");
+        assertThatThrownBy(() -> GradeScale.Scale.parse("5.0:C:2.0,8.0:A:4.0"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("descending");
+    }
+
+    @Test
+    void appliesTheScaleOfTheStudentsMajor() {
+        StudentState student = new StudentState();
+        student.setMajor("Computer Science");
+        when(studentReplica.get("S1")).thenReturn(Optional.of(student));
+        Enrollment enrollment = new Enrollment();
+        enrollment.setStudentId("S1");
+
+        gradeScale.applyTo(enrollment, 8.2);
+
+        assertThat(enrollment.getFinalGrade()).isEqualTo(8.2);
+        assertThat(enrollment.getLetterGrade()).isEqualTo("A");
+        assertThat(enrollment.getGpaPoints()).isEqualTo(4.0);
+    }
+
+    @Test
+    void clearingTheGradeLeavesLetterAndPointsAlone() {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setStudentId("S1");
+        enrollment.setLetterGrade("B");
+        enrollment.setGpaPoints(3.0);
+
+        gradeScale.applyTo(enrollment, null);
+
+        assertThat(enrollment.getFinalGrade()).isNull();
+        assertThat(enrollment.getLetterGrade()).isEqualTo("B");
+    }
+}
@@ -0,0 +1,189 @@
+package com.kma.studentsystem.enrollment_service.service;
+
+import com.kma.studentsystem.enrollment_service.event.EnrollmentEvent;
+import com.kma.studentsystem.enrollment_service.model.Enrollment;
+import com.kma.studentsystem.enrollment_service.model.RolloverCheckpoint;
+import com.kma.studentsystem.enrollment_service.model.RolloverSummary;
+import com.kma.studentsystem.enrollment_service.repository.EnrollmentRepository;
+import com.kma.studentsystem.enrollment_service.repository.RolloverCheckpointRepository;
+import com.kma.studentsystem.enrollment_service.repository.RolloverSummaryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SemesterRolloverServiceTest {
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+    @Mock
+    private RolloverCheckpointRepository checkpointRepository;
+    @Mock
+    private RolloverSummaryRepository summaryRepository;
+    @Mock
+    private EnrollmentService enrollmentService;
+    @Mock
+    private TranscriptService transcriptService;
+    @Mock
+    private TimetableService timetableService;
+    @Mock
+    private KafkaTemplate<String, EnrollmentEvent> kafkaTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SemesterRolloverService rolloverService;
+    private RolloverCheckpoint checkpoint;
+
+    @BeforeEach
+    void setUp() {
+        rolloverService = new SemesterRolloverService(enrollmentRepository, checkpointRepository, summaryRepository,
+                enrollmentService, transcriptService, timetableService, kafkaTemplate, transactionManager);
+        ReflectionTestUtils.setField(rolloverService, "chunkSize", 500);
+
+        checkpoint = new RolloverCheckpoint();
+        checkpoint.setAcademicYear(2025);
+        checkpoint.setSemester("FALL");
+        checkpoint.setPartitionNo(0);
+        checkpoint.setPartitionCount(4);
+        when(checkpointRepository.findForUpdate(2025, "FALL", 0)).thenReturn(Optional.of(checkpoint));
+    }
+
+    @Test
+    void chunkCompletesGradedRowsAndWithdrawsTheRest() {
+        Enrollment graded = enrollment(11L, 7.5);
+        Enrollment noShow = enrollment(12L, null);
+        givenChunk(graded, noShow);
+
+        List<Enrollment> chunk = rolloverService.processChunk(2025, "FALL", 0);
+
+        assertThat(chunk).containsExactly(graded, noShow);
+        verify(enrollmentService).complete(eq(graded), eq(7.5), any());
+        verify(enrollmentService, never()).complete(eq(noShow), any(), any());
+        assertThat(noShow.getStatus()).isEqualTo(Enrollment.EnrollmentStatus.WITHDRAWN);
+        assertThat(noShow.getWithdrawalDate()).isNotNull();
+        verify(transcriptService).apply(any(TranscriptChanges.class));
+
+        assertThat(checkpoint.getLastEnrollmentId()).isEqualTo(12L);
+        assertThat(checkpoint.getCompletedCount()).isEqualTo(1);
+        assertThat(checkpoint.getWithdrawnCount()).isEqualTo(1);
+        assertThat(checkpoint.getChunkCount()).isEqualTo(1);
+    }
+
+    @Test
+    void chunkWritesItsSummaryToTheOutboxInsteadOfSendingIt() {
+        givenChunk(enrollment(11L, 7.5), enrollment(12L, null));
+
+        rolloverService.processChunk(2025, "FALL", 0);
+
+        ArgumentCaptor<RolloverSummary> summary = ArgumentCaptor.forClass(RolloverSummary.class);
+        verify(summaryRepository).save(summary.capture());
+        assertThat(summary.getValue().getPartitionNo()).isZero();
+        assertThat(summary.getValue().enrollmentIdList()).containsExactly(11L, 12L);
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any());
+    }
+
+    @Test
+    void chunkResumesAfterTheCheckpoint() {
+        checkpoint.setLastEnrollmentId(40L);
+        givenChunk(enrollment(41L, 8.0));
+
+        rolloverService.processChunk(2025, "FALL", 0);
+
+        verify(enrollmentRepository).findRolloverChunk(2025, "FALL", 40L, 4, 0, 500);
+        assertThat(checkpoint.getLastEnrollmentId()).isEqualTo(41L);
+    }
+
+    @Test
+    void emptyChunkFinishesThePartition() {
+        givenChunk();
+
+        assertThat(rolloverService.processChunk(2025, "FALL", 0)).isNull();
+
+        assertThat(checkpoint.getStatus()).isEqualTo(RolloverCheckpoint.RolloverStatus.DONE);
+        verify(summaryRepository, never()).save(any());
+    }
+
+    @Test
+    void partitionThatIsNoLongerRunningIsLeftAlone() {
+        checkpoint.setStatus(RolloverCheckpoint.RolloverStatus.FAILED);
+
+        assertThat(rolloverService.processChunk(2025, "FALL", 0)).isNull();
+
+        verify(enrollmentRepository, never()).findRolloverChunk(anyInt(), anyString(), anyLong(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void pendingSummariesAreSentWithStableIdsAndDeleted() {
+        RolloverSummary summary = summary(7L, enrollment(12L, null), enrollment(11L, 7.5));
+        when(summaryRepository.lockPending(anyInt())).thenReturn(List.of(summary));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThat(rolloverService.publishPendingSummaries()).isEqualTo(1);
+
+        ArgumentCaptor<EnrollmentEvent> event = ArgumentCaptor.forClass(EnrollmentEvent.class);
+        verify(kafkaTemplate).send(eq("enrollment-events"), anyString(), event.capture());
+        assertThat(event.getValue().getEventId()).isEqualTo("rollover-summary-7");
+        assertThat(event.getValue().getEnrollments()).extracting(Enrollment::getId).containsExactly(11L, 12L);
+        verify(summaryRepository).deleteAll(List.of(summary));
+    }
+
+    @Test
+    void summaryThatFailsToSendStaysInTheOutbox() {
+        when(summaryRepository.lockPending(anyInt())).thenReturn(List.of(summary(7L, enrollment(11L, 7.5))));
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+
+        assertThat(rolloverService.publishPendingSummaries()).isZero();
+
+        verify(summaryRepository, never()).deleteAll(any());
+    }
+
+    // Helper methods
+    private Enrollment enrollment(Long id, Double finalGrade) {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setId(id);
+        enrollment.setStudentId("S" + id);
+        enrollment.setCourseCode("CS101");
+        enrollment.setAcademicYear(2025);
+        enrollment.setSemester("FALL");
+        enrollment.setStatus(Enrollment.EnrollmentStatus.ENROLLED);
+        enrollment.setFinalGrade(finalGrade);
+        return enrollment;
+    }
+
+    private void givenChunk(Enrollment... enrollments) {
+        when(enrollmentRepository.findRolloverChunk(anyInt(), anyString(), anyLong(), anyInt(), anyInt(), anyInt()))
+                .thenReturn(new ArrayList<>(List.of(enrollments)));
+    }
+
+    private RolloverSummary summary(Long id, Enrollment... enrollments) {
+        RolloverSummary summary = RolloverSummary.of(2025, "FALL", 0, List.of(enrollments));
+        summary.setId(id);
+        when(enrollmentRepository.findAllById(summary.enrollmentIdList())).thenReturn(List.of(enrollments));
+        return summary;
+    }
+}
@@ -0,0 +1,91 @@
+package com.kma.studentsystem.enrollment_service.service;
+
+import com.kma.studentsystem.enrollment_service.replica.ScheduleSlot;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StudentTimetableTest {
+
+    @Test
+    void overlappingSlotsOnTheSameDayClash() {
+        StudentTimetable timetable = timetable(StudentTimetable.booking("CS101", slot(DayOfWeek.MONDAY, "09:00", "10:30")));
+
+        assertThat(timetable.clashesWith(slot(DayOfWeek.MONDAY, "10:00", "11:00"))).isTrue();
+        assertThat(timetable.clashesWith(slot(DayOfWeek.MONDAY, "08:00", "09:30"))).isTrue();
+        assertThat(timetable.clashesWith(slot(DayOfWeek.MONDAY, "09:30", "10:00"))).isTrue();
+    }
+
+    @Test
+    void backToBackSlotsDoNotClash() {
+        StudentTimetable timetable = timetable(StudentTimetable.booking("CS101", slot(DayOfWeek.MONDAY, "09:00", "10:30")));
+
+        assertThat(timetable.clashesWith(slot(DayOfWeek.MONDAY, "10:30", "12:00"))).isFalse();
+        assertThat(timetable.clashesWith(slot(DayOfWeek.MONDAY, "07:30", "09:00"))).isFalse();
+    }
+
+    @Test
+    void sameTimeOnAnotherDayDoesNotClash() {
+        StudentTimetable timetable = timetable(StudentTimetable.booking("CS101", slot(DayOfWeek.MONDAY, "09:00", "10:30")));
+
+        assertThat(timetable.clashesWith(slot(DayOfWeek.TUESDAY, "09:00", "10:30"))).isFalse();
+    }
+
+    @Test
+    void longBookingIsFoundBehindLaterShortOnes() {
+        // The all-morning booking starts first, so only the running maximum of end reveals it
+        StudentTimetable timetable = timetable(
+                StudentTimetable.booking("LAB1", slot(DayOfWeek.WEDNESDAY, "08:00", "12:00")),
+                StudentTimetable.booking("CS101", slot(DayOfWeek.WEDNESDAY, "08:30", "09:00")),
+                StudentTimetable.booking("CS102", slot(DayOfWeek.WEDNESDAY, "09:00", "09:30")));
+
+        List<StudentTimetable.Booking> clashes = timetable.clashes(slot(DayOfWeek.WEDNESDAY, "11:00", "11:30"));
+
+        assertThat(timetable.clashesWith(slot(DayOfWeek.WEDNESDAY, "11:00", "11:30"))).isTrue();
+        assertThat(clashes).extracting(StudentTimetable.Booking::courseCode).containsExactly("LAB1");
+    }
+
+    @Test
+    void listsEveryOverlappingBooking() {
+        StudentTimetable timetable = timetable(
+                StudentTimetable.booking("CS101", slot(DayOfWeek.FRIDAY, "09:00", "10:00")),
+                StudentTimetable.booking("CS102", slot(DayOfWeek.FRIDAY, "10:00", "11:00")),
+                StudentTimetable.booking("CS103", slot(DayOfWeek.FRIDAY, "11:00", "12:00")),
+                StudentTimetable.booking("CS104", slot(DayOfWeek.THURSDAY, "09:00", "12:00")));
+
+        assertThat(timetable.clashes(slot(DayOfWeek.FRIDAY, "09:30", "11:30")))
+                .extracting(StudentTimetable.Booking::courseCode)
+                .containsExactlyInAnyOrder("CS101", "CS102", "CS103");
+    }
+
+    @Test
+    void emptyTimetableNeverClashes() {
+        assertThat(StudentTimetable.EMPTY.clashesWith(slot(DayOfWeek.MONDAY, "00:00", "23:59"))).isFalse();
+        assertThat(StudentTimetable.EMPTY.clashes(slot(DayOfWeek.MONDAY, "00:00", "23:59"))).isEmpty();
+    }
+
+    @Test
+    void withAddsBookingsWithoutChangingTheOriginal() {
+        StudentTimetable original = timetable(StudentTimetable.booking("CS101", slot(DayOfWeek.MONDAY, "09:00", "10:00")));
+
+        StudentTimetable extended = original.with(List.of(StudentTimetable.booking("CS102", slot(DayOfWeek.MONDAY, "13:00", "14:00"))));
+
+        assertThat(original.size()).isEqualTo(1);
+        assertThat(original.contains("CS102")).isFalse();
+        assertThat(extended.size()).isEqualTo(2);
+        assertThat(extended.clashesWith(slot(DayOfWeek.MONDAY, "13:30", "14:30"))).isTrue();
+    }
+
+    // Helper methods
+    private StudentTimetable timetable(StudentTimetable.Booking... bookings) {
+        return new StudentTimetable(List.of(bookings));
+    }
+
+    private ScheduleSlot slot(DayOfWeek day, String start, String end) {
+        return new ScheduleSlot(day, LocalTime.parse(start), LocalTime.parse(end), null);
+    }
+}
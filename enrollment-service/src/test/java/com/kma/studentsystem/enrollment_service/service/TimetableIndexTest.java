@@ -0,0 +1,55 @@
+package com.kma.studentsystem.enrollment_service.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimetableIndexTest {
+
+    private static final String KEY = TimetableIndex.key("S1", 2025, "FALL");
+
+    private final TimetableIndex index = new TimetableIndex(60, 100);
+
+    @Test
+    void cachesLoadedTimetables() {
+        StudentTimetable loaded = new StudentTimetable(List.of());
+
+        assertThat(index.get(KEY, () -> loaded)).isSameAs(loaded);
+        assertThat(index.get(KEY, () -> StudentTimetable.EMPTY)).isSameAs(loaded);
+    }
+
+    @Test
+    void invalidationDuringALoadDiscardsTheLoadedTimetable() throws Exception {
+        StudentTimetable stale = new StudentTimetable(List.of());
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<StudentTimetable> load = CompletableFuture.supplyAsync(() -> index.get(KEY, () -> {
+            loading.countDown();
+            await(release);
+            return stale;
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        // A commit lands while the old rows are being turned into a timetable
+        CompletableFuture<Void> invalidation = CompletableFuture.runAsync(() -> index.invalidateAfterCommit(KEY));
+        release.countDown();
+
+        assertThat(load.get(5, TimeUnit.SECONDS)).isSameAs(stale);
+        invalidation.get(5, TimeUnit.SECONDS);
+        assertThat(index.get(KEY, () -> StudentTimetable.EMPTY)).isSameAs(StudentTimetable.EMPTY);
+    }
+
+    // Helper methods
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
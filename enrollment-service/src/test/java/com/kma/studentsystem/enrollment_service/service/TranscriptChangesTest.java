@@ -0,0 +1,111 @@
+package com.kma.studentsystem.enrollment_service.service;
+
+import com.kma.studentsystem.enrollment_service.model.Enrollment;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TranscriptChangesTest {
+
+    @Test
+    void completingAnActiveEnrollmentMovesItFromActiveToCompleted() {
+        Enrollment enrollment = enrollment("S1", 2025, "FALL", Enrollment.EnrollmentStatus.ENROLLED);
+        TranscriptChanges changes = TranscriptChanges.before(enrollment);
+
+        enrollment.setStatus(Enrollment.EnrollmentStatus.COMPLETED);
+        enrollment.setFinalGrade(8.5);
+        enrollment.setCreditsEarned(3);
+        changes.add(enrollment);
+
+        TranscriptChanges.Totals totals = changes.students().get("S1");
+        assertThat(totals.active).isEqualTo(-1);
+        assertThat(totals.completed).isEqualTo(1);
+        assertThat(totals.graded).isEqualTo(1);
+        assertThat(totals.gradeSum).isEqualByComparingTo(new BigDecimal("8.5"));
+        assertThat(totals.credits).isEqualTo(3);
+        assertThat(changes.semesters().get(new TranscriptChanges.SemesterKey("S1", 2025, "FALL")).completed).isEqualTo(1);
+    }
+
+    @Test
+    void unchangedEnrollmentNetsOut() {
+        Enrollment enrollment = enrollment("S1", 2025, "FALL", Enrollment.EnrollmentStatus.COMPLETED);
+        enrollment.setFinalGrade(7.25);
+        enrollment.setCreditsEarned(4);
+
+        TranscriptChanges changes = TranscriptChanges.before(enrollment).add(enrollment);
+
+        assertThat(changes.students().get("S1").isZero()).isTrue();
+        assertThat(changes.semesters().values()).allMatch(TranscriptChanges.Totals::isZero);
+    }
+
+    @Test
+    void regradingOnlyChangesTheGradeSum() {
+        Enrollment enrollment = enrollment("S1", 2025, "FALL", Enrollment.EnrollmentStatus.COMPLETED);
+        enrollment.setFinalGrade(6.0);
+        enrollment.setCreditsEarned(3);
+        TranscriptChanges changes = TranscriptChanges.before(enrollment);
+
+        enrollment.setFinalGrade(7.5);
+        changes.add(enrollment);
+
+        TranscriptChanges.Totals totals = changes.students().get("S1");
+        assertThat(totals.completed).isZero();
+        assertThat(totals.graded).isZero();
+        assertThat(totals.credits).isZero();
+        assertThat(totals.gradeSum).isEqualByComparingTo(new BigDecimal("1.5"));
+    }
+
+    @Test
+    void enrollmentsOutsideTheTranscriptAreIgnored() {
+        TranscriptChanges changes = new TranscriptChanges()
+                .add(enrollment("S1", 2025, "FALL", Enrollment.EnrollmentStatus.PENDING))
+                .add(enrollment("S1", 2025, "FALL", Enrollment.EnrollmentStatus.WAITLISTED))
+                .remove(enrollment("S1", 2025, "FALL", Enrollment.EnrollmentStatus.WITHDRAWN));
+
+        assertThat(changes.students()).isEmpty();
+        assertThat(changes.semesters()).isEmpty();
+    }
+
+    @Test
+    void movingTermsSplitsTheDeltaAcrossSemesters() {
+        Enrollment enrollment = enrollment("S1", 2025, "FALL", Enrollment.EnrollmentStatus.ENROLLED);
+        TranscriptChanges changes = TranscriptChanges.before(enrollment);
+
+        enrollment.setAcademicYear(2026);
+        enrollment.setSemester("SPRING");
+        changes.add(enrollment);
+
+        assertThat(changes.students().get("S1").isZero()).isTrue();
+        assertThat(changes.semesters().get(new TranscriptChanges.SemesterKey("S1", 2025, "FALL")).active).isEqualTo(-1);
+        assertThat(changes.semesters().get(new TranscriptChanges.SemesterKey("S1", 2026, "SPRING")).active).isEqualTo(1);
+    }
+
+    @Test
+    void keysAreSortedSoTransactionsLockRowsInTheSameOrder() {
+        TranscriptChanges changes = new TranscriptChanges()
+                .add(enrollment("S2", 2025, "SPRING", Enrollment.EnrollmentStatus.ENROLLED))
+                .add(enrollment("S1", 2026, "FALL", Enrollment.EnrollmentStatus.ENROLLED))
+                .add(enrollment("S1", 2025, "SPRING", Enrollment.EnrollmentStatus.ENROLLED))
+                .add(enrollment("S1", 2025, "FALL", Enrollment.EnrollmentStatus.ENROLLED));
+
+        assertThat(changes.students().keySet()).containsExactly("S1", "S2");
+        assertThat(changes.semesters().keySet()).containsExactly(
+                new TranscriptChanges.SemesterKey("S1", 2025, "FALL"),
+                new TranscriptChanges.SemesterKey("S1", 2025, "SPRING"),
+                new TranscriptChanges.SemesterKey("S1", 2026, "FALL"),
+                new TranscriptChanges.SemesterKey("S2", 2025, "SPRING"));
+    }
+
+    // Helper methods
+    private Enrollment enrollment(String studentId, Integer academicYear, String semester, Enrollment.EnrollmentStatus status) {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setStudentId(studentId);
+        enrollment.setCourseCode("CS101");
+        enrollment.setAcademicYear(academicYear);
+        enrollment.setSemester(semester);
+        enrollment.setStatus(status);
+        return enrollment;
+    }
+}
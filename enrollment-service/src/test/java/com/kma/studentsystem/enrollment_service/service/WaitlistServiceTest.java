@@ -0,0 +1,237 @@
+package com.kma.studentsystem.enrollment_service.service;
+
+import com.kma.studentsystem.enrollment_service.event.EnrollmentEvent;
+import com.kma.studentsystem.enrollment_service.model.Enrollment;
+import com.kma.studentsystem.enrollment_service.model.WaitlistEntry;
+import com.kma.studentsystem.enrollment_service.replica.CourseState;
+import com.kma.studentsystem.enrollment_service.replica.StateReplica;
+import com.kma.studentsystem.enrollment_service.replica.StudentState;
+import com.kma.studentsystem.enrollment_service.repository.EnrollmentRepository;
+import com.kma.studentsystem.enrollment_service.repository.WaitlistEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class WaitlistServiceTest {
+
+    private static final String COURSE = "CS101";
+    private static final Integer YEAR = 2025;
+    private static final String SEMESTER = "FALL";
+
+    @Mock
+    private WaitlistEntryRepository waitlistEntryRepository;
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+    @Mock
+    private WaitlistIndex waitlistIndex;
+    @Mock
+    private KafkaTemplate<String, EnrollmentEvent> kafkaTemplate;
+    @Mock
+    private StateReplica<CourseState> courseReplica;
+    @Mock
+    private StateReplica<StudentState> studentReplica;
+
+    private WaitlistService waitlistService;
+
+    // In-memory section: enrollments by id and the queue in admission order
+    private final Map<Long, Enrollment> enrollments = new LinkedHashMap<>();
+    private final List<WaitlistEntry> queue = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        waitlistService = new WaitlistService(waitlistEntryRepository, enrollmentRepository, waitlistIndex,
+                kafkaTemplate, courseReplica, studentReplica);
+        ReflectionTestUtils.setField(waitlistService, "ordering", "fifo");
+
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(courseReplica.isReady()).thenReturn(true);
+        when(enrollmentRepository.countSeatHolders(COURSE, YEAR, SEMESTER)).thenAnswer(invocation ->
+                enrollments.values().stream().filter(this::holdsSeat).count());
+        when(enrollmentRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Enrollment> found = new ArrayList<>();
+            invocation.<Iterable<Long>>getArgument(0).forEach(id -> found.add(enrollments.get(id)));
+            return found;
+        });
+        when(enrollmentRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(waitlistEntryRepository.existsByCourseCodeAndAcademicYearAndSemester(COURSE, YEAR, SEMESTER))
+                .thenAnswer(invocation -> !queue.isEmpty());
+        when(waitlistEntryRepository.findSectionQueue(COURSE, YEAR, SEMESTER)).thenAnswer(invocation -> new ArrayList<>(queue));
+        when(waitlistEntryRepository.findSectionQueue(eq(COURSE), eq(YEAR), eq(SEMESTER), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    int size = invocation.<Pageable>getArgument(3).getPageSize();
+                    return new ArrayList<>(queue.subList(0, Math.min(size, queue.size())));
+                });
+        doAnswer(invocation -> queue.removeAll(invocation.<List<WaitlistEntry>>getArgument(0)))
+                .when(waitlistEntryRepository).deleteAllInBatch(any());
+    }
+
+    @Test
+    void remainingSeatsPromotesWaitingStudentsBeforeAdmittingNewOnes() {
+        withCapacity(3);
+        enroll(1L, Enrollment.EnrollmentStatus.ENROLLED);
+        waitlist(2L);
+        waitlist(3L);
+
+        // Two seats are free, but both belong to the students already waiting
+        assertThat(waitlistService.remainingSeats(COURSE, YEAR, SEMESTER)).isZero();
+
+        assertThat(enrollments.get(2L).getStatus()).isEqualTo(Enrollment.EnrollmentStatus.PENDING);
+        assertThat(enrollments.get(3L).getStatus()).isEqualTo(Enrollment.EnrollmentStatus.PENDING);
+        assertThat(queue).isEmpty();
+    }
+
+    @Test
+    void remainingSeatsReportsSeatsLeftOnceTheQueueIsDrained() {
+        withCapacity(4);
+        enroll(1L, Enrollment.EnrollmentStatus.ENROLLED);
+        waitlist(2L);
+
+        assertThat(waitlistService.remainingSeats(COURSE, YEAR, SEMESTER)).isEqualTo(2);
+        assertThat(enrollments.get(2L).getStatus()).isEqualTo(Enrollment.EnrollmentStatus.PENDING);
+    }
+
+    @Test
+    void remainingSeatsStaysClosedWhileTheQueueOutnumbersFreeSeats() {
+        withCapacity(2);
+        enroll(1L, Enrollment.EnrollmentStatus.ENROLLED);
+        waitlist(2L);
+        waitlist(3L);
+
+        assertThat(waitlistService.remainingSeats(COURSE, YEAR, SEMESTER)).isZero();
+
+        assertThat(enrollments.get(2L).getStatus()).isEqualTo(Enrollment.EnrollmentStatus.PENDING);
+        assertThat(enrollments.get(3L).getStatus()).isEqualTo(Enrollment.EnrollmentStatus.WAITLISTED);
+        assertThat(queue).extracting(WaitlistEntry::getEnrollmentId).containsExactly(3L);
+    }
+
+    @Test
+    void promotionHappensUnderTheSectionLock() {
+        withCapacity(2);
+        enroll(1L, Enrollment.EnrollmentStatus.ENROLLED);
+        waitlist(2L);
+
+        waitlistService.remainingSeats(COURSE, YEAR, SEMESTER);
+
+        InOrder order = inOrder(enrollmentRepository);
+        order.verify(enrollmentRepository).lockSection(WaitlistEntry.sectionKey(COURSE, YEAR, SEMESTER));
+        order.verify(enrollmentRepository).saveAll(any());
+    }
+
+    @Test
+    void updateThatGivesUpASeatPromotesTheHeadOfTheQueue() {
+        withCapacity(1);
+        Enrollment withdrawn = enroll(1L, Enrollment.EnrollmentStatus.WITHDRAWN);
+        waitlist(2L);
+
+        List<Enrollment> promoted = waitlistService.onEnrollmentUpdated(withdrawn, COURSE, YEAR, SEMESTER,
+                Enrollment.EnrollmentStatus.ENROLLED);
+
+        assertThat(promoted).extracting(Enrollment::getId).containsExactly(2L);
+        assertThat(queue).isEmpty();
+    }
+
+    @Test
+    void updateThatKeepsTheSeatPromotesNobody() {
+        withCapacity(1);
+        Enrollment enrolled = enroll(1L, Enrollment.EnrollmentStatus.ENROLLED);
+        waitlist(2L);
+
+        assertThat(waitlistService.onEnrollmentUpdated(enrolled, COURSE, YEAR, SEMESTER,
+                Enrollment.EnrollmentStatus.PENDING)).isEmpty();
+        verify(enrollmentRepository, never()).lockSection(anyString());
+        verify(kafkaTemplate, never()).send(anyString(), anyString(), any(EnrollmentEvent.class));
+    }
+
+    @Test
+    void unknownCapacityNeverPromotes() {
+        when(courseReplica.get(COURSE)).thenReturn(Optional.empty());
+        waitlist(2L);
+
+        assertThat(waitlistService.remainingSeats(COURSE, YEAR, SEMESTER)).isEqualTo(Long.MAX_VALUE);
+        assertThat(waitlistService.promote(COURSE, YEAR, SEMESTER)).isEmpty();
+        verify(enrollmentRepository, never()).countSeatHolders(anyString(), anyInt(), anyString());
+    }
+
+    @Test
+    void capacityIncreasePromotesIntoTheNewSeats() {
+        withCapacity(1);
+        enroll(1L, Enrollment.EnrollmentStatus.ENROLLED);
+        waitlist(2L);
+        waitlist(3L);
+        when(waitlistEntryRepository.findWaitingTerms(COURSE)).thenReturn(List.<Object[]>of(new Object[] {YEAR, SEMESTER}));
+
+        withCapacity(2);
+        List<Enrollment> promoted = waitlistService.promoteWaiting(COURSE);
+
+        assertThat(promoted).extracting(Enrollment::getId).containsExactly(2L);
+        assertThat(queue).extracting(WaitlistEntry::getEnrollmentId).containsExactly(3L);
+        verify(enrollmentRepository).lockSection(WaitlistEntry.sectionKey(COURSE, YEAR, SEMESTER));
+    }
+
+    // Helper methods
+    private void withCapacity(int capacity) {
+        CourseState course = new CourseState();
+        course.setCourseCode(COURSE);
+        course.setCapacity(capacity);
+        when(courseReplica.get(COURSE)).thenReturn(Optional.of(course));
+    }
+
+    private Enrollment enroll(Long id, Enrollment.EnrollmentStatus status) {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setId(id);
+        enrollment.setStudentId("S" + id);
+        enrollment.setCourseCode(COURSE);
+        enrollment.setAcademicYear(YEAR);
+        enrollment.setSemester(SEMESTER);
+        enrollment.setStatus(status);
+        enrollments.put(id, enrollment);
+        return enrollment;
+    }
+
+    private void waitlist(Long enrollmentId) {
+        Enrollment enrollment = enroll(enrollmentId, Enrollment.EnrollmentStatus.WAITLISTED);
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setId(enrollmentId);
+        entry.setEnrollmentId(enrollmentId);
+        entry.setStudentId(enrollment.getStudentId());
+        entry.setCourseCode(COURSE);
+        entry.setAcademicYear(YEAR);
+        entry.setSemester(SEMESTER);
+        entry.setQueuedAt(LocalDateTime.now());
+        queue.add(entry);
+    }
+
+    private boolean holdsSeat(Enrollment enrollment) {
+        return enrollment.getStatus() == Enrollment.EnrollmentStatus.PENDING
+                || enrollment.getStatus() == Enrollment.EnrollmentStatus.ENROLLED;
+    }
+}
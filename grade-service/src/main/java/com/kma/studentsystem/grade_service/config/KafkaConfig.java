@@ -1,6 +1,9 @@
 package com.kma.studentsystem.grade_service.config;
 
 import com.kma.studentsystem.grade_service.event.GradeEvent;
+import com.kma.studentsystem.grade_service.tracing.CorrelationProducerInterceptor;
+import com.kma.studentsystem.grade_service.tracing.EventLatencyTracker;
+import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -19,11 +22,19 @@ import java.util.Map;
 
 @Configuration
 @EnableKafka
+@RequiredArgsConstructor
 public class KafkaConfig {
 
+    private final EventLatencyTracker eventLatencyTracker;
+    private final KafkaListenerMetrics kafkaListenerMetrics;
+    private final KafkaProducerMetrics kafkaProducerMetrics;
+
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    @Value("${kafka.producer.profile:low-latency}")
+    private String producerProfile;
+
     @Value("${spring.kafka.consumer.group-id:grade-service-group}")
     private String groupId;
 
@@ -54,9 +65,8 @@ public class KafkaConfig {
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
-        configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
-        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.INTERCEPTOR_CLASSES_CONFIG, CorrelationProducerInterceptor.class.getName());
+        KafkaProducerProfile.fromName(producerProfile).apply(configProps);
         if (securityEnabled) {
             configureSecurityProperties(configProps);
         }
@@ -65,7 +75,9 @@ public class KafkaConfig {
 
     @Bean
     public KafkaTemplate<String, GradeEvent> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+        KafkaTemplate<String, GradeEvent> template = new KafkaTemplate<>(producerFactory());
+        kafkaProducerMetrics.instrument(template);
+        return template;
     }
 
     @Bean
@@ -88,6 +100,8 @@ public class KafkaConfig {
     public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        factory.setRecordInterceptor(eventLatencyTracker.recordInterceptor());
+        kafkaListenerMetrics.instrument(factory);
         factory.setConcurrency(3);
         return factory;
     }
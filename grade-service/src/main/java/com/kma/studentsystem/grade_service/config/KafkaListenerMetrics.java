@@ -0,0 +1,75 @@
+package com.kma.studentsystem.grade_service.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Instruments listener container factories so consumer health shows up on /actuator/prometheus:
+ * - spring.kafka.listener: per-listener processing time histogram (count gives records/s)
+ * - kafka.consumer.fetch.manager.records.lag / records.consumed.rate: lag per partition and throughput
+ * - kafka.consumer.coordinator.commit.latency.*: offset commit latency
+ * - kafka.listener.rebalance: partition assignment changes per group
+ */
+@Component
+@RequiredArgsConstructor
+public class KafkaListenerMetrics {
+    
+    private final MeterRegistry meterRegistry;
+    
+    public <K, V> void instrument(ConcurrentKafkaListenerContainerFactory<K, V> factory) {
+        bindClientMetrics(factory.getConsumerFactory());
+        
+        ContainerProperties containerProperties = factory.getContainerProperties();
+        containerProperties.setMicrometerEnabled(true);
+        containerProperties.setConsumerRebalanceListener(new ConsumerAwareRebalanceListener() {
+            
+            @Override
+            public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+                recordRebalance(consumer, "assigned", partitions);
+            }
+            
+            @Override
+            public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+                recordRebalance(consumer, "revoked", partitions);
+            }
+            
+            @Override
+            public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+                recordRebalance(consumer, "lost", partitions);
+            }
+        });
+    }
+    
+    // Helper methods
+    private <K, V> void bindClientMetrics(ConsumerFactory<K, V> consumerFactory) {
+        // Consumer factories can back several container factories; bind the client metrics once
+        boolean bound = consumerFactory.getListeners().stream()
+                .anyMatch(listener -> listener instanceof MicrometerConsumerListener);
+        if (!bound) {
+            consumerFactory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        }
+    }
+    
+    private void recordRebalance(Consumer<?, ?> consumer, String event, Collection<TopicPartition> partitions) {
+        if (partitions.isEmpty()) {
+            return;
+        }
+        Counter.builder("kafka.listener.rebalance")
+                .description("Partition assignment changes seen by listener containers")
+                .tag("group", consumer.groupMetadata().groupId())
+                .tag("event", event)
+                .register(meterRegistry)
+                .increment();
+    }
+}
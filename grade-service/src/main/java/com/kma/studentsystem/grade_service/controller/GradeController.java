@@ -8,6 +8,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -36,46 +37,67 @@ public class GradeController {
     }
     
     @GetMapping
-    public ResponseEntity<List<GradeDTO>> getAllGrades() {
+    public ResponseEntity<List<GradeDTO>> getAllGrades(WebRequest request) {
         log.info("GET /api/grades - Retrieving all grades");
+        if (gradeService.getGradesVersion().notModified(request)) {
+            return null;
+        }
         List<GradeDTO> grades = gradeService.getAllGrades();
         return ResponseEntity.ok(grades);
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<GradeDTO> getGradeById(@PathVariable Long id) {
+    public ResponseEntity<GradeDTO> getGradeById(@PathVariable Long id, WebRequest request) {
         log.info("GET /api/grades/{} - Retrieving grade by ID", id);
+        if (gradeService.getGradeVersion(id).filter(version -> version.notModified(request)).isPresent()) {
+            return null;
+        }
         Optional<GradeDTO> grade = gradeService.getGradeById(id);
         return grade.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping("/student/{studentId}")
-    public ResponseEntity<List<GradeDTO>> getGradesByStudent(@PathVariable String studentId) {
+    public ResponseEntity<List<GradeDTO>> getGradesByStudent(@PathVariable String studentId, WebRequest request) {
         log.info("GET /api/grades/student/{} - Retrieving grades for student", studentId);
+        if (gradeService.getGradesVersionByStudent(studentId).notModified(request)) {
+            return null;
+        }
         List<GradeDTO> grades = gradeService.getGradesByStudent(studentId);
         return ResponseEntity.ok(grades);
     }
     
     @GetMapping("/course/{courseCode}")
-    public ResponseEntity<List<GradeDTO>> getGradesByCourse(@PathVariable String courseCode) {
+    public ResponseEntity<List<GradeDTO>> getGradesByCourse(@PathVariable String courseCode, WebRequest request) {
         log.info("GET /api/grades/course/{} - Retrieving grades for course", courseCode);
+        if (gradeService.getGradesVersionByCourse(courseCode).notModified(request)) {
+            return null;
+        }
         List<GradeDTO> grades = gradeService.getGradesByCourse(courseCode);
         return ResponseEntity.ok(grades);
     }
     
     @GetMapping("/student/{studentId}/course/{courseCode}")
     public ResponseEntity<List<GradeDTO>> getGradesByStudentAndCourse(@PathVariable String studentId, 
-                                                                     @PathVariable String courseCode) {
+                                                                     @PathVariable String courseCode,
+                                                                     WebRequest request) {
         log.info("GET /api/grades/student/{}/course/{} - Retrieving grades for student in course", studentId, courseCode);
+        if (gradeService.getGradesVersionByStudentAndCourse(studentId, courseCode).notModified(request)) {
+            return null;
+        }
         List<GradeDTO> grades = gradeService.getGradesByStudentAndCourse(studentId, courseCode);
         return ResponseEntity.ok(grades);
     }
     
     @GetMapping("/student/{studentId}/course/{courseCode}/final")
     public ResponseEntity<GradeDTO> getFinalGradeByStudentAndCourse(@PathVariable String studentId, 
-                                                                   @PathVariable String courseCode) {
+                                                                   @PathVariable String courseCode,
+                                                                   WebRequest request) {
         log.info("GET /api/grades/student/{}/course/{}/final - Retrieving final grade", studentId, courseCode);
+        if (gradeService.getFinalGradeVersion(studentId, courseCode)
+                .filter(version -> version.notModified(request)).isPresent()) {
+            return null;
+        }
         Optional<GradeDTO> grade = gradeService.getFinalGradeByStudentAndCourse(studentId, courseCode);
         return grade.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -1,6 +1,7 @@
 package com.kma.studentsystem.grade_service.event;
 
 import com.kma.studentsystem.grade_service.model.Grade;
+import com.kma.studentsystem.grade_service.tracing.CorrelationContext;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -30,7 +31,7 @@ public class GradeEvent {
         event.setGrade(grade);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("grade-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         return event;
     }
     
@@ -43,7 +44,7 @@ public class GradeEvent {
         event.setGrade(grade);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("grade-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         return event;
     }
     
@@ -56,7 +57,7 @@ public class GradeEvent {
         event.setGrade(grade);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("grade-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         return event;
     }
     
@@ -69,7 +70,7 @@ public class GradeEvent {
         event.setGrade(null);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("grade-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         return event;
     }
 }
@@ -1,12 +1,15 @@
 package com.kma.studentsystem.grade_service.repository;
 
 import com.kma.studentsystem.grade_service.model.Grade;
+import com.kma.studentsystem.grade_service.web.CollectionVersion;
+import com.kma.studentsystem.grade_service.web.EntityVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -73,4 +76,35 @@ public interface GradeRepository extends JpaRepository<Grade, Long> {
     List<Grade> findFinalGradesByStudent(@Param("studentId") String studentId);
     
     boolean existsByStudentIdAndCourseCodeAndGradeType(String studentId, String courseCode, Grade.GradeType gradeType);
+    
+    // Version columns only, for conditional GETs; grades have no version column, so updatedAt stands in
+    @Query("SELECT g.id AS id, COALESCE(g.updatedAt, g.createdAt) AS lastModified FROM Grade g WHERE g.id = :id")
+    Optional<EntityVersion> findVersionById(@Param("id") Long id);
+    
+    @Query("SELECT g.id AS id, COALESCE(g.updatedAt, g.createdAt) AS lastModified FROM Grade g " +
+           "WHERE g.studentId = :studentId AND g.courseCode = :courseCode AND g.isFinalGrade = true")
+    Optional<EntityVersion> findFinalGradeVersionByStudentAndCourse(@Param("studentId") String studentId,
+                                                                    @Param("courseCode") String courseCode);
+    
+    @Query("SELECT COUNT(g) AS rowCount, MAX(COALESCE(g.updatedAt, g.createdAt)) AS lastModified FROM Grade g")
+    CollectionVersion findCollectionVersion();
+    
+    @Query("SELECT COUNT(g) AS rowCount, MAX(COALESCE(g.updatedAt, g.createdAt)) AS lastModified FROM Grade g " +
+           "WHERE g.studentId = :studentId")
+    CollectionVersion findCollectionVersionByStudentId(@Param("studentId") String studentId);
+    
+    @Query("SELECT COUNT(g) AS rowCount, MAX(COALESCE(g.updatedAt, g.createdAt)) AS lastModified FROM Grade g " +
+           "WHERE g.courseCode = :courseCode")
+    CollectionVersion findCollectionVersionByCourseCode(@Param("courseCode") String courseCode);
+    
+    @Query("SELECT COUNT(g) AS rowCount, MAX(COALESCE(g.updatedAt, g.createdAt)) AS lastModified FROM Grade g " +
+           "WHERE g.studentId = :studentId AND g.courseCode = :courseCode")
+    CollectionVersion findCollectionVersionByStudentIdAndCourseCode(@Param("studentId") String studentId,
+                                                                    @Param("courseCode") String courseCode);
+    
+    // Latest insert, update or delete anywhere in grades, for a list's Last-Modified: deleted rows and rows
+    // that left the list no longer count towards its max(updatedAt). Deletes are stamped by a trigger
+    @Query(value = "SELECT GREATEST((SELECT MAX(COALESCE(updated_at, created_at)) FROM grades), " +
+                   "(SELECT deleted_at FROM deletion_watermarks WHERE table_name = 'grades'))", nativeQuery = true)
+    LocalDateTime findLastChange();
 }
@@ -4,6 +4,8 @@ import com.kma.studentsystem.grade_service.dto.GradeDTO;
 import com.kma.studentsystem.grade_service.event.GradeEvent;
 import com.kma.studentsystem.grade_service.model.Grade;
 import com.kma.studentsystem.grade_service.repository.GradeRepository;
+import com.kma.studentsystem.grade_service.web.CollectionVersion;
+import com.kma.studentsystem.grade_service.web.ResourceVersion;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -48,7 +50,7 @@ public class GradeService {
         
         // Publish event
         GradeEvent event = GradeEvent.createGradeAssignedEvent(savedGrade);
-        kafkaTemplate.send(GRADE_EVENTS_TOPIC, savedGrade.getStudentId(), event);
+        publish(savedGrade.getStudentId(), event);
         log.info("Published GradeAssigned event for student: {}", savedGrade.getStudentId());
         
         return convertToDTO(savedGrade);
@@ -85,7 +87,7 @@ public class GradeService {
         
         // Publish event
         GradeEvent event = GradeEvent.createGradeUpdatedEvent(updatedGrade);
-        kafkaTemplate.send(GRADE_EVENTS_TOPIC, updatedGrade.getStudentId(), event);
+        publish(updatedGrade.getStudentId(), event);
         log.info("Published GradeUpdated event for student: {}", updatedGrade.getStudentId());
         
         return convertToDTO(updatedGrade);
@@ -110,7 +112,7 @@ public class GradeService {
         
         // Publish event
         GradeEvent event = GradeEvent.createGradeFinalizedEvent(finalizedGrade);
-        kafkaTemplate.send(GRADE_EVENTS_TOPIC, finalizedGrade.getStudentId(), event);
+        publish(finalizedGrade.getStudentId(), event);
         log.info("Published GradeFinalized event for student: {}", finalizedGrade.getStudentId());
         
         return convertToDTO(finalizedGrade);
@@ -129,7 +131,7 @@ public class GradeService {
         
         // Publish event
         GradeEvent event = GradeEvent.createGradeDeletedEvent(studentId, courseCode);
-        kafkaTemplate.send(GRADE_EVENTS_TOPIC, studentId, event);
+        publish(studentId, event);
         log.info("Published GradeDeleted event for student: {}", studentId);
     }
     
@@ -179,6 +181,41 @@ public class GradeService {
                 .map(this::convertToDTO);
     }
     
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getGradeVersion(Long id) {
+        return gradeRepository.findVersionById(id)
+                .map(version -> ResourceVersion.ofEntity("grade", version));
+    }
+    
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getFinalGradeVersion(String studentId, String courseCode) {
+        return gradeRepository.findFinalGradeVersionByStudentAndCourse(studentId, courseCode)
+                .map(version -> ResourceVersion.ofEntity("grade", version));
+    }
+    
+    @Transactional(readOnly = true)
+    public ResourceVersion getGradesVersion() {
+        return collectionVersion("grades", gradeRepository.findCollectionVersion());
+    }
+    
+    @Transactional(readOnly = true)
+    public ResourceVersion getGradesVersionByStudent(String studentId) {
+        return collectionVersion("grades:student:" + studentId,
+                gradeRepository.findCollectionVersionByStudentId(studentId));
+    }
+    
+    @Transactional(readOnly = true)
+    public ResourceVersion getGradesVersionByCourse(String courseCode) {
+        return collectionVersion("grades:course:" + courseCode,
+                gradeRepository.findCollectionVersionByCourseCode(courseCode));
+    }
+    
+    @Transactional(readOnly = true)
+    public ResourceVersion getGradesVersionByStudentAndCourse(String studentId, String courseCode) {
+        return collectionVersion("grades:student:" + studentId + ":course:" + courseCode,
+                gradeRepository.findCollectionVersionByStudentIdAndCourseCode(studentId, courseCode));
+    }
+    
     @Transactional(readOnly = true)
     public BigDecimal getAverageGradeByStudentAndCourse(String studentId, String courseCode) {
         log.info("Calculating average grade for student: {} in course: {}", studentId, courseCode);
@@ -205,6 +242,18 @@ public class GradeService {
         return gradeRepository.countGradedStudentsByCourse(courseCode);
     }
     
+    private ResourceVersion collectionVersion(String scope, CollectionVersion version) {
+        return ResourceVersion.ofCollection(scope, version, gradeRepository.findLastChange());
+    }
+    
+    private void publish(String key, GradeEvent event) {
+        kafkaTemplate.send(GRADE_EVENTS_TOPIC, key, event).whenComplete((result, error) -> {
+            if (error != null) {
+                log.error("Could not publish {} event {} for {}", event.getEventType(), event.getEventId(), key, error);
+            }
+        });
+    }
+    
     private Grade convertToEntity(GradeDTO dto) {
         Grade grade = new Grade();
         grade.setId(dto.getId());
@@ -0,0 +1,66 @@
+package com.kma.studentsystem.grade_service.tracing;
+
+import org.slf4j.MDC;
+
+import java.util.UUID;
+
+/**
+ * Holds the request id of the work being done on the current thread.
+ *
+ * It is filled from the X-Request-ID HTTP header by {@link CorrelationIdFilter} and from
+ * Kafka record headers by {@link EventLatencyTracker}, so event factories and producers
+ * downstream keep the id the gateway assigned.
+ */
+public final class CorrelationContext {
+    
+    public static final String REQUEST_ID_HEADER = "X-Request-ID";
+    public static final String REQUEST_START_HEADER = "X-Request-Start";
+    public static final String MDC_KEY = "requestId";
+    
+    private static final ThreadLocal<String> CORRELATION_ID = new ThreadLocal<>();
+    private static final ThreadLocal<Long> ORIGIN_TIMESTAMP = new ThreadLocal<>();
+    
+    private CorrelationContext() {
+    }
+    
+    public static void set(String correlationId, Long originTimestamp) {
+        CORRELATION_ID.set(correlationId);
+        ORIGIN_TIMESTAMP.set(originTimestamp);
+        if (correlationId != null) {
+            MDC.put(MDC_KEY, correlationId);
+        }
+    }
+    
+    public static String getCorrelationId() {
+        return CORRELATION_ID.get();
+    }
+    
+    /**
+     * Epoch millis at which the originating request entered the system, if known.
+     */
+    public static Long getOriginTimestamp() {
+        return ORIGIN_TIMESTAMP.get();
+    }
+    
+    public static String currentOrNew() {
+        String correlationId = CORRELATION_ID.get();
+        return correlationId != null ? correlationId : UUID.randomUUID().toString();
+    }
+    
+    public static void clear() {
+        CORRELATION_ID.remove();
+        ORIGIN_TIMESTAMP.remove();
+        MDC.remove(MDC_KEY);
+    }
+    
+    static Long parseTimestamp(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
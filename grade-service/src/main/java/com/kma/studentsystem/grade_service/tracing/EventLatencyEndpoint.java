@@ -0,0 +1,61 @@
+package com.kma.studentsystem.grade_service.tracing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-hop latency breakdown at /actuator/eventlatency.
+ */
+@Component
+@Endpoint(id = "eventlatency")
+@RequiredArgsConstructor
+public class EventLatencyEndpoint {
+    
+    private final MeterRegistry meterRegistry;
+    
+    @ReadOperation
+    public Map<String, Object> eventLatency() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("hops", describe(EventLatencyTracker.HOP_LATENCY));
+        result.put("endToEnd", describe(EventLatencyTracker.END_TO_END_LATENCY));
+        result.put("flowStages", describe(EventLatencyTracker.FLOW_STAGE_LATENCY));
+        return result;
+    }
+    
+    // Helper methods
+    private List<Map<String, Object>> describe(String meterName) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Timer timer : meterRegistry.find(meterName).timers()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            timer.getId().getTags().forEach(tag -> row.put(tag.getKey(), tag.getValue()));
+            
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            row.put("count", snapshot.count());
+            row.put("meanMs", round(snapshot.mean(TimeUnit.MILLISECONDS)));
+            row.put("maxMs", round(snapshot.max(TimeUnit.MILLISECONDS)));
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                row.put("p" + Math.round(percentile.percentile() * 100) + "Ms", round(percentile.value(TimeUnit.MILLISECONDS)));
+            }
+            rows.add(row);
+        }
+        rows.sort(Comparator.comparing(row -> String.valueOf(row.getOrDefault("topic", row.get("stage")))));
+        return rows;
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,58 @@
+package com.kma.studentsystem.grade_service.web;
+
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Validators for a conditional GET: a strong ETag and a Last-Modified timestamp.
+ *
+ * A single resource is tagged by its id and version, or by its updatedAt where the entity has no
+ * version column. A collection's ETag is the row count and latest updatedAt of the rows it
+ * returns: an insert or update moves the latest timestamp and a delete moves the count. Its
+ * Last-Modified cannot carry a count, so it is the latest change to the whole table, deletes
+ * included; otherwise deleting a row, or moving one out of a filtered list, would leave it
+ * unchanged. Both are read with metadata-only queries, so a 304 never loads the rows themselves.
+ */
+public record ResourceVersion(String etag, long lastModified) {
+
+    public static ResourceVersion ofEntity(String type, Object id, Long version, LocalDateTime updatedAt) {
+        return of(type + ":" + id + ":" + version + ":" + stamp(updatedAt), updatedAt);
+    }
+
+    public static ResourceVersion ofEntity(String type, EntityVersion version) {
+        return ofEntity(type, version.getId(), version.getVersion(), version.getLastModified());
+    }
+
+    public static ResourceVersion ofCollection(String scope, CollectionVersion version, LocalDateTime tableLastChange) {
+        long count = version.getRowCount() != null ? version.getRowCount() : 0;
+        LocalDateTime lastModified = tableLastChange != null ? tableLastChange : version.getLastModified();
+        return of(scope + ":" + count + ":" + stamp(version.getLastModified()), lastModified);
+    }
+
+    /**
+     * Sets ETag and Last-Modified on the response and reports whether the client's copy is current,
+     * in which case the status is already 304 and the handler should return without a body.
+     */
+    public boolean notModified(WebRequest request) {
+        return request.checkNotModified(etag, lastModified);
+    }
+
+    // Helper methods
+    private static ResourceVersion of(String fingerprint, LocalDateTime updatedAt) {
+        String etag = "\"" + UUID.nameUUIDFromBytes(fingerprint.getBytes(StandardCharsets.UTF_8)) + "\"";
+        // Last-Modified has one-second resolution; a negative value leaves the header off
+        long lastModified = updatedAt != null
+                ? updatedAt.truncatedTo(ChronoUnit.SECONDS).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+        return new ResourceVersion(etag, lastModified);
+    }
+
+    private static String stamp(LocalDateTime updatedAt) {
+        return updatedAt != null ? updatedAt.toString() : "-";
+    }
+}
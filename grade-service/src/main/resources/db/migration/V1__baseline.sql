@@ -0,0 +1,23 @@
+-- Baseline: the schema Hibernate generated for the entities before migrations were introduced
+
+CREATE TABLE grades (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    student_id      varchar(255)  NOT NULL,
+    course_code     varchar(255)  NOT NULL,
+    grade_value     numeric(3, 2) NOT NULL,
+    grade_type      varchar(255)  NOT NULL,
+    description     varchar(255),
+    academic_year   integer       NOT NULL,
+    semester        varchar(255)  NOT NULL,
+    status          varchar(255)  NOT NULL,
+    instructor_name varchar(255),
+    instructor_id   varchar(255),
+    graded_at       timestamp(6),
+    due_date        timestamp(6),
+    submitted_at    timestamp(6),
+    comments        text,
+    is_final_grade  boolean,
+    weight          numeric(38, 2),
+    created_at      timestamp(6)  NOT NULL,
+    updated_at      timestamp(6)
+);
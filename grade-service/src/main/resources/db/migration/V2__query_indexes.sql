@@ -0,0 +1,26 @@
+-- Indexes for GradeRepository predicates
+
+-- existsByStudentIdAndCourseCodeAndGradeType, findByStudentAndCourseAndType, findByStudentIdAndCourseCode,
+-- findFinalGradeByStudentAndCourse, getAverageGradeByStudentAndCourse, findByStudentId
+CREATE INDEX IF NOT EXISTS idx_grades_student_course_type ON grades (student_id, course_code, grade_type);
+
+-- findByStudentIdAndAcademicYearAndSemester, getAverageGradeByStudentAndSemester
+CREATE INDEX IF NOT EXISTS idx_grades_student_term ON grades (student_id, academic_year, semester);
+
+-- findByCourseCodeAndAcademicYearAndSemester, findByCourseCode
+CREATE INDEX IF NOT EXISTS idx_grades_course_term ON grades (course_code, academic_year, semester);
+
+-- getAverageGradeByCourse, countGradedStudentsByCourse
+CREATE INDEX IF NOT EXISTS idx_grades_course_status ON grades (course_code, status);
+
+-- findByAcademicYearAndSemester
+CREATE INDEX IF NOT EXISTS idx_grades_term ON grades (academic_year, semester);
+
+-- findByInstructorId
+CREATE INDEX IF NOT EXISTS idx_grades_instructor ON grades (instructor_id);
+
+-- findOverdueGrades
+CREATE INDEX IF NOT EXISTS idx_grades_pending_due ON grades (due_date) WHERE status = 'PENDING';
+
+-- findFinalGrades
+CREATE INDEX IF NOT EXISTS idx_grades_final_status ON grades (status) WHERE is_final_grade;
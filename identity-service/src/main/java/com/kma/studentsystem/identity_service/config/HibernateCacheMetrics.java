@@ -0,0 +1,86 @@
+package com.kma.studentsystem.identity_service.config;
+
+import com.kma.studentsystem.identity_service.model.User;
+import com.kma.studentsystem.identity_service.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Publishes per-region statistics for the Hibernate second-level and query caches on /actuator/prometheus:
+ * - hibernate.cache.requests{region,result=hit|miss}: lookups since startup
+ * - hibernate.cache.puts{region}: entries written after a miss or a write
+ * - hibernate.cache.hit.ratio{region}: hits over lookups since startup
+ * Query regions are built on their first cacheable query and report zero until then.
+ */
+@Component
+@RequiredArgsConstructor
+public class HibernateCacheMetrics {
+    
+    private static final List<String> ENTITY_REGIONS = List.of(User.CACHE_REGION);
+    private static final List<String> QUERY_REGIONS = List.of(UserRepository.QUERY_CACHE_REGION);
+    
+    private final MeterRegistry meterRegistry;
+    private final EntityManagerFactory entityManagerFactory;
+    
+    @PostConstruct
+    void bind() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        ENTITY_REGIONS.forEach(region -> bind(statistics, region, false));
+        QUERY_REGIONS.forEach(region -> bind(statistics, region, true));
+    }
+    
+    // Helper methods
+    private void bind(Statistics statistics, String region, boolean query) {
+        // Statistics lives as long as the session factory, so the meters can hold it weakly
+        FunctionCounter.builder("hibernate.cache.requests", statistics,
+                        s -> count(s, region, query, CacheRegionStatistics::getHitCount))
+                .description("Second-level and query cache lookups")
+                .tags("region", region, "result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("hibernate.cache.requests", statistics,
+                        s -> count(s, region, query, CacheRegionStatistics::getMissCount))
+                .description("Second-level and query cache lookups")
+                .tags("region", region, "result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("hibernate.cache.puts", statistics,
+                        s -> count(s, region, query, CacheRegionStatistics::getPutCount))
+                .description("Second-level and query cache entries written")
+                .tag("region", region)
+                .register(meterRegistry);
+        Gauge.builder("hibernate.cache.hit.ratio", statistics, s -> hitRatio(s, region, query))
+                .description("Share of second-level and query cache lookups answered from the cache")
+                .tag("region", region)
+                .register(meterRegistry);
+    }
+    
+    private static double count(Statistics statistics, String region, boolean query,
+                                ToLongFunction<CacheRegionStatistics> counter) {
+        CacheRegionStatistics regionStatistics = regionStatistics(statistics, region, query);
+        return regionStatistics != null ? counter.applyAsLong(regionStatistics) : 0;
+    }
+    
+    private static double hitRatio(Statistics statistics, String region, boolean query) {
+        CacheRegionStatistics regionStatistics = regionStatistics(statistics, region, query);
+        if (regionStatistics == null) {
+            return 0;
+        }
+        long lookups = regionStatistics.getHitCount() + regionStatistics.getMissCount();
+        return lookups > 0 ? (double) regionStatistics.getHitCount() / lookups : 0;
+    }
+    
+    private static CacheRegionStatistics regionStatistics(Statistics statistics, String region, boolean query) {
+        // Null for a query region that has not been built yet
+        return query ? statistics.getQueryRegionStatistics(region) : statistics.getDomainDataRegionStatistics(region);
+    }
+}
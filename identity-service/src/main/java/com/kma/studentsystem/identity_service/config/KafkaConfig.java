@@ -1,7 +1,12 @@
 package com.kma.studentsystem.identity_service.config;
 
 import com.kma.studentsystem.identity_service.event.IdentityEvent;
+import com.kma.studentsystem.identity_service.tracing.CorrelationProducerInterceptor;
+import com.kma.studentsystem.identity_service.tracing.EventLatencyTracker;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
@@ -11,19 +16,29 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Configuration
 @EnableKafka
+@RequiredArgsConstructor
 public class KafkaConfig {
     
+    private final EventLatencyTracker eventLatencyTracker;
+    private final KafkaListenerMetrics kafkaListenerMetrics;
+    private final KafkaProducerMetrics kafkaProducerMetrics;
+    
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
     
+    @Value("${kafka.producer.profile:low-latency}")
+    private String producerProfile;
+    
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
     
@@ -54,10 +69,8 @@ public class KafkaConfig {
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
-        configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
-        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, 16384);
-        configProps.put(ProducerConfig.LINGER_MS_CONFIG, 1);
+        configProps.put(ProducerConfig.INTERCEPTOR_CLASSES_CONFIG, CorrelationProducerInterceptor.class.getName());
+        KafkaProducerProfile.fromName(producerProfile).apply(configProps);
         configProps.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 33554432);
         
         // Security configuration
@@ -76,7 +89,9 @@ public class KafkaConfig {
     
     @Bean
     public KafkaTemplate<String, IdentityEvent> identityEventKafkaTemplate() {
-        return new KafkaTemplate<>(identityEventProducerFactory());
+        KafkaTemplate<String, IdentityEvent> template = new KafkaTemplate<>(identityEventProducerFactory());
+        kafkaProducerMetrics.instrument(template);
+        return template;
     }
     
     @Bean
@@ -115,7 +130,59 @@ public class KafkaConfig {
     public ConcurrentKafkaListenerContainerFactory<String, IdentityEvent> identityEventKafkaListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, IdentityEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(identityEventConsumerFactory());
+        factory.setRecordInterceptor(eventLatencyTracker.recordInterceptor());
+        kafkaListenerMetrics.instrument(factory);
+        factory.setConcurrency(3);
+        return factory;
+    }
+    
+    // Raw JSON events from other services, consumed as String by the default listener factory
+    @Bean
+    public ConsumerFactory<String, String> rawEventConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 500);
+        props.put(ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG, 30000);
+        props.put(ConsumerConfig.HEARTBEAT_INTERVAL_MS_CONFIG, 10000);
+        
+        // Security configuration
+        if (securityEnabled) {
+            props.put("security.protocol", "SASL_SSL");
+            props.put("ssl.keystore.location", keystoreLocation);
+            props.put("ssl.keystore.password", keystorePassword);
+            props.put("ssl.truststore.location", truststoreLocation);
+            props.put("ssl.truststore.password", truststorePassword);
+            props.put("sasl.mechanism", saslMechanism);
+            props.put("sasl.jaas.config", saslJaasConfig);
+        }
+        
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+    
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> kafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(rawEventConsumerFactory());
+        factory.setRecordInterceptor(eventLatencyTracker.recordInterceptor());
+        kafkaListenerMetrics.instrument(factory);
         factory.setConcurrency(3);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
         return factory;
     }
+    
+    // Partition numbers of a topic, for listeners that assign themselves every partition instead of joining a group
+    public String[] partitionsOf(String topic) {
+        try (Consumer<String, String> consumer = rawEventConsumerFactory().createConsumer()) {
+            List<PartitionInfo> partitions = consumer.partitionsFor(topic);
+            if (partitions == null || partitions.isEmpty()) {
+                throw new RuntimeException("Topic " + topic + " has no partitions");
+            }
+            return partitions.stream().map(partition -> String.valueOf(partition.partition())).toArray(String[]::new);
+        }
+    }
 }
@@ -0,0 +1,73 @@
+package com.kma.studentsystem.identity_service.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.ProducerListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Observes the outcome of every KafkaTemplate send:
+ * - spring.kafka.template: send-to-ack latency histogram, tagged by outcome
+ * - kafka.producer.send: success/failure count per topic; failures are logged
+ * - kafka.producer.record.size: serialized record size histogram
+ * - kafka.producer.batch.size.* / compression.rate.* / request.latency.*: client metrics
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class KafkaProducerMetrics {
+    
+    private final MeterRegistry meterRegistry;
+    
+    public <K, V> void instrument(KafkaTemplate<K, V> template) {
+        bindClientMetrics(template.getProducerFactory());
+        template.setObservationEnabled(true);
+        template.setProducerListener(new ProducerListener<>() {
+            
+            @Override
+            public void onSuccess(ProducerRecord<K, V> record, RecordMetadata metadata) {
+                count(record.topic(), "success");
+                DistributionSummary.builder("kafka.producer.record.size")
+                        .description("Serialized size of produced records")
+                        .baseUnit("bytes")
+                        .tag("topic", record.topic())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+                        .record(Math.max(0, metadata.serializedKeySize()) + Math.max(0, metadata.serializedValueSize()));
+            }
+            
+            @Override
+            public void onError(ProducerRecord<K, V> record, RecordMetadata metadata, Exception exception) {
+                count(record.topic(), "failure");
+                log.error("Failed to publish record with key {} to topic {}: {}",
+                        record.key(), record.topic(), exception.getMessage());
+            }
+        });
+    }
+    
+    // Helper methods
+    private <K, V> void bindClientMetrics(ProducerFactory<K, V> producerFactory) {
+        boolean bound = producerFactory.getListeners().stream()
+                .anyMatch(listener -> listener instanceof MicrometerProducerListener);
+        if (!bound) {
+            producerFactory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        }
+    }
+    
+    private void count(String topic, String result) {
+        Counter.builder("kafka.producer.send")
+                .description("Produced records by outcome")
+                .tag("topic", topic)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+}
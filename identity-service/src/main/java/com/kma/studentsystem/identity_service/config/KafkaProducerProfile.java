@@ -0,0 +1,53 @@
+package com.kma.studentsystem.identity_service.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Named producer tunings, selected with kafka.producer.profile.
+ *
+ * All profiles keep acks=all with idempotence, which preserves per-partition ordering
+ * with up to 5 in-flight requests, so none of them needs max.in.flight=1.
+ */
+public enum KafkaProducerProfile {
+    
+    // Send immediately; for request/response paths where every millisecond shows
+    LOW_LATENCY(0, 16384, "none"),
+    
+    // Small linger to fill batches under load, cheap compression
+    BALANCED(5, 65536, "lz4"),
+    
+    // Bulk and batch jobs: larger batches, best compression ratio
+    THROUGHPUT(20, 262144, "zstd");
+    
+    private final int lingerMs;
+    private final int batchSize;
+    private final String compressionType;
+    
+    KafkaProducerProfile(int lingerMs, int batchSize, String compressionType) {
+        this.lingerMs = lingerMs;
+        this.batchSize = batchSize;
+        this.compressionType = compressionType;
+    }
+    
+    public static KafkaProducerProfile fromName(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown Kafka producer profile: " + name);
+        }
+    }
+    
+    public void apply(Map<String, Object> configProps) {
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        configProps.put(ProducerConfig.RETRIES_CONFIG, Integer.MAX_VALUE);
+        configProps.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, 120000);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+    }
+}
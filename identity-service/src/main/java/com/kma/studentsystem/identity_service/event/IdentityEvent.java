@@ -1,6 +1,7 @@
 package com.kma.studentsystem.identity_service.event;
 
 import com.kma.studentsystem.identity_service.model.User;
+import com.kma.studentsystem.identity_service.tracing.CorrelationContext;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -32,7 +33,7 @@ public class IdentityEvent {
         event.setUser(user);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("identity-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         return event;
     }
     
@@ -45,7 +46,7 @@ public class IdentityEvent {
         event.setUser(user);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("identity-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         return event;
     }
     
@@ -58,7 +59,7 @@ public class IdentityEvent {
         event.setUser(user);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("identity-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         return event;
     }
     
@@ -71,7 +72,7 @@ public class IdentityEvent {
         event.setUser(user);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("identity-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         event.setIpAddress(ipAddress);
         event.setUserAgent(userAgent);
         return event;
@@ -86,7 +87,7 @@ public class IdentityEvent {
         event.setUser(user);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("identity-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         event.setIpAddress(ipAddress);
         event.setUserAgent(userAgent);
         return event;
@@ -101,7 +102,7 @@ public class IdentityEvent {
         event.setUser(user);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("identity-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         return event;
     }
     
@@ -114,7 +115,7 @@ public class IdentityEvent {
         event.setUser(user);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("identity-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         return event;
     }
     
@@ -127,7 +128,7 @@ public class IdentityEvent {
         event.setUser(user);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("identity-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         return event;
     }
     
@@ -140,7 +141,7 @@ public class IdentityEvent {
         event.setUser(user);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("identity-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         return event;
     }
     
@@ -153,7 +154,7 @@ public class IdentityEvent {
         event.setUser(user);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("identity-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         return event;
     }
     
@@ -166,7 +167,7 @@ public class IdentityEvent {
         event.setUser(user);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("identity-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         return event;
     }
     
@@ -179,7 +180,7 @@ public class IdentityEvent {
         event.setUser(user);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("identity-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         return event;
     }
 }
@@ -0,0 +1,70 @@
+package com.kma.studentsystem.identity_service.listener;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kma.studentsystem.identity_service.model.User;
+import com.kma.studentsystem.identity_service.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Every instance keeps its own second-level cache of users, so each one reads all of identity-events. The
+ * partitions are assigned directly rather than through a consumer group, so restarts leave no groups behind,
+ * and reading starts at the head because only changes made from now on matter.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserCacheListener implements ConsumerSeekAware {
+    
+    private static final Set<String> USERNAME_EVENTS = Set.of("UserCreated", "UserUpdated", "UserDeleted");
+    
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectMapper objectMapper;
+    
+    @Override
+    public void onPartitionsAssigned(Map<org.apache.kafka.common.TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        callback.seekToEnd(assignments.keySet());
+    }
+    
+    // Read as raw JSON like the other topics: only the id and type are needed, and the embedded user does not
+    // deserialize back into the entity. The group id only names where offsets are committed; the seek above
+    // ignores them.
+    @KafkaListener(groupId = "identity-service-l2", topicPartitions = @TopicPartition(topic = "identity-events",
+                   partitions = "#{@kafkaConfig.partitionsOf('identity-events')}"))
+    public void evictCachedUser(@Payload String message, Acknowledgment acknowledgment) {
+        try {
+            JsonNode event = objectMapper.readTree(message);
+            String eventType = event.path("eventType").asText();
+            String userId = event.path("userId").asText(null);
+            
+            Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+            if (userId != null) {
+                cache.evictEntityData(User.class, Long.valueOf(userId));
+            } else {
+                cache.evictEntityData(User.class);
+            }
+            // Logins, locks and password changes keep the username-to-id mapping the query cache holds
+            if (USERNAME_EVENTS.contains(eventType)) {
+                cache.evictQueryRegion(UserRepository.QUERY_CACHE_REGION);
+            }
+            log.debug("Evicted cached user {} after {}", userId, eventType);
+        } catch (Exception e) {
+            log.error("Error evicting cached user for identity event: {}", e.getMessage(), e);
+        }
+        // Nothing to retry once this instance has moved past the event; the region TTL bounds a missed eviction
+        acknowledgment.acknowledge();
+    }
+}
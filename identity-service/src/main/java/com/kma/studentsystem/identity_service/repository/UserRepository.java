@@ -1,8 +1,11 @@
 package com.kma.studentsystem.identity_service.repository;
 
 import com.kma.studentsystem.identity_service.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,10 +16,19 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
+    String QUERY_CACHE_REGION = "user-queries";
+    
+    // Role and status checks; the query cache keeps only the id and the row comes from the users region
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+                 @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
     Optional<User> findByUsername(String username);
     
+    // Login, password reset and verification write counters and tokens that are not published on identity-events,
+    // so they always read the row from the database and put the fresh copy back in the cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "REFRESH"))
     Optional<User> findByEmail(String email);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "REFRESH"))
     Optional<User> findByUsernameOrEmail(String username, String email);
     
     List<User> findByRole(User.UserRole role);
@@ -52,9 +64,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.passwordChangedAt < :before")
     List<User> findUsersWithOldPasswords(@Param("before") LocalDateTime before);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "REFRESH"))
     @Query("SELECT u FROM User u WHERE u.emailVerificationToken = :token")
     Optional<User> findByEmailVerificationToken(@Param("token") String token);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "REFRESH"))
     @Query("SELECT u FROM User u WHERE u.passwordResetToken = :token AND u.passwordResetExpiresAt > :now")
     Optional<User> findByPasswordResetToken(@Param("token") String token, @Param("now") LocalDateTime now);
     
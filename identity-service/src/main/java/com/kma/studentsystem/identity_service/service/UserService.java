@@ -10,6 +10,8 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -58,7 +60,7 @@ public class UserService {
         
         // Publish event
         IdentityEvent event = IdentityEvent.createUserCreatedEvent(savedUser);
-        kafkaTemplate.send(IDENTITY_EVENTS_TOPIC, savedUser.getUsername(), event);
+        publishAfterCommit(savedUser.getUsername(), event);
         log.info("Published UserCreated event for user: {}", savedUser.getUsername());
         
         return convertToDTO(savedUser);
@@ -100,7 +102,7 @@ public class UserService {
         
         // Publish event
         IdentityEvent event = IdentityEvent.createUserUpdatedEvent(updatedUser);
-        kafkaTemplate.send(IDENTITY_EVENTS_TOPIC, updatedUser.getUsername(), event);
+        publishAfterCommit(updatedUser.getUsername(), event);
         log.info("Published UserUpdated event for user: {}", updatedUser.getUsername());
         
         return convertToDTO(updatedUser);
@@ -128,7 +130,7 @@ public class UserService {
         
         // Publish event
         IdentityEvent event = IdentityEvent.createPasswordChangedEvent(updatedUser);
-        kafkaTemplate.send(IDENTITY_EVENTS_TOPIC, updatedUser.getUsername(), event);
+        publishAfterCommit(updatedUser.getUsername(), event);
         log.info("Published PasswordChanged event for user: {}", updatedUser.getUsername());
         
         return convertToDTO(updatedUser);
@@ -170,7 +172,7 @@ public class UserService {
         
         // Publish event
         IdentityEvent event = IdentityEvent.createPasswordChangedEvent(updatedUser);
-        kafkaTemplate.send(IDENTITY_EVENTS_TOPIC, updatedUser.getUsername(), event);
+        publishAfterCommit(updatedUser.getUsername(), event);
         log.info("Published PasswordChanged event for user: {}", updatedUser.getUsername());
         
         return convertToDTO(updatedUser);
@@ -191,7 +193,7 @@ public class UserService {
         
         // Publish event
         IdentityEvent event = IdentityEvent.createEmailVerifiedEvent(updatedUser);
-        kafkaTemplate.send(IDENTITY_EVENTS_TOPIC, updatedUser.getUsername(), event);
+        publishAfterCommit(updatedUser.getUsername(), event);
         log.info("Published EmailVerified event for user: {}", updatedUser.getUsername());
         
         return convertToDTO(updatedUser);
@@ -211,7 +213,7 @@ public class UserService {
         
         // Publish event
         IdentityEvent event = IdentityEvent.createUserLockedEvent(lockedUser, reason);
-        kafkaTemplate.send(IDENTITY_EVENTS_TOPIC, lockedUser.getUsername(), event);
+        publishAfterCommit(lockedUser.getUsername(), event);
         log.info("Published UserLocked event for user: {}", lockedUser.getUsername());
         
         return convertToDTO(lockedUser);
@@ -232,7 +234,7 @@ public class UserService {
         
         // Publish event
         IdentityEvent event = IdentityEvent.createUserUnlockedEvent(unlockedUser);
-        kafkaTemplate.send(IDENTITY_EVENTS_TOPIC, unlockedUser.getUsername(), event);
+        publishAfterCommit(unlockedUser.getUsername(), event);
         log.info("Published UserUnlocked event for user: {}", unlockedUser.getUsername());
         
         return convertToDTO(unlockedUser);
@@ -252,7 +254,7 @@ public class UserService {
         
         // Publish event
         IdentityEvent event = IdentityEvent.createRoleChangedEvent(updatedUser, oldRole, newRole);
-        kafkaTemplate.send(IDENTITY_EVENTS_TOPIC, updatedUser.getUsername(), event);
+        publishAfterCommit(updatedUser.getUsername(), event);
         log.info("Published RoleChanged event for user: {}", updatedUser.getUsername());
         
         return convertToDTO(updatedUser);
@@ -270,7 +272,7 @@ public class UserService {
         
         // Publish event
         IdentityEvent event = IdentityEvent.createUserDeletedEvent(user);
-        kafkaTemplate.send(IDENTITY_EVENTS_TOPIC, username, event);
+        publishAfterCommit(username, event);
         log.info("Published UserDeleted event for user: {}", username);
     }
     
@@ -300,8 +302,9 @@ public class UserService {
                 user.setLockedUntil(LocalDateTime.now().plusMinutes(LOCKOUT_DURATION_MINUTES));
                 user.setStatus(User.UserStatus.LOCKED);
                 
+                // The invalid-password exception rolls this transaction back, so there is no commit to wait for
                 IdentityEvent event = IdentityEvent.createUserLockedEvent(user, "Too many failed login attempts");
-                kafkaTemplate.send(IDENTITY_EVENTS_TOPIC, user.getUsername(), event);
+                send(user.getUsername(), event);
             }
             
             userRepository.save(user);
@@ -318,7 +321,7 @@ public class UserService {
         
         // Publish event
         IdentityEvent event = IdentityEvent.createUserLoginEvent(updatedUser, ipAddress, userAgent);
-        kafkaTemplate.send(IDENTITY_EVENTS_TOPIC, updatedUser.getUsername(), event);
+        publishAfterCommit(updatedUser.getUsername(), event);
         log.info("Published UserLogin event for user: {}", updatedUser.getUsername());
         
         return convertToDTO(updatedUser);
@@ -332,7 +335,7 @@ public class UserService {
         
         // Publish event
         IdentityEvent event = IdentityEvent.createUserLogoutEvent(user, ipAddress, userAgent);
-        kafkaTemplate.send(IDENTITY_EVENTS_TOPIC, user.getUsername(), event);
+        publishAfterCommit(user.getUsername(), event);
         log.info("Published UserLogout event for user: {}", user.getUsername());
     }
     
@@ -393,6 +396,29 @@ public class UserService {
         return userRepository.countByStatus(status);
     }
     
+    // Sent once the transaction commits, so other instances never evict and reload a user before the change
+    // is visible, and never act on a change that rolled back
+    private void publishAfterCommit(String username, IdentityEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(username, event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                send(username, event);
+            }
+        });
+    }
+    
+    private void send(String username, IdentityEvent event) {
+        kafkaTemplate.send(IDENTITY_EVENTS_TOPIC, username, event).whenComplete((result, error) -> {
+            if (error != null) {
+                log.error("Could not publish {} event {} for user {}", event.getEventType(), event.getEventId(), username, error);
+            }
+        });
+    }
+    
     private User convertToEntity(UserDTO dto) {
         User user = new User();
         user.setId(dto.getId());
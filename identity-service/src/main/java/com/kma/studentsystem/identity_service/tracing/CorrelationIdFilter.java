@@ -0,0 +1,38 @@
+package com.kma.studentsystem.identity_service.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestId = request.getHeader(CorrelationContext.REQUEST_ID_HEADER);
+        if (requestId == null || requestId.isBlank()) {
+            requestId = CorrelationContext.currentOrNew();
+        }
+        Long requestStart = CorrelationContext.parseTimestamp(request.getHeader(CorrelationContext.REQUEST_START_HEADER));
+        if (requestStart == null) {
+            requestStart = System.currentTimeMillis();
+        }
+        
+        CorrelationContext.set(requestId, requestStart);
+        response.setHeader(CorrelationContext.REQUEST_ID_HEADER, requestId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            CorrelationContext.clear();
+        }
+    }
+}
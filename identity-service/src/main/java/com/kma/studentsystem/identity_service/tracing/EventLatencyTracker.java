@@ -0,0 +1,92 @@
+package com.kma.studentsystem.identity_service.tracing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.listener.RecordInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Records how long events take to travel between hops.
+ *
+ * hop latency: record timestamp (producer send) to the moment a listener receives it.
+ * end-to-end latency: X-Request-Start (request entering the gateway) to the same moment.
+ * Both are tagged by topic and consumer group and exposed at /actuator/eventlatency.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventLatencyTracker {
+    
+    public static final String HOP_LATENCY = "kafka.event.hop.latency";
+    public static final String END_TO_END_LATENCY = "kafka.event.end_to_end.latency";
+    public static final String FLOW_STAGE_LATENCY = "event.flow.stage.latency";
+    
+    private final MeterRegistry meterRegistry;
+    
+    /**
+     * Interceptor for a listener container factory. Restores the correlation context from
+     * the record headers for the duration of the listener call and records latencies.
+     */
+    public <K, V> RecordInterceptor<K, V> recordInterceptor() {
+        return new RecordInterceptor<>() {
+            
+            @Override
+            public ConsumerRecord<K, V> intercept(ConsumerRecord<K, V> record, Consumer<K, V> consumer) {
+                long now = System.currentTimeMillis();
+                String group = consumer.groupMetadata().groupId();
+                Long origin = CorrelationContext.parseTimestamp(headerValue(record, CorrelationContext.REQUEST_START_HEADER));
+                
+                CorrelationContext.set(headerValue(record, CorrelationContext.REQUEST_ID_HEADER), origin);
+                
+                if (record.timestamp() > 0) {
+                    timer(HOP_LATENCY, "Time from producer send to listener receipt", "topic", record.topic(), "group", group)
+                            .record(Duration.ofMillis(Math.max(0, now - record.timestamp())));
+                }
+                if (origin != null) {
+                    timer(END_TO_END_LATENCY, "Time from the originating HTTP request to listener receipt", "topic", record.topic(), "group", group)
+                            .record(Duration.ofMillis(Math.max(0, now - origin)));
+                }
+                return record;
+            }
+            
+            @Override
+            public void afterRecord(ConsumerRecord<K, V> record, Consumer<K, V> consumer) {
+                CorrelationContext.clear();
+            }
+        };
+    }
+    
+    /**
+     * Records the time from the originating request to a named stage of a flow,
+     * e.g. "notification-delivered", when called on a thread carrying the context.
+     */
+    public void recordFlowStage(String stage) {
+        Long origin = CorrelationContext.getOriginTimestamp();
+        if (origin == null) {
+            return;
+        }
+        timer(FLOW_STAGE_LATENCY, "Time from the originating HTTP request to a flow stage", "stage", stage)
+                .record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - origin)));
+    }
+    
+    // Helper methods
+    private Timer timer(String name, String description, String... tags) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+    
+    private static String headerValue(ConsumerRecord<?, ?> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+}
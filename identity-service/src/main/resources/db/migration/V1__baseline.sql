@@ -0,0 +1,33 @@
+-- Baseline: the schema Hibernate generated for the entities before migrations were introduced
+
+CREATE TABLE users (
+    id                        bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username                  varchar(255) NOT NULL,
+    email                     varchar(255) NOT NULL,
+    password                  varchar(255) NOT NULL,
+    first_name                varchar(255) NOT NULL,
+    last_name                 varchar(255) NOT NULL,
+    role                      varchar(255) NOT NULL,
+    status                    varchar(255) NOT NULL,
+    phone_number              varchar(255),
+    address                   text,
+    date_of_birth             timestamp(6),
+    profile_picture_url       varchar(255),
+    last_login_at             timestamp(6),
+    last_login_ip             varchar(255),
+    failed_login_attempts     integer,
+    locked_until              timestamp(6),
+    password_changed_at       timestamp(6),
+    email_verified            boolean,
+    email_verification_token  varchar(255),
+    password_reset_token      varchar(255),
+    password_reset_expires_at timestamp(6),
+    two_factor_enabled        boolean,
+    two_factor_secret         varchar(255),
+    preferred_language        varchar(255),
+    timezone                  varchar(255),
+    created_at                timestamp(6) NOT NULL,
+    updated_at                timestamp(6),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
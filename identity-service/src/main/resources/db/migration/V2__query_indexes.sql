@@ -0,0 +1,18 @@
+-- Indexes for UserRepository predicates; username and email lookups use their unique constraints
+
+-- findByRole, findByRoleAndStatus, countByRole, findByRoleOrderByCreatedAtDesc,
+-- findByRoleAndStatusOrderByCreatedAtDesc
+CREATE INDEX IF NOT EXISTS idx_users_role_status_created ON users (role, status, created_at);
+
+-- findByStatus, countByStatus, findByStatusOrderByCreatedAtDesc
+CREATE INDEX IF NOT EXISTS idx_users_status_created ON users (status, created_at);
+
+-- findByEmailVerificationToken, findByPasswordResetToken
+CREATE INDEX IF NOT EXISTS idx_users_email_verification_token ON users (email_verification_token);
+CREATE INDEX IF NOT EXISTS idx_users_password_reset_token ON users (password_reset_token);
+
+-- findUsersLoggedInSince, findUsersNotLoggedInSince, countActiveUsers, findAllOrderByLastLoginAtDesc
+CREATE INDEX IF NOT EXISTS idx_users_last_login ON users (last_login_at);
+
+-- findUsersCreatedSince, findAllOrderByCreatedAtDesc
+CREATE INDEX IF NOT EXISTS idx_users_created ON users (created_at);
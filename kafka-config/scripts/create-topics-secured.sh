@@ -50,8 +50,9 @@ create_topic() {
   local topic_name="$1"
   local replication_factor="${2:-${REPLICATION_FACTOR}}"
   local partitions="${3:-${PARTITIONS}}"
+  local cleanup_policy="${4:-delete}"
   
-  echo "Creating topic: ${topic_name} (partitions: ${partitions}, replication: ${replication_factor})"
+  echo "Creating topic: ${topic_name} (partitions: ${partitions}, replication: ${replication_factor}, cleanup: ${cleanup_policy})"
   
   "${KAFKA_TOPICS_BIN}" \
     --bootstrap-server "${BOOTSTRAP_SERVER}" \
@@ -59,6 +60,7 @@ create_topic() {
     --topic "${topic_name}" \
     --partitions "${partitions}" \
     --replication-factor "${replication_factor}" \
+    --config "cleanup.policy=${cleanup_policy}" \
     --command-config <(cat <<EOF
 security.protocol=${SECURITY_PROTOCOL}
 sasl.mechanism=${SASL_MECHANISM}
@@ -82,6 +84,10 @@ create_topic "enrollment-events" "${REPLICATION_FACTOR}" "${PARTITIONS}"
 create_topic "notification-events" "${REPLICATION_FACTOR}" "${PARTITIONS}"
 create_topic "identity-events" "${REPLICATION_FACTOR}" "${PARTITIONS}"
 
+# Latest-state topics backing the local replicas in other services
+create_topic "student-state" "${REPLICATION_FACTOR}" "${PARTITIONS}" "compact"
+create_topic "course-state" "${REPLICATION_FACTOR}" "${PARTITIONS}" "compact"
+
 echo ""
 echo "✅ Topics creation completed!"
 echo ""
@@ -92,6 +98,8 @@ echo "   - grade-events"
 echo "   - enrollment-events"
 echo "   - notification-events"
 echo "   - identity-events"
+echo "   - student-state (compacted)"
+echo "   - course-state (compacted)"
 echo ""
 echo "💡 Next step: Run setup-acls-secured.sh to set up ACLs for these topics"
 
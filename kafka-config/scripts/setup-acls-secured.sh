@@ -111,11 +111,13 @@ add_acl() {
 # Set up ACLs for Student Service
 echo "🔐 Setting up ACLs for Student Service..."
 add_acl "student-service" "topic" "student-events" "READ WRITE CREATE DESCRIBE"
+add_acl "student-service" "topic" "student-state" "WRITE CREATE DESCRIBE"
 add_acl "student-service" "group" "student-service-group" "READ DESCRIBE"
 
 # Set up ACLs for Course Service
 echo "🔐 Setting up ACLs for Course Service..."
 add_acl "course-service" "topic" "course-events" "READ WRITE CREATE DESCRIBE"
+add_acl "course-service" "topic" "course-state" "WRITE CREATE DESCRIBE"
 add_acl "course-service" "group" "course-service-group" "READ DESCRIBE"
 
 # Set up ACLs for Grade Service
@@ -132,6 +134,8 @@ add_acl "enrollment-service" "topic" "course-events" "READ DESCRIBE"
 add_acl "enrollment-service" "topic" "grade-events" "READ DESCRIBE"
 add_acl "enrollment-service" "topic" "notification-events" "READ DESCRIBE"
 add_acl "enrollment-service" "topic" "identity-events" "READ DESCRIBE"
+add_acl "enrollment-service" "topic" "student-state" "READ DESCRIBE"
+add_acl "enrollment-service" "topic" "course-state" "READ DESCRIBE"
 add_acl "enrollment-service" "group" "enrollment-service-group" "READ DESCRIBE"
 
 # Set up ACLs for Notification Service
@@ -141,6 +145,7 @@ add_acl "notification-service" "topic" "student-events" "READ DESCRIBE"
 add_acl "notification-service" "topic" "course-events" "READ DESCRIBE"
 add_acl "notification-service" "topic" "grade-events" "READ DESCRIBE"
 add_acl "notification-service" "topic" "enrollment-events" "READ DESCRIBE"
+add_acl "notification-service" "topic" "student-state" "READ DESCRIBE"
 add_acl "notification-service" "topic" "identity-events" "READ DESCRIBE"
 add_acl "notification-service" "group" "notification-service-group" "READ DESCRIBE"
 
@@ -2,6 +2,9 @@ package com.kma.studentsystem.notification_service.config;
 
 import com.kma.studentsystem.notification_service.event.NotificationEvent;
 import com.kma.studentsystem.notification_service.event.StudentEvent;
+import com.kma.studentsystem.notification_service.tracing.CorrelationProducerInterceptor;
+import com.kma.studentsystem.notification_service.tracing.EventLatencyTracker;
+import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -25,13 +28,21 @@ import java.util.Map;
 
 @Configuration
 @EnableKafka
+@RequiredArgsConstructor
 @EnableAsync
 @EnableScheduling
 public class KafkaConfig {
     
+    private final EventLatencyTracker eventLatencyTracker;
+    private final KafkaListenerMetrics kafkaListenerMetrics;
+    private final KafkaProducerMetrics kafkaProducerMetrics;
+    
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
     
+    @Value("${kafka.producer.profile:low-latency}")
+    private String producerProfile;
+    
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
     
@@ -62,10 +73,8 @@ public class KafkaConfig {
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
-        configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
-        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, 16384);
-        configProps.put(ProducerConfig.LINGER_MS_CONFIG, 1);
+        configProps.put(ProducerConfig.INTERCEPTOR_CLASSES_CONFIG, CorrelationProducerInterceptor.class.getName());
+        KafkaProducerProfile.fromName(producerProfile).apply(configProps);
         configProps.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 33554432);
         
         // Security configuration
@@ -85,7 +94,9 @@ public class KafkaConfig {
     
     @Bean
     public KafkaTemplate<String, NotificationEvent> notificationEventKafkaTemplate() {
-        return new KafkaTemplate<>(notificationEventProducerFactory());
+        KafkaTemplate<String, NotificationEvent> template = new KafkaTemplate<>(notificationEventProducerFactory());
+        kafkaProducerMetrics.instrument(template);
+        return template;
     }
     
     @Bean
@@ -125,6 +136,8 @@ public class KafkaConfig {
     public ConcurrentKafkaListenerContainerFactory<String, NotificationEvent> notificationEventKafkaListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, NotificationEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(notificationEventConsumerFactory());
+        factory.setRecordInterceptor(eventLatencyTracker.recordInterceptor());
+        kafkaListenerMetrics.instrument(factory);
         factory.setConcurrency(3);
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
         // Retry 3 times with 1 second delay
@@ -169,6 +182,8 @@ public class KafkaConfig {
     public ConcurrentKafkaListenerContainerFactory<String, StudentEvent> studentEventKafkaListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, StudentEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(studentEventConsumerFactory());
+        factory.setRecordInterceptor(eventLatencyTracker.recordInterceptor());
+        kafkaListenerMetrics.instrument(factory);
         factory.setConcurrency(3);
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
         // Retry 3 times with 1 second delay
@@ -214,6 +229,8 @@ public class KafkaConfig {
     public ConcurrentKafkaListenerContainerFactory<String, Object> genericEventKafkaListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(genericEventConsumerFactory());
+        factory.setRecordInterceptor(eventLatencyTracker.recordInterceptor());
+        kafkaListenerMetrics.instrument(factory);
         factory.setConcurrency(3);
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
         // Retry 3 times with 1 second delay
@@ -0,0 +1,81 @@
+package com.kma.studentsystem.notification_service.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kma.studentsystem.notification_service.replica.StateReplica;
+import com.kma.studentsystem.notification_service.replica.StudentState;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+public class ReplicaConfig {
+    
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+    
+    @Value("${replica.snapshot.dir:}")
+    private String snapshotDir;
+    
+    @Value("${replica.snapshot.interval-seconds:60}")
+    private long snapshotIntervalSeconds;
+    
+    @Value("${replica.snapshot.max-age-hours:12}")
+    private long snapshotMaxAgeHours;
+    
+    @Value("${spring.kafka.security.enabled:false}")
+    private boolean securityEnabled;
+    
+    @Value("${spring.kafka.security.ssl.keystore-location:}")
+    private String keystoreLocation;
+    
+    @Value("${spring.kafka.security.ssl.keystore-password:}")
+    private String keystorePassword;
+    
+    @Value("${spring.kafka.security.ssl.truststore-location:}")
+    private String truststoreLocation;
+    
+    @Value("${spring.kafka.security.ssl.truststore-password:}")
+    private String truststorePassword;
+    
+    @Value("${spring.kafka.security.sasl.mechanism:SCRAM-SHA-512}")
+    private String saslMechanism;
+    
+    @Value("${spring.kafka.security.sasl.jaas-config:}")
+    private String saslJaasConfig;
+    
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public StateReplica<StudentState> studentReplica(ObjectMapper objectMapper) {
+        return new StateReplica<>("student-state", StudentState.class, replicaConsumerProps("student"), objectMapper,
+                snapshotPath(), Duration.ofSeconds(snapshotIntervalSeconds), Duration.ofHours(snapshotMaxAgeHours));
+    }
+    
+    private Path snapshotPath() {
+        return snapshotDir == null || snapshotDir.isBlank() ? null : Path.of(snapshotDir);
+    }
+    
+    private Map<String, Object> replicaConsumerProps(String name) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.CLIENT_ID_CONFIG, "notification-service-" + name + "-replica");
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 2000);
+        
+        // Security configuration
+        if (securityEnabled) {
+            props.put("security.protocol", "SASL_SSL");
+            props.put("ssl.keystore.location", keystoreLocation);
+            props.put("ssl.keystore.password", keystorePassword);
+            props.put("ssl.truststore.location", truststoreLocation);
+            props.put("ssl.truststore.password", truststorePassword);
+            props.put("sasl.mechanism", saslMechanism);
+            props.put("sasl.jaas.config", saslJaasConfig);
+        }
+        
+        return props;
+    }
+}
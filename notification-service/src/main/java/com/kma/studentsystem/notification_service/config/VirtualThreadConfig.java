@@ -0,0 +1,87 @@
+package com.kma.studentsystem.notification_service.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.kafka.config.AbstractKafkaListenerContainerFactory;
+
+import java.time.Duration;
+
+/**
+ * Opt-in virtual-thread mode, switched on by spring.threads.virtual.enabled on Java 21.
+ *
+ * Spring Boot then runs Tomcat requests, @Async and @Scheduled work on virtual threads. The
+ * listener container factories in KafkaConfig are built by hand rather than by Boot's configurer,
+ * so each one gets a virtual-thread executor for its consumers here.
+ *
+ * Pinning: a virtual thread that blocks inside a synchronized block holds on to its carrier.
+ * JFR jdk.VirtualThreadPinned events longer than threads.virtual.pinned-threshold-ms are timed as
+ * jvm.threads.virtual.pinned and logged with the application frame that held the monitor. Locks
+ * held across database or Kafka calls are therefore ReentrantLocks; synchronized only guards
+ * in-memory state.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadConfig {
+    
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    
+    @Bean
+    static BeanPostProcessor virtualThreadListenerContainers() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractKafkaListenerContainerFactory<?, ?, ?> factory) {
+                    SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(beanName + "-");
+                    executor.setVirtualThreads(true);
+                    factory.getContainerProperties().setListenerTaskExecutor(executor);
+                }
+                return bean;
+            }
+        };
+    }
+    
+    @Bean(destroyMethod = "close")
+    RecordingStream virtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                                @Value("${threads.virtual.pinned-threshold-ms:20}") long thresholdMs) {
+        Timer pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent pinned to their carrier thread")
+                .register(meterRegistry);
+        RecordingStream stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        stream.onEvent(PINNED_EVENT, event -> {
+            pinned.record(event.getDuration());
+            log.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), pinnedAt(event.getStackTrace()));
+        });
+        stream.startAsync();
+        log.info("Virtual threads enabled; reporting pins longer than {} ms", thresholdMs);
+        return stream;
+    }
+    
+    // Helper methods
+    private static String pinnedAt(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        // The top frames are the JDK parking the thread; the first of ours is the one to fix
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith("com.kma.")) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        RecordedFrame top = stackTrace.getFrames().get(0);
+        return top.getMethod().getType().getName() + "." + top.getMethod().getName() + ":" + top.getLineNumber();
+    }
+}
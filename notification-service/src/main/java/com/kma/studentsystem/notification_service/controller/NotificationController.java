@@ -21,6 +21,10 @@ public class NotificationController {
     
     private final NotificationService notificationService;
     
+    // List endpoints take ?view=summary to leave out the TEXT columns
+    private static final String VIEW_FULL = "full";
+    private static final String VIEW_SUMMARY = "summary";
+    
     @PostMapping
     public ResponseEntity<NotificationDTO> createNotification(@Valid @RequestBody NotificationDTO notificationDTO) {
         log.info("Creating new notification for recipient: {}", notificationDTO.getRecipientId());
@@ -82,10 +86,12 @@ public class NotificationController {
     }
     
     @GetMapping
-    public ResponseEntity<List<NotificationDTO>> getAllNotifications() {
-        log.info("Retrieving all notifications");
+    public ResponseEntity<List<?>> getAllNotifications(@RequestParam(defaultValue = VIEW_FULL) String view) {
+        log.info("Retrieving all notifications ({} view)", view);
         try {
-            List<NotificationDTO> notifications = notificationService.getAllNotifications();
+            List<?> notifications = isSummary(view)
+                    ? notificationService.getAllNotificationSummaries()
+                    : notificationService.getAllNotifications();
             return ResponseEntity.ok(notifications);
         } catch (Exception e) {
             log.error("Error retrieving notifications: {}", e.getMessage());
@@ -107,10 +113,13 @@ public class NotificationController {
     }
     
     @GetMapping("/recipient/{recipientId}")
-    public ResponseEntity<List<NotificationDTO>> getNotificationsByRecipient(@PathVariable String recipientId) {
-        log.info("Retrieving notifications for recipient: {}", recipientId);
+    public ResponseEntity<List<?>> getNotificationsByRecipient(@PathVariable String recipientId,
+                                                               @RequestParam(defaultValue = VIEW_FULL) String view) {
+        log.info("Retrieving notifications for recipient: {} ({} view)", recipientId, view);
         try {
-            List<NotificationDTO> notifications = notificationService.getNotificationsByRecipient(recipientId);
+            List<?> notifications = isSummary(view)
+                    ? notificationService.getNotificationSummariesByRecipient(recipientId)
+                    : notificationService.getNotificationsByRecipient(recipientId);
             return ResponseEntity.ok(notifications);
         } catch (Exception e) {
             log.error("Error retrieving notifications for recipient: {}", e.getMessage());
@@ -119,10 +128,13 @@ public class NotificationController {
     }
     
     @GetMapping("/recipient/{recipientId}/pending")
-    public ResponseEntity<List<NotificationDTO>> getPendingNotificationsByRecipient(@PathVariable String recipientId) {
-        log.info("Retrieving pending notifications for recipient: {}", recipientId);
+    public ResponseEntity<List<?>> getPendingNotificationsByRecipient(@PathVariable String recipientId,
+                                                                      @RequestParam(defaultValue = VIEW_FULL) String view) {
+        log.info("Retrieving pending notifications for recipient: {} ({} view)", recipientId, view);
         try {
-            List<NotificationDTO> notifications = notificationService.getPendingNotificationsByRecipient(recipientId);
+            List<?> notifications = isSummary(view)
+                    ? notificationService.getPendingNotificationSummariesByRecipient(recipientId)
+                    : notificationService.getPendingNotificationsByRecipient(recipientId);
             return ResponseEntity.ok(notifications);
         } catch (Exception e) {
             log.error("Error retrieving pending notifications for recipient: {}", e.getMessage());
@@ -131,10 +143,13 @@ public class NotificationController {
     }
     
     @GetMapping("/recipient/{recipientId}/unread")
-    public ResponseEntity<List<NotificationDTO>> getUnreadNotificationsByRecipient(@PathVariable String recipientId) {
-        log.info("Retrieving unread notifications for recipient: {}", recipientId);
+    public ResponseEntity<List<?>> getUnreadNotificationsByRecipient(@PathVariable String recipientId,
+                                                                     @RequestParam(defaultValue = VIEW_FULL) String view) {
+        log.info("Retrieving unread notifications for recipient: {} ({} view)", recipientId, view);
         try {
-            List<NotificationDTO> notifications = notificationService.getUnreadNotificationsByRecipient(recipientId);
+            List<?> notifications = isSummary(view)
+                    ? notificationService.getUnreadNotificationSummariesByRecipient(recipientId)
+                    : notificationService.getUnreadNotificationsByRecipient(recipientId);
             return ResponseEntity.ok(notifications);
         } catch (Exception e) {
             log.error("Error retrieving unread notifications for recipient: {}", e.getMessage());
@@ -170,4 +185,9 @@ public class NotificationController {
     public ResponseEntity<String> healthCheck() {
         return ResponseEntity.ok("Notification Service is running");
     }
+    
+    // Helper methods
+    private static boolean isSummary(String view) {
+        return VIEW_SUMMARY.equalsIgnoreCase(view);
+    }
 }
@@ -0,0 +1,28 @@
+package com.kma.studentsystem.notification_service.dto;
+
+import com.kma.studentsystem.notification_service.model.Notification;
+
+import java.time.LocalDateTime;
+
+/**
+ * List view of a notification: everything but the TEXT columns (message, metadata, template
+ * variables, error message), which GET /api/notifications/{id} still returns.
+ */
+public record NotificationSummaryDTO(
+        Long id,
+        String recipientId,
+        Notification.RecipientType recipientType,
+        String title,
+        Notification.NotificationType type,
+        Notification.Priority priority,
+        Notification.NotificationStatus status,
+        Notification.Channel channel,
+        Integer deliveryAttempts,
+        LocalDateTime sentAt,
+        LocalDateTime readAt,
+        LocalDateTime expiresAt,
+        String sourceService,
+        String correlationId,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
@@ -0,0 +1,154 @@
+package com.kma.studentsystem.notification_service.idempotency;
+
+import com.kma.studentsystem.notification_service.model.ProcessedEvent;
+import com.kma.studentsystem.notification_service.repository.ProcessedEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs a listener's side effects at most once per eventId.
+ *
+ * A time-bucketed Bloom filter answers the common case (a new event) without touching
+ * the database. Only when the filter reports a possible duplicate is the processed_events
+ * table consulted. With persistence enabled the marker row is inserted in the same
+ * transaction as the handler, before it runs, so a concurrent or post-restart redelivery
+ * fails on the primary key instead of repeating the side effects.
+ * Without persistence, possible duplicates are confirmed against the most recent eventIds kept
+ * exactly in memory, so a false positive never drops an event; a redelivery older than the
+ * last idempotency.recent-ids-capacity events runs again instead of being skipped.
+ */
+@Component
+@Slf4j
+public class IdempotentConsumer {
+
+    private final ProcessedEventRepository processedEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final TimeBucketedBloomFilter recentEvents;
+    private final Set<String> recentIds;
+    private final String consumerGroup;
+    private final boolean persistentEnabled;
+    private final Duration retention;
+
+    public IdempotentConsumer(ProcessedEventRepository processedEventRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${spring.kafka.consumer.group-id}") String consumerGroup,
+                              @Value("${idempotency.window-minutes:60}") long windowMinutes,
+                              @Value("${idempotency.window-buckets:6}") int windowBuckets,
+                              @Value("${idempotency.expected-events-per-bucket:100000}") int expectedEventsPerBucket,
+                              @Value("${idempotency.false-positive-rate:0.001}") double falsePositiveRate,
+                              @Value("${idempotency.persistent.enabled:true}") boolean persistentEnabled,
+                              @Value("${idempotency.persistent.retention-days:7}") long retentionDays,
+                              @Value("${idempotency.recent-ids-capacity:100000}") int recentIdsCapacity) {
+        this.processedEventRepository = processedEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.consumerGroup = consumerGroup;
+        this.persistentEnabled = persistentEnabled;
+        this.retention = Duration.ofDays(retentionDays);
+        this.recentEvents = new TimeBucketedBloomFilter(Duration.ofMinutes(windowMinutes).toMillis(),
+                windowBuckets, expectedEventsPerBucket, falsePositiveRate);
+        this.recentIds = persistentEnabled ? Set.of() : boundedSet(recentIdsCapacity);
+        log.info("Idempotent consumer initialized: window {} min in {} buckets, {} bits/bucket, {} hashes, persistent={}",
+                windowMinutes, windowBuckets, recentEvents.getBitsPerBucket(), recentEvents.getHashFunctions(), persistentEnabled);
+    }
+
+    /**
+     * Runs the handler unless the event was already processed.
+     *
+     * @return true if the handler ran, false if the event was skipped as a duplicate
+     */
+    public boolean processOnce(String eventId, String topic, Runnable handler) {
+        if (eventId == null || eventId.isBlank()) {
+            log.warn("Event from topic {} has no eventId, processing without deduplication", topic);
+            handler.run();
+            return true;
+        }
+
+        if (recentEvents.mightContain(eventId)) {
+            if (persistentEnabled ? processedEventRepository.existsById(eventId) : recentIds.contains(eventId)) {
+                record(topic, "hit");
+                log.info("Skipping duplicate event {} from topic {}", eventId, topic);
+                return false;
+            }
+            record(topic, "false_positive");
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (persistentEnabled) {
+                    processedEventRepository.saveAndFlush(
+                            new ProcessedEvent(eventId, topic, consumerGroup, LocalDateTime.now()));
+                }
+                handler.run();
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another delivery of the same event committed first
+            recentEvents.put(eventId);
+            record(topic, "hit");
+            log.info("Skipping duplicate event {} from topic {} (already recorded)", eventId, topic);
+            return false;
+        }
+
+        remember(eventId);
+        record(topic, "miss");
+        return true;
+    }
+
+    @Scheduled(cron = "${idempotency.persistent.cleanup-cron:0 0 3 * * *}")
+    public void purgeExpiredMarkers() {
+        if (!persistentEnabled) {
+            return;
+        }
+        int deleted = transactionTemplate.execute(status ->
+                processedEventRepository.deleteProcessedBefore(LocalDateTime.now().minus(retention)));
+        if (deleted > 0) {
+            log.info("Purged {} processed event markers older than {} days", deleted, retention.toDays());
+        }
+    }
+
+    // Helper methods
+    private void remember(String eventId) {
+        recentEvents.put(eventId);
+        if (!persistentEnabled) {
+            recentIds.add(eventId);
+        }
+    }
+
+    private void record(String topic, String result) {
+        Counter.builder("kafka.consumer.dedup")
+                .description("Event deduplication checks by outcome")
+                .tag("topic", topic)
+                .tag("group", consumerGroup)
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static Set<String> boundedSet(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Recent id capacity must be positive");
+        }
+        return Collections.newSetFromMap(Collections.synchronizedMap(new LinkedHashMap<String, Boolean>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > capacity;
+            }
+        }));
+    }
+}
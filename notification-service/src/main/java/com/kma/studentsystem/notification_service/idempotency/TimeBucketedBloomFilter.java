@@ -0,0 +1,153 @@
+package com.kma.studentsystem.notification_service.idempotency;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded window of recently seen event ids.
+ *
+ * The window is split into a ring of Bloom filters, one per time bucket. Ids are
+ * added to the current bucket and looked up in all of them; when the clock moves
+ * into a new bucket the oldest one is cleared, so memory stays fixed no matter how
+ * many events flow through. A negative answer is exact, a positive answer may be a
+ * false positive at roughly the configured rate.
+ */
+public class TimeBucketedBloomFilter {
+
+    private final Clock clock;
+    private final AtomicLongArray[] buckets;
+    private final long[] bucketEpochs;
+    private final long bucketMillis;
+    private final int bitsPerBucket;
+    private final int hashFunctions;
+
+    public TimeBucketedBloomFilter(long windowMillis, int bucketCount, int expectedInsertionsPerBucket, double falsePositiveRate) {
+        this(windowMillis, bucketCount, expectedInsertionsPerBucket, falsePositiveRate, Clock.systemUTC());
+    }
+
+    public TimeBucketedBloomFilter(long windowMillis, int bucketCount, int expectedInsertionsPerBucket, double falsePositiveRate,
+                                   Clock clock) {
+        if (bucketCount < 1 || windowMillis < bucketCount || expectedInsertionsPerBucket < 1) {
+            throw new IllegalArgumentException("Invalid dedup window configuration");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+
+        long bits = (long) Math.ceil(-expectedInsertionsPerBucket * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitsPerBucket = (int) Math.min(Math.max(bits, 64L), Integer.MAX_VALUE - 63L);
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitsPerBucket / expectedInsertionsPerBucket * Math.log(2)));
+        this.bucketMillis = windowMillis / bucketCount;
+        this.clock = clock;
+        this.buckets = new AtomicLongArray[bucketCount];
+        this.bucketEpochs = new long[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new AtomicLongArray((bitsPerBucket + 63) / 64);
+            bucketEpochs[i] = -1;
+        }
+    }
+
+    public boolean mightContain(String id) {
+        long now = clock.millis();
+        rotate(now);
+        long h1 = hash(id);
+        long h2 = mix(h1);
+        long oldestLiveEpoch = epochOf(now) - buckets.length + 1;
+
+        for (int b = 0; b < buckets.length; b++) {
+            if (bucketEpochs[b] >= oldestLiveEpoch && contains(buckets[b], h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void put(String id) {
+        long now = clock.millis();
+        rotate(now);
+        long h1 = hash(id);
+        long h2 = mix(h1);
+        AtomicLongArray bucket = buckets[slotOf(epochOf(now))];
+
+        for (int i = 0; i < hashFunctions; i++) {
+            int bit = bitIndex(h1, h2, i);
+            int word = bit >>> 6;
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bucket.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bucket.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public int getBitsPerBucket() {
+        return bitsPerBucket;
+    }
+
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    // Helper methods
+    private void rotate(long now) {
+        long epoch = epochOf(now);
+        int slot = slotOf(epoch);
+        if (bucketEpochs[slot] == epoch) {
+            return;
+        }
+        synchronized (this) {
+            if (bucketEpochs[slot] != epoch) {
+                AtomicLongArray bucket = buckets[slot];
+                for (int i = 0; i < bucket.length(); i++) {
+                    bucket.set(i, 0L);
+                }
+                bucketEpochs[slot] = epoch;
+            }
+        }
+    }
+
+    private boolean contains(AtomicLongArray bucket, long h1, long h2) {
+        for (int i = 0; i < hashFunctions; i++) {
+            int bit = bitIndex(h1, h2, i);
+            if ((bucket.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int bitIndex(long h1, long h2, int i) {
+        long combined = h1 + i * h2;
+        return (int) ((combined & Long.MAX_VALUE) % bitsPerBucket);
+    }
+
+    private long epochOf(long now) {
+        return now / bucketMillis;
+    }
+
+    private int slotOf(long epoch) {
+        return (int) (epoch % buckets.length);
+    }
+
+    private static long hash(String id) {
+        // FNV-1a over the UTF-8 bytes
+        long h = 0xcbf29ce484222325L;
+        for (byte b : id.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private static long mix(long h) {
+        // splitmix64 finalizer, used as the second hash for double hashing
+        h += 0x9e3779b97f4a7c15L;
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return (h ^ (h >>> 31)) | 1L;
+    }
+}
@@ -3,7 +3,10 @@ package com.kma.studentsystem.notification_service.listener;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kma.studentsystem.notification_service.dto.NotificationDTO;
 import com.kma.studentsystem.notification_service.event.StudentEvent;
+import com.kma.studentsystem.notification_service.idempotency.IdempotentConsumer;
 import com.kma.studentsystem.notification_service.model.Notification;
+import com.kma.studentsystem.notification_service.replica.StateReplica;
+import com.kma.studentsystem.notification_service.replica.StudentState;
 import com.kma.studentsystem.notification_service.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +17,7 @@ import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Map;
 
 @Component
@@ -22,6 +26,8 @@ import java.util.Map;
 public class NotificationEventListener {
     
     private final NotificationService notificationService;
+    private final IdempotentConsumer idempotentConsumer;
+    private final StateReplica<StudentState> studentReplica;
     private final ObjectMapper objectMapper = new ObjectMapper();
     
     @KafkaListener(topics = "student-events", groupId = "notification-service-group", containerFactory = "studentEventKafkaListenerContainerFactory")
@@ -61,8 +67,11 @@ public class NotificationEventListener {
             }
             
             if (notificationDTO != null) {
-                notificationService.createNotification(notificationDTO);
-                log.info("Created notification for student event: {}", event.getEventType());
+                NotificationDTO notification = notificationDTO;
+                if (idempotentConsumer.processOnce(event.getEventId(), topic,
+                        () -> notificationService.createNotification(notification))) {
+                    log.info("Created notification for student event: {}", event.getEventType());
+                }
             }
             
             acknowledgment.acknowledge();
@@ -84,6 +93,7 @@ public class NotificationEventListener {
             log.info("Received course event from topic: {}, partition: {}, offset: {}", topic, partition, offset);
             
             Map<String, Object> event = convertToMap(payload);
+            String eventId = (String) event.get("eventId");
             String eventType = (String) event.getOrDefault("eventType", "Unknown");
             String courseId = (String) event.getOrDefault("courseId", "");
             String courseName = (String) event.getOrDefault("courseName", "Khóa học");
@@ -124,8 +134,11 @@ public class NotificationEventListener {
                 }
                 
                 if (notificationDTO != null) {
-                    notificationService.createNotification(notificationDTO);
-                    log.info("Created notification for course event: {}", eventType);
+                    NotificationDTO notification = notificationDTO;
+                    if (idempotentConsumer.processOnce(eventId, topic,
+                            () -> notificationService.createNotification(notification))) {
+                        log.info("Created notification for course event: {}", eventType);
+                    }
                 }
             }
             
@@ -148,6 +161,7 @@ public class NotificationEventListener {
             log.info("Received grade event from topic: {}, partition: {}, offset: {}", topic, partition, offset);
             
             Map<String, Object> event = convertToMap(payload);
+            String eventId = (String) event.get("eventId");
             String eventType = (String) event.getOrDefault("eventType", "Unknown");
             String studentId = (String) event.getOrDefault("studentId", "");
             String courseId = (String) event.getOrDefault("courseId", "");
@@ -180,8 +194,11 @@ public class NotificationEventListener {
                 }
                 
                 if (notificationDTO != null) {
-                    notificationService.createNotification(notificationDTO);
-                    log.info("Created notification for grade event: {}", eventType);
+                    NotificationDTO notification = notificationDTO;
+                    if (idempotentConsumer.processOnce(eventId, topic,
+                            () -> notificationService.createNotification(notification))) {
+                        log.info("Created notification for grade event: {}", eventType);
+                    }
                 }
             }
             
@@ -204,6 +221,7 @@ public class NotificationEventListener {
             log.info("Received enrollment event from topic: {}, partition: {}, offset: {}", topic, partition, offset);
             
             Map<String, Object> event = convertToMap(payload);
+            String eventId = (String) event.get("eventId");
             String eventType = (String) event.getOrDefault("eventType", "Unknown");
             String studentId = (String) event.getOrDefault("studentId", "");
             String courseId = (String) event.getOrDefault("courseId", "");
@@ -212,6 +230,10 @@ public class NotificationEventListener {
             
             log.info("Enrollment event type: {}, studentId: {}, courseId: {}", eventType, studentId, courseId);
             
+            if (event.get("enrollments") instanceof List<?> enrollments) {
+                fanOutBulkEnrollmentEvent(eventId, eventType, topic, enrollments, correlationId);
+            }
+            
             if (studentId != null && !studentId.isEmpty()) {
                 NotificationDTO notificationDTO = null;
                 
@@ -240,13 +262,29 @@ public class NotificationEventListener {
                             String.format("Chúc mừng! Bạn đã hoàn thành khóa học '%s'.", courseName),
                             correlationId, Notification.Priority.HIGH);
                         break;
+                    case "EnrollmentWaitlisted":
+                        notificationDTO = createNotification(studentId, null,
+                            "Đã vào danh sách chờ",
+                            String.format("Khóa học '%s' đã hết chỗ. Bạn đang ở vị trí %s trong danh sách chờ.",
+                                courseName, event.getOrDefault("waitlistPosition", "?")),
+                            correlationId);
+                        break;
+                    case "EnrollmentPromoted":
+                        notificationDTO = createNotification(studentId, null,
+                            "Đã có chỗ trong khóa học",
+                            String.format("Đã có chỗ trống trong khóa học '%s'. Đăng ký của bạn đang chờ xét duyệt.", courseName),
+                            correlationId, Notification.Priority.HIGH);
+                        break;
                     default:
                         log.debug("Enrollment event type {} - no notification needed", eventType);
                 }
                 
                 if (notificationDTO != null) {
-                    notificationService.createNotification(notificationDTO);
-                    log.info("Created notification for enrollment event: {}", eventType);
+                    NotificationDTO notification = notificationDTO;
+                    if (idempotentConsumer.processOnce(eventId, topic,
+                            () -> notificationService.createNotification(notification))) {
+                        log.info("Created notification for enrollment event: {}", eventType);
+                    }
                 }
             }
             
@@ -269,6 +307,7 @@ public class NotificationEventListener {
             log.info("Received identity event from topic: {}, partition: {}, offset: {}", topic, partition, offset);
             
             Map<String, Object> event = convertToMap(payload);
+            String eventId = (String) event.get("eventId");
             String eventType = (String) event.getOrDefault("eventType", "Unknown");
             String userId = (String) event.getOrDefault("userId", "");
             String email = (String) event.getOrDefault("email", "");
@@ -309,8 +348,11 @@ public class NotificationEventListener {
                 }
                 
                 if (notificationDTO != null) {
-                    notificationService.createNotification(notificationDTO);
-                    log.info("Created notification for identity event: {}", eventType);
+                    NotificationDTO notification = notificationDTO;
+                    if (idempotentConsumer.processOnce(eventId, topic,
+                            () -> notificationService.createNotification(notification))) {
+                        log.info("Created notification for identity event: {}", eventType);
+                    }
                 }
             }
             
@@ -335,6 +377,51 @@ public class NotificationEventListener {
         }
     }
     
+    private void fanOutBulkEnrollmentEvent(String eventId, String eventType, String topic,
+                                           List<?> enrollments, String correlationId) {
+        String title;
+        String messageFormat;
+        Notification.Priority priority;
+        switch (eventType) {
+            case "EnrollmentsBulkCreated":
+                title = "Đăng ký khóa học mới";
+                messageFormat = "Bạn đã được đăng ký khóa học '%s'. Vui lòng chờ xét duyệt.";
+                priority = Notification.Priority.MEDIUM;
+                break;
+            case "EnrollmentsBulkApproved":
+                title = "Đăng ký khóa học đã được duyệt";
+                messageFormat = "Đăng ký khóa học '%s' của bạn đã được duyệt thành công!";
+                priority = Notification.Priority.HIGH;
+                break;
+            case "EnrollmentsBulkCompleted":
+                title = "Hoàn thành khóa học";
+                messageFormat = "Chúc mừng! Bạn đã hoàn thành khóa học '%s'.";
+                priority = Notification.Priority.HIGH;
+                break;
+            default:
+                log.debug("Bulk enrollment event type {} - no notification needed", eventType);
+                return;
+        }
+        
+        int created = 0;
+        for (Object item : enrollments) {
+            Map<String, Object> enrollment = convertToMap(item);
+            String studentId = (String) enrollment.get("studentId");
+            if (studentId == null || studentId.isEmpty()) {
+                continue;
+            }
+            NotificationDTO notification = createNotification(studentId, null, title,
+                    String.format(messageFormat, enrollment.get("courseCode")), correlationId, priority);
+            // Dedup per enrollment so a redelivered batch does not notify anyone twice
+            String itemEventId = eventId != null ? eventId + ":" + enrollment.get("id") : null;
+            if (idempotentConsumer.processOnce(itemEventId, topic,
+                    () -> notificationService.createNotification(notification))) {
+                created++;
+            }
+        }
+        log.info("Created {} notifications for bulk enrollment event: {}", created, eventType);
+    }
+    
     private NotificationDTO createWelcomeNotification(String recipientId, String email, String title, String message, String correlationId) {
         return createNotification(recipientId, email, title, message, correlationId, Notification.Priority.MEDIUM);
     }
@@ -356,6 +443,15 @@ public class NotificationEventListener {
         dto.setSourceService("notification-service");
         dto.setCorrelationId(correlationId);
         dto.setMaxDeliveryAttempts(3);
+        
+        // Course, grade and enrollment events carry no contact details; look them up in the local replica
+        String recipientEmail = email;
+        if (recipientEmail == null || recipientEmail.isBlank()) {
+            recipientEmail = studentReplica.get(recipientId).map(StudentState::getEmail).orElse(null);
+        }
+        if (recipientEmail != null && !recipientEmail.isBlank()) {
+            dto.setMetadata(objectMapper.createObjectNode().put("recipientEmail", recipientEmail).toString());
+        }
         return dto;
     }
 }
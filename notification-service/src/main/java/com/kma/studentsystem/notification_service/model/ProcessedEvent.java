@@ -0,0 +1,41 @@
+package com.kma.studentsystem.notification_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "processed_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessedEvent implements Persistable<String> {
+    
+    @Id
+    @Column(name = "event_id", nullable = false, length = 64)
+    private String eventId;
+    
+    @Column(name = "topic", nullable = false)
+    private String topic;
+    
+    @Column(name = "consumer_group", nullable = false)
+    private String consumerGroup;
+    
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+    
+    // Markers are insert-only, so save() must persist instead of merging an existing row
+    @Override
+    public String getId() {
+        return eventId;
+    }
+    
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,340 @@
+package com.kma.studentsystem.notification_service.replica;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.StringDeserializer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * In-memory replica of a compacted state topic (key = entity id, value = latest JSON state).
+ *
+ * The replica assigns itself every partition of the topic instead of joining a consumer group,
+ * so each instance holds the full data set. On start it restores the last local snapshot, if
+ * recent enough, and replays only the records after the snapshot offsets. It reports ready once
+ * it has caught up with the end offsets seen at startup. Lookups are plain ConcurrentHashMap reads.
+ *
+ * Snapshots older than the topic's delete.retention.ms could miss tombstones that compaction
+ * already removed, so they are ignored beyond the configured max age.
+ *
+ * If the consumer fails, the thread opens a new one after a backoff (doubling up to a minute) and
+ * resumes from the last applied offsets, so a broker outage during catch-up delays readiness
+ * instead of leaving the replica unready for good.
+ *
+ * Listeners see the changes applied after the replica became ready; the catch-up replay at startup
+ * is not reported.
+ */
+@Slf4j
+public class StateReplica<V> {
+
+    private static final long INITIAL_RESTART_BACKOFF_MILLIS = 1_000;
+    private static final long MAX_RESTART_BACKOFF_MILLIS = 60_000;
+
+    private final String topic;
+    private final Class<V> valueType;
+    private final Map<String, Object> consumerProps;
+    private final ObjectMapper objectMapper;
+    private final Path snapshotFile;
+    private final Duration snapshotInterval;
+    private final Duration snapshotMaxAge;
+
+    private final Map<String, V> entries = new ConcurrentHashMap<>();
+    // Next offset to read per partition; only touched by the replica thread after start
+    private final Map<Integer, Long> offsets = new HashMap<>();
+    private final CountDownLatch ready = new CountDownLatch(1);
+    private final List<BiConsumer<V, V>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running;
+    private volatile KafkaConsumer<String, String> consumer;
+    private Thread worker;
+
+    public StateReplica(String topic, Class<V> valueType, Map<String, Object> consumerProps, ObjectMapper objectMapper,
+                        Path snapshotDirectory, Duration snapshotInterval, Duration snapshotMaxAge) {
+        this.topic = topic;
+        this.valueType = valueType;
+        this.consumerProps = new HashMap<>(consumerProps);
+        this.consumerProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        this.consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        this.consumerProps.remove(ConsumerConfig.GROUP_ID_CONFIG);
+        this.objectMapper = objectMapper;
+        this.snapshotFile = snapshotDirectory != null ? snapshotDirectory.resolve(topic + ".snapshot.json") : null;
+        this.snapshotInterval = snapshotInterval;
+        this.snapshotMaxAge = snapshotMaxAge;
+    }
+
+    public void start() {
+        restoreSnapshot();
+        running = true;
+        worker = new Thread(this::run, "state-replica-" + topic);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public void stop() {
+        running = false;
+        KafkaConsumer<String, String> current = consumer;
+        if (current != null) {
+            current.wakeup();
+        } else if (worker != null) {
+            // Between consumers: waiting out a restart backoff or for the topic to appear
+            worker.interrupt();
+        }
+        if (worker != null) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public Optional<V> get(String key) {
+        return key == null ? Optional.empty() : Optional.ofNullable(entries.get(key));
+    }
+
+    public Collection<V> values() {
+        return Collections.unmodifiableCollection(entries.values());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * True once the replica has replayed the topic up to the end offsets seen at startup.
+     * Before that, a missing key does not prove the entity does not exist.
+     */
+    public boolean isReady() {
+        return ready.getCount() == 0;
+    }
+
+    public boolean awaitReady(Duration timeout) throws InterruptedException {
+        return ready.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    /**
+     * Registers a callback for live changes, called with the previous and the new value (null for a
+     * new key or a tombstone). It runs on the replica thread, so anything slow should be handed off.
+     */
+    public void addListener(BiConsumer<V, V> listener) {
+        listeners.add(listener);
+    }
+
+    // Replica thread
+    private void run() {
+        long backoff = INITIAL_RESTART_BACKOFF_MILLIS;
+        while (running) {
+            long startedAt = System.currentTimeMillis();
+            try {
+                consume();
+                return;
+            } catch (WakeupException e) {
+                if (!running) {
+                    return;
+                }
+                log.error("State replica for {} was woken up unexpectedly", topic, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("State replica for {} failed: {}", topic, e.getMessage(), e);
+            } finally {
+                consumer = null;
+            }
+            // A consumer that ran for a while before failing starts the backoff over
+            if (System.currentTimeMillis() - startedAt > MAX_RESTART_BACKOFF_MILLIS) {
+                backoff = INITIAL_RESTART_BACKOFF_MILLIS;
+            }
+            log.info("Restarting state replica for {} in {} ms", topic, backoff);
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            backoff = Math.min(backoff * 2, MAX_RESTART_BACKOFF_MILLIS);
+        }
+    }
+
+    private void consume() throws InterruptedException {
+        try (KafkaConsumer<String, String> kafkaConsumer =
+                     new KafkaConsumer<>(consumerProps, new StringDeserializer(), new StringDeserializer())) {
+            consumer = kafkaConsumer;
+            List<TopicPartition> partitions = awaitPartitions(kafkaConsumer);
+            if (partitions.isEmpty()) {
+                return;
+            }
+
+            kafkaConsumer.assign(partitions);
+            for (TopicPartition partition : partitions) {
+                Long next = offsets.get(partition.partition());
+                if (next != null) {
+                    kafkaConsumer.seek(partition, next);
+                } else {
+                    kafkaConsumer.seekToBeginning(List.of(partition));
+                }
+            }
+            Map<TopicPartition, Long> catchUpTargets = kafkaConsumer.endOffsets(partitions);
+            long lastSnapshotAt = System.currentTimeMillis();
+            boolean dirty = false;
+
+            while (running) {
+                ConsumerRecords<String, String> records = kafkaConsumer.poll(Duration.ofMillis(500));
+                for (ConsumerRecord<String, String> record : records) {
+                    apply(record);
+                    offsets.put(record.partition(), record.offset() + 1);
+                    dirty = true;
+                }
+
+                if (!isReady() && caughtUp(kafkaConsumer, catchUpTargets)) {
+                    ready.countDown();
+                    log.info("State replica for {} is ready with {} entries", topic, entries.size());
+                }
+
+                long now = System.currentTimeMillis();
+                if (dirty && isReady() && now - lastSnapshotAt >= snapshotInterval.toMillis()) {
+                    writeSnapshot();
+                    lastSnapshotAt = now;
+                    dirty = false;
+                }
+            }
+            if (dirty) {
+                writeSnapshot();
+            }
+        }
+    }
+
+    private List<TopicPartition> awaitPartitions(KafkaConsumer<String, String> kafkaConsumer) throws InterruptedException {
+        while (running) {
+            List<PartitionInfo> infos = kafkaConsumer.partitionsFor(topic);
+            if (infos != null && !infos.isEmpty()) {
+                return infos.stream()
+                        .map(info -> new TopicPartition(info.topic(), info.partition()))
+                        .toList();
+            }
+            log.warn("Topic {} not available yet, retrying", topic);
+            Thread.sleep(5000);
+        }
+        return List.of();
+    }
+
+    private boolean caughtUp(KafkaConsumer<String, String> kafkaConsumer, Map<TopicPartition, Long> targets) {
+        for (Map.Entry<TopicPartition, Long> target : targets.entrySet()) {
+            if (kafkaConsumer.position(target.getKey()) < target.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void apply(ConsumerRecord<String, String> record) {
+        if (record.key() == null) {
+            return;
+        }
+        if (record.value() == null) {
+            notifyListeners(entries.remove(record.key()), null);
+            return;
+        }
+        try {
+            V value = objectMapper.readValue(record.value(), valueType);
+            notifyListeners(entries.put(record.key(), value), value);
+        } catch (IOException e) {
+            log.warn("Skipping unreadable {} record for key {}: {}", topic, record.key(), e.getMessage());
+        }
+    }
+
+    private void notifyListeners(V previous, V current) {
+        if (!isReady() || (previous == null && current == null)) {
+            return;
+        }
+        for (BiConsumer<V, V> listener : listeners) {
+            try {
+                listener.accept(previous, current);
+            } catch (RuntimeException e) {
+                // A failing listener must not stop the replica from applying the topic
+                log.error("Listener for {} failed: {}", topic, e.getMessage(), e);
+            }
+        }
+    }
+
+    // Snapshot / restore
+    private void writeSnapshot() {
+        if (snapshotFile == null) {
+            return;
+        }
+        try {
+            ObjectNode root = objectMapper.createObjectNode();
+            root.put("topic", topic);
+            root.put("createdAt", System.currentTimeMillis());
+            root.set("offsets", objectMapper.valueToTree(offsets));
+            root.set("entries", objectMapper.valueToTree(entries));
+
+            Files.createDirectories(snapshotFile.getParent());
+            Path tmp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+            objectMapper.writeValue(tmp.toFile(), root);
+            Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Wrote snapshot of {} ({} entries)", topic, entries.size());
+        } catch (IOException e) {
+            log.warn("Could not write snapshot for {}: {}", topic, e.getMessage());
+        }
+    }
+
+    private void restoreSnapshot() {
+        if (snapshotFile == null || !Files.exists(snapshotFile)) {
+            return;
+        }
+        try {
+            JsonNode root = objectMapper.readTree(snapshotFile.toFile());
+            long age = System.currentTimeMillis() - root.path("createdAt").asLong(0);
+            if (age > snapshotMaxAge.toMillis()) {
+                log.info("Ignoring snapshot for {} older than {}", topic, snapshotMaxAge);
+                return;
+            }
+
+            Iterator<Map.Entry<String, JsonNode>> offsetFields = root.path("offsets").fields();
+            while (offsetFields.hasNext()) {
+                Map.Entry<String, JsonNode> field = offsetFields.next();
+                offsets.put(Integer.parseInt(field.getKey()), field.getValue().asLong());
+            }
+            Iterator<Map.Entry<String, JsonNode>> entryFields = root.path("entries").fields();
+            while (entryFields.hasNext()) {
+                Map.Entry<String, JsonNode> field = entryFields.next();
+                entries.put(field.getKey(), objectMapper.treeToValue(field.getValue(), valueType));
+            }
+            log.info("Restored {} entries for {} from snapshot", entries.size(), topic);
+        } catch (Exception e) {
+            log.warn("Could not restore snapshot for {}, replaying topic: {}", topic, e.getMessage());
+            offsets.clear();
+            entries.clear();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.kma.studentsystem.notification_service.replica;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class StudentState {
+    private String studentId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String major;
+    private String status;
+    private Integer enrollmentYear;
+    private LocalDateTime updatedAt;
+}
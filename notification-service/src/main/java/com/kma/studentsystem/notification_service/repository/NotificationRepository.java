@@ -1,5 +1,7 @@
 package com.kma.studentsystem.notification_service.repository;
 
+import com.kma.studentsystem.notification_service.dto.NotificationDTO;
+import com.kma.studentsystem.notification_service.dto.NotificationSummaryDTO;
 import com.kma.studentsystem.notification_service.model.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -13,6 +15,41 @@ import java.util.Optional;
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     
+    // Read-side queries select straight into DTOs; no entity is loaded into the persistence context
+    String SELECT_DETAIL = "SELECT new com.kma.studentsystem.notification_service.dto.NotificationDTO(" +
+            "n.id, n.recipientId, n.recipientType, n.title, n.message, n.type, n.priority, n.status, n.sentAt, " +
+            "n.readAt, n.deliveryAttempts, n.maxDeliveryAttempts, n.nextRetryAt, n.expiresAt, n.metadata, " +
+            "n.sourceService, n.correlationId, n.templateId, n.templateVariables, n.channel, n.externalId, " +
+            "n.errorMessage, n.createdAt, n.updatedAt) FROM Notification n ";
+    
+    String SELECT_SUMMARY = "SELECT new com.kma.studentsystem.notification_service.dto.NotificationSummaryDTO(" +
+            "n.id, n.recipientId, n.recipientType, n.title, n.type, n.priority, n.status, n.channel, " +
+            "n.deliveryAttempts, n.sentAt, n.readAt, n.expiresAt, n.sourceService, n.correlationId, " +
+            "n.createdAt, n.updatedAt) FROM Notification n ";
+    
+    @Query(SELECT_DETAIL + "WHERE n.id = :id")
+    Optional<NotificationDTO> findDetailById(@Param("id") Long id);
+    
+    @Query(SELECT_DETAIL + "ORDER BY n.id")
+    List<NotificationDTO> findAllDetails();
+    
+    @Query(SELECT_SUMMARY + "ORDER BY n.id")
+    List<NotificationSummaryDTO> findAllSummaries();
+    
+    @Query(SELECT_DETAIL + "WHERE n.recipientId = :recipientId ORDER BY n.id")
+    List<NotificationDTO> findDetailsByRecipientId(@Param("recipientId") String recipientId);
+    
+    @Query(SELECT_SUMMARY + "WHERE n.recipientId = :recipientId ORDER BY n.id")
+    List<NotificationSummaryDTO> findSummariesByRecipientId(@Param("recipientId") String recipientId);
+    
+    @Query(SELECT_DETAIL + "WHERE n.recipientId = :recipientId AND n.status = :status ORDER BY n.id")
+    List<NotificationDTO> findDetailsByRecipientIdAndStatus(@Param("recipientId") String recipientId,
+                                                            @Param("status") Notification.NotificationStatus status);
+    
+    @Query(SELECT_SUMMARY + "WHERE n.recipientId = :recipientId AND n.status = :status ORDER BY n.id")
+    List<NotificationSummaryDTO> findSummariesByRecipientIdAndStatus(@Param("recipientId") String recipientId,
+                                                                     @Param("status") Notification.NotificationStatus status);
+    
     List<Notification> findByRecipientId(String recipientId);
     
     List<Notification> findByRecipientType(Notification.RecipientType recipientType);
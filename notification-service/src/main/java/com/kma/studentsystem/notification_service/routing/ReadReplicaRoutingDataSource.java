@@ -0,0 +1,72 @@
+package com.kma.studentsystem.notification_service.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the primary.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction's read-only flag is only
+ * bound after the transaction manager asks for a connection, so the route has to be chosen
+ * when the first statement runs. Reads fall back to the primary while the replica lags or is
+ * down, for the rest of a request once it has written, and outside HTTP requests: listeners and
+ * scheduled jobs mostly read what a write just committed, often on another instance.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final Counter writes;
+    private final Counter replicaReads;
+    private final Counter laggingReads;
+    private final Counter stickyReads;
+    private final Counter backgroundReads;
+
+    public ReadReplicaRoutingDataSource(ReplicaLagMonitor replicaLagMonitor, MeterRegistry meterRegistry) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.writes = routed(meterRegistry, Route.PRIMARY, "write");
+        this.replicaReads = routed(meterRegistry, Route.REPLICA, "read_only");
+        this.laggingReads = routed(meterRegistry, Route.PRIMARY, "replica_lagging");
+        this.stickyReads = routed(meterRegistry, Route.PRIMARY, "read_your_writes");
+        this.backgroundReads = routed(meterRegistry, Route.PRIMARY, "outside_request");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                ReadYourWritesContext.markWrite();
+            }
+            writes.increment();
+            return Route.PRIMARY;
+        }
+        if (!ReadYourWritesContext.isOpen()) {
+            backgroundReads.increment();
+            return Route.PRIMARY;
+        }
+        if (ReadYourWritesContext.hasWritten()) {
+            stickyReads.increment();
+            return Route.PRIMARY;
+        }
+        if (!replicaLagMonitor.isUsable()) {
+            laggingReads.increment();
+            return Route.PRIMARY;
+        }
+        replicaReads.increment();
+        return Route.REPLICA;
+    }
+
+    // Helper methods
+    private static Counter routed(MeterRegistry meterRegistry, Route route, String reason) {
+        return Counter.builder("datasource.routing")
+                .description("Connections handed out by the routing data source, by target and reason")
+                .tag("target", route.name().toLowerCase())
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -1,9 +1,11 @@
 package com.kma.studentsystem.notification_service.service;
 
 import com.kma.studentsystem.notification_service.dto.NotificationDTO;
+import com.kma.studentsystem.notification_service.dto.NotificationSummaryDTO;
 import com.kma.studentsystem.notification_service.event.NotificationEvent;
 import com.kma.studentsystem.notification_service.model.Notification;
 import com.kma.studentsystem.notification_service.repository.NotificationRepository;
+import com.kma.studentsystem.notification_service.tracing.EventLatencyTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -15,7 +17,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +29,7 @@ public class NotificationService {
     private final EmailService emailService;
     private final SmsService smsService;
     private final PushNotificationService pushNotificationService;
+    private final EventLatencyTracker eventLatencyTracker;
     
     private static final String NOTIFICATION_EVENTS_TOPIC = "notification-events";
     
@@ -51,7 +53,7 @@ public class NotificationService {
         
         // Publish event
         NotificationEvent event = NotificationEvent.createNotificationCreatedEvent(savedNotification);
-        kafkaTemplate.send(NOTIFICATION_EVENTS_TOPIC, savedNotification.getRecipientId(), event);
+        publish(savedNotification.getRecipientId(), event);
         log.info("Published NotificationCreated event for recipient: {}", savedNotification.getRecipientId());
         
         // Send notification asynchronously
@@ -79,7 +81,7 @@ public class NotificationService {
                 notificationRepository.save(notification);
                 
                 NotificationEvent event = NotificationEvent.createNotificationExpiredEvent(notification);
-                kafkaTemplate.send(NOTIFICATION_EVENTS_TOPIC, notification.getRecipientId(), event);
+                publish(notification.getRecipientId(), event);
                 return;
             }
             
@@ -114,7 +116,8 @@ public class NotificationService {
                 notificationRepository.save(notification);
                 
                 NotificationEvent event = NotificationEvent.createNotificationSentEvent(notification);
-                kafkaTemplate.send(NOTIFICATION_EVENTS_TOPIC, notification.getRecipientId(), event);
+                publish(notification.getRecipientId(), event);
+                eventLatencyTracker.recordFlowStage("notification-" + notification.getChannel().name().toLowerCase() + "-sent");
                 log.info("Notification sent successfully: {}", notification.getId());
             } else {
                 handleNotificationFailure(notification, "Failed to send notification");
@@ -126,6 +129,14 @@ public class NotificationService {
         }
     }
     
+    private void publish(String key, NotificationEvent event) {
+        kafkaTemplate.send(NOTIFICATION_EVENTS_TOPIC, key, event).whenComplete((result, error) -> {
+            if (error != null) {
+                log.error("Could not publish {} event {} for {}", event.getEventType(), event.getEventId(), key, error);
+            }
+        });
+    }
+    
     private void handleNotificationFailure(Notification notification, String errorMessage) {
         notification.setDeliveryAttempts(notification.getDeliveryAttempts() + 1);
         notification.setErrorMessage(errorMessage);
@@ -135,7 +146,7 @@ public class NotificationService {
             notification.setNextRetryAt(null);
             
             NotificationEvent event = NotificationEvent.createNotificationFailedEvent(notification);
-            kafkaTemplate.send(NOTIFICATION_EVENTS_TOPIC, notification.getRecipientId(), event);
+            publish(notification.getRecipientId(), event);
             log.error("Notification failed permanently: {}", notification.getId());
         } else {
             notification.setStatus(Notification.NotificationStatus.PENDING);
@@ -176,7 +187,7 @@ public class NotificationService {
         
         // Publish event
         NotificationEvent event = NotificationEvent.createNotificationReadEvent(updatedNotification);
-        kafkaTemplate.send(NOTIFICATION_EVENTS_TOPIC, updatedNotification.getRecipientId(), event);
+        publish(updatedNotification.getRecipientId(), event);
         log.info("Published NotificationRead event for recipient: {}", updatedNotification.getRecipientId());
         
         return convertToDTO(updatedNotification);
@@ -199,7 +210,7 @@ public class NotificationService {
         
         // Publish event
         NotificationEvent event = NotificationEvent.createNotificationDeliveredEvent(updatedNotification);
-        kafkaTemplate.send(NOTIFICATION_EVENTS_TOPIC, updatedNotification.getRecipientId(), event);
+        publish(updatedNotification.getRecipientId(), event);
         log.info("Published NotificationDelivered event for recipient: {}", updatedNotification.getRecipientId());
         
         return convertToDTO(updatedNotification);
@@ -225,7 +236,7 @@ public class NotificationService {
         
         // Publish event
         NotificationEvent event = NotificationEvent.createNotificationCancelledEvent(notification);
-        kafkaTemplate.send(NOTIFICATION_EVENTS_TOPIC, notification.getRecipientId(), event);
+        publish(notification.getRecipientId(), event);
         log.info("Published NotificationCancelled event for recipient: {}", notification.getRecipientId());
     }
     
@@ -258,48 +269,63 @@ public class NotificationService {
             notificationRepository.save(notification);
             
             NotificationEvent event = NotificationEvent.createNotificationExpiredEvent(notification);
-            kafkaTemplate.send(NOTIFICATION_EVENTS_TOPIC, notification.getRecipientId(), event);
+            publish(notification.getRecipientId(), event);
         }
     }
     
     @Transactional(readOnly = true)
     public List<NotificationDTO> getAllNotifications() {
         log.info("Retrieving all notifications");
-        return notificationRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return notificationRepository.findAllDetails();
+    }
+    
+    @Transactional(readOnly = true)
+    public List<NotificationSummaryDTO> getAllNotificationSummaries() {
+        log.info("Retrieving all notification summaries");
+        return notificationRepository.findAllSummaries();
     }
     
     @Transactional(readOnly = true)
     public Optional<NotificationDTO> getNotificationById(Long id) {
         log.info("Retrieving notification with ID: {}", id);
-        return notificationRepository.findById(id)
-                .map(this::convertToDTO);
+        return notificationRepository.findDetailById(id);
     }
     
     @Transactional(readOnly = true)
     public List<NotificationDTO> getNotificationsByRecipient(String recipientId) {
         log.info("Retrieving notifications for recipient: {}", recipientId);
-        return notificationRepository.findByRecipientId(recipientId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return notificationRepository.findDetailsByRecipientId(recipientId);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<NotificationSummaryDTO> getNotificationSummariesByRecipient(String recipientId) {
+        log.info("Retrieving notification summaries for recipient: {}", recipientId);
+        return notificationRepository.findSummariesByRecipientId(recipientId);
     }
     
     @Transactional(readOnly = true)
     public List<NotificationDTO> getPendingNotificationsByRecipient(String recipientId) {
         log.info("Retrieving pending notifications for recipient: {}", recipientId);
-        return notificationRepository.findPendingNotificationsByRecipient(recipientId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return notificationRepository.findDetailsByRecipientIdAndStatus(recipientId, Notification.NotificationStatus.PENDING);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<NotificationSummaryDTO> getPendingNotificationSummariesByRecipient(String recipientId) {
+        log.info("Retrieving pending notification summaries for recipient: {}", recipientId);
+        return notificationRepository.findSummariesByRecipientIdAndStatus(recipientId, Notification.NotificationStatus.PENDING);
     }
     
+    // Unread means delivered but not yet opened
     @Transactional(readOnly = true)
     public List<NotificationDTO> getUnreadNotificationsByRecipient(String recipientId) {
         log.info("Retrieving unread notifications for recipient: {}", recipientId);
-        return notificationRepository.findByRecipientId(recipientId).stream()
-                .filter(n -> n.getStatus() == Notification.NotificationStatus.DELIVERED)
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return notificationRepository.findDetailsByRecipientIdAndStatus(recipientId, Notification.NotificationStatus.DELIVERED);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<NotificationSummaryDTO> getUnreadNotificationSummariesByRecipient(String recipientId) {
+        log.info("Retrieving unread notification summaries for recipient: {}", recipientId);
+        return notificationRepository.findSummariesByRecipientIdAndStatus(recipientId, Notification.NotificationStatus.DELIVERED);
     }
     
     @Transactional(readOnly = true)
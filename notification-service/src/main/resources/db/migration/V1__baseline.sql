@@ -0,0 +1,29 @@
+-- Baseline: the schema Hibernate generated for the entities before migrations were introduced.
+-- Existing databases are baselined at this version, so later tables and columns live in V2 onwards.
+
+CREATE TABLE notifications (
+    id                    bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    recipient_id          varchar(255) NOT NULL,
+    recipient_type        varchar(255) NOT NULL,
+    title                 varchar(255) NOT NULL,
+    message               text         NOT NULL,
+    type                  varchar(255) NOT NULL,
+    priority              varchar(255) NOT NULL,
+    status                varchar(255) NOT NULL,
+    sent_at               timestamp(6),
+    read_at               timestamp(6),
+    delivery_attempts     integer,
+    max_delivery_attempts integer,
+    next_retry_at         timestamp(6),
+    expires_at            timestamp(6),
+    metadata              text,
+    source_service        varchar(255),
+    correlation_id        varchar(255),
+    template_id           varchar(255),
+    template_variables    text,
+    channel               varchar(255),
+    external_id           varchar(255),
+    error_message         text,
+    created_at            timestamp(6) NOT NULL,
+    updated_at            timestamp(6)
+);
@@ -0,0 +1,21 @@
+-- Indexes for NotificationRepository predicates
+
+-- The per-recipient status queries and counts, findByRecipientId
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient_status ON notifications (recipient_id, status);
+
+-- findNotificationsByRecipientSince, findNotificationsByRecipientAndDateRange,
+-- findNotificationsByRecipientOrderByCreatedAtDesc
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient_created ON notifications (recipient_id, created_at);
+
+-- findNotificationsReadyForRetry
+CREATE INDEX IF NOT EXISTS idx_notifications_status_next_retry ON notifications (status, next_retry_at);
+
+-- findExpiredNotifications
+CREATE INDEX IF NOT EXISTS idx_notifications_status_expires ON notifications (status, expires_at);
+
+-- findPendingNotificationsByPriorityOrderByCreatedAt
+CREATE INDEX IF NOT EXISTS idx_notifications_status_priority_created ON notifications (status, priority, created_at);
+
+-- findByCorrelationId, findByExternalId
+CREATE INDEX IF NOT EXISTS idx_notifications_correlation ON notifications (correlation_id);
+CREATE INDEX IF NOT EXISTS idx_notifications_external ON notifications (external_id);
@@ -0,0 +1,51 @@
+package com.kma.studentsystem.notification_service.idempotency;
+
+import com.kma.studentsystem.notification_service.repository.ProcessedEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class IdempotentConsumerTest {
+
+    private final ProcessedEventRepository processedEventRepository = mock(ProcessedEventRepository.class);
+
+    @Test
+    void falsePositivesStillRunWithoutPersistence() {
+        // One bucket of 64 bits, saturated below so every id looks like a possible duplicate
+        IdempotentConsumer consumer = inMemoryConsumer(1_000);
+        for (int i = 0; i < 200; i++) {
+            consumer.processOnce("seen-" + i, "topic", () -> { });
+        }
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThat(consumer.processOnce("new-event", "topic", runs::incrementAndGet)).isTrue();
+        assertThat(consumer.processOnce("new-event", "topic", runs::incrementAndGet)).isFalse();
+        assertThat(runs).hasValue(1);
+        verifyNoInteractions(processedEventRepository);
+    }
+
+    @Test
+    void redeliveriesOlderThanTheRecentIdsRunAgain() {
+        IdempotentConsumer consumer = inMemoryConsumer(2);
+        AtomicInteger runs = new AtomicInteger();
+
+        consumer.processOnce("first", "topic", runs::incrementAndGet);
+        consumer.processOnce("second", "topic", () -> { });
+        consumer.processOnce("third", "topic", () -> { });
+
+        assertThat(consumer.processOnce("first", "topic", runs::incrementAndGet)).isTrue();
+        assertThat(runs).hasValue(2);
+    }
+
+    // Helper methods
+    private IdempotentConsumer inMemoryConsumer(int recentIdsCapacity) {
+        return new IdempotentConsumer(processedEventRepository, mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), "notification-service", 60, 1, 1, 0.5, false, 7, recentIdsCapacity);
+    }
+}
@@ -0,0 +1,129 @@
+package com.kma.studentsystem.notification_service.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimeBucketedBloomFilterTest {
+
+    @Test
+    void remembersIdsPutInTheWindow() {
+        TimeBucketedBloomFilter filter = new TimeBucketedBloomFilter(60_000, 6, 1_000, 0.01);
+
+        for (int i = 0; i < 1_000; i++) {
+            filter.put("event-" + i);
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(filter.mightContain("event-" + i)).as("event-%d", i).isTrue();
+        }
+    }
+
+    @Test
+    void unseenIdsAreRejectedAtAboutTheConfiguredRate() {
+        TimeBucketedBloomFilter filter = new TimeBucketedBloomFilter(60_000, 6, 10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        // 1% expected; allow generous slack so the test is not flaky
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void forgetsIdsOnceTheirBucketLeavesTheWindow() {
+        TestClock clock = new TestClock(1_000);
+        TimeBucketedBloomFilter filter = new TimeBucketedBloomFilter(200, 2, 100, 0.01, clock);
+        filter.put("event-1");
+
+        // Still inside the window one bucket later
+        clock.advance(100);
+        assertThat(filter.mightContain("event-1")).isTrue();
+
+        // Two full buckets later the bucket holding the id is outside the window
+        clock.advance(100);
+        assertThat(filter.mightContain("event-1")).isFalse();
+        filter.put("event-2");
+        assertThat(filter.mightContain("event-2")).isTrue();
+    }
+
+    @Test
+    void reusedSlotDoesNotResurrectOldIds() {
+        TestClock clock = new TestClock(1_000);
+        TimeBucketedBloomFilter filter = new TimeBucketedBloomFilter(200, 2, 100, 0.01, clock);
+        filter.put("event-1");
+
+        // Same ring slot, two epochs on: the slot is cleared before it takes new ids
+        clock.advance(200);
+        filter.put("event-2");
+
+        assertThat(filter.mightContain("event-1")).isFalse();
+        assertThat(filter.mightContain("event-2")).isTrue();
+    }
+
+    @Test
+    void sizesBucketsFromTheExpectedLoad() {
+        TimeBucketedBloomFilter filter = new TimeBucketedBloomFilter(60_000, 6, 1_000, 0.01);
+
+        // m = -n ln p / (ln 2)^2 = 9586 bits, k = m / n ln 2 = 7
+        assertThat(filter.getBitsPerBucket()).isEqualTo(9586);
+        assertThat(filter.getHashFunctions()).isEqualTo(7);
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThatThrownBy(() -> new TimeBucketedBloomFilter(60_000, 0, 1_000, 0.01))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TimeBucketedBloomFilter(5, 6, 1_000, 0.01))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TimeBucketedBloomFilter(60_000, 6, 1_000, 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static final class TestClock extends Clock {
+
+        private long millis;
+
+        TestClock(long millis) {
+            this.millis = millis;
+        }
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
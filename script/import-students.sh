@@ -0,0 +1,106 @@
+#!/bin/bash
+
+# Bulk Student Import
+# Streams a JSON array or NDJSON file of students to the import endpoint and
+# reports how many rows were imported, which rows failed and the throughput.
+#
+# Usage: ./script/import-students.sh [file] [content-type]
+#   file          defaults to student_data.json
+#   content-type  json or ndjson; detected from the first character when omitted
+
+# Colors for output
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+BLUE='\033[0;34m'
+NC='\033[0m' # No Color
+
+# Configuration
+BASE_URL="http://localhost"
+STUDENT_PORT=8081
+FILE=${1:-student_data.json}
+FORMAT=${2:-}
+
+print_status() {
+    local status=$1
+    local message=$2
+    case $status in
+        "INFO")
+            echo -e "${BLUE}[INFO]${NC} $message"
+            ;;
+        "SUCCESS")
+            echo -e "${GREEN}[SUCCESS]${NC} $message"
+            ;;
+        "WARNING")
+            echo -e "${YELLOW}[WARNING]${NC} $message"
+            ;;
+        "ERROR")
+            echo -e "${RED}[ERROR]${NC} $message"
+            ;;
+    esac
+}
+
+if [ ! -f "$FILE" ]; then
+    print_status "ERROR" "File not found: $FILE"
+    exit 1
+fi
+
+if [ -z "$FORMAT" ]; then
+    first_char=$(tr -d ' \t\r\n' < "$FILE" | head -c 1)
+    if [ "$first_char" = "[" ]; then
+        FORMAT="json"
+    else
+        FORMAT="ndjson"
+    fi
+fi
+case $FORMAT in
+    "json")
+        content_type="application/json"
+        ;;
+    "ndjson")
+        content_type="application/x-ndjson"
+        ;;
+    *)
+        print_status "ERROR" "Unknown content type: $FORMAT (expected json or ndjson)"
+        exit 1
+        ;;
+esac
+
+print_status "INFO" "Importing $FILE as $FORMAT"
+response=$(mktemp)
+start=$(date +%s.%N)
+status_code=$(curl -s -o "$response" -w "%{http_code}" -X POST \
+    -H "Content-Type: $content_type" -H "Transfer-Encoding: chunked" \
+    --data-binary @"$FILE" \
+    "$BASE_URL:$STUDENT_PORT/api/students/import")
+end=$(date +%s.%N)
+
+if [ "$status_code" != "200" ]; then
+    print_status "ERROR" "Import failed (HTTP $status_code)"
+    rm -f "$response"
+    exit 1
+fi
+
+body=$(cat "$response")
+rm -f "$response"
+field() {
+    echo "$body" | grep -o "\"$1\":[0-9.]*" | head -1 | cut -d: -f2
+}
+requested=$(field requested)
+imported=$(field imported)
+failed=$(field failed)
+server_rate=$(field rowsPerSecond)
+elapsed=$(echo "$end - $start" | bc)
+client_rate=$(echo "scale=1; $requested / $elapsed" | bc)
+
+echo "----------------------------------------"
+print_status "INFO" "Rows: $requested, imported: $imported, failed: $failed"
+print_status "INFO" "Server throughput: ${server_rate} rows/s"
+print_status "INFO" "End-to-end: ${elapsed}s, ${client_rate} rows/s"
+
+if [ "$failed" != "0" ]; then
+    print_status "WARNING" "Failed rows (index, studentId, error):"
+    echo "$body" | grep -o '{"index":[^}]*}' | sed 's/^/  /'
+    exit 2
+fi
+print_status "SUCCESS" "All rows imported"
@@ -0,0 +1,90 @@
+#!/bin/bash
+
+# Notification Read Path Heap Check
+# Seeds one recipient with ROWS notifications, reads them repeatedly through the
+# full and summary list views, and reports the heap allocated per 10k rows from
+# the jvm.gc.memory.allocated counter. Run it against the commit before the
+# projection queries (where ?view is ignored and entities are loaded) to get the
+# baseline figure.
+#
+# The counter only moves when a young GC runs, so keep ITERATIONS high enough
+# that each view allocates several times the young generation.
+#
+# Usage: ./script/projection-heap.sh [rows] [iterations]
+
+# Colors for output
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+BLUE='\033[0;34m'
+NC='\033[0m' # No Color
+
+# Configuration
+BASE_URL="http://localhost"
+NOTIFICATION_PORT=8085
+ROWS=${1:-10000}
+ITERATIONS=${2:-20}
+RECIPIENT="BENCH$(date +%s)"
+PSQL="docker exec -i postgres-notification psql -q -U notification_user -d notification_db"
+
+print_status() {
+    local status=$1
+    local message=$2
+    case $status in
+        "INFO")
+            echo -e "${BLUE}[INFO]${NC} $message"
+            ;;
+        "SUCCESS")
+            echo -e "${GREEN}[SUCCESS]${NC} $message"
+            ;;
+        "ERROR")
+            echo -e "${RED}[ERROR]${NC} $message"
+            ;;
+    esac
+}
+
+allocated_bytes() {
+    local value
+    value=$(curl -s "$BASE_URL:$NOTIFICATION_PORT/actuator/metrics/jvm.gc.memory.allocated" \
+        | grep -o '"value":[0-9.E+]*' | head -1 | cut -d: -f2)
+    # Large counters come back in E notation, which bc does not read
+    printf '%.0f' "$value"
+}
+
+measure() {
+    local view=$1
+    local before after
+    # One warm-up read so class loading and query plan caching are not counted
+    curl -s -o /dev/null "$BASE_URL:$NOTIFICATION_PORT/api/notifications/recipient/$RECIPIENT?view=$view"
+    before=$(allocated_bytes)
+    for _ in $(seq 1 "$ITERATIONS"); do
+        curl -s -o /dev/null "$BASE_URL:$NOTIFICATION_PORT/api/notifications/recipient/$RECIPIENT?view=$view"
+    done
+    after=$(allocated_bytes)
+    echo "scale=1; ($after - $before) / $ITERATIONS * 10000 / $ROWS / 1048576" | bc
+}
+
+print_status "INFO" "Seeding $ROWS notifications for $RECIPIENT"
+if ! $PSQL <<SQL
+INSERT INTO notifications (recipient_id, recipient_type, title, message, type, priority, status,
+                           delivery_attempts, max_delivery_attempts, metadata, template_variables,
+                           source_service, channel, created_at, updated_at)
+SELECT '$RECIPIENT', 'STUDENT', 'Thong bao so ' || g, repeat('Noi dung thong bao. ', 40), 'GENERAL',
+       'MEDIUM', 'DELIVERED', 1, 3, '{"course":"CS' || g || '","semester":"SPRING"}',
+       '{"name":"Sinh vien ' || g || '"}', 'benchmark', 'EMAIL', now(), now()
+FROM generate_series(1, $ROWS) AS g;
+SQL
+then
+    print_status "ERROR" "Could not seed notifications (is postgres-notification running?)"
+    exit 1
+fi
+
+print_status "INFO" "Reading $ITERATIONS times per view"
+full=$(measure full)
+summary=$(measure summary)
+
+$PSQL -c "DELETE FROM notifications WHERE recipient_id = '$RECIPIENT'"
+
+echo "----------------------------------------"
+print_status "INFO" "view=full:    ${full} MB allocated per 10k rows"
+print_status "INFO" "view=summary: ${summary} MB allocated per 10k rows"
+print_status "SUCCESS" "Done; compare with the same run on the previous commit for the entity-loading baseline"
@@ -0,0 +1,90 @@
+#!/bin/bash
+
+# Seat Reservation Contention Check
+# Fires many concurrent reservations at one small course and verifies that exactly
+# "capacity" of them succeed, then reports the request throughput.
+#
+# Usage: ./script/seat-contention.sh [requests] [concurrency] [capacity]
+
+# Colors for output
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+BLUE='\033[0;34m'
+NC='\033[0m' # No Color
+
+# Configuration
+BASE_URL="http://localhost"
+COURSE_PORT=8082
+REQUESTS=${1:-2000}
+CONCURRENCY=${2:-64}
+CAPACITY=${3:-50}
+COURSE_CODE="LOAD$(date +%s)"
+
+print_status() {
+    local status=$1
+    local message=$2
+    case $status in
+        "INFO")
+            echo -e "${BLUE}[INFO]${NC} $message"
+            ;;
+        "SUCCESS")
+            echo -e "${GREEN}[SUCCESS]${NC} $message"
+            ;;
+        "ERROR")
+            echo -e "${RED}[ERROR]${NC} $message"
+            ;;
+    esac
+}
+
+course_data='{
+    "courseCode": "'"$COURSE_CODE"'",
+    "courseName": "Seat contention check",
+    "credits": 3,
+    "department": "Khoa Cong nghe thong tin",
+    "level": "UNDERGRADUATE",
+    "status": "ACTIVE",
+    "capacity": '"$CAPACITY"',
+    "enrolledCount": 0,
+    "academicYear": 2024,
+    "semester": "SPRING"
+}'
+
+print_status "INFO" "Creating course $COURSE_CODE with capacity $CAPACITY"
+status_code=$(curl -s -o /dev/null -w "%{http_code}" -X POST \
+    -H "Content-Type: application/json" -d "$course_data" \
+    "$BASE_URL:$COURSE_PORT/api/courses")
+if [ "$status_code" != "201" ]; then
+    print_status "ERROR" "Could not create course (HTTP $status_code)"
+    exit 1
+fi
+
+print_status "INFO" "Sending $REQUESTS reservations with concurrency $CONCURRENCY"
+results=$(mktemp)
+start=$(date +%s.%N)
+seq 1 "$REQUESTS" | xargs -P "$CONCURRENCY" -I{} \
+    curl -s -o /dev/null -w "%{http_code}\n" -X POST \
+        -H "Content-Type: application/json" \
+        -d '{"studentId": "SV{}"}' \
+        "$BASE_URL:$COURSE_PORT/api/courses/$COURSE_CODE/reservations" >> "$results"
+end=$(date +%s.%N)
+
+created=$(grep -c "^201$" "$results")
+rejected=$(grep -c "^409$" "$results")
+other=$((REQUESTS - created - rejected))
+elapsed=$(echo "$end - $start" | bc)
+throughput=$(echo "scale=1; $REQUESTS / $elapsed" | bc)
+rm -f "$results"
+
+enrolled=$(curl -s "$BASE_URL:$COURSE_PORT/api/courses/code/$COURSE_CODE" | grep -o '"enrolledCount":[0-9]*' | cut -d: -f2)
+
+echo "----------------------------------------"
+print_status "INFO" "Reserved: $created, rejected: $rejected, other: $other"
+print_status "INFO" "Enrolled count after run: $enrolled"
+print_status "INFO" "Elapsed: ${elapsed}s, throughput: ${throughput} req/s"
+
+if [ "$created" = "$CAPACITY" ] && [ "$enrolled" = "$CAPACITY" ] && [ "$other" = "0" ]; then
+    print_status "SUCCESS" "No over-booking: exactly $CAPACITY seats were taken"
+else
+    print_status "ERROR" "Seat count mismatch (expected $CAPACITY)"
+    exit 1
+fi
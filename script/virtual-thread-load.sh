@@ -0,0 +1,118 @@
+#!/bin/bash
+
+# Virtual Thread Load Check
+# Holds CONNECTIONS concurrent connections against one endpoint with wrk and
+# reports throughput, latency, live/peak threads and JVM memory. Run it once with
+# the service started normally and once with VIRTUAL_THREADS_ENABLED=true, then
+# compare the two reports.
+#
+# The default target creates an EMAIL notification, which blocks ~100 ms in
+# EmailService. That time is spent inside the transaction, so it also holds a
+# pooled connection. Raise SPRING_DATASOURCE_HIKARI_MAXIMUM_POOL_SIZE for both
+# runs, or the pool rather than the request threads sets the ceiling.
+#
+# Usage: ./script/virtual-thread-load.sh [label] [connections] [duration] [url]
+#   label        printed with the results, e.g. platform or virtual
+#   connections  defaults to 5000 (raise the open-files limit first: ulimit -n 65535)
+#   duration     wrk duration, defaults to 60s
+#   url          GET this URL instead of POSTing notifications
+
+# Colors for output
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+BLUE='\033[0;34m'
+NC='\033[0m' # No Color
+
+# Configuration
+BASE_URL="http://localhost"
+NOTIFICATION_PORT=8085
+LABEL=${1:-run}
+CONNECTIONS=${2:-5000}
+DURATION=${3:-60s}
+TARGET_URL=${4:-}
+THREADS=${WRK_THREADS:-8}
+
+print_status() {
+    local status=$1
+    local message=$2
+    case $status in
+        "INFO")
+            echo -e "${BLUE}[INFO]${NC} $message"
+            ;;
+        "SUCCESS")
+            echo -e "${GREEN}[SUCCESS]${NC} $message"
+            ;;
+        "ERROR")
+            echo -e "${RED}[ERROR]${NC} $message"
+            ;;
+    esac
+}
+
+metric() {
+    local name=$1
+    local query=$2
+    local value
+    value=$(curl -s "$BASE_URL:$NOTIFICATION_PORT/actuator/metrics/$name$query" \
+        | grep -o '"value":[0-9.E+]*' | head -1 | cut -d: -f2)
+    printf '%.0f' "${value:-0}"
+}
+
+megabytes() {
+    echo "scale=1; $1 / 1048576" | bc
+}
+
+if ! command -v wrk > /dev/null; then
+    print_status "ERROR" "wrk is required (https://github.com/wg/wrk)"
+    exit 1
+fi
+
+if [ -z "$TARGET_URL" ]; then
+    TARGET_URL="$BASE_URL:$NOTIFICATION_PORT/api/notifications"
+    wrk_script=$(mktemp)
+    cat > "$wrk_script" <<'LUA'
+wrk.method = "POST"
+wrk.headers["Content-Type"] = "application/json"
+counter = 0
+request = function()
+    counter = counter + 1
+    local body = string.format('{"recipientId":"LOAD%d","recipientType":"STUDENT","title":"Load test",' ..
+        '"message":"Virtual thread load test","type":"GENERAL","priority":"LOW","channel":"EMAIL"}', counter)
+    return wrk.format(nil, nil, nil, body)
+end
+LUA
+    wrk_args=(-s "$wrk_script")
+else
+    wrk_args=()
+fi
+
+print_status "INFO" "[$LABEL] $CONNECTIONS connections for $DURATION against $TARGET_URL"
+threads_before=$(metric jvm.threads.live)
+
+# Sample memory halfway through, while all connections are open
+half=$(echo "${DURATION%s} / 2" | bc)
+samples=$(mktemp)
+(
+    sleep "$half"
+    echo "heap $(metric jvm.memory.used '?tag=area:heap')" >> "$samples"
+    echo "nonheap $(metric jvm.memory.used '?tag=area:nonheap')" >> "$samples"
+    echo "committed $(metric jvm.memory.committed)" >> "$samples"
+    echo "live $(metric jvm.threads.live)" >> "$samples"
+) &
+sampler=$!
+
+wrk -t"$THREADS" -c"$CONNECTIONS" -d"$DURATION" --timeout 30s --latency "${wrk_args[@]}" "$TARGET_URL" | tee /tmp/wrk-$LABEL.txt
+wait $sampler
+rm -f "$wrk_script"
+
+heap=$(grep '^heap' "$samples" | cut -d' ' -f2)
+nonheap=$(grep '^nonheap' "$samples" | cut -d' ' -f2)
+committed=$(grep '^committed' "$samples" | cut -d' ' -f2)
+threads_live=$(grep '^live' "$samples" | cut -d' ' -f2)
+threads_peak=$(metric jvm.threads.peak)
+rm -f "$samples"
+
+echo "----------------------------------------"
+print_status "INFO" "[$LABEL] $(grep 'Requests/sec' /tmp/wrk-$LABEL.txt)"
+print_status "INFO" "[$LABEL] Platform threads: $threads_before before, $threads_live under load, $threads_peak peak"
+print_status "INFO" "[$LABEL] JVM memory under load: heap $(megabytes "$heap") MB, non-heap $(megabytes "$nonheap") MB, committed $(megabytes "$committed") MB"
+print_status "SUCCESS" "Full wrk output saved to /tmp/wrk-$LABEL.txt"
@@ -1,8 +1,17 @@
 package com.kma.studentsystem.student_service.config;
 
 import com.kma.studentsystem.student_service.event.StudentEvent;
+import com.kma.studentsystem.student_service.event.StudentState;
+import com.kma.studentsystem.student_service.service.StudentStatePublisher;
+import com.kma.studentsystem.student_service.tracing.CorrelationProducerInterceptor;
+import com.kma.studentsystem.student_service.tracing.EventLatencyTracker;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,21 +19,37 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Configuration
 @EnableKafka
+@RequiredArgsConstructor
 public class KafkaConfig {
     
+    private final EventLatencyTracker eventLatencyTracker;
+    private final KafkaListenerMetrics kafkaListenerMetrics;
+    private final KafkaProducerMetrics kafkaProducerMetrics;
+    
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
     
+    @Value("${kafka.producer.profile:low-latency}")
+    private String producerProfile;
+    
+    @Value("${state.topic.partitions:3}")
+    private int stateTopicPartitions;
+    
+    @Value("${state.topic.replicas:1}")
+    private int stateTopicReplicas;
+    
     @Value("${spring.kafka.security.enabled:false}")
     private boolean securityEnabled;
     
@@ -48,26 +73,65 @@ public class KafkaConfig {
     
     @Bean
     public ProducerFactory<String, StudentEvent> producerFactory() {
+        return new DefaultKafkaProducerFactory<>(producerConfigs());
+    }
+    
+    @Bean
+    public KafkaTemplate<String, StudentEvent> kafkaTemplate() {
+        KafkaTemplate<String, StudentEvent> template = new KafkaTemplate<>(producerFactory());
+        kafkaProducerMetrics.instrument(template);
+        return template;
+    }
+    
+    @Bean
+    public NewTopic studentStateTopic() {
+        return TopicBuilder.name(StudentStatePublisher.STUDENT_STATE_TOPIC)
+                .partitions(stateTopicPartitions)
+                .replicas(stateTopicReplicas)
+                .compact()
+                .build();
+    }
+    
+    @Bean
+    public ProducerFactory<String, StudentState> studentStateProducerFactory() {
+        return new DefaultKafkaProducerFactory<>(producerConfigs());
+    }
+    
+    @Bean
+    public KafkaTemplate<String, StudentState> studentStateKafkaTemplate() {
+        KafkaTemplate<String, StudentState> template = new KafkaTemplate<>(studentStateProducerFactory());
+        kafkaProducerMetrics.instrument(template);
+        return template;
+    }
+
+    // Reads state topic keys on startup, assigned to partitions directly and never committing offsets
+    @Bean
+    public ConsumerFactory<String, byte[]> stateKeyConsumerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        if (securityEnabled) {
+            configureSecurityProperties(configProps);
+        }
+        return new DefaultKafkaConsumerFactory<>(configProps);
+    }
+    
+    private Map<String, Object> producerConfigs() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
-        configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
-        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
-        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 1);
+        configProps.put(ProducerConfig.INTERCEPTOR_CLASSES_CONFIG, CorrelationProducerInterceptor.class.getName());
+        KafkaProducerProfile.fromName(producerProfile).apply(configProps);
         
         // Security configurations
         if (securityEnabled) {
             configureSecurityProperties(configProps);
         }
         
-        return new DefaultKafkaProducerFactory<>(configProps);
-    }
-    
-    @Bean
-    public KafkaTemplate<String, StudentEvent> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+        return configProps;
     }
     
     @Bean
@@ -99,10 +163,23 @@ public class KafkaConfig {
         ConcurrentKafkaListenerContainerFactory<String, StudentEvent> factory = 
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        factory.setRecordInterceptor(eventLatencyTracker.recordInterceptor());
+        kafkaListenerMetrics.instrument(factory);
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
         return factory;
     }
     
+    // Partition numbers of a topic, for listeners that assign themselves every partition instead of joining a group
+    public String[] partitionsOf(String topic) {
+        try (Consumer<String, StudentEvent> consumer = consumerFactory().createConsumer()) {
+            List<PartitionInfo> partitions = consumer.partitionsFor(topic);
+            if (partitions == null || partitions.isEmpty()) {
+                throw new RuntimeException("Topic " + topic + " has no partitions");
+            }
+            return partitions.stream().map(partition -> String.valueOf(partition.partition())).toArray(String[]::new);
+        }
+    }
+    
     private void configureSecurityProperties(Map<String, Object> configProps) {
         // SSL/TLS Configuration
         if (!keystoreLocation.isEmpty()) {
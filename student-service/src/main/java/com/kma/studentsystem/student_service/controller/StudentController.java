@@ -1,16 +1,31 @@
 package com.kma.studentsystem.student_service.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kma.studentsystem.student_service.dto.StudentDTO;
+import com.kma.studentsystem.student_service.dto.StudentImportResultDTO;
+import com.kma.studentsystem.student_service.dto.StudentLookupDTO;
+import com.kma.studentsystem.student_service.dto.StudentStatisticsDTO;
 import com.kma.studentsystem.student_service.model.Student;
+import com.kma.studentsystem.student_service.service.StudentImportService;
 import com.kma.studentsystem.student_service.service.StudentService;
+import com.kma.studentsystem.student_service.web.ResourceVersion;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -21,6 +36,8 @@ import java.util.Optional;
 public class StudentController {
     
     private final StudentService studentService;
+    private final StudentImportService studentImportService;
+    private final ObjectMapper objectMapper;
     
     @PostMapping
     public ResponseEntity<StudentDTO> createStudent(@Valid @RequestBody StudentDTO studentDTO) {
@@ -34,25 +51,46 @@ public class StudentController {
         }
     }
     
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<StudentImportResultDTO> importStudents(InputStream body) {
+        log.info("POST /api/students/import - Importing students");
+        try {
+            StudentImportResultDTO result = studentImportService.importStudents(body);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            log.error("Error importing students: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+    
     @GetMapping
-    public ResponseEntity<List<StudentDTO>> getAllStudents() {
+    public ResponseEntity<List<StudentDTO>> getAllStudents(WebRequest request) {
         log.info("GET /api/students - Retrieving all students");
+        if (studentService.getStudentsVersion().notModified(request)) {
+            return null;
+        }
         List<StudentDTO> students = studentService.getAllStudents();
         return ResponseEntity.ok(students);
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<StudentDTO> getStudentById(@PathVariable Long id) {
+    public ResponseEntity<StudentDTO> getStudentById(@PathVariable Long id, WebRequest request) {
         log.info("GET /api/students/{} - Retrieving student by ID", id);
         Optional<StudentDTO> student = studentService.getStudentById(id);
+        if (student.isPresent() && versionOf(student.get()).notModified(request)) {
+            return null;
+        }
         return student.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping("/student-id/{studentId}")
-    public ResponseEntity<StudentDTO> getStudentByStudentId(@PathVariable String studentId) {
+    public ResponseEntity<StudentDTO> getStudentByStudentId(@PathVariable String studentId, WebRequest request) {
         log.info("GET /api/students/student-id/{} - Retrieving student by student ID", studentId);
         Optional<StudentDTO> student = studentService.getStudentByStudentId(studentId);
+        if (student.isPresent() && versionOf(student.get()).notModified(request)) {
+            return null;
+        }
         return student.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -70,6 +108,18 @@ public class StudentController {
         }
     }
     
+    @PatchMapping(value = "/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/merge-patch+json"})
+    public ResponseEntity<StudentDTO> patchStudent(@PathVariable Long id, @RequestBody JsonNode patch) {
+        log.info("PATCH /api/students/{} - Patching student", id);
+        try {
+            StudentDTO patchedStudent = studentService.patchStudent(id, patch);
+            return ResponseEntity.ok(patchedStudent);
+        } catch (Exception e) {
+            log.error("Error patching student: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteStudent(@PathVariable Long id) {
         log.info("DELETE /api/students/{} - Deleting student", id);
@@ -82,24 +132,62 @@ public class StudentController {
         }
     }
     
+    // A read sent as POST only because thousands of ids do not fit in a query string
+    @PostMapping("/lookup")
+    public ResponseEntity<StreamingResponseBody> lookupStudents(@RequestBody List<String> studentIds) {
+        log.info("POST /api/students/lookup - Looking up {} students", studentIds.size());
+        try {
+            studentService.checkLookupRequest(studentIds);
+        } catch (Exception e) {
+            log.error("Error looking up students: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        // Results are written chunk by chunk, in request order, as each chunk is resolved
+        StreamingResponseBody body = output -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(output)) {
+                generator.writeStartArray();
+                studentService.lookupStudents(studentIds, results -> {
+                    try {
+                        for (StudentLookupDTO result : results) {
+                            generator.writeObject(result);
+                        }
+                        generator.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+    
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<StudentDTO>> getStudentsByStatus(@PathVariable Student.StudentStatus status) {
+    public ResponseEntity<List<StudentDTO>> getStudentsByStatus(@PathVariable Student.StudentStatus status,
+                                                                WebRequest request) {
         log.info("GET /api/students/status/{} - Retrieving students by status", status);
+        if (studentService.getStudentsVersionByStatus(status).notModified(request)) {
+            return null;
+        }
         List<StudentDTO> students = studentService.getStudentsByStatus(status);
         return ResponseEntity.ok(students);
     }
     
     @GetMapping("/major/{major}")
-    public ResponseEntity<List<StudentDTO>> getStudentsByMajor(@PathVariable String major) {
+    public ResponseEntity<List<StudentDTO>> getStudentsByMajor(@PathVariable String major, WebRequest request) {
         log.info("GET /api/students/major/{} - Retrieving students by major", major);
+        if (studentService.getStudentsVersionByMajor(major).notModified(request)) {
+            return null;
+        }
         List<StudentDTO> students = studentService.getStudentsByMajor(major);
         return ResponseEntity.ok(students);
     }
     
     @GetMapping("/search")
-    public ResponseEntity<List<StudentDTO>> searchStudentsByName(@RequestParam String name) {
-        log.info("GET /api/students/search?name={} - Searching students by name", name);
-        List<StudentDTO> students = studentService.searchStudentsByName(name);
+    public ResponseEntity<List<StudentDTO>> searchStudents(@RequestParam String name,
+                                                          @RequestParam(required = false) Integer limit) {
+        log.info("GET /api/students/search?name={} - Searching students by name, student ID or email", name);
+        List<StudentDTO> students = studentService.searchStudents(name, limit);
         return ResponseEntity.ok(students);
     }
     
@@ -117,9 +205,46 @@ public class StudentController {
         return ResponseEntity.ok(averageGpa);
     }
     
+    @GetMapping("/stats")
+    public ResponseEntity<StudentStatisticsDTO> getStatistics() {
+        log.info("GET /api/students/stats - Getting student statistics");
+        return ResponseEntity.ok(studentService.getStatistics());
+    }
+    
+    @GetMapping("/stats/by-major")
+    public ResponseEntity<Map<String, StudentStatisticsDTO.Breakdown>> getStatisticsByMajor() {
+        log.info("GET /api/students/stats/by-major - Getting student statistics by major");
+        return ResponseEntity.ok(studentService.getStatisticsByMajor());
+    }
+    
+    @GetMapping("/stats/by-enrollment-year")
+    public ResponseEntity<Map<Integer, StudentStatisticsDTO.Breakdown>> getStatisticsByEnrollmentYear() {
+        log.info("GET /api/students/stats/by-enrollment-year - Getting student statistics by enrollment year");
+        return ResponseEntity.ok(studentService.getStatisticsByEnrollmentYear());
+    }
+    
+    @GetMapping("/stats/gpa-histogram")
+    public ResponseEntity<List<StudentStatisticsDTO.GpaBucket>> getGpaHistogram(@RequestParam(required = false) String major,
+                                                                               @RequestParam(required = false) Integer enrollmentYear) {
+        log.info("GET /api/students/stats/gpa-histogram?major={}&enrollmentYear={} - Getting GPA histogram", major, enrollmentYear);
+        try {
+            return ResponseEntity.ok(studentService.getGpaHistogram(major, enrollmentYear));
+        } catch (Exception e) {
+            log.error("Error getting GPA histogram: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+    
     @GetMapping("/health")
     public ResponseEntity<String> healthCheck() {
         log.info("GET /api/students/health - Health check");
         return ResponseEntity.ok("Student Service is running!");
     }
+    
+    // Helper methods
+    private static ResourceVersion versionOf(StudentDTO student) {
+        // Tagged from the cached row, so a cache hit answers 304 without touching the database
+        return ResourceVersion.ofEntity("student", student.getId(), null,
+                student.getUpdatedAt() != null ? student.getUpdatedAt() : student.getCreatedAt());
+    }
 }
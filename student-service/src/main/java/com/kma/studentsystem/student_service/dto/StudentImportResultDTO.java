@@ -0,0 +1,46 @@
+package com.kma.studentsystem.student_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentImportResultDTO {
+
+    private int requested;
+    private int imported;
+    private int failed;
+    private int chunks;
+    // Imported rows whose StudentCreated event was not delivered
+    private int eventsFailed;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int index;
+        private String studentId;
+        private String email;
+        private String error;
+    }
+
+    // Helper methods
+    public void addError(int index, StudentDTO student, String error) {
+        errors.add(new RowError(index, student != null ? student.getStudentId() : null,
+                student != null ? student.getEmail() : null, error));
+        failed++;
+    }
+
+    public void finish(long elapsedNanos) {
+        elapsedMillis = elapsedNanos / 1_000_000;
+        rowsPerSecond = elapsedNanos > 0 ? Math.round(requested * 1e10 / elapsedNanos) / 10.0 : 0;
+    }
+}
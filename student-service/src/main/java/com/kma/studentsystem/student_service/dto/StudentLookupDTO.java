@@ -0,0 +1,15 @@
+package com.kma.studentsystem.student_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentLookupDTO {
+    
+    private String studentId;
+    private boolean found;
+    private StudentDTO student;
+}
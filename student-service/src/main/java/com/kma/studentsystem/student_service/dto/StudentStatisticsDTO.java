@@ -0,0 +1,43 @@
+package com.kma.studentsystem.student_service.dto;
+
+import com.kma.studentsystem.student_service.model.Student;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentStatisticsDTO {
+
+    private Breakdown overall;
+    private Map<Student.StudentStatus, Long> byStatus;
+    private LocalDateTime reconciledAt;
+
+    /**
+     * Counts for all students in a group; the GPA figures cover its active students with a GPA,
+     * like /stats/average-gpa.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Breakdown {
+        private long total;
+        private long active;
+        private Double averageGpa;
+        private List<GpaBucket> gpaHistogram;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class GpaBucket {
+        private double from;
+        private double to;
+        private long count;
+    }
+}
@@ -1,11 +1,15 @@
 package com.kma.studentsystem.student_service.event;
 
 import com.kma.studentsystem.student_service.model.Student;
+import com.kma.studentsystem.student_service.tracing.CorrelationContext;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -15,10 +19,14 @@ public class StudentEvent {
     private String eventId;
     private String eventType;
     private String studentId;
+    // Database id of the student, for events that do not carry the student itself
+    private Long entityId;
     private Student student;
     private LocalDateTime timestamp;
     private String source;
     private String correlationId;
+    private List<String> changedFields;
+    private Map<String, Object> changes;
     
     public static StudentEvent createStudentCreatedEvent(Student student) {
         StudentEvent event = new StudentEvent();
@@ -28,7 +36,7 @@ public class StudentEvent {
         event.setStudent(student);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("student-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         return event;
     }
     
@@ -40,19 +48,36 @@ public class StudentEvent {
         event.setStudent(student);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("student-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         return event;
     }
     
-    public static StudentEvent createStudentDeletedEvent(String studentId) {
+    // Partial update: only the changed fields and their new values, no full student
+    public static StudentEvent createStudentPatchedEvent(Student student, Map<String, Object> changes) {
+        StudentEvent event = new StudentEvent();
+        event.setEventId(java.util.UUID.randomUUID().toString());
+        event.setEventType("StudentUpdated");
+        event.setStudentId(student.getStudentId());
+        event.setEntityId(student.getId());
+        event.setStudent(null);
+        event.setTimestamp(LocalDateTime.now());
+        event.setSource("student-service");
+        event.setCorrelationId(CorrelationContext.currentOrNew());
+        event.setChangedFields(new ArrayList<>(changes.keySet()));
+        event.setChanges(changes);
+        return event;
+    }
+    
+    public static StudentEvent createStudentDeletedEvent(Long id, String studentId) {
         StudentEvent event = new StudentEvent();
         event.setEventId(java.util.UUID.randomUUID().toString());
         event.setEventType("StudentDeleted");
         event.setStudentId(studentId);
+        event.setEntityId(id);
         event.setStudent(null);
         event.setTimestamp(LocalDateTime.now());
         event.setSource("student-service");
-        event.setCorrelationId(java.util.UUID.randomUUID().toString());
+        event.setCorrelationId(CorrelationContext.currentOrNew());
         return event;
     }
 }
@@ -0,0 +1,44 @@
+package com.kma.studentsystem.student_service.event;
+
+import com.kma.studentsystem.student_service.model.Student;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Latest state of a student, published to the compacted student-state topic keyed by studentId.
+ * A null value (tombstone) means the student was deleted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentState {
+    
+    private String studentId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phoneNumber;
+    private String major;
+    private String status;
+    private Integer enrollmentYear;
+    private Double gpa;
+    private LocalDateTime updatedAt;
+    
+    public static StudentState fromStudent(Student student) {
+        StudentState state = new StudentState();
+        state.setStudentId(student.getStudentId());
+        state.setFirstName(student.getFirstName());
+        state.setLastName(student.getLastName());
+        state.setEmail(student.getEmail());
+        state.setPhoneNumber(student.getPhoneNumber());
+        state.setMajor(student.getMajor());
+        state.setStatus(student.getStatus() != null ? student.getStatus().name() : null);
+        state.setEnrollmentYear(student.getEnrollmentYear());
+        state.setGpa(student.getGpa());
+        state.setUpdatedAt(student.getUpdatedAt());
+        return state;
+    }
+}
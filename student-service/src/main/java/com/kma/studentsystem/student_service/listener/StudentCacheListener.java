@@ -0,0 +1,49 @@
+package com.kma.studentsystem.student_service.listener;
+
+import com.kma.studentsystem.student_service.event.StudentEvent;
+import com.kma.studentsystem.student_service.service.StudentCache;
+import com.kma.studentsystem.student_service.service.StudentService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Every instance keeps its own student cache and search index, so each one reads all of student-events. The
+ * partitions are assigned directly rather than through a consumer group, so restarts leave no groups behind,
+ * and reading starts at the head because only changes made from now on matter.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StudentCacheListener implements ConsumerSeekAware {
+    
+    private final StudentCache studentCache;
+    private final StudentService studentService;
+    
+    @Override
+    public void onPartitionsAssigned(Map<org.apache.kafka.common.TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        callback.seekToEnd(assignments.keySet());
+    }
+    
+    // Never acknowledged, so nothing is committed under the group id
+    @KafkaListener(groupId = "student-service-cache", topicPartitions = @TopicPartition(topic = "student-events",
+                   partitions = "#{@kafkaConfig.partitionsOf('student-events')}"))
+    public void invalidateCachedStudent(@Payload StudentEvent event) {
+        Long id = event.getStudent() != null ? event.getStudent().getId() : event.getEntityId();
+        studentCache.invalidate(id, event.getStudentId());
+        log.debug("Invalidated cached student {} after {}", event.getStudentId(), event.getEventType());
+        
+        // This is how the search index learns about writes made on other instances
+        try {
+            studentService.applyToSearchIndex(event);
+        } catch (RuntimeException e) {
+            log.warn("Could not apply {} for student {} to the search index", event.getEventType(), event.getStudentId(), e);
+        }
+    }
+}
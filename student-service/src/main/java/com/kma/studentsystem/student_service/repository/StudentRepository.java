@@ -1,11 +1,16 @@
 package com.kma.studentsystem.student_service.repository;
 
 import com.kma.studentsystem.student_service.model.Student;
+import com.kma.studentsystem.student_service.web.CollectionVersion;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +19,13 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     
     Optional<Student> findByStudentId(String studentId);
     
+    List<Student> findByStudentIdIn(Collection<String> studentIds);
+    
+    // Share lock held for the caller's transaction: updates to these rows wait until it ends
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT s FROM Student s WHERE s.studentId IN :studentIds")
+    List<Student> findByStudentIdInForShare(@Param("studentIds") Collection<String> studentIds);
+    
     Optional<Student> findByEmail(String email);
     
     List<Student> findByStatus(Student.StudentStatus status);
@@ -43,7 +55,47 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     @Query("SELECT AVG(s.gpa) FROM Student s WHERE s.major = :major AND s.status = 'ACTIVE' AND s.gpa IS NOT NULL")
     Double getAverageGpaByMajor(@Param("major") String major);
     
+    // One row per (status, major, enrollment year, half-point GPA band) for rebuilding the in-memory statistics
+    @Query("SELECT s.status, s.major, s.enrollmentYear, FLOOR(s.gpa * 2), COUNT(s), SUM(s.gpa) FROM Student s " +
+           "GROUP BY s.status, s.major, s.enrollmentYear, FLOOR(s.gpa * 2)")
+    List<Object[]> aggregateStatistics();
+    
+    // A REPEATABLE READ transaction takes its snapshot at its first statement; this one only does that
+    @Query(value = "SELECT 1", nativeQuery = true)
+    int takeSnapshot();
+    
     boolean existsByStudentId(String studentId);
     
     boolean existsByEmail(String email);
+    
+    @Query("SELECT s.studentId FROM Student s WHERE s.studentId IN :studentIds")
+    List<String> findExistingStudentIds(@Param("studentIds") Collection<String> studentIds);
+    
+    @Query("SELECT s.email FROM Student s WHERE s.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
+    @Query("SELECT s.studentId FROM Student s")
+    List<String> findAllStudentIds();
+    
+    // Transaction-scoped advisory lock; false when another transaction holds it
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext(:lockKey))", nativeQuery = true)
+    boolean tryAdvisoryLock(@Param("lockKey") String lockKey);
+    
+    // Count and latest change of each list endpoint's rows, for its ETag
+    @Query("SELECT COUNT(s) AS rowCount, MAX(COALESCE(s.updatedAt, s.createdAt)) AS lastModified FROM Student s")
+    CollectionVersion findCollectionVersion();
+    
+    @Query("SELECT COUNT(s) AS rowCount, MAX(COALESCE(s.updatedAt, s.createdAt)) AS lastModified FROM Student s " +
+           "WHERE s.status = :status")
+    CollectionVersion findCollectionVersionByStatus(@Param("status") Student.StudentStatus status);
+    
+    @Query("SELECT COUNT(s) AS rowCount, MAX(COALESCE(s.updatedAt, s.createdAt)) AS lastModified FROM Student s " +
+           "WHERE s.major = :major")
+    CollectionVersion findCollectionVersionByMajor(@Param("major") String major);
+    
+    // Latest insert, update or delete anywhere in students, for a list's Last-Modified: deleted rows and rows
+    // that left the list no longer count towards its max(updatedAt). Deletes are stamped by a trigger
+    @Query(value = "SELECT GREATEST((SELECT MAX(COALESCE(updated_at, created_at)) FROM students), " +
+                   "(SELECT deleted_at FROM deletion_watermarks WHERE table_name = 'students'))", nativeQuery = true)
+    LocalDateTime findLastChange();
 }
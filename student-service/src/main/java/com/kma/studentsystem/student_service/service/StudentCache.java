@@ -0,0 +1,206 @@
+package com.kma.studentsystem.student_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.kma.studentsystem.student_service.dto.StudentDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of StudentDTO by database id and by student id.
+ *
+ * Both maps are bounded Caffeine caches, whose W-TinyLFU admission keeps the frequently looked
+ * up students when a burst of one-off reads (a report, an import) would otherwise flush them.
+ * Local writes invalidate after commit; student-events, which StudentService sends after commit,
+ * invalidates the entries of every instance.
+ *
+ * Stale-read bound: an instance serves an outdated student for the time the committed change takes
+ * to reach it over student-events, normally well under a second. A read that loaded the old row
+ * from a lagging read replica can cache it again after that invalidation, so every invalidation is
+ * repeated after second-invalidation-delay-ms, which is set above the replica's maximum lag.
+ * Rows put into the other key's map, or cached by putLoaded, are dropped again if any invalidation
+ * ran while they were being loaded. ttl-seconds stays the hard upper bound.
+ * Misses are cached only when negative-ttl-seconds is above zero, and for no longer than that.
+ *
+ * Metrics: cache.gets{cache=students.by-id|students.by-student-id,result=hit|miss},
+ * cache.evictions, cache.size.
+ */
+@Component
+@RequiredArgsConstructor
+public class StudentCache {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${student.cache.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${student.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${student.cache.negative-ttl-seconds:0}")
+    private long negativeTtlSeconds;
+
+    @Value("${student.cache.second-invalidation-delay-ms:10000}")
+    private long secondInvalidationDelayMillis;
+
+    // Bumped before every invalidation; a load that sees it move may hold a row from before the write
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private Cache<Long, Optional<StudentDTO>> byId;
+    private Cache<String, Optional<StudentDTO>> byStudentId;
+
+    @PostConstruct
+    void init() {
+        byId = build();
+        byStudentId = build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "students.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, byStudentId, "students.by-student-id");
+    }
+
+    public Optional<StudentDTO> getById(Long id, Supplier<Optional<StudentDTO>> loader) {
+        long generation = invalidations.get();
+        Optional<StudentDTO> cached = byId.get(id, key -> load(loader));
+        if (cached == null) {
+            return Optional.empty();
+        }
+        // The row answers the other key too; filled in only after the compute so the two maps never lock each other
+        cached.ifPresent(student -> putIfUnchanged(byStudentId, student.getStudentId(), cached, generation));
+        return cached;
+    }
+
+    public Optional<StudentDTO> getByStudentId(String studentId, Supplier<Optional<StudentDTO>> loader) {
+        long generation = invalidations.get();
+        Optional<StudentDTO> cached = byStudentId.get(studentId, key -> load(loader));
+        if (cached == null) {
+            return Optional.empty();
+        }
+        cached.ifPresent(student -> putIfUnchanged(byId, student.getId(), cached, generation));
+        return cached;
+    }
+
+    /**
+     * Taken before loading rows for putLoaded, which drops them if an invalidation ran in between.
+     */
+    public long generation() {
+        return invalidations.get();
+    }
+
+    /**
+     * Cached answers for the given student ids; an empty Optional is a cached miss, uncached ids are left out.
+     */
+    public Map<String, Optional<StudentDTO>> getAllPresentByStudentId(Collection<String> studentIds) {
+        return byStudentId.getAllPresent(studentIds);
+    }
+
+    /**
+     * Caches rows loaded outside the read-through path under both keys, and their misses when negative caching is on.
+     *
+     * @param generation the value of generation() taken before the rows were loaded
+     */
+    public void putLoaded(Collection<StudentDTO> students, Collection<String> missingStudentIds, long generation) {
+        for (StudentDTO student : students) {
+            Optional<StudentDTO> value = Optional.of(student);
+            putIfUnchanged(byStudentId, student.getStudentId(), value, generation);
+            putIfUnchanged(byId, student.getId(), value, generation);
+        }
+        if (negativeTtlSeconds > 0) {
+            missingStudentIds.forEach(studentId -> putIfUnchanged(byStudentId, studentId, Optional.empty(), generation));
+        }
+    }
+
+    /**
+     * Drops the student from both maps once the current transaction commits, or immediately outside one.
+     */
+    public void invalidateAfterCommit(Long id, String studentId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(id, studentId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                invalidate(id, studentId);
+            }
+        });
+    }
+
+    /**
+     * Drops the student from both maps now and once more after second-invalidation-delay-ms.
+     */
+    public void invalidate(Long id, String studentId) {
+        evict(id, studentId);
+        CompletableFuture.delayedExecutor(secondInvalidationDelayMillis, TimeUnit.MILLISECONDS)
+                .execute(() -> evict(id, studentId));
+    }
+
+    // Helper methods
+    private void evict(Long id, String studentId) {
+        invalidations.incrementAndGet();
+        if (studentId != null) {
+            Optional<StudentDTO> cached = byStudentId.getIfPresent(studentId);
+            if (id == null && cached != null && cached.isPresent()) {
+                id = cached.get().getId();
+            }
+            byStudentId.invalidate(studentId);
+            if (id == null) {
+                // Events published before they carried the id; drop whatever the id map holds for it
+                byId.asMap().values().removeIf(value -> value.isPresent() && studentId.equals(value.get().getStudentId()));
+            }
+        }
+        if (id != null) {
+            byId.invalidate(id);
+        }
+    }
+
+    // Checked after the put: an invalidation that ran during the load either removes the entry itself or is seen here
+    private <K> void putIfUnchanged(Cache<K, Optional<StudentDTO>> cache, K key, Optional<StudentDTO> value, long generation) {
+        cache.asMap().putIfAbsent(key, value);
+        if (invalidations.get() != generation) {
+            cache.asMap().remove(key, value);
+        }
+    }
+
+    private Optional<StudentDTO> load(Supplier<Optional<StudentDTO>> loader) {
+        Optional<StudentDTO> loaded = loader.get();
+        // Returning null leaves a miss uncached
+        return loaded.isPresent() || negativeTtlSeconds > 0 ? loaded : null;
+    }
+
+    private <K> Cache<K, Optional<StudentDTO>> build() {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<K, Optional<StudentDTO>>() {
+                    @Override
+                    public long expireAfterCreate(K key, Optional<StudentDTO> value, long currentTime) {
+                        return TimeUnit.SECONDS.toNanos(value.isPresent() ? ttlSeconds : negativeTtlSeconds);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(K key, Optional<StudentDTO> value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(K key, Optional<StudentDTO> value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,270 @@
+package com.kma.studentsystem.student_service.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kma.studentsystem.student_service.dto.StudentDTO;
+import com.kma.studentsystem.student_service.dto.StudentImportResultDTO;
+import com.kma.studentsystem.student_service.event.StudentEvent;
+import com.kma.studentsystem.student_service.model.Student;
+import com.kma.studentsystem.student_service.repository.StudentRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of an intake from a JSON array or an NDJSON stream.
+ *
+ * Records are read one at a time and handled in chunks, each in its own transaction: one query
+ * each for taken student ids and emails, one round trip reserving ids from the students
+ * sequence, and one JDBC batch insert. Events for a chunk are sent after it commits and flushed
+ * together. Bad rows are reported by position and do not stop the rest of the import.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StudentImportService {
+
+    private static final String STUDENT_EVENTS_TOPIC = "student-events";
+
+    private static final String INSERT_STUDENT_SQL =
+            "INSERT INTO students (id, student_id, first_name, last_name, email, phone_number, date_of_birth, " +
+            "gender, address, major, status, gpa, enrollment_year, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // The identity column is GENERATED BY DEFAULT, so ids drawn from its sequence can be inserted explicitly
+    private static final String NEXT_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('students', 'id')) FROM generate_series(1, ?)";
+
+    private final StudentRepository studentRepository;
+    private final StudentService studentService;
+    private final StudentStatePublisher studentStatePublisher;
+    private final StudentSearchIndex studentSearchIndex;
+    private final StudentCache studentCache;
+    private final StudentStatistics studentStatistics;
+    private final KafkaTemplate<String, StudentEvent> kafkaTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${student.import.chunk-size:500}")
+    private int chunkSize;
+
+    public StudentImportResultDTO importStudents(InputStream input) throws IOException {
+        long started = System.nanoTime();
+        StudentImportResultDTO result = new StudentImportResultDTO();
+        Set<String> seenStudentIds = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+
+        // readValues accepts both a wrapped array and whitespace-separated root values
+        try (MappingIterator<StudentDTO> records = objectMapper.readerFor(StudentDTO.class).readValues(input)) {
+            while (true) {
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                    chunk.add(new Row(index, records.nextValue()));
+                } catch (JsonParseException e) {
+                    // Broken JSON cannot be resynchronized, so nothing after it is read
+                    result.addError(index++, null, "Malformed JSON: " + e.getOriginalMessage());
+                    break;
+                } catch (JsonMappingException e) {
+                    result.addError(index++, null, "Invalid record: " + e.getOriginalMessage());
+                    continue;
+                }
+                index++;
+                if (chunk.size() >= chunkSize) {
+                    importChunk(chunk, seenStudentIds, seenEmails, result);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, seenStudentIds, seenEmails, result);
+        }
+
+        result.setRequested(index);
+        result.finish(System.nanoTime() - started);
+        log.info("Imported {} of {} students in {} ms ({} rows/s), {} failed",
+                result.getImported(), result.getRequested(), result.getElapsedMillis(),
+                result.getRowsPerSecond(), result.getFailed());
+        return result;
+    }
+
+    // Helper methods
+    private void importChunk(List<Row> chunk, Set<String> seenStudentIds, Set<String> seenEmails,
+                             StudentImportResultDTO result) {
+        List<Row> candidates = new ArrayList<>();
+        for (Row row : chunk) {
+            String error = validate(row.student());
+            if (error == null && (seenStudentIds.contains(row.student().getStudentId())
+                    || seenEmails.contains(row.student().getEmail()))) {
+                error = "Duplicate student ID or email in import";
+            }
+            if (error != null) {
+                result.addError(row.index(), row.student(), error);
+                continue;
+            }
+            seenStudentIds.add(row.student().getStudentId());
+            seenEmails.add(row.student().getEmail());
+            candidates.add(row);
+        }
+        result.setChunks(result.getChunks() + 1);
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        List<Rejection> rejected = new ArrayList<>();
+        List<Student> inserted;
+        try {
+            inserted = new TransactionTemplate(transactionManager).execute(status -> insertNew(candidates, rejected));
+        } catch (DataAccessException e) {
+            // Typically a concurrent single create taking one of the ids or emails; the chunk rolled back
+            log.error("Import chunk rolled back: {}", e.getMessage());
+            String error = "Chunk rolled back: " + e.getMostSpecificCause().getMessage();
+            candidates.forEach(row -> result.addError(row.index(), row.student(), error));
+            return;
+        }
+        rejected.forEach(rejection -> result.addError(rejection.row().index(), rejection.row().student(), rejection.error()));
+        result.setImported(result.getImported() + inserted.size());
+
+        // Publish events
+        List<CompletableFuture<SendResult<String, StudentEvent>>> sends = new ArrayList<>(inserted.size());
+        for (Student student : inserted) {
+            StudentEvent event = StudentEvent.createStudentCreatedEvent(student);
+            sends.add(kafkaTemplate.send(STUDENT_EVENTS_TOPIC, student.getStudentId(), event));
+            studentStatePublisher.publish(student);
+            studentSearchIndex.indexAfterCommit(studentService.convertToDTO(student));
+            studentCache.invalidate(student.getId(), student.getStudentId());
+            studentStatistics.recordAfterCommit(null, StudentStatistics.Contribution.of(student));
+        }
+        kafkaTemplate.flush();
+        studentStatePublisher.flush();
+        
+        // flush() returns once every send has been acknowledged or has given up retrying
+        long failedEvents = sends.stream().filter(CompletableFuture::isCompletedExceptionally).count();
+        if (failedEvents > 0) {
+            log.error("{} of {} StudentCreated events for imported students could not be published", failedEvents, inserted.size());
+            result.setEventsFailed(result.getEventsFailed() + (int) failedEvents);
+        }
+        log.info("Published StudentCreated events for {} imported students", inserted.size() - failedEvents);
+    }
+
+    private List<Student> insertNew(List<Row> candidates, List<Rejection> rejected) {
+        Set<String> takenStudentIds = new HashSet<>(studentRepository.findExistingStudentIds(
+                candidates.stream().map(row -> row.student().getStudentId()).collect(Collectors.toSet())));
+        Set<String> takenEmails = new HashSet<>(studentRepository.findExistingEmails(
+                candidates.stream().map(row -> row.student().getEmail()).collect(Collectors.toSet())));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Student> students = new ArrayList<>();
+        for (Row row : candidates) {
+            StudentDTO dto = row.student();
+            if (takenStudentIds.contains(dto.getStudentId())) {
+                rejected.add(new Rejection(row, "Student with ID " + dto.getStudentId() + " already exists"));
+            } else if (takenEmails.contains(dto.getEmail())) {
+                rejected.add(new Rejection(row, "Student with email " + dto.getEmail() + " already exists"));
+            } else {
+                Student student = studentService.convertToEntity(dto);
+                student.setId(null);
+                student.setCreatedAt(now);
+                student.setUpdatedAt(now);
+                students.add(student);
+            }
+        }
+        if (students.isEmpty()) {
+            return students;
+        }
+
+        List<Long> ids = jdbcTemplate.queryForList(NEXT_IDS_SQL, Long.class, students.size());
+        for (int i = 0; i < students.size(); i++) {
+            students.get(i).setId(ids.get(i));
+        }
+        batchInsert(students);
+        return students;
+    }
+
+    private void batchInsert(List<Student> students) {
+        jdbcTemplate.batchUpdate(INSERT_STUDENT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Student student = students.get(i);
+                ps.setLong(1, student.getId());
+                ps.setString(2, student.getStudentId());
+                ps.setString(3, student.getFirstName());
+                ps.setString(4, student.getLastName());
+                ps.setString(5, student.getEmail());
+                ps.setString(6, student.getPhoneNumber());
+                ps.setDate(7, Date.valueOf(student.getDateOfBirth()));
+                ps.setString(8, student.getGender().name());
+                ps.setString(9, student.getAddress());
+                ps.setString(10, student.getMajor());
+                ps.setString(11, student.getStatus().name());
+                ps.setObject(12, student.getGpa(), Types.DOUBLE);
+                ps.setInt(13, student.getEnrollmentYear());
+                ps.setTimestamp(14, Timestamp.valueOf(student.getCreatedAt()));
+                ps.setTimestamp(15, Timestamp.valueOf(student.getUpdatedAt()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return students.size();
+            }
+        });
+        log.info("Inserted {} students in one batch", students.size());
+    }
+
+    private String validate(StudentDTO dto) {
+        // An intake file carries neither; new students start active in the current year
+        if (dto.getEnrollmentYear() == null) {
+            dto.setEnrollmentYear(Year.now().getValue());
+        }
+        if (dto.getStatus() == null) {
+            dto.setStatus(Student.StudentStatus.ACTIVE);
+        }
+        if (dto.getEmail() == null || dto.getEmail().isBlank()) {
+            return "Email is required";
+        }
+        Set<ConstraintViolation<StudentDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+    }
+
+    private record Row(int index, StudentDTO student) {
+    }
+
+    private record Rejection(Row row, String error) {
+    }
+}
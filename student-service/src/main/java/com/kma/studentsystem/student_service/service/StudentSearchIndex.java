@@ -0,0 +1,332 @@
+package com.kma.studentsystem.student_service.service;
+
+import com.kma.studentsystem.student_service.dto.StudentDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram index over student names, student ids and emails.
+ *
+ * Text is folded before indexing and querying (NFD with combining marks stripped, đ mapped to d,
+ * lower-cased) so "Nguyễn Văn Đức" is found by "nguyen van duc". Each term is padded at the front,
+ * which makes a query that is only the start of a term match it fully; query terms are not padded
+ * at the end so prefix queries work, and a typo only costs the handful of trigrams around it.
+ *
+ * The students table stays authoritative. The index is rebuilt from it at startup, this
+ * instance's own writes are applied after they commit, and writes made by other instances arrive
+ * through the student events every instance consumes. Changes applied while a rebuild is loading
+ * are kept and replayed onto the new index before it replaces the old one, so the snapshot cannot
+ * roll them back. The loader runs outside every lock; only the replay and swap hold mutationLock.
+ */
+@Component
+@Slf4j
+public class StudentSearchIndex {
+
+    private static final String PAD = "$$";
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WORD_BREAK = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private volatile Postings postings = new Postings();
+
+    // Guards postings swaps and the changes recorded while a rebuild is loading; null when none is.
+    // Not a monitor, so a change applied from a virtual thread waiting on a swap does not pin it
+    private final ReentrantLock mutationLock = new ReentrantLock();
+    private List<Consumer<Postings>> pendingChanges;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    @Value("${student.search.min-similarity:0.3}")
+    private double minSimilarity;
+
+    /**
+     * Replaces the index with the students the loader returns. Changes applied while the loader
+     * runs keep going to the current index and are replayed onto the new one before the swap.
+     * A rebuild requested while another is loading is skipped: the running one already replays
+     * every change made since it started.
+     */
+    public void rebuild(Supplier<? extends Collection<StudentDTO>> loader) {
+        if (!rebuilding.compareAndSet(false, true)) {
+            log.info("Student search index is already being rebuilt, skipping");
+            return;
+        }
+        try {
+            withMutationLock(() -> pendingChanges = new ArrayList<>());
+            Postings rebuilt = new Postings();
+            loader.get().forEach(rebuilt::add);
+            withMutationLock(() -> {
+                pendingChanges.forEach(change -> change.accept(rebuilt));
+                log.info("Built student search index: {} students, {} trigrams, {} changes replayed",
+                        rebuilt.docs.size(), rebuilt.grams.size(), pendingChanges.size());
+                postings = rebuilt;
+            });
+        } finally {
+            withMutationLock(() -> pendingChanges = null);
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Ranked matches for a free-text query, best first.
+     */
+    public List<StudentDTO> search(String query, int limit) {
+        List<String> tokens = tokenizeQuery(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Set<String> queryGrams = new LinkedHashSet<>();
+        tokens.forEach(token -> addGrams(PAD + token, queryGrams));
+
+        Postings current = postings;
+        Map<Long, Integer> hits = new HashMap<>();
+        for (String gram : queryGrams) {
+            Set<Long> ids = current.grams.get(gram);
+            if (ids != null) {
+                ids.forEach(id -> hits.merge(id, 1, Integer::sum));
+            }
+        }
+
+        // Keep only the best `limit` candidates; the heap head is the weakest one kept
+        PriorityQueue<Match> top = new PriorityQueue<>(Comparator.comparingDouble(Match::score));
+        hits.forEach((id, count) -> {
+            double similarity = (double) count / queryGrams.size();
+            Doc doc = current.docs.get(id);
+            if (doc == null || similarity < minSimilarity) {
+                return;
+            }
+            top.offer(new Match(doc.student, similarity + termBonus(doc, tokens)));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        });
+
+        List<Match> ranked = new ArrayList<>(top);
+        ranked.sort(Comparator.comparingDouble(Match::score).reversed()
+                .thenComparing(match -> match.student.getLastName(), Comparator.nullsLast(String::compareTo))
+                .thenComparing(match -> match.student.getFirstName(), Comparator.nullsLast(String::compareTo)));
+        return ranked.stream().map(Match::student).toList();
+    }
+
+    /**
+     * Indexes the student once the current transaction commits, or immediately outside one.
+     */
+    public void indexAfterCommit(StudentDTO student) {
+        afterCommit(() -> index(student));
+    }
+
+    /**
+     * Drops the student once the current transaction commits, or immediately outside one.
+     */
+    public void removeAfterCommit(Long id) {
+        afterCommit(() -> apply(current -> current.remove(id)));
+    }
+
+    public void index(StudentDTO student) {
+        apply(current -> current.add(student));
+    }
+
+    /**
+     * Re-indexes the student with the given student id as the function returns it. The function gets
+     * the indexed snapshot and must return a new object rather than change it; students that are not
+     * indexed are left alone.
+     */
+    public void update(String studentId, UnaryOperator<StudentDTO> change) {
+        apply(current -> {
+            Doc doc = current.find(studentId);
+            if (doc != null) {
+                current.add(change.apply(doc.student));
+            }
+        });
+    }
+
+    public void remove(String studentId) {
+        apply(current -> {
+            Doc doc = current.find(studentId);
+            if (doc != null) {
+                current.remove(doc.student.getId());
+            }
+        });
+    }
+
+    public int size() {
+        return postings.docs.size();
+    }
+
+    static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return stripped.replace('đ', 'd').replace('Đ', 'D').toLowerCase(Locale.ROOT).trim();
+    }
+
+    // Helper methods
+    private void apply(Consumer<Postings> change) {
+        withMutationLock(() -> {
+            change.accept(postings);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        });
+    }
+
+    private void withMutationLock(Runnable action) {
+        mutationLock.lock();
+        try {
+            action.run();
+        } finally {
+            mutationLock.unlock();
+        }
+    }
+
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private static List<String> tokenizeQuery(String query) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : fold(query).split("\\s+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static void addGrams(String paddedTerm, Set<String> into) {
+        for (int i = 0; i + 3 <= paddedTerm.length(); i++) {
+            into.add(paddedTerm.substring(i, i + 3));
+        }
+    }
+
+    private static double termBonus(Doc doc, List<String> tokens) {
+        double bonus = 0;
+        for (String token : tokens) {
+            double best = 0;
+            for (String term : doc.terms) {
+                if (term.equals(token)) {
+                    best = 1.0;
+                    break;
+                }
+                if (term.startsWith(token)) {
+                    best = 0.5;
+                }
+            }
+            bonus += best;
+        }
+        return bonus / tokens.size();
+    }
+
+    private static Set<String> termsOf(StudentDTO student) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String field : new String[] {student.getFirstName(), student.getLastName(), student.getStudentId()}) {
+            addTerms(fold(field), terms);
+        }
+        String email = fold(student.getEmail());
+        if (!email.isEmpty()) {
+            // Whole address and local part, so pasted emails match exactly
+            terms.add(email);
+            int at = email.indexOf('@');
+            if (at > 0) {
+                terms.add(email.substring(0, at));
+            }
+            addTerms(email, terms);
+        }
+        return terms;
+    }
+
+    private static void addTerms(String folded, Set<String> terms) {
+        if (folded.isEmpty()) {
+            return;
+        }
+        terms.add(folded);
+        for (String word : WORD_BREAK.split(folded)) {
+            if (!word.isEmpty()) {
+                terms.add(word);
+            }
+        }
+    }
+
+    private record Doc(StudentDTO student, Set<String> terms, Set<String> grams) {
+    }
+
+    private record Match(StudentDTO student, double score) {
+    }
+
+    /**
+     * Posting lists plus the indexed snapshot of each student, keyed by database id.
+     * Writers are serialized; readers may briefly see a student in one map and not the other,
+     * which search tolerates by skipping ids without a snapshot.
+     */
+    private static final class Postings {
+
+        private final Map<String, Set<Long>> grams = new ConcurrentHashMap<>();
+        private final Map<Long, Doc> docs = new ConcurrentHashMap<>();
+        private final Map<String, Long> idsByStudentId = new ConcurrentHashMap<>();
+
+        Doc find(String studentId) {
+            Long id = studentId != null ? idsByStudentId.get(studentId) : null;
+            return id != null ? docs.get(id) : null;
+        }
+
+        synchronized void add(StudentDTO student) {
+            remove(student.getId());
+            Set<String> terms = termsOf(student);
+            Set<String> docGrams = new LinkedHashSet<>();
+            terms.forEach(term -> addGrams(PAD + term + "$", docGrams));
+            docGrams.forEach(gram -> grams.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(student.getId()));
+            docs.put(student.getId(), new Doc(student, terms, docGrams));
+            if (student.getStudentId() != null) {
+                idsByStudentId.put(student.getStudentId(), student.getId());
+            }
+        }
+
+        synchronized void remove(Long id) {
+            Doc previous = docs.remove(id);
+            if (previous == null) {
+                return;
+            }
+            if (previous.student.getStudentId() != null) {
+                idsByStudentId.remove(previous.student.getStudentId(), id);
+            }
+            for (String gram : previous.grams) {
+                Set<Long> ids = grams.get(gram);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        grams.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+}
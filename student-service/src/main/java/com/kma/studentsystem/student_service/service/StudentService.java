@@ -1,17 +1,42 @@
 package com.kma.studentsystem.student_service.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.kma.studentsystem.student_service.dto.StudentDTO;
+import com.kma.studentsystem.student_service.dto.StudentLookupDTO;
+import com.kma.studentsystem.student_service.dto.StudentStatisticsDTO;
 import com.kma.studentsystem.student_service.event.StudentEvent;
 import com.kma.studentsystem.student_service.model.Student;
 import com.kma.studentsystem.student_service.repository.StudentRepository;
+import com.kma.studentsystem.student_service.web.CollectionVersion;
+import com.kma.studentsystem.student_service.web.ResourceVersion;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,9 +47,30 @@ public class StudentService {
     
     private final StudentRepository studentRepository;
     private final KafkaTemplate<String, StudentEvent> kafkaTemplate;
+    private final StudentStatePublisher studentStatePublisher;
+    private final StudentSearchIndex studentSearchIndex;
+    private final StudentCache studentCache;
+    private final StudentStatistics studentStatistics;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
     
     private static final String STUDENT_EVENTS_TOPIC = "student-events";
     
+    // Lets consumers skip partial updates they do not care about without reading the payload
+    public static final String CHANGED_FIELDS_HEADER = "changed-fields";
+    
+    private static final Set<String> PATCHABLE_FIELDS = Set.of("firstName", "lastName", "email", "phoneNumber",
+            "dateOfBirth", "gender", "address", "major", "status", "gpa", "enrollmentYear");
+    
+    @Value("${student.search.max-results:20}")
+    private int maxSearchResults;
+    
+    @Value("${student.lookup.max-ids:5000}")
+    private int maxLookupIds;
+    
+    @Value("${student.lookup.chunk-size:500}")
+    private int lookupChunkSize;
+    
     public StudentDTO createStudent(StudentDTO studentDTO) {
         log.info("Creating new student: {}", studentDTO.getStudentId());
         
@@ -47,10 +93,16 @@ public class StudentService {
         
         // Publish event
         StudentEvent event = StudentEvent.createStudentCreatedEvent(savedStudent);
-        kafkaTemplate.send(STUDENT_EVENTS_TOPIC, savedStudent.getStudentId(), event);
+        publishAfterCommit(new ProducerRecord<>(STUDENT_EVENTS_TOPIC, savedStudent.getStudentId(), event));
+        studentStatePublisher.publish(savedStudent);
         log.info("Published StudentCreated event for student: {}", savedStudent.getStudentId());
         
-        return convertToDTO(savedStudent);
+        StudentDTO created = convertToDTO(savedStudent);
+        studentSearchIndex.indexAfterCommit(created);
+        // A cached miss for this student must not outlive the insert
+        studentCache.invalidateAfterCommit(savedStudent.getId(), savedStudent.getStudentId());
+        studentStatistics.recordAfterCommit(null, StudentStatistics.Contribution.of(savedStudent));
+        return created;
     }
     
     public StudentDTO updateStudent(Long id, StudentDTO studentDTO) {
@@ -65,6 +117,8 @@ public class StudentService {
             throw new RuntimeException("Student with email " + studentDTO.getEmail() + " already exists");
         }
         
+        StudentStatistics.Contribution before = StudentStatistics.Contribution.of(existingStudent);
+        
         // Update fields
         existingStudent.setFirstName(studentDTO.getFirstName());
         existingStudent.setLastName(studentDTO.getLastName());
@@ -83,10 +137,93 @@ public class StudentService {
         
         // Publish event
         StudentEvent event = StudentEvent.createStudentUpdatedEvent(updatedStudent);
-        kafkaTemplate.send(STUDENT_EVENTS_TOPIC, updatedStudent.getStudentId(), event);
+        publishAfterCommit(new ProducerRecord<>(STUDENT_EVENTS_TOPIC, updatedStudent.getStudentId(), event));
+        studentStatePublisher.publish(updatedStudent);
         log.info("Published StudentUpdated event for student: {}", updatedStudent.getStudentId());
         
-        return convertToDTO(updatedStudent);
+        StudentDTO updated = convertToDTO(updatedStudent);
+        studentSearchIndex.indexAfterCommit(updated);
+        studentCache.invalidateAfterCommit(updatedStudent.getId(), updatedStudent.getStudentId());
+        studentStatistics.recordAfterCommit(before, StudentStatistics.Contribution.of(updatedStudent));
+        return updated;
+    }
+    
+    /**
+     * Applies a JSON merge patch: only the fields present change, an explicit null clears an optional field.
+     * Nothing is written or published when the patch leaves the student as it was.
+     */
+    public StudentDTO patchStudent(Long id, JsonNode patch) {
+        log.info("Patching student with ID: {}", id);
+        
+        if (patch == null || !patch.isObject()) {
+            throw new RuntimeException("Patch must be a JSON object");
+        }
+        patch.fieldNames().forEachRemaining(field -> {
+            if (!PATCHABLE_FIELDS.contains(field)) {
+                throw new RuntimeException("Field cannot be patched: " + field);
+            }
+        });
+        
+        Student existingStudent = studentRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Student not found with ID: " + id));
+        
+        StudentDTO patched;
+        try {
+            patched = objectMapper.readerForUpdating(convertToDTO(existingStudent)).readValue(patch);
+        } catch (IOException e) {
+            throw new RuntimeException("Invalid patch: " + e.getMessage());
+        }
+        Set<ConstraintViolation<StudentDTO>> violations = validator.validate(patched);
+        if (!violations.isEmpty()) {
+            throw new RuntimeException(violations.stream().map(ConstraintViolation::getMessage)
+                    .sorted().collect(Collectors.joining("; ")));
+        }
+        if (patched.getEmail() == null || patched.getStatus() == null) {
+            throw new RuntimeException("Email and status cannot be cleared");
+        }
+        
+        if (!existingStudent.getEmail().equals(patched.getEmail()) && 
+            studentRepository.existsByEmail(patched.getEmail())) {
+            throw new RuntimeException("Student with email " + patched.getEmail() + " already exists");
+        }
+        
+        StudentStatistics.Contribution before = StudentStatistics.Contribution.of(existingStudent);
+        
+        // Only changed fields are set, so @DynamicUpdate writes only their columns
+        Map<String, Object> changes = new LinkedHashMap<>();
+        applyIfChanged(changes, "firstName", existingStudent.getFirstName(), patched.getFirstName(), existingStudent::setFirstName);
+        applyIfChanged(changes, "lastName", existingStudent.getLastName(), patched.getLastName(), existingStudent::setLastName);
+        applyIfChanged(changes, "email", existingStudent.getEmail(), patched.getEmail(), existingStudent::setEmail);
+        applyIfChanged(changes, "phoneNumber", existingStudent.getPhoneNumber(), patched.getPhoneNumber(), existingStudent::setPhoneNumber);
+        applyIfChanged(changes, "dateOfBirth", existingStudent.getDateOfBirth(), patched.getDateOfBirth(), existingStudent::setDateOfBirth);
+        applyIfChanged(changes, "gender", existingStudent.getGender(), patched.getGender(), existingStudent::setGender);
+        applyIfChanged(changes, "address", existingStudent.getAddress(), patched.getAddress(), existingStudent::setAddress);
+        applyIfChanged(changes, "major", existingStudent.getMajor(), patched.getMajor(), existingStudent::setMajor);
+        applyIfChanged(changes, "status", existingStudent.getStatus(), patched.getStatus(), existingStudent::setStatus);
+        applyIfChanged(changes, "gpa", existingStudent.getGpa(), patched.getGpa(), existingStudent::setGpa);
+        applyIfChanged(changes, "enrollmentYear", existingStudent.getEnrollmentYear(), patched.getEnrollmentYear(), existingStudent::setEnrollmentYear);
+        
+        if (changes.isEmpty()) {
+            log.info("Patch leaves student unchanged: {}", existingStudent.getStudentId());
+            return convertToDTO(existingStudent);
+        }
+        
+        Student patchedStudent = studentRepository.saveAndFlush(existingStudent);
+        log.info("Student patched successfully: {} ({})", patchedStudent.getStudentId(), changes.keySet());
+        
+        // Publish event
+        StudentEvent event = StudentEvent.createStudentPatchedEvent(patchedStudent, changes);
+        ProducerRecord<String, StudentEvent> record = new ProducerRecord<>(STUDENT_EVENTS_TOPIC, patchedStudent.getStudentId(), event);
+        record.headers().add(CHANGED_FIELDS_HEADER, String.join(",", changes.keySet()).getBytes(StandardCharsets.UTF_8));
+        publishAfterCommit(record);
+        studentStatePublisher.publish(patchedStudent);
+        log.info("Published StudentUpdated event for student: {}", patchedStudent.getStudentId());
+        
+        StudentDTO updated = convertToDTO(patchedStudent);
+        studentSearchIndex.indexAfterCommit(updated);
+        studentCache.invalidateAfterCommit(patchedStudent.getId(), patchedStudent.getStudentId());
+        studentStatistics.recordAfterCommit(before, StudentStatistics.Contribution.of(patchedStudent));
+        return updated;
     }
     
     public void deleteStudent(Long id) {
@@ -96,15 +233,47 @@ public class StudentService {
                 .orElseThrow(() -> new RuntimeException("Student not found with ID: " + id));
         
         String studentId = student.getStudentId();
+        studentStatistics.recordAfterCommit(StudentStatistics.Contribution.of(student), null);
         studentRepository.delete(student);
         log.info("Student deleted successfully: {}", studentId);
         
         // Publish event
-        StudentEvent event = StudentEvent.createStudentDeletedEvent(studentId);
-        kafkaTemplate.send(STUDENT_EVENTS_TOPIC, studentId, event);
+        StudentEvent event = StudentEvent.createStudentDeletedEvent(id, studentId);
+        publishAfterCommit(new ProducerRecord<>(STUDENT_EVENTS_TOPIC, studentId, event));
+        studentStatePublisher.publishDeleted(studentId);
+        studentSearchIndex.removeAfterCommit(id);
+        studentCache.invalidateAfterCommit(id, studentId);
         log.info("Published StudentDeleted event for student: {}", studentId);
     }
     
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildSearchIndex() {
+        studentSearchIndex.rebuild(() -> studentRepository.findAll().stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList()));
+    }
+    
+    /**
+     * Applies a student event to this instance's search index. Creates and full updates carry the
+     * student; patches carry only the changed fields, which are merged into the indexed snapshot.
+     * Re-applying this instance's own writes is harmless since indexing replaces the student.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void applyToSearchIndex(StudentEvent event) {
+        switch (event.getEventType()) {
+            case "StudentCreated", "StudentUpdated" -> {
+                if (event.getStudent() != null) {
+                    studentSearchIndex.index(convertToDTO(event.getStudent()));
+                } else if (event.getChanges() != null) {
+                    studentSearchIndex.update(event.getStudentId(), indexed -> merge(indexed, event.getChanges()));
+                }
+            }
+            case "StudentDeleted" -> studentSearchIndex.remove(event.getStudentId());
+            default -> log.debug("Search index ignores {} events", event.getEventType());
+        }
+    }
+    
     @Transactional(readOnly = true)
     public List<StudentDTO> getAllStudents() {
         log.info("Retrieving all students");
@@ -113,18 +282,60 @@ public class StudentService {
                 .collect(Collectors.toList());
     }
     
-    @Transactional(readOnly = true)
+    // Cache hits need no transaction or connection
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<StudentDTO> getStudentById(Long id) {
         log.info("Retrieving student with ID: {}", id);
-        return studentRepository.findById(id)
-                .map(this::convertToDTO);
+        return studentCache.getById(id, () -> studentRepository.findById(id)
+                .map(this::convertToDTO));
     }
     
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<StudentDTO> getStudentByStudentId(String studentId) {
         log.info("Retrieving student with student ID: {}", studentId);
-        return studentRepository.findByStudentId(studentId)
-                .map(this::convertToDTO);
+        return studentCache.getByStudentId(studentId, () -> studentRepository.findByStudentId(studentId)
+                .map(this::convertToDTO));
+    }
+    
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void checkLookupRequest(List<String> studentIds) {
+        if (studentIds.size() > maxLookupIds) {
+            throw new RuntimeException("Lookup exceeds the limit of " + maxLookupIds + " student IDs");
+        }
+        if (studentIds.stream().anyMatch(studentId -> studentId == null || studentId.isBlank())) {
+            throw new RuntimeException("Student IDs must not be blank");
+        }
+    }
+    
+    /**
+     * Resolves student ids in request order, one chunk at a time: cache hits first, then one IN query
+     * for the rest of the chunk. Each chunk's results go to the sink before the next chunk is read.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public void lookupStudents(List<String> studentIds, Consumer<List<StudentLookupDTO>> sink) {
+        log.info("Looking up {} students", studentIds.size());
+        for (int from = 0; from < studentIds.size(); from += lookupChunkSize) {
+            List<String> chunk = studentIds.subList(from, Math.min(from + lookupChunkSize, studentIds.size()));
+            long generation = studentCache.generation();
+            Map<String, Optional<StudentDTO>> resolved = new HashMap<>(studentCache.getAllPresentByStudentId(chunk));
+            Set<String> toLoad = chunk.stream()
+                    .filter(studentId -> !resolved.containsKey(studentId))
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            if (!toLoad.isEmpty()) {
+                List<StudentDTO> loaded = studentRepository.findByStudentIdIn(toLoad).stream()
+                        .map(this::convertToDTO)
+                        .collect(Collectors.toList());
+                loaded.forEach(student -> resolved.put(student.getStudentId(), Optional.of(student)));
+                toLoad.removeAll(resolved.keySet());
+                studentCache.putLoaded(loaded, toLoad, generation);
+            }
+            sink.accept(chunk.stream()
+                    .map(studentId -> {
+                        Optional<StudentDTO> student = resolved.getOrDefault(studentId, Optional.empty());
+                        return new StudentLookupDTO(studentId, student.isPresent(), student.orElse(null));
+                    })
+                    .collect(Collectors.toList()));
+        }
     }
     
     @Transactional(readOnly = true)
@@ -144,26 +355,102 @@ public class StudentService {
     }
     
     @Transactional(readOnly = true)
-    public List<StudentDTO> searchStudentsByName(String name) {
-        log.info("Searching students by name: {}", name);
-        return studentRepository.findByNameContaining(name).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public ResourceVersion getStudentsVersion() {
+        return collectionVersion("students", studentRepository.findCollectionVersion());
     }
     
     @Transactional(readOnly = true)
+    public ResourceVersion getStudentsVersionByStatus(Student.StudentStatus status) {
+        return collectionVersion("students:status:" + status,
+                studentRepository.findCollectionVersionByStatus(status));
+    }
+    
+    @Transactional(readOnly = true)
+    public ResourceVersion getStudentsVersionByMajor(String major) {
+        return collectionVersion("students:major:" + major,
+                studentRepository.findCollectionVersionByMajor(major));
+    }
+    
+    // Served from memory; no transaction or connection needed
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<StudentDTO> searchStudents(String query, Integer limit) {
+        log.info("Searching students: {}", query);
+        int effectiveLimit = limit == null ? maxSearchResults : Math.min(limit, maxSearchResults);
+        return studentSearchIndex.search(query, effectiveLimit);
+    }
+    
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Long getActiveStudentCount() {
         log.info("Getting active student count");
-        return studentRepository.countActiveStudents();
+        return studentStatistics.activeCount();
     }
     
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Double getAverageGpa() {
         log.info("Getting average GPA");
-        return studentRepository.getAverageGpa();
+        return studentStatistics.averageGpa();
+    }
+    
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public StudentStatisticsDTO getStatistics() {
+        log.info("Getting student statistics");
+        return studentStatistics.summary();
     }
     
-    private Student convertToEntity(StudentDTO dto) {
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Map<String, StudentStatisticsDTO.Breakdown> getStatisticsByMajor() {
+        log.info("Getting student statistics by major");
+        return studentStatistics.byMajor();
+    }
+    
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Map<Integer, StudentStatisticsDTO.Breakdown> getStatisticsByEnrollmentYear() {
+        log.info("Getting student statistics by enrollment year");
+        return studentStatistics.byEnrollmentYear();
+    }
+    
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<StudentStatisticsDTO.GpaBucket> getGpaHistogram(String major, Integer enrollmentYear) {
+        log.info("Getting GPA histogram for major: {}, enrollment year: {}", major, enrollmentYear);
+        return studentStatistics.gpaHistogram(major, enrollmentYear);
+    }
+    
+    // Helper methods
+    private ResourceVersion collectionVersion(String scope, CollectionVersion version) {
+        return ResourceVersion.ofCollection(scope, version, studentRepository.findLastChange());
+    }
+    
+    // Sent once the transaction commits, so other instances invalidate only after the new row is readable
+    private void publishAfterCommit(ProducerRecord<String, StudentEvent> record) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(record);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                send(record);
+            }
+        });
+    }
+    
+    private void send(ProducerRecord<String, StudentEvent> record) {
+        kafkaTemplate.send(record).whenComplete((result, error) -> {
+            if (error != null) {
+                log.error("Could not publish {} event {} for student {}", record.value().getEventType(),
+                        record.value().getEventId(), record.key(), error);
+            }
+        });
+    }
+    
+    private static <T> void applyIfChanged(Map<String, Object> changes, String field, T current, T patched, Consumer<T> setter) {
+        if (!Objects.equals(current, patched)) {
+            setter.accept(patched);
+            changes.put(field, patched);
+        }
+    }
+    
+    Student convertToEntity(StudentDTO dto) {
         Student student = new Student();
         student.setId(dto.getId());
         student.setStudentId(dto.getStudentId());
@@ -181,7 +468,17 @@ public class StudentService {
         return student;
     }
     
-    private StudentDTO convertToDTO(Student student) {
+    private StudentDTO merge(StudentDTO indexed, Map<String, Object> changes) {
+        StudentDTO merged = new StudentDTO();
+        BeanUtils.copyProperties(indexed, merged);
+        try {
+            return objectMapper.updateValue(merged, changes);
+        } catch (IOException e) {
+            throw new RuntimeException("Invalid patch for student " + indexed.getStudentId() + ": " + e.getMessage());
+        }
+    }
+    
+    StudentDTO convertToDTO(Student student) {
         StudentDTO dto = new StudentDTO();
         dto.setId(student.getId());
         dto.setStudentId(student.getStudentId());
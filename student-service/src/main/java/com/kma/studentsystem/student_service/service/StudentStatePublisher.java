@@ -0,0 +1,201 @@
+package com.kma.studentsystem.student_service.service;
+
+import com.kma.studentsystem.student_service.event.StudentState;
+import com.kma.studentsystem.student_service.model.Student;
+import com.kma.studentsystem.student_service.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes the latest state of each student to the compacted student-state topic.
+ *
+ * Writes are sent once their transaction commits, so a rollback never reaches the topic. A send
+ * that fails after the producer's own retries is resent from the database by retryFailed.
+ * On startup one instance, holding an advisory lock, reconciles the topic with the table: every student
+ * whose record is missing or differs is republished, and every key whose row is gone gets a tombstone.
+ * This repairs sends and tombstones that were lost together with the failed keys of an instance that
+ * stopped. Rows are share-locked while their chunk is sent, so a concurrent update is published after
+ * the republished state rather than being overwritten by it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StudentStatePublisher {
+    
+    public static final String STUDENT_STATE_TOPIC = "student-state";
+    
+    private static final String REPUBLISH_LOCK = "student-state-republish";
+    private static final int REPUBLISH_CHUNK_SIZE = 500;
+    
+    private final KafkaTemplate<String, StudentState> stateKafkaTemplate;
+    private final ConsumerFactory<String, byte[]> stateKeyConsumerFactory;
+    private final StudentRepository studentRepository;
+    private final PlatformTransactionManager transactionManager;
+    
+    // Keys whose last send failed
+    private final Set<String> failedKeys = ConcurrentHashMap.newKeySet();
+    
+    @Value("${state.topic.republish-on-startup:true}")
+    private boolean republishOnStartup;
+    
+    /**
+     * Publishes the student's state once the current transaction commits, or immediately outside one.
+     */
+    public void publish(Student student) {
+        StudentState state = StudentState.fromStudent(student);
+        afterCommit(() -> send(student.getStudentId(), state));
+    }
+    
+    public void publishDeleted(String studentId) {
+        // Tombstone: compaction drops the key once consumers have seen the delete
+        afterCommit(() -> send(studentId, null));
+    }
+    
+    public void flush() {
+        stateKafkaTemplate.flush();
+    }
+    
+    @Scheduled(fixedDelayString = "${state.topic.retry-interval-ms:30000}")
+    @Transactional
+    public void retryFailed() {
+        if (failedKeys.isEmpty()) {
+            return;
+        }
+        List<String> studentIds = new ArrayList<>(failedKeys);
+        failedKeys.removeAll(studentIds);
+        // The current row, not the one that failed, so a retry never sends older state than a later success
+        Map<String, Student> current = studentRepository.findByStudentIdIn(studentIds).stream()
+                .collect(Collectors.toMap(Student::getStudentId, Function.identity()));
+        studentIds.forEach(studentId -> send(studentId,
+                current.containsKey(studentId) ? StudentState.fromStudent(current.get(studentId)) : null));
+        log.info("Resent the state of {} students to {}", studentIds.size(), STUDENT_STATE_TOPIC);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void republishAll() {
+        if (!republishOnStartup) {
+            return;
+        }
+        // Held until this transaction ends; instances starting alongside find the topic already reconciled
+        if (!studentRepository.tryAdvisoryLock(REPUBLISH_LOCK)) {
+            log.info("Another instance is republishing {}, skipping", STUDENT_STATE_TOPIC);
+            return;
+        }
+        Map<String, StudentState> published = publishedStates();
+        List<String> studentIds = studentRepository.findAllStudentIds();
+        int republished = 0;
+        for (int from = 0; from < studentIds.size(); from += REPUBLISH_CHUNK_SIZE) {
+            List<String> chunk = studentIds.subList(from, Math.min(from + REPUBLISH_CHUNK_SIZE, studentIds.size()));
+            republished += republishChunk(chunk, published);
+        }
+        
+        Set<String> existing = new HashSet<>(studentIds);
+        List<String> deleted = published.keySet().stream()
+                .filter(studentId -> !existing.contains(studentId))
+                .collect(Collectors.toList());
+        deleted.forEach(studentId -> send(studentId, null));
+        stateKafkaTemplate.flush();
+        // A student created again after the keys were read must not be left behind its own tombstone
+        for (int from = 0; from < deleted.size(); from += REPUBLISH_CHUNK_SIZE) {
+            republishChunk(deleted.subList(from, Math.min(from + REPUBLISH_CHUNK_SIZE, deleted.size())), Map.of());
+        }
+        log.info("Republished {} students and removed {} deleted ones from {}", republished, deleted.size(),
+                STUDENT_STATE_TOPIC);
+    }
+    
+    // Helper methods
+    private void afterCommit(Runnable send) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                send.run();
+            }
+        });
+    }
+    
+    private void send(String studentId, StudentState state) {
+        stateKafkaTemplate.send(STUDENT_STATE_TOPIC, studentId, state).whenComplete((result, error) -> {
+            if (error != null) {
+                log.error("Could not publish the state of student {}, resending from the database", studentId, error);
+                failedKeys.add(studentId);
+            }
+        });
+    }
+    
+    /**
+     * Sends the students whose current state differs from the published one, and waits for the broker
+     * to acknowledge them before the chunk's row locks are released.
+     */
+    private int republishChunk(List<String> studentIds, Map<String, StudentState> published) {
+        TransactionTemplate chunkTransaction = new TransactionTemplate(transactionManager);
+        chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return chunkTransaction.execute(status -> {
+            List<StudentState> changed = studentRepository.findByStudentIdInForShare(studentIds).stream()
+                    .map(StudentState::fromStudent)
+                    .filter(state -> !state.equals(published.get(state.getStudentId())))
+                    .collect(Collectors.toList());
+            changed.forEach(state -> send(state.getStudentId(), state));
+            stateKafkaTemplate.flush();
+            return changed.size();
+        });
+    }
+    
+    /**
+     * Latest state of each key on the topic; keys whose latest record is a tombstone are left out.
+     */
+    private Map<String, StudentState> publishedStates() {
+        Map<String, StudentState> states = new HashMap<>();
+        try (Consumer<String, byte[]> consumer = stateKeyConsumerFactory.createConsumer();
+             JsonDeserializer<StudentState> deserializer = new JsonDeserializer<>(StudentState.class, false)) {
+            List<TopicPartition> partitions = consumer.partitionsFor(STUDENT_STATE_TOPIC).stream()
+                    .map(info -> new TopicPartition(info.topic(), info.partition()))
+                    .collect(Collectors.toList());
+            consumer.assign(partitions);
+            consumer.seekToBeginning(partitions);
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+            while (partitions.stream().anyMatch(partition -> consumer.position(partition) < endOffsets.get(partition))) {
+                for (ConsumerRecord<String, byte[]> record : consumer.poll(Duration.ofMillis(500))) {
+                    if (record.value() != null) {
+                        states.put(record.key(), deserializer.deserialize(STUDENT_STATE_TOPIC, record.value()));
+                    } else {
+                        states.remove(record.key());
+                    }
+                }
+            }
+        }
+        return states;
+    }
+}
@@ -0,0 +1,336 @@
+package com.kma.studentsystem.student_service.service;
+
+import com.kma.studentsystem.student_service.dto.StudentStatisticsDTO;
+import com.kma.studentsystem.student_service.dto.StudentStatisticsDTO.Breakdown;
+import com.kma.studentsystem.student_service.dto.StudentStatisticsDTO.GpaBucket;
+import com.kma.studentsystem.student_service.model.Student;
+import com.kma.studentsystem.student_service.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory student counters behind the /stats endpoints.
+ *
+ * Keeps totals, active counts, GPA sums and half-point GPA histograms overall, per major and per
+ * enrollment year. Writes on this instance register their delta in their transaction and apply
+ * it when it commits. A periodic GROUP BY over the students table replaces the counters, which
+ * corrects floating-point drift and picks up writes made by other instances.
+ *
+ * The GROUP BY runs on the primary in a REPEATABLE READ transaction whose snapshot is taken while
+ * no local write is between its commit and its delta. Writes that committed before that point are
+ * in the snapshot and their deltas are dropped with the old counters; deltas of writes committing
+ * after it are logged and replayed onto the new counters before the swap, so a local write is
+ * neither counted twice nor lost.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StudentStatistics {
+
+    private static final double GPA_BUCKET_WIDTH = 0.5;
+    // 0.0 to 4.0 in half points; a 4.0 counts in the top bucket
+    private static final int GPA_BUCKETS = 8;
+
+    private final StudentRepository studentRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    // Writes hold the read side from just before their commit until their delta is applied;
+    // reconcile takes the write side only to fix its snapshot between two such windows
+    private final ReadWriteLock commitLock = new ReentrantReadWriteLock();
+    // Not a monitor: reconcile holds it across the GROUP BY, which would pin a virtual thread
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+
+    private Counters counters = new Counters();
+    // Deltas applied since the running reconcile took its snapshot; null when none is running
+    private List<Delta> pendingDeltas;
+    private LocalDateTime reconciledAt;
+    private volatile boolean ready;
+
+    /**
+     * What one student adds to the counters; null stands for no student.
+     */
+    public record Contribution(Student.StudentStatus status, String major, Integer enrollmentYear, Double gpa) {
+
+        public static Contribution of(Student student) {
+            return new Contribution(student.getStatus(), student.getMajor(), student.getEnrollmentYear(), student.getGpa());
+        }
+    }
+
+    /**
+     * Moves a student from one contribution to another once the current transaction commits,
+     * or immediately outside one. Pass null before for a new student and null after for a removed one.
+     */
+    public void recordAfterCommit(Contribution before, Contribution after) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            commitLock.readLock().lock();
+            try {
+                apply(before, after);
+            } finally {
+                commitLock.readLock().unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitLock.readLock().lock();
+                locked = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                apply(before, after);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (locked) {
+                    commitLock.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    /**
+     * Rebuilds the counters from the students table. Runs in its own transaction on the primary,
+     * whatever the caller's transaction is, so the snapshot cannot lag this instance's commits.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${student.stats.reconcile-interval-ms:60000}",
+               initialDelayString = "${student.stats.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            TransactionTemplate snapshot = new TransactionTemplate(transactionManager);
+            snapshot.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+            try {
+                Counters rebuilt = snapshot.execute(status -> load());
+                synchronized (this) {
+                    pendingDeltas.forEach(delta -> rebuilt.add(delta.before(), delta.after()));
+                    if (ready && counters.overall.total != rebuilt.overall.total) {
+                        log.info("Student statistics drifted: {} counted, {} in the table", counters.overall.total, rebuilt.overall.total);
+                    }
+                    counters = rebuilt;
+                    reconciledAt = LocalDateTime.now();
+                    ready = true;
+                }
+            } finally {
+                synchronized (this) {
+                    pendingDeltas = null;
+                }
+            }
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    public long activeCount() {
+        ensureReady();
+        synchronized (this) {
+            return counters.overall.active;
+        }
+    }
+
+    public Double averageGpa() {
+        ensureReady();
+        synchronized (this) {
+            return counters.overall.averageGpa();
+        }
+    }
+
+    public StudentStatisticsDTO summary() {
+        ensureReady();
+        synchronized (this) {
+            return new StudentStatisticsDTO(counters.overall.toBreakdown(), new EnumMap<>(counters.byStatus), reconciledAt);
+        }
+    }
+
+    public Map<String, Breakdown> byMajor() {
+        ensureReady();
+        synchronized (this) {
+            Map<String, Breakdown> result = new TreeMap<>();
+            counters.byMajor.forEach((major, counter) -> result.put(major, counter.toBreakdown()));
+            return result;
+        }
+    }
+
+    public Map<Integer, Breakdown> byEnrollmentYear() {
+        ensureReady();
+        synchronized (this) {
+            Map<Integer, Breakdown> result = new TreeMap<>();
+            counters.byEnrollmentYear.forEach((year, counter) -> result.put(year, counter.toBreakdown()));
+            return result;
+        }
+    }
+
+    /**
+     * GPA histogram of active students, overall or for one major or one enrollment year.
+     */
+    public List<GpaBucket> gpaHistogram(String major, Integer enrollmentYear) {
+        if (major != null && enrollmentYear != null) {
+            throw new RuntimeException("Filter the GPA histogram by major or by enrollment year, not both");
+        }
+        ensureReady();
+        synchronized (this) {
+            Counter counter = major != null ? counters.byMajor.get(major)
+                    : enrollmentYear != null ? counters.byEnrollmentYear.get(enrollmentYear)
+                    : counters.overall;
+            return (counter != null ? counter : new Counter()).histogram();
+        }
+    }
+
+    // Helper methods
+    private void ensureReady() {
+        // Requests can arrive just before ApplicationReadyEvent has built the counters
+        if (!ready) {
+            reconcileLock.lock();
+            try {
+                if (!ready) {
+                    reconcile();
+                }
+            } finally {
+                reconcileLock.unlock();
+            }
+        }
+    }
+
+    private Counters load() {
+        commitLock.writeLock().lock();
+        try {
+            studentRepository.takeSnapshot();
+            synchronized (this) {
+                pendingDeltas = new ArrayList<>();
+            }
+        } finally {
+            commitLock.writeLock().unlock();
+        }
+        Counters rebuilt = new Counters();
+        for (Object[] row : studentRepository.aggregateStatistics()) {
+            Integer band = row[3] != null ? ((Number) row[3]).intValue() : null;
+            double gpaSum = row[5] != null ? ((Number) row[5]).doubleValue() : 0;
+            rebuilt.add((Student.StudentStatus) row[0], (String) row[1], (Integer) row[2],
+                    band, ((Number) row[4]).longValue(), gpaSum);
+        }
+        return rebuilt;
+    }
+
+    private synchronized void apply(Contribution before, Contribution after) {
+        counters.add(before, after);
+        if (pendingDeltas != null) {
+            pendingDeltas.add(new Delta(before, after));
+        }
+    }
+
+    private static Integer bandOf(Double gpa) {
+        return gpa != null ? (int) Math.floor(gpa / GPA_BUCKET_WIDTH) : null;
+    }
+
+    private record Delta(Contribution before, Contribution after) {
+    }
+
+    private static final class Counters {
+
+        private final Counter overall = new Counter();
+        private final Map<String, Counter> byMajor = new HashMap<>();
+        private final Map<Integer, Counter> byEnrollmentYear = new HashMap<>();
+        private final Map<Student.StudentStatus, Long> byStatus = new EnumMap<>(Student.StudentStatus.class);
+
+        void add(Contribution before, Contribution after) {
+            if (before != null) {
+                add(before, -1);
+            }
+            if (after != null) {
+                add(after, 1);
+            }
+        }
+
+        void add(Contribution contribution, int sign) {
+            double gpaSum = contribution.gpa() != null ? sign * contribution.gpa() : 0;
+            add(contribution.status(), contribution.major(), contribution.enrollmentYear(),
+                    bandOf(contribution.gpa()), sign, gpaSum);
+        }
+
+        void add(Student.StudentStatus status, String major, Integer enrollmentYear, Integer band, long count, double gpaSum) {
+            overall.add(status, band, count, gpaSum);
+            if (major != null) {
+                addTo(byMajor, major, status, band, count, gpaSum);
+            }
+            if (enrollmentYear != null) {
+                addTo(byEnrollmentYear, enrollmentYear, status, band, count, gpaSum);
+            }
+            if (status != null) {
+                byStatus.merge(status, count, Long::sum);
+            }
+        }
+
+        private static <K> void addTo(Map<K, Counter> groups, K key, Student.StudentStatus status, Integer band,
+                                      long count, double gpaSum) {
+            Counter counter = groups.computeIfAbsent(key, k -> new Counter());
+            counter.add(status, band, count, gpaSum);
+            if (counter.total == 0) {
+                groups.remove(key);
+            }
+        }
+    }
+
+    private static final class Counter {
+
+        private long total;
+        private long active;
+        private long gpaCount;
+        private double gpaSum;
+        private final long[] gpaBuckets = new long[GPA_BUCKETS];
+
+        void add(Student.StudentStatus status, Integer band, long count, double gpaSumDelta) {
+            total += count;
+            if (status != Student.StudentStatus.ACTIVE) {
+                return;
+            }
+            active += count;
+            if (band != null) {
+                gpaCount += count;
+                gpaSum += gpaSumDelta;
+                gpaBuckets[Math.max(0, Math.min(band, GPA_BUCKETS - 1))] += count;
+            }
+        }
+
+        Double averageGpa() {
+            return gpaCount > 0 ? gpaSum / gpaCount : null;
+        }
+
+        List<GpaBucket> histogram() {
+            List<GpaBucket> histogram = new ArrayList<>(GPA_BUCKETS);
+            for (int i = 0; i < GPA_BUCKETS; i++) {
+                histogram.add(new GpaBucket(i * GPA_BUCKET_WIDTH, (i + 1) * GPA_BUCKET_WIDTH, gpaBuckets[i]));
+            }
+            return histogram;
+        }
+
+        Breakdown toBreakdown() {
+            return new Breakdown(total, active, averageGpa(), histogram());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.kma.studentsystem.student_service.web;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection for the metadata query behind a single resource's ETag.
+ */
+public interface EntityVersion {
+
+    Long getId();
+
+    // Null for entities without a version column
+    Long getVersion();
+
+    LocalDateTime getLastModified();
+}
@@ -0,0 +1,21 @@
+-- Baseline: the schema Hibernate generated for the entities before migrations were introduced
+
+CREATE TABLE students (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    student_id      varchar(255) NOT NULL,
+    first_name      varchar(255) NOT NULL,
+    last_name       varchar(255) NOT NULL,
+    email           varchar(255) NOT NULL,
+    phone_number    varchar(255),
+    date_of_birth   date         NOT NULL,
+    gender          varchar(255) NOT NULL,
+    address         varchar(255) NOT NULL,
+    major           varchar(255) NOT NULL,
+    status          varchar(255) NOT NULL,
+    gpa             float(53),
+    enrollment_year integer      NOT NULL,
+    created_at      timestamp(6) NOT NULL,
+    updated_at      timestamp(6),
+    CONSTRAINT uk_students_student_id UNIQUE (student_id),
+    CONSTRAINT uk_students_email UNIQUE (email)
+);
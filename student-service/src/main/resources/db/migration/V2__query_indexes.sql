@@ -0,0 +1,10 @@
+-- Indexes for StudentRepository predicates; student_id and email are covered by their unique constraints
+
+-- findByMajor, findActiveStudentsByMajor, countActiveStudentsByMajor, getAverageGpaByMajor
+CREATE INDEX IF NOT EXISTS idx_students_major_status ON students (major, status);
+
+-- findByStatus, countActiveStudents
+CREATE INDEX IF NOT EXISTS idx_students_status ON students (status);
+
+-- findByEnrollmentYear
+CREATE INDEX IF NOT EXISTS idx_students_enrollment_year ON students (enrollment_year);
@@ -0,0 +1,22 @@
+-- Time of the last delete per table. A list's Last-Modified is the latest change to its table, and
+-- max(updated_at) alone does not move when rows are deleted.
+
+CREATE TABLE IF NOT EXISTS deletion_watermarks (
+    table_name varchar(63)  NOT NULL PRIMARY KEY,
+    deleted_at timestamp(6) NOT NULL
+);
+
+-- Session time zone, like the application-written updated_at values it is compared with
+CREATE OR REPLACE FUNCTION record_deletion_watermark() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO deletion_watermarks (table_name, deleted_at)
+    VALUES (TG_TABLE_NAME, CAST(clock_timestamp() AS timestamp))
+    ON CONFLICT (table_name) DO UPDATE SET deleted_at = EXCLUDED.deleted_at;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS students_deletion_watermark ON students;
+CREATE TRIGGER students_deletion_watermark
+    AFTER DELETE ON students
+    FOR EACH STATEMENT EXECUTE FUNCTION record_deletion_watermark();
@@ -0,0 +1,119 @@
+package com.kma.studentsystem.student_service.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the producer profiles against an embedded broker: send throughput, p50/p99 send-to-ack
+ * latency and bytes on the wire for a burst of student-sized JSON events.
+ *
+ * Excluded from the default build; run with
+ * mvn test -Dgroups=benchmark -DexcludedGroups= -Dtest=KafkaProducerProfileBenchmark
+ *
+ * A single in-process broker has no network round trip, so absolute numbers flatter every profile;
+ * the ratios between them are what carries over.
+ */
+@Tag("benchmark")
+@EmbeddedKafka(partitions = 3, topics = KafkaProducerProfileBenchmark.TOPIC)
+class KafkaProducerProfileBenchmark {
+
+    static final String TOPIC = "producer-profile-benchmark";
+
+    private static final Logger log = LoggerFactory.getLogger(KafkaProducerProfileBenchmark.class);
+
+    private static final int WARMUP_RECORDS = 5_000;
+    private static final int RECORDS = 50_000;
+
+    @Test
+    void compareProfiles(EmbeddedKafkaBroker broker) {
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-12s %12s %10s %10s %12s", "profile", "records/s", "p50 ms", "p99 ms", "bytes/record"));
+        for (KafkaProducerProfile profile : KafkaProducerProfile.values()) {
+            DefaultKafkaProducerFactory<String, String> producerFactory = producerFactory(profile, broker);
+            KafkaTemplate<String, String> template = new KafkaTemplate<>(producerFactory);
+            try {
+                run(template, WARMUP_RECORDS);
+                Result result = run(template, RECORDS);
+                report.add(String.format("%-12s %12.0f %10.2f %10.2f %12.0f", profile.name().toLowerCase(),
+                        result.recordsPerSecond(), result.p50Millis(), result.p99Millis(), wireBytesPerRecord(template)));
+            } finally {
+                producerFactory.destroy();
+            }
+        }
+        log.info("Producer profile comparison:{}{}", System.lineSeparator(), String.join(System.lineSeparator(), report));
+    }
+
+    // Helper methods
+    private Result run(KafkaTemplate<String, String> template, int records) {
+        long[] latencies = new long[records];
+        List<CompletableFuture<?>> sends = new ArrayList<>(records);
+        long started = System.nanoTime();
+        for (int i = 0; i < records; i++) {
+            int index = i;
+            long sentAt = System.nanoTime();
+            sends.add(template.send(TOPIC, "SV" + (i % 5_000), event(i))
+                    .whenComplete((result, error) -> latencies[index] = System.nanoTime() - sentAt));
+        }
+        template.flush();
+        CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+        long elapsed = System.nanoTime() - started;
+
+        Arrays.sort(latencies);
+        assertThat(latencies[0]).isPositive();
+        return new Result(records * 1e9 / elapsed,
+                latencies[records / 2] / 1e6,
+                latencies[(int) (records * 0.99)] / 1e6);
+    }
+
+    private double wireBytesPerRecord(KafkaTemplate<String, String> template) {
+        double bytes = 0;
+        double records = 0;
+        for (var metric : template.metrics().entrySet()) {
+            if (!metric.getKey().group().equals("producer-metrics")) {
+                continue;
+            }
+            if (metric.getKey().name().equals("outgoing-byte-total")) {
+                bytes = ((Number) metric.getValue().metricValue()).doubleValue();
+            } else if (metric.getKey().name().equals("record-send-total")) {
+                records = ((Number) metric.getValue().metricValue()).doubleValue();
+            }
+        }
+        return records > 0 ? bytes / records : 0;
+    }
+
+    private String event(int i) {
+        return "{\"eventId\":\"" + i + "\",\"eventType\":\"StudentUpdated\",\"studentId\":\"SV" + (i % 5_000)
+                + "\",\"student\":{\"firstName\":\"Student\",\"lastName\":\"Number" + i
+                + "\",\"email\":\"student" + i + "@example.edu\",\"major\":\"Computer Science\","
+                + "\"status\":\"ACTIVE\",\"gpa\":3.2,\"enrollmentYear\":2024},\"source\":\"student-service\"}";
+    }
+
+    private DefaultKafkaProducerFactory<String, String> producerFactory(KafkaProducerProfile profile, EmbeddedKafkaBroker broker) {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        profile.apply(configProps);
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+
+    private record Result(double recordsPerSecond, double p50Millis, double p99Millis) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.kma.studentsystem.student_service.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// KafkaProducerProfile is copied unchanged into every service, so it is only tested here, next to the benchmark
+@EmbeddedKafka(partitions = 1, topics = KafkaProducerProfileTest.TOPIC)
+class KafkaProducerProfileTest {
+
+    static final String TOPIC = "producer-profile-test";
+
+    // Repetitive JSON, so any real compression shrinks it well below its raw size
+    private static final String PAYLOAD = "{\"eventType\":\"ProfileTest\",\"padding\":\"" + "x".repeat(1024) + "\"}";
+
+    @Test
+    void resolvesProfileNamesFromProperties() {
+        assertThat(KafkaProducerProfile.fromName("low-latency")).isEqualTo(KafkaProducerProfile.LOW_LATENCY);
+        assertThat(KafkaProducerProfile.fromName(" Balanced ")).isEqualTo(KafkaProducerProfile.BALANCED);
+        assertThat(KafkaProducerProfile.fromName("THROUGHPUT")).isEqualTo(KafkaProducerProfile.THROUGHPUT);
+        assertThatThrownBy(() -> KafkaProducerProfile.fromName("fastest"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("fastest");
+    }
+
+    @ParameterizedTest
+    @EnumSource(KafkaProducerProfile.class)
+    void keepsDeliveryGuaranteesInEveryProfile(KafkaProducerProfile profile) {
+        Map<String, Object> configProps = new HashMap<>();
+        profile.apply(configProps);
+
+        assertThat(configProps)
+                .containsEntry(ProducerConfig.ACKS_CONFIG, "all")
+                .containsEntry(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true)
+                .containsEntry(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+    }
+
+    @ParameterizedTest
+    @EnumSource(KafkaProducerProfile.class)
+    void producerSendsWithProfileSettings(KafkaProducerProfile profile, EmbeddedKafkaBroker broker) throws Exception {
+        DefaultKafkaProducerFactory<String, String> producerFactory = producerFactory(profile, broker);
+        KafkaTemplate<String, String> template = new KafkaTemplate<>(producerFactory);
+        try {
+            List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                sends.add(template.send(TOPIC, "key-" + i, PAYLOAD));
+            }
+            template.flush();
+            for (CompletableFuture<SendResult<String, String>> send : sends) {
+                RecordMetadata metadata = send.get(30, TimeUnit.SECONDS).getRecordMetadata();
+                assertThat(metadata.offset()).isGreaterThanOrEqualTo(0);
+            }
+
+            double compressionRate = producerMetric(template, "compression-rate-avg");
+            double recordsPerRequest = producerMetric(template, "records-per-request-avg");
+            if (profile == KafkaProducerProfile.LOW_LATENCY) {
+                assertThat(compressionRate).isGreaterThan(0.9);
+            } else {
+                assertThat(compressionRate).isLessThan(0.5);
+            }
+            if (profile == KafkaProducerProfile.THROUGHPUT) {
+                // Records sent back to back within the 20 ms linger share requests
+                assertThat(recordsPerRequest).isGreaterThan(10);
+            }
+        } finally {
+            producerFactory.destroy();
+        }
+    }
+
+    // Helper methods
+    private DefaultKafkaProducerFactory<String, String> producerFactory(KafkaProducerProfile profile, EmbeddedKafkaBroker broker) {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        profile.apply(configProps);
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+
+    private double producerMetric(KafkaTemplate<String, String> template, String name) {
+        for (Map.Entry<MetricName, ? extends Metric> metric : template.metrics().entrySet()) {
+            if (metric.getKey().name().equals(name) && metric.getKey().group().equals("producer-metrics")) {
+                return ((Number) metric.getValue().metricValue()).doubleValue();
+            }
+        }
+        throw new AssertionError("No producer metric " + name);
+    }
+}
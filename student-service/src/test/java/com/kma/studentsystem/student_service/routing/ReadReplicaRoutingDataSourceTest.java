@@ -0,0 +1,169 @@
+package com.kma.studentsystem.student_service.routing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final ReplicaLagMonitor replicaLagMonitor = mock(ReplicaLagMonitor.class);
+    private DataSource dataSource;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenAnswer(invocation -> connection());
+        when(replica.getConnection()).thenAnswer(invocation -> connection());
+        when(replicaLagMonitor.isUsable()).thenReturn(true);
+
+        // Wired like DataSourceRoutingConfig
+        ReadReplicaRoutingDataSource routingDataSource = new ReadReplicaRoutingDataSource(replicaLagMonitor, new SimpleMeterRegistry());
+        routingDataSource.setTargetDataSources(Map.of(
+                ReadReplicaRoutingDataSource.Route.PRIMARY, primary,
+                ReadReplicaRoutingDataSource.Route.REPLICA, replica));
+        routingDataSource.setDefaultTargetDataSource(primary);
+        routingDataSource.afterPropertiesSet();
+        LazyConnectionDataSourceProxy lazyDataSource = new LazyConnectionDataSourceProxy();
+        lazyDataSource.setTargetDataSource(routingDataSource);
+        lazyDataSource.setDefaultAutoCommit(true);
+        lazyDataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        lazyDataSource.afterPropertiesSet();
+        dataSource = lazyDataSource;
+        transactionManager = new DataSourceTransactionManager(dataSource);
+
+        ReadYourWritesContext.open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWritesContext.close();
+    }
+
+    @Test
+    void writesGoToThePrimary() throws SQLException {
+        inTransaction(TransactionDefinition.PROPAGATION_REQUIRED, false, this::query);
+
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() throws SQLException {
+        inTransaction(TransactionDefinition.PROPAGATION_REQUIRED, true, this::query);
+
+        verify(replica).getConnection();
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void readsAfterAWriteInTheSameRequestStayOnThePrimary() throws SQLException {
+        inTransaction(TransactionDefinition.PROPAGATION_REQUIRED, false, this::query);
+        inTransaction(TransactionDefinition.PROPAGATION_REQUIRED, true, this::query);
+
+        verify(primary, times(2)).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    void readOnlyParticipantJoinsTheWritersConnection() throws SQLException {
+        inTransaction(TransactionDefinition.PROPAGATION_REQUIRED, false, () -> {
+            query();
+            inTransaction(TransactionDefinition.PROPAGATION_REQUIRED, true, this::query);
+        });
+
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    void newReadOnlyTransactionInsideAWriteStaysOnThePrimary() throws SQLException {
+        inTransaction(TransactionDefinition.PROPAGATION_REQUIRED, false, () -> {
+            query();
+            inTransaction(TransactionDefinition.PROPAGATION_REQUIRES_NEW, true, this::query);
+        });
+
+        verify(primary, times(2)).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    void newWriteTransactionInsideAReadOnlyOneGoesToThePrimary() throws SQLException {
+        inTransaction(TransactionDefinition.PROPAGATION_REQUIRED, true, () -> {
+            query();
+            inTransaction(TransactionDefinition.PROPAGATION_REQUIRES_NEW, false, this::query);
+        });
+
+        verify(replica).getConnection();
+        verify(primary).getConnection();
+    }
+
+    @Test
+    void readOnlyParticipantInsideAReadOnlyTransactionSharesTheReplicaConnection() throws SQLException {
+        inTransaction(TransactionDefinition.PROPAGATION_REQUIRED, true, () -> {
+            query();
+            inTransaction(TransactionDefinition.PROPAGATION_REQUIRED, true, this::query);
+        });
+
+        verify(replica).getConnection();
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void laggingReplicaFallsBackToThePrimary() throws SQLException {
+        when(replicaLagMonitor.isUsable()).thenReturn(false);
+
+        inTransaction(TransactionDefinition.PROPAGATION_REQUIRED, true, this::query);
+
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    void readsOutsideARequestGoToThePrimary() throws SQLException {
+        // Listener and scheduler threads, which usually read what another instance just wrote
+        ReadYourWritesContext.close();
+
+        inTransaction(TransactionDefinition.PROPAGATION_REQUIRED, true, this::query);
+
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+    // Helper methods
+    private void inTransaction(int propagation, boolean readOnly, Runnable work) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(propagation);
+        transactionTemplate.setReadOnly(readOnly);
+        transactionTemplate.executeWithoutResult(status -> work.run());
+    }
+
+    private void query() {
+        new JdbcTemplate(dataSource).execute("SELECT 1");
+    }
+
+    private Connection connection() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        return connection;
+    }
+}
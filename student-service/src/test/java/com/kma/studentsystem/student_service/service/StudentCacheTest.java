@@ -0,0 +1,133 @@
+package com.kma.studentsystem.student_service.service;
+
+import com.kma.studentsystem.student_service.dto.StudentDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StudentCacheTest {
+
+    private StudentCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new StudentCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "maximumSize", 100L);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(cache, "negativeTtlSeconds", 0L);
+        ReflectionTestUtils.setField(cache, "secondInvalidationDelayMillis", 60_000L);
+        cache.init();
+    }
+
+    @Test
+    void aLoadAnswersBothKeys() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getById(1L, () -> {
+            loads.incrementAndGet();
+            return Optional.of(student(1L, "SV001", "Lan"));
+        });
+
+        assertThat(cache.getByStudentId("SV001", () -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        })).map(StudentDTO::getFirstName).contains("Lan");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void missesAreNotCachedWithoutANegativeTtl() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getByStudentId("SV404", () -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        cache.getByStudentId("SV404", () -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void rowsLoadedBeforeAnInvalidationAreNotCached() {
+        long generation = cache.generation();
+        StudentDTO loadedBeforeTheWrite = student(1L, "SV001", "Lan");
+
+        cache.invalidate(1L, "SV001");
+        cache.putLoaded(List.of(loadedBeforeTheWrite), List.of(), generation);
+
+        assertThat(cache.getAllPresentByStudentId(List.of("SV001"))).isEmpty();
+        assertThat(cache.getById(1L, () -> Optional.of(student(1L, "SV001", "Mai"))))
+                .map(StudentDTO::getFirstName).contains("Mai");
+    }
+
+    @Test
+    void otherKeyIsNotFilledFromALoadThatRacedAnInvalidation() {
+        cache.getById(1L, () -> {
+            // Another student's write commits while this row is being read
+            cache.invalidate(null, "SV002");
+            return Optional.of(student(1L, "SV001", "Lan"));
+        });
+
+        assertThat(cache.getAllPresentByStudentId(List.of("SV001"))).isEmpty();
+    }
+
+    @Test
+    void rowsLoadedAfterTheWriteAreCached() {
+        cache.invalidate(1L, "SV001");
+        long generation = cache.generation();
+
+        cache.putLoaded(List.of(student(1L, "SV001", "Mai")), List.of(), generation);
+
+        assertThat(cache.getAllPresentByStudentId(List.of("SV001"))).containsKey("SV001");
+    }
+
+    @Test
+    void invalidationIsRepeatedForRowsReadFromALaggingReplica() throws InterruptedException {
+        ReflectionTestUtils.setField(cache, "secondInvalidationDelayMillis", 50L);
+        cache.getById(1L, () -> Optional.of(student(1L, "SV001", "Lan")));
+
+        cache.invalidate(1L, "SV001");
+        // The replica has not applied the write yet, so the old row is cached again
+        cache.getById(1L, () -> Optional.of(student(1L, "SV001", "Lan")));
+
+        assertThat(awaitReload(1L)).isTrue();
+        assertThat(cache.getById(1L, () -> Optional.of(student(1L, "SV001", "Mai"))))
+                .map(StudentDTO::getFirstName).contains("Mai");
+    }
+
+    // Helper methods
+    private boolean awaitReload(Long id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            AtomicInteger loads = new AtomicInteger();
+            cache.getById(id, () -> {
+                loads.incrementAndGet();
+                return Optional.empty();
+            });
+            if (loads.get() > 0) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+        return false;
+    }
+
+    private StudentDTO student(Long id, String studentId, String firstName) {
+        StudentDTO student = new StudentDTO();
+        student.setId(id);
+        student.setStudentId(studentId);
+        student.setFirstName(firstName);
+        return student;
+    }
+}
@@ -0,0 +1,136 @@
+package com.kma.studentsystem.student_service.service;
+
+import com.kma.studentsystem.student_service.dto.StudentDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StudentSearchIndexTest {
+
+    private StudentSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new StudentSearchIndex();
+        ReflectionTestUtils.setField(index, "minSimilarity", 0.3);
+        index.rebuild(() -> List.of(
+                student(1L, "SV001", "Đức", "Nguyễn Văn", "duc.nguyen@kma.edu.vn"),
+                student(2L, "SV002", "Lan", "Trần Thị", "lan.tran@kma.edu.vn"),
+                student(3L, "SV003", "Dung", "Phạm", "dung.pham@kma.edu.vn")));
+    }
+
+    @Test
+    void foldsDiacriticsAndCase() {
+        assertThat(StudentSearchIndex.fold(" Nguyễn Văn Đức ")).isEqualTo("nguyen van duc");
+        assertThat(ids(index.search("NGUYEN VAN DUC", 10))).first().isEqualTo(1L);
+        assertThat(ids(index.search("trần thị lan", 10))).first().isEqualTo(2L);
+    }
+
+    @Test
+    void matchesPrefixesOfAnyTerm() {
+        assertThat(ids(index.search("ngu", 10))).containsExactly(1L);
+        assertThat(ids(index.search("SV00", 10))).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void toleratesATypo() {
+        assertThat(ids(index.search("nguyne", 10))).containsExactly(1L);
+    }
+
+    @Test
+    void findsStudentsByEmail() {
+        assertThat(ids(index.search("lan.tran@kma.edu.vn", 10))).first().isEqualTo(2L);
+        assertThat(ids(index.search("dung.pham", 10))).first().isEqualTo(3L);
+    }
+
+    @Test
+    void exactTermsRankAbovePrefixes() {
+        index.index(student(4L, "SV004", "Dungs", "Lê", "le.dungs@kma.edu.vn"));
+
+        assertThat(ids(index.search("dung", 10))).startsWith(3L, 4L);
+    }
+
+    @Test
+    void limitKeepsTheBestMatches() {
+        assertThat(index.search("sv", 2)).hasSize(2);
+        assertThat(index.search("sv", 0)).isEmpty();
+        assertThat(index.search("   ", 10)).isEmpty();
+    }
+
+    @Test
+    void reindexingReplacesTheOldTerms() {
+        index.index(student(2L, "SV002", "Mai", "Trần Thị", "mai.tran@kma.edu.vn"));
+
+        assertThat(index.search("lan", 10)).isEmpty();
+        assertThat(ids(index.search("mai", 10))).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void updatesAndRemovesByStudentId() {
+        index.update("SV003", indexed -> student(indexed.getId(), indexed.getStudentId(), "Hoa",
+                indexed.getLastName(), indexed.getEmail()));
+        index.update("SV999", indexed -> {
+            throw new AssertionError("Students that are not indexed are left alone");
+        });
+
+        assertThat(ids(index.search("hoa", 10))).containsExactly(3L);
+
+        index.remove("SV003");
+
+        assertThat(index.search("hoa", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void changesMadeWhileRebuildingSurviveTheSwap() {
+        index.rebuild(() -> {
+            // Applied after the loader read the table, so the loaded snapshot misses them
+            index.index(student(5L, "SV005", "Minh", "Hoàng", "minh.hoang@kma.edu.vn"));
+            index.remove("SV001");
+            // Visible in the old index while the rebuild is still loading
+            assertThat(ids(index.search("minh", 10))).containsExactly(5L);
+            return List.of(
+                    student(1L, "SV001", "Đức", "Nguyễn Văn", "duc.nguyen@kma.edu.vn"),
+                    student(2L, "SV002", "Lan", "Trần Thị", "lan.tran@kma.edu.vn"));
+        });
+
+        assertThat(ids(index.search("minh", 10))).containsExactly(5L);
+        assertThat(index.search("nguyen", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+
+        // Nothing is replayed into the next rebuild
+        index.rebuild(List::of);
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void rebuildRequestedWhileOneIsLoadingIsSkipped() {
+        index.rebuild(() -> {
+            index.rebuild(() -> List.of(student(9L, "SV009", "Hoa", "Phạm", "hoa.pham@kma.edu.vn")));
+            return List.of(student(1L, "SV001", "Đức", "Nguyễn Văn", "duc.nguyen@kma.edu.vn"));
+        });
+
+        assertThat(index.search("hoa", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    // Helper methods
+    private StudentDTO student(Long id, String studentId, String firstName, String lastName, String email) {
+        StudentDTO student = new StudentDTO();
+        student.setId(id);
+        student.setStudentId(studentId);
+        student.setFirstName(firstName);
+        student.setLastName(lastName);
+        student.setEmail(email);
+        return student;
+    }
+
+    private List<Long> ids(List<StudentDTO> students) {
+        return students.stream().map(StudentDTO::getId).toList();
+    }
+}
@@ -0,0 +1,104 @@
+package com.kma.studentsystem.student_service.service;
+
+import com.kma.studentsystem.student_service.model.Student;
+import com.kma.studentsystem.student_service.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StudentStatisticsTest {
+
+    private StudentRepository studentRepository;
+    private StudentStatistics statistics;
+
+    // What the GROUP BY returns: one active student per row, all in the same group
+    private final List<Object[]> table = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = mock(StudentRepository.class);
+        statistics = new StudentStatistics(studentRepository, mock(PlatformTransactionManager.class));
+        when(studentRepository.aggregateStatistics()).thenAnswer(invocation -> new ArrayList<>(table));
+    }
+
+    @Test
+    void countersAreBuiltOnFirstUse() {
+        table.add(row(1, 3.0));
+
+        assertThat(statistics.activeCount()).isEqualTo(1);
+        assertThat(statistics.averageGpa()).isEqualTo(3.0);
+        verify(studentRepository, times(1)).aggregateStatistics();
+    }
+
+    @Test
+    void writeAlreadyInTheSnapshotIsNotCountedTwice() {
+        statistics.reconcile();
+
+        statistics.recordAfterCommit(null, active(3.0));
+        table.add(row(1, 3.0));
+        statistics.reconcile();
+
+        assertThat(statistics.activeCount()).isEqualTo(1);
+    }
+
+    @Test
+    void writeCommittedWhileTheQueryRunsIsReplayed() {
+        statistics.reconcile();
+        when(studentRepository.aggregateStatistics()).thenAnswer(invocation -> {
+            // Committed after the snapshot was taken, so the rows below do not include it
+            statistics.recordAfterCommit(null, active(2.0));
+            return List.<Object[]>of(row(2, 7.0));
+        });
+
+        statistics.reconcile();
+
+        assertThat(statistics.activeCount()).isEqualTo(3);
+        assertThat(statistics.averageGpa()).isEqualTo(3.0);
+    }
+
+    @Test
+    void deltasAreOnlyReplayedIntoTheReconcileTheyRacedWith() {
+        statistics.reconcile();
+        when(studentRepository.aggregateStatistics())
+                .thenAnswer(invocation -> {
+                    statistics.recordAfterCommit(null, active(2.0));
+                    return List.<Object[]>of();
+                })
+                .thenAnswer(invocation -> List.<Object[]>of(row(1, 2.0)));
+
+        statistics.reconcile();
+        statistics.reconcile();
+
+        assertThat(statistics.activeCount()).isEqualTo(1);
+    }
+
+    @Test
+    void gpaChangesMoveStudentsBetweenBuckets() {
+        statistics.reconcile();
+        statistics.recordAfterCommit(null, active(1.2));
+        statistics.recordAfterCommit(active(1.2), active(3.7));
+
+        assertThat(statistics.gpaHistogram(null, null).get(2).getCount()).isZero();
+        assertThat(statistics.gpaHistogram(null, null).get(7).getCount()).isEqualTo(1);
+        assertThat(statistics.gpaHistogram("Computer Science", null).get(7).getCount()).isEqualTo(1);
+    }
+
+    // Helper methods
+    private StudentStatistics.Contribution active(double gpa) {
+        return new StudentStatistics.Contribution(Student.StudentStatus.ACTIVE, "Computer Science", 2024, gpa);
+    }
+
+    private Object[] row(long count, double gpaSum) {
+        double gpa = gpaSum / count;
+        return new Object[] {Student.StudentStatus.ACTIVE, "Computer Science", 2024, Math.floor(gpa * 2), count, gpaSum};
+    }
+}